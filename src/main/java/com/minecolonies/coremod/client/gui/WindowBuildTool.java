@@ -10,6 +10,7 @@ import com.minecolonies.coremod.util.BlockUtils;
 import com.minecolonies.coremod.util.LanguageHandler;
 import com.minecolonies.structures.helpers.Settings;
 import com.minecolonies.structures.helpers.Structure;
+import com.minecolonies.structures.helpers.StructureCache;
 import net.minecraft.block.Block;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.player.InventoryPlayer;
@@ -254,6 +255,8 @@ public class WindowBuildTool extends AbstractWindowSkeleton
         }
         else
         {
+            //  The decoration folder is scanned again, its schematics might have been replaced
+            StructureCache.clear();
             loadDecorationMode();
         }
     }
@@ -87,7 +87,8 @@ public class WindowHutBuilder extends AbstractWindowWorkerBuilding<BuildingBuild
                     @NotNull final String key = (String) ((Map.Entry) obj).getKey();
                     final int value = (Integer) ((Map.Entry) obj).getValue();
                     rowPane.findPaneOfTypeByID("resource", Label.class).setLabelText(key);
-                    rowPane.findPaneOfTypeByID("amount", Label.class).setLabelText(Integer.toString(value));
+                    final int total = builder.getTotalResource(key);
+                    rowPane.findPaneOfTypeByID("amount", Label.class).setLabelText(total > value ? (value + "/" + total) : Integer.toString(value));
                 }
             }
         });
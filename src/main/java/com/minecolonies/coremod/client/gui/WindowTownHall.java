@@ -546,7 +546,8 @@ public class WindowTownHall extends AbstractWindowBuilding<BuildingTownHall.View
                     }
                 }
 
-                rowPane.findPaneOfTypeByID(WORK_LABEL, Label.class).setLabelText(workOrder.getValue());
+                final String materials = workOrder.getMaterialCount() > 0 ? (" (" + workOrder.getMaterialCount() + ")") : "";
+                rowPane.findPaneOfTypeByID(WORK_LABEL, Label.class).setLabelText(workOrder.getValue() + materials);
                 rowPane.findPaneOfTypeByID(ASSIGNEE_LABEL, Label.class).setLabelText(claimingCitizen);
                 rowPane.findPaneOfTypeByID(HIDDEN_WORKORDER_ID, Label.class).setLabelText(Integer.toString(workOrder.getId()));
             }
@@ -0,0 +1,181 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.entity.EntityCitizen;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decides which citizens of a colony run their AI in a tick.
+ * Citizens without a player nearby run it only every few ticks, spread over the ticks by their id.
+ * All citizens together may use a configured amount of milliseconds per tick, the ones over the budget wait for the next tick.
+ * A citizen deferred for too long runs regardless of the budget, so no citizen stops working,
+ * citizens which never ran count as deferred since the tick they were first seen.
+ * Only used on the server thread.
+ */
+public class CitizenTickScheduler
+{
+    /**
+     * A citizen deferred this many ticks by the budget runs in any case.
+     */
+    static final int MAX_DEFERRED_TICKS = 20;
+
+    /**
+     * Nanoseconds per millisecond.
+     */
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /**
+     * The tick the budget is counted for.
+     */
+    private long currentTick = -1;
+
+    /**
+     * Nanoseconds used by the citizens in the current tick.
+     */
+    private long spentNanos = 0;
+
+    /**
+     * The last tick each citizen ran its AI, by citizen id.
+     */
+    private final Map<Integer, Long> lastRuns = new HashMap<>();
+
+    /**
+     * Statistics.
+     */
+    private long runs             = 0;
+    private long deferredByBudget = 0;
+    private long deferredFar      = 0;
+
+    /**
+     * Checks if a citizen should run its AI in this tick.
+     *
+     * @param citizen the citizen.
+     * @return true if so, the time used has to be reported with {@link #onRun(EntityCitizen, long)}.
+     */
+    public boolean shouldRun(@NotNull final EntityCitizen citizen)
+    {
+        return shouldRun(citizen.getCitizenId(), citizen.worldObj.getTotalWorldTime(), citizen.isPlayerNearby(), isReducedRateTick(citizen));
+    }
+
+    /**
+     * Checks if a citizen should run its AI in a tick.
+     *
+     * @param citizenId       the id of the citizen.
+     * @param tick            the world time.
+     * @param playerNearby    if a player is near the citizen.
+     * @param reducedRateTick if the tick is one of the ticks of the citizen when no player is near.
+     * @return true if so.
+     */
+    boolean shouldRun(final int citizenId, final long tick, final boolean playerNearby, final boolean reducedRateTick)
+    {
+        if (tick != currentTick)
+        {
+            currentTick = tick;
+            spentNanos = 0;
+        }
+
+        if (!reducedRateTick)
+        {
+            deferredFar++;
+            return false;
+        }
+
+        //  A citizen which never ran waits at most as long as one which was deferred since this tick
+        final long lastRun = lastRuns.computeIfAbsent(citizenId, id -> tick);
+        final long budget = Configurations.citizenAIBudget * NANOS_PER_MILLI;
+        if (budget > 0 && spentNanos >= budget)
+        {
+            final long interval = playerNearby ? 1 : getFarInterval();
+            if (tick - lastRun < MAX_DEFERRED_TICKS + interval)
+            {
+                deferredByBudget++;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a citizen should do work which runs at the reduced rate when no player is near.
+     * The ticks are spread by citizen id, so the same citizen always runs in the same ticks.
+     *
+     * @param citizen the citizen.
+     * @return true if the work should be done in this tick.
+     */
+    public boolean isReducedRateTick(@NotNull final EntityCitizen citizen)
+    {
+        return citizen.isPlayerNearby() || (citizen.worldObj.getTotalWorldTime() + citizen.getCitizenId()) % getFarInterval() == 0;
+    }
+
+    private static int getFarInterval()
+    {
+        return Math.max(1, Configurations.farCitizenTickInterval);
+    }
+
+    /**
+     * Counts the time a citizen used for its AI.
+     *
+     * @param citizen the citizen.
+     * @param nanos   the time in nanoseconds.
+     */
+    public void onRun(@NotNull final EntityCitizen citizen, final long nanos)
+    {
+        onRun(citizen.getCitizenId(), nanos);
+    }
+
+    /**
+     * Counts the time a citizen used for its AI.
+     *
+     * @param citizenId the id of the citizen.
+     * @param nanos     the time in nanoseconds.
+     */
+    void onRun(final int citizenId, final long nanos)
+    {
+        spentNanos += nanos;
+        runs++;
+        lastRuns.put(citizenId, currentTick);
+    }
+
+    /**
+     * Forgets a citizen which was removed from the colony.
+     *
+     * @param citizenId the id of the citizen.
+     */
+    public void removeCitizen(final int citizenId)
+    {
+        lastRuns.remove(citizenId);
+    }
+
+    /**
+     * Getter for the amount of AI runs.
+     *
+     * @return the runs.
+     */
+    public long getRuns()
+    {
+        return runs;
+    }
+
+    /**
+     * Getter for the amount of AI runs deferred because the budget of the tick was used up.
+     *
+     * @return the amount.
+     */
+    public long getDeferredByBudget()
+    {
+        return deferredByBudget;
+    }
+
+    /**
+     * Getter for the amount of AI runs skipped because no player was near the citizen.
+     *
+     * @return the amount.
+     */
+    public long getDeferredFar()
+    {
+        return deferredFar;
+    }
+}
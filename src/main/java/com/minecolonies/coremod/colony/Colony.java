@@ -2,20 +2,27 @@ package com.minecolonies.coremod.colony;
 
 import com.minecolonies.coremod.MineColonies;
 import com.minecolonies.coremod.achievements.ModAchievements;
+import com.minecolonies.coremod.blocks.BlockHutField;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
 import com.minecolonies.coremod.colony.buildings.BuildingFarmer;
 import com.minecolonies.coremod.colony.buildings.BuildingHome;
 import com.minecolonies.coremod.colony.buildings.BuildingTownHall;
+import com.minecolonies.coremod.colony.buildings.BuildingWareHouse;
 import com.minecolonies.coremod.colony.permissions.Permissions;
 import com.minecolonies.coremod.colony.workorders.AbstractWorkOrder;
 import com.minecolonies.coremod.configuration.Configurations;
 import com.minecolonies.coremod.entity.EntityCitizen;
 import com.minecolonies.coremod.entity.ai.citizen.farmer.Field;
+import com.minecolonies.coremod.entity.ai.citizen.fisherman.PondIndex;
+import com.minecolonies.coremod.entity.ai.citizen.lumberjack.TreeRegistry;
+import com.minecolonies.coremod.entity.pathfinding.ColonyRouteGraph;
+import com.minecolonies.coremod.entity.pathfinding.PathCache;
 import com.minecolonies.coremod.network.messages.*;
-import com.minecolonies.coremod.permissions.ColonyPermissionEventHandler;
 import com.minecolonies.coremod.tileentities.ScarecrowTileEntity;
 import com.minecolonies.coremod.tileentities.TileEntityColonyBuilding;
 import com.minecolonies.coremod.util.*;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -23,18 +30,20 @@ import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.nbt.NBTUtil;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.stats.Achievement;
 import net.minecraft.stats.StatBase;
 import net.minecraft.stats.StatList;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.util.Constants.NBT;
+import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -66,7 +75,10 @@ public class Colony implements IColony
     private static final int    NUM_MOBS_ACHIEVEMENT_THIRD  = 100;
     private static final int    NUM_MOBS_ACHIEVEMENT_FOURTH = 500;
     private static final int    NUM_MOBS_ACHIEVEMENT_FIFTH  = 1000;
-    private static final int    CHECK_WAYPOINT_EVERY        = 100;
+    /**
+     * Ticks between two view updates sent to the subscribers.
+     */
+    private static final int    VIEW_SYNC_INTERVAL          = 5;
     private final int id;
     //  General Attributes
     private final int dimensionId;
@@ -79,8 +91,43 @@ public class Colony implements IColony
     private final List<Achievement> colonyAchievements;
     //  Workload and Jobs
     private final WorkManager                     workManager      = new WorkManager(this);
+
+    /**
+     * The versions of the citizen, building and work order views last sent to the subscribers.
+     */
+    @NotNull
+    private final ViewVersions sentCitizens   = new ViewVersions();
+    @NotNull
+    private final ViewVersions sentBuildings  = new ViewVersions();
+    @NotNull
+    private final ViewVersions sentWorkOrders = new ViewVersions();
+    //  Blocks shared with the path jobs of the colony
+    @NotNull
+    private final ColonyBlockSnapshot             blockSnapshot    = new ColonyBlockSnapshot(this);
+    @NotNull
+    private final PathCache                       pathCache        = new PathCache(this);
+    @NotNull
+    private final ColonyBlockChangeFeed           blockChanges     = new ColonyBlockChangeFeed();
+    @NotNull
+    private final TreeRegistry                    treeRegistry     = new TreeRegistry(this);
+    @NotNull
+    private final PondIndex                       pondIndex        = new PondIndex(this);
+    @NotNull
+    private final ColonyThreatTracker             threatTracker    = new ColonyThreatTracker(this);
+    @NotNull
+    private final ColonyItemTracker               itemTracker      = new ColonyItemTracker(this);
+    private final CitizenTickScheduler            tickScheduler    = new CitizenTickScheduler();
+    @NotNull
+    private final ColonyRouteGraph                routeGraph       = new ColonyRouteGraph(this);
     @NotNull
     private final Map<BlockPos, AbstractBuilding> buildings        = new HashMap<>();
+    //  The warehouses among the buildings
+    @NotNull
+    private final List<BuildingWareHouse>         wareHouses       = new ArrayList<>();
+    //  The building owning each chest, rebuilt when buildings or their containers changed
+    @NotNull
+    private final Map<BlockPos, AbstractBuilding> containerOwners  = new HashMap<>();
+    private       boolean                         containerOwnersChanged = true;
     //  Citizenry
     @NotNull
     private final Map<Integer, CitizenData>       citizens         = new HashMap<>();
@@ -89,12 +136,18 @@ public class Colony implements IColony
     private       World                           world            = null;
     //  Updates and Subscriptions
     @NotNull
-    private       Set<EntityPlayerMP>             subscribers      = new HashSet<>();
+    private final Set<EntityPlayerMP>             subscribers      = new HashSet<>();
+    //  Subscribers which did not receive the full colony yet
+    @NotNull
+    private final Set<EntityPlayerMP>             newSubscribers   = new HashSet<>();
     private       boolean                         isDirty          = false;
     private       boolean                         isCitizensDirty  = false;
     private       boolean                         isBuildingsDirty = false;
     private       boolean                         manualHiring     = false;
     private       boolean                         isFieldsDirty    = false;
+    private       int                             ticksSinceViewSync = 0;
+    //  Set while the colony has changes which are not saved, new and loaded colonies are written once
+    private       boolean                         hasUnsavedChanges  = true;
     private       String                          name             = "ERROR(Wasn't placed by player)";
     private BlockPos         center;
     //  Administration/permissions
@@ -134,8 +187,28 @@ public class Colony implements IColony
         this.permissions = new Permissions(this);
         this.colonyAchievements = new ArrayList<>();
 
-        // Register a new event handler
-        MinecraftForge.EVENT_BUS.register(new ColonyPermissionEventHandler(this));
+        blockChanges.subscribe(changes -> changes.forEach(blockSnapshot::onBlockChange));
+        blockChanges.subscribe(changes -> changes.keySet().forEach(pathCache::onBlockChange));
+        blockChanges.subscribe(changes ->
+        {
+            if (world != null)
+            {
+                changes.keySet().forEach(pos -> routeGraph.onBlockChange(world, pos));
+            }
+        });
+        blockChanges.subscribe(this::onStructureBlockChanges);
+        blockChanges.subscribe(changes ->
+        {
+            if (world != null && !fields.isEmpty())
+            {
+                for (@NotNull final BlockPos pos : changes.keySet())
+                {
+                    fields.values().forEach(field -> field.onBlockChange(world, pos));
+                }
+            }
+        });
+        blockChanges.subscribe(treeRegistry);
+        blockChanges.subscribe(pondIndex);
     }
 
     /**
@@ -242,6 +315,11 @@ public class Colony implements IColony
     {
         buildings.put(building.getID(), building);
         building.markDirty();
+        containerOwnersChanged = true;
+        if (building instanceof BuildingWareHouse)
+        {
+            wareHouses.add((BuildingWareHouse) building);
+        }
 
         //  Limit 1 town hall
         if (building instanceof BuildingTownHall && townHall == null)
@@ -414,6 +492,242 @@ public class Colony implements IColony
         return world;
     }
 
+    /**
+     * Returns the block snapshot the path jobs of the colony read from.
+     *
+     * @return the snapshot.
+     */
+    @NotNull
+    public ColonyBlockSnapshot getBlockSnapshot()
+    {
+        return blockSnapshot;
+    }
+
+    /**
+     * Returns the cache of the paths walked inside of the colony.
+     *
+     * @return the path cache.
+     */
+    @NotNull
+    public PathCache getPathCache()
+    {
+        return pathCache;
+    }
+
+    /**
+     * Get the scheduler of the citizen AIs.
+     *
+     * @return the scheduler.
+     */
+    @NotNull
+    public CitizenTickScheduler getTickScheduler()
+    {
+        return tickScheduler;
+    }
+
+    /**
+     * Returns the graph used to plan long routes through the colony.
+     *
+     * @return the route graph.
+     */
+    @NotNull
+    public ColonyRouteGraph getRouteGraph()
+    {
+        return routeGraph;
+    }
+
+    /**
+     * Getter for the feed of block changes in the area of the colony.
+     *
+     * @return the feed.
+     */
+    @NotNull
+    public ColonyBlockChangeFeed getBlockChanges()
+    {
+        return blockChanges;
+    }
+
+    /**
+     * Getter for the trees known around the lumberjack huts.
+     *
+     * @return the tree registry.
+     */
+    @NotNull
+    public TreeRegistry getTreeRegistry()
+    {
+        return treeRegistry;
+    }
+
+    /**
+     * Getter for the fishing spots known around the fisherman huts.
+     *
+     * @return the pond index.
+     */
+    @NotNull
+    public PondIndex getPondIndex()
+    {
+        return pondIndex;
+    }
+
+    /**
+     * Getter for the possible targets of the guards inside of the colony.
+     *
+     * @return the threat tracker.
+     */
+    @NotNull
+    public ColonyThreatTracker getThreatTracker()
+    {
+        return threatTracker;
+    }
+
+    /**
+     * Getter for the items lying on the ground inside of the colony.
+     *
+     * @return the item tracker.
+     */
+    @NotNull
+    public ColonyItemTracker getItemTracker()
+    {
+        return itemTracker;
+    }
+
+    /**
+     * Called on the server thread when a block in the area of the colony changed.
+     * The change is handed to the subsystems with the other changes of the tick.
+     *
+     * @param pos      the changed position.
+     * @param newState the new state.
+     */
+    public void onBlockChange(@NotNull final BlockPos pos, @NotNull final IBlockState newState)
+    {
+        blockChanges.onBlockChange(pos, newState);
+    }
+
+    /**
+     * Called when a chunk in the area of the colony was loaded.
+     * Feeds the blocks of the buildings, fields and waypoints in the chunk, they might have changed while it was unloaded,
+     * and lets the indexes of the colony scan it again.
+     *
+     * @param w      the world of the chunk.
+     * @param chunkX the x coordinate of the chunk.
+     * @param chunkZ the z coordinate of the chunk.
+     */
+    public void onChunkLoad(@NotNull final World w, final int chunkX, final int chunkZ)
+    {
+        treeRegistry.onChunkLoad(chunkX, chunkZ);
+        pondIndex.onChunkLoad(chunkX, chunkZ);
+        itemTracker.onChunkLoad(w, chunkX, chunkZ);
+
+        //  A field reaches into the neighbouring chunks of its scarecrow
+        for (@NotNull final Field field : fields.values())
+        {
+            final long fieldChunk = ChunkPosUtil.chunkKeyOf(field.getLocation());
+            if (Math.abs(ChunkPosUtil.getChunkX(fieldChunk) - chunkX) <= 1 && Math.abs(ChunkPosUtil.getChunkZ(fieldChunk) - chunkZ) <= 1)
+            {
+                field.invalidateTiles();
+            }
+        }
+
+        final List<BlockPos> positions = new ArrayList<>(buildings.keySet());
+        positions.addAll(fields.keySet());
+        positions.addAll(wayPoints.keySet());
+
+        final long chunkKey = ChunkPosUtil.chunkKey(chunkX, chunkZ);
+        for (@NotNull final BlockPos pos : positions)
+        {
+            if (ChunkPosUtil.chunkKeyOf(pos) == chunkKey)
+            {
+                blockChanges.onBlockChange(pos, w.getBlockState(pos));
+            }
+        }
+    }
+
+    /**
+     * Removes the buildings, fields and waypoints whose blocks are gone.
+     *
+     * @param changes the block changes of the tick.
+     */
+    private void onStructureBlockChanges(@NotNull final Map<BlockPos, IBlockState> changes)
+    {
+        for (@NotNull final Map.Entry<BlockPos, IBlockState> entry : changes.entrySet())
+        {
+            final BlockPos pos = entry.getKey();
+            final Block block = entry.getValue().getBlock();
+
+            final AbstractBuilding building = buildings.get(pos);
+            if (building != null && !building.isMatchingBlock(block))
+            {
+                building.destroy();
+            }
+
+            if (fields.containsKey(pos) && !(block instanceof BlockHutField))
+            {
+                fields.remove(pos);
+                markFieldsDirty();
+            }
+
+            final IBlockState wayPoint = wayPoints.get(pos);
+            if (wayPoint != null && wayPoint.getBlock() != block)
+            {
+                wayPoints.remove(pos);
+            }
+        }
+    }
+
+    /**
+     * Called when the content of a chest in the colony changed, keeps the item indexes of the buildings current.
+     *
+     * @param pos the position of the chest.
+     */
+    public void onContainerChanged(@NotNull final BlockPos pos)
+    {
+        if (fields.containsKey(pos))
+        {
+            markFieldsDirty();
+        }
+
+        if (containerOwnersChanged)
+        {
+            containerOwnersChanged = false;
+            containerOwners.clear();
+            for (@NotNull final AbstractBuilding building : buildings.values())
+            {
+                containerOwners.put(building.getLocation(), building);
+                for (@NotNull final BlockPos container : building.getAdditionalCountainers())
+                {
+                    containerOwners.put(container, building);
+                }
+            }
+        }
+
+        final AbstractBuilding owner = containerOwners.get(pos);
+        if (owner != null)
+        {
+            owner.getItemIndex().markDirty(pos);
+        }
+    }
+
+    /**
+     * Called when containers were added to or removed from a building.
+     */
+    public void onBuildingContainersChanged()
+    {
+        containerOwnersChanged = true;
+    }
+
+    /**
+     * Called when the needs of a building changed, tells the warehouses to check them.
+     *
+     * @param building the building.
+     */
+    public void onBuildingNeedsChanged(@NotNull final AbstractBuilding building)
+    {
+        for (@NotNull final BuildingWareHouse wareHouse : wareHouses)
+        {
+            wareHouse.getRequestQueue().onNeedsChanged(building);
+        }
+    }
+
     @Override
     public long getDistanceSquared(@NotNull final BlockPos pos)
     {
@@ -555,7 +869,18 @@ public class Colony implements IColony
 
         if (event.phase == TickEvent.Phase.END)
         {
-            updateSubscribers();
+            ticksSinceViewSync++;
+            if (ticksSinceViewSync >= VIEW_SYNC_INTERVAL)
+            {
+                ticksSinceViewSync = 0;
+                updateSubscribers();
+            }
+
+            blockChanges.publish();
+            if (world != null)
+            {
+                blockSnapshot.publishChanges(world.getTotalWorldTime());
+            }
         }
     }
 
@@ -564,50 +889,24 @@ public class Colony implements IColony
      */
     public void updateSubscribers()
     {
-        //  Recompute subscribers every frame (for now)
-        //  Subscribers = Owners + Players within (double working town hall range)
-        @NotNull final Set<EntityPlayerMP> oldSubscribers = subscribers;
-        subscribers = new HashSet<>();
+        //  Before sending, sending the views clears the dirty flags of the work manager
+        hasUnsavedChanges |= isAnythingDirty();
 
-        // Add owners
-        subscribers.addAll(
-          this.getWorld().getMinecraftServer().getPlayerList().getPlayerList()
-            .stream()
-            .filter(permissions::isSubscriber)
-            .collect(Collectors.toList()));
-
-        //  Add nearby players
-        if (world != null)
+        //  Subscribers are kept up to date by updateSubscriber, only the players added since the last sync are new
+        final boolean hasNewSubscribers = !newSubscribers.isEmpty();
+        @NotNull final Set<EntityPlayerMP> oldSubscribers;
+        if (hasNewSubscribers)
         {
-            for (final EntityPlayer o : world.playerEntities)
-            {
-                if (o instanceof EntityPlayerMP)
-                {
-                    @NotNull final EntityPlayerMP player = (EntityPlayerMP) o;
-
-                    if (subscribers.contains(player))
-                    {
-                        //  Already a subscriber
-                        continue;
-                    }
-
-                    final double distance = player.getDistanceSq(center);
-                    if (distance < MathUtils.square(Configurations.workingRangeTownHall + 16D)
-                          || (oldSubscribers.contains(player) && distance < MathUtils.square(Configurations.workingRangeTownHall * 2D)))
-                    {
-                        // Players become subscribers if they come within 16 blocks of the edge of the colony
-                        // Players remain subscribers while they remain within double the colony's radius
-                        subscribers.add(player);
-                    }
-                }
-            }
+            oldSubscribers = new HashSet<>(subscribers);
+            oldSubscribers.removeAll(newSubscribers);
+        }
+        else
+        {
+            oldSubscribers = subscribers;
         }
 
         if (!subscribers.isEmpty())
         {
-            //  Determine if any new subscribers were added this pass
-            final boolean hasNewSubscribers = ColonyUtils.hasNewSubscribers(oldSubscribers, subscribers);
-
             //  Send each type of update packet as appropriate:
             //      - To Subscribers if the data changes
             //      - To New Subscribers even if it hasn't changed
@@ -618,22 +917,11 @@ public class Colony implements IColony
             //Permissions
             sendPermissionsPackets(oldSubscribers, hasNewSubscribers);
 
-            //WorkOrders
-            sendWorkOrderPackets(oldSubscribers, hasNewSubscribers);
-
-            //Citizens
-            sendCitizenPackets(oldSubscribers, hasNewSubscribers);
-
-            //Buildings
-            sendBuildingPackets(oldSubscribers, hasNewSubscribers);
-
-            //Fields
-            if (!isBuildingsDirty)
-            {
-                sendFieldPackets(oldSubscribers, hasNewSubscribers);
-            }
+            //WorkOrders, Citizens, Buildings and Fields
+            sendViewBatches(oldSubscribers, hasNewSubscribers);
         }
 
+        newSubscribers.clear();
         isFieldsDirty = false;
         isDirty = false;
         isCitizensDirty = false;
@@ -644,6 +932,139 @@ public class Colony implements IColony
         citizens.values().forEach(CitizenData::clearDirty);
     }
 
+    /**
+     * Checks if any view of the colony changed since the last update of the subscribers.
+     *
+     * @return true if so.
+     */
+    private boolean isAnythingDirty()
+    {
+        return isDirty || isCitizensDirty || isBuildingsDirty || isFieldsDirty || permissions.isDirty() || workManager.isDirty();
+    }
+
+    /**
+     * Checks if the colony changed since it was last saved and resets the check.
+     * Besides the changes shown to players, a colony changes while any of its citizens are loaded.
+     *
+     * @return true if the colony has to be saved.
+     */
+    boolean takeUnsavedChanges()
+    {
+        final boolean unsaved = hasUnsavedChanges || isAnythingDirty();
+        hasUnsavedChanges = false;
+        return unsaved;
+    }
+
+    /**
+     * Checks if a player has to be subscribed to the colony and updates the subscribers.
+     * Called when the player logs in, respawns, changes dimension, enters another chunk or gets another rank.
+     * Subscribers = Owners + Players within (double working town hall range).
+     *
+     * @param player the player.
+     */
+    public void updateSubscriber(@NotNull final EntityPlayerMP player)
+    {
+        final boolean isSubscriber = subscribers.contains(player);
+        if (shouldBeSubscriber(player, isSubscriber))
+        {
+            if (!isSubscriber)
+            {
+                subscribers.add(player);
+                newSubscribers.add(player);
+                ColonyManager.onSubscriberAdded(this, player);
+            }
+        }
+        else if (isSubscriber)
+        {
+            removeSubscriber(player);
+        }
+    }
+
+    /**
+     * Checks if a player should receive the updates of the colony.
+     *
+     * @param player       the player.
+     * @param isSubscriber if the player is subscribed at the moment.
+     * @return true if so.
+     */
+    private boolean shouldBeSubscriber(@NotNull final EntityPlayerMP player, final boolean isSubscriber)
+    {
+        if (permissions.isSubscriber(player))
+        {
+            return true;
+        }
+
+        if (world == null || player.worldObj != world)
+        {
+            return false;
+        }
+
+        // Players become subscribers if they come within 16 blocks of the edge of the colony
+        // Players remain subscribers while they remain within double the colony's radius
+        final double distance = player.getDistanceSq(center);
+        return distance < MathUtils.square(Configurations.workingRangeTownHall + 16D)
+                 || (isSubscriber && distance < MathUtils.square(Configurations.workingRangeTownHall * 2D));
+    }
+
+    /**
+     * Removes a player from the subscribers.
+     *
+     * @param player the player.
+     */
+    public void removeSubscriber(@NotNull final EntityPlayerMP player)
+    {
+        if (subscribers.remove(player))
+        {
+            newSubscribers.remove(player);
+            ColonyManager.onSubscriberRemoved(this, player);
+        }
+    }
+
+    /**
+     * Removes the subscriber with a UUID, the entity might have been replaced after a respawn or a dimension change.
+     * Does not inform the colony manager, which removes the player itself.
+     *
+     * @param id the UUID of the player.
+     */
+    void removeSubscriber(@NotNull final UUID id)
+    {
+        subscribers.removeIf(player -> player.getUniqueID().equals(id));
+        newSubscribers.removeIf(player -> player.getUniqueID().equals(id));
+    }
+
+    /**
+     * Checks if any player receives the updates of the colony.
+     *
+     * @return true if so.
+     */
+    public boolean hasSubscribers()
+    {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * Removes all subscribers, when the colony is deleted or unloaded.
+     */
+    public void removeAllSubscribers()
+    {
+        new ArrayList<>(subscribers).forEach(this::removeSubscriber);
+    }
+
+    /**
+     * Called when the rank of a player changed, as it might make him a subscriber.
+     *
+     * @param id the UUID of the player.
+     */
+    public void onPlayerRankChanged(@NotNull final UUID id)
+    {
+        final MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+        @Nullable final EntityPlayerMP player = server == null ? null : server.getPlayerList().getPlayerByUUID(id);
+        if (player != null)
+        {
+            updateSubscriber(player);
+        }
+    }
+
     private void sendColonyViewPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
     {
         if (isDirty || hasNewSubscribers)
@@ -680,86 +1101,103 @@ public class Colony implements IColony
     }
 
     /**
-     * Sends packages to update the workOrders.
+     * Sends the changed citizen, building and work order views in one message per subscriber.
+     * New subscribers get every view instead. Each message is serialized once and shared by all its receivers.
+     * A view which was sent before is sent as the bytes which changed since that version.
      *
      * @param oldSubscribers    the existing subscribers.
      * @param hasNewSubscribers the new subscribers.
      */
-    private void sendWorkOrderPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
+    private void sendViewBatches(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
     {
-        if (getWorkManager().isDirty() || hasNewSubscribers)
+        @NotNull final ColonyViewBatchMessage changes = new ColonyViewBatchMessage(id);
+        @Nullable final ColonyViewBatchMessage everything = hasNewSubscribers ? new ColonyViewBatchMessage(id) : null;
+
+        final boolean workOrdersDirty = workManager.isDirty();
+        for (@NotNull final AbstractWorkOrder workOrder : workManager.getWorkOrders().values())
         {
-            for (final AbstractWorkOrder workOrder : getWorkManager().getWorkOrders().values())
+            if (workOrdersDirty || hasNewSubscribers)
             {
-                subscribers.stream().filter(player -> workManager.isDirty() || !oldSubscribers.contains(player))
-                  .forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewWorkOrderMessage(this, workOrder), player));
+                addView(ColonyViewBatchMessage.TYPE_WORK_ORDER, sentWorkOrders, workOrder.getID(), workOrder::serializeViewNetworkData, changes, everything);
             }
+        }
 
-            getWorkManager().setDirty(false);
+        for (@NotNull final CitizenData citizen : citizens.values())
+        {
+            if ((isCitizensDirty && citizen.isDirty()) || hasNewSubscribers)
+            {
+                addView(ColonyViewBatchMessage.TYPE_CITIZEN, sentCitizens, citizen.getId(), citizen::serializeViewNetworkData, changes, everything);
+            }
         }
-    }
 
-    /**
-     * Sends packages to update the citizens.
-     *
-     * @param oldSubscribers    the existing subscribers.
-     * @param hasNewSubscribers the new subscribers.
-     */
-    private void sendCitizenPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
-    {
-        if (isCitizensDirty || hasNewSubscribers)
+        for (@NotNull final AbstractBuilding building : buildings.values())
         {
-            for (@NotNull final CitizenData citizen : citizens.values())
+            //  Fields are part of the farmer view
+            if ((isBuildingsDirty && building.isDirty()) || (isFieldsDirty && building instanceof BuildingFarmer) || hasNewSubscribers)
             {
-                if (citizen.isDirty() || hasNewSubscribers)
-                {
-                    subscribers.stream()
-                      .filter(player -> citizen.isDirty() || !oldSubscribers.contains(player))
-                      .forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewCitizenViewMessage(this, citizen), player));
-                }
+                addView(ColonyViewBatchMessage.TYPE_BUILDING, sentBuildings, building.getID().toLong(), building::serializeToView, changes, everything);
             }
         }
+
+        for (final EntityPlayerMP player : subscribers)
+        {
+            if (everything != null && !oldSubscribers.contains(player))
+            {
+                MineColonies.getNetwork().sendTo(everything, player);
+            }
+            else if (!changes.isEmpty())
+            {
+                MineColonies.getNetwork().sendTo(changes, player);
+            }
+        }
+
+        workManager.setDirty(false);
     }
 
     /**
-     * Sends packages to update the buildings.
+     * Adds a view to the batches.
+     * The changes get it if it differs from the version sent last, the batch for new subscribers gets it whole.
      *
-     * @param oldSubscribers    the existing subscribers.
-     * @param hasNewSubscribers the new subscribers.
+     * @param type       the type of the view.
+     * @param sent       the versions sent last of the views of this type.
+     * @param key        the key of the view.
+     * @param serializer writes the view.
+     * @param changes    the batch for the existing subscribers.
+     * @param everything the batch for new subscribers, null if there are none.
      */
-    private void sendBuildingPackets(@NotNull final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
-    {
-        if (isBuildingsDirty || hasNewSubscribers)
+    private static void addView(
+                                 final byte type,
+                                 @NotNull final ViewVersions sent,
+                                 final long key,
+                                 @NotNull final Consumer<ByteBuf> serializer,
+                                 @NotNull final ColonyViewBatchMessage changes,
+                                 @Nullable final ColonyViewBatchMessage everything)
+    {
+        final byte[] data = ColonyViewBatchMessage.serialize(serializer);
+        final ViewVersions.Version last = sent.get(key);
+        ViewVersions.Version current = last;
+        if (last == null || !Arrays.equals(last.getData(), data))
         {
-            for (@NotNull final AbstractBuilding building : buildings.values())
-            {
-                if (building.isDirty() || hasNewSubscribers)
-                {
-                    subscribers.stream()
-                      .filter(player -> building.isDirty() || !oldSubscribers.contains(player))
-                      .forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewBuildingViewMessage(building), player));
-                }
-            }
+            current = sent.update(key, data);
+            changes.addView(type, key, last, current);
+        }
+
+        if (everything != null)
+        {
+            everything.addView(type, key, null, current);
         }
     }
 
     /**
-     * Sends packages to update the fields.
+     * Sends every view again to a subscriber, whose views are not the versions the changes are based on.
      *
-     * @param oldSubscribers    the existing subscribers.
-     * @param hasNewSubscribers the new subscribers.
+     * @param player the subscriber.
      */
-    private void sendFieldPackets(final Set<EntityPlayerMP> oldSubscribers, final boolean hasNewSubscribers)
+    public void resendViews(@NotNull final EntityPlayerMP player)
     {
-        if ((isFieldsDirty && !isBuildingsDirty) || hasNewSubscribers)
+        if (subscribers.contains(player))
         {
-            for (final AbstractBuilding building : buildings.values())
-            {
-                if (building instanceof BuildingFarmer)
-                {
-                    subscribers.forEach(player -> MineColonies.getNetwork().sendTo(new ColonyViewBuildingViewMessage(building), player));
-                }
-            }
+            newSubscribers.add(player);
         }
     }
 
@@ -797,6 +1235,12 @@ public class Colony implements IColony
               .filter(ColonyUtils::isCitizenMissingFromWorld)
               .forEach(CitizenData::clearCitizenEntity);
 
+            //  Working citizens change their data and inventories without telling the views
+            if (!hasUnsavedChanges && citizens.values().stream().anyMatch(citizen -> citizen.getCitizenEntity() != null))
+            {
+                hasUnsavedChanges = true;
+            }
+
             //  Cleanup disappeared citizens
             //  It would be really nice if we didn't have to do this... but Citizens can disappear without dying!
             //  Every CITIZEN_CLEANUP_TICK_INCREMENT, cleanup any 'lost' citizens
@@ -807,9 +1251,6 @@ public class Colony implements IColony
                 citizens.values().forEach(this::spawnCitizenIfNull);
             }
 
-            //  Cleanup Buildings whose Blocks have gone AWOL
-            cleanUpBuildings(event);
-
             //  Spawn Citizens
             if (townHall != null && citizens.size() < maxCitizens)
             {
@@ -829,22 +1270,11 @@ public class Colony implements IColony
             building.onWorldTick(event);
         }
 
-        final Random rand = new Random();
-        if (rand.nextInt(CHECK_WAYPOINT_EVERY) <= 1 && wayPoints.size() > 0)
+        if (event.phase == TickEvent.Phase.START)
         {
-            final Object[] entries = wayPoints.entrySet().toArray();
-            final int stopAt = rand.nextInt(entries.length);
-            final Object obj = entries[stopAt];
-
-            if (obj instanceof Map.Entry && ((Map.Entry) obj).getKey() instanceof BlockPos && ((Map.Entry) obj).getValue() instanceof IBlockState)
-            {
-                @NotNull final BlockPos key = (BlockPos) ((Map.Entry) obj).getKey();
-                @NotNull final IBlockState value = (IBlockState) ((Map.Entry) obj).getValue();
-                if (world != null && world.getBlockState(key).getBlock() != (value.getBlock()))
-                {
-                    wayPoints.remove(key);
-                }
-            }
+            treeRegistry.onWorldTick(event.world);
+            pondIndex.onWorldTick(event.world);
+            itemTracker.onWorldTick(event.world);
         }
 
         workManager.onWorldTick(event);
@@ -866,46 +1296,6 @@ public class Colony implements IColony
         return true;
     }
 
-    private void cleanUpBuildings(@NotNull final TickEvent.WorldTickEvent event)
-    {
-        @Nullable final List<AbstractBuilding> removedBuildings = new ArrayList<>();
-
-        //Need this list, we may enter he while we add a building in the real world.
-        final List<AbstractBuilding> tempBuildings = new ArrayList<>(buildings.values());
-
-        for (@NotNull final AbstractBuilding building : tempBuildings)
-        {
-            final BlockPos loc = building.getLocation();
-            if (event.world.isBlockLoaded(loc) && !building.isMatchingBlock(event.world.getBlockState(loc).getBlock()))
-            {
-                //  Sanity cleanup
-                removedBuildings.add(building);
-            }
-        }
-
-        removedBuildings.forEach(AbstractBuilding::destroy);
-
-        @NotNull final ArrayList<Field> tempFields = new ArrayList<>(fields.values());
-
-        for (@NotNull final Field field : tempFields)
-        {
-            if (event.world.isBlockLoaded(field.getLocation()))
-            {
-                final ScarecrowTileEntity scarecrow = (ScarecrowTileEntity) event.world.getTileEntity(field.getID());
-                if (scarecrow == null)
-                {
-                    fields.remove(field.getID());
-                }
-                else
-                {
-                    field.setInventoryField(scarecrow.getInventoryField());
-                }
-            }
-        }
-
-        markFieldsDirty();
-    }
-
     /**
      * Spawn a brand new Citizen.
      */
@@ -1196,6 +1586,7 @@ public class Colony implements IColony
     {
         if (buildings.remove(building.getID()) != null)
         {
+            sentBuildings.remove(building.getID().toLong());
             for (final EntityPlayerMP player : subscribers)
             {
                 MineColonies.getNetwork().sendTo(new ColonyViewRemoveBuildingMessage(this, building.getID()), player);
@@ -1212,6 +1603,9 @@ public class Colony implements IColony
             townHall = null;
         }
 
+        wareHouses.remove(building);
+        containerOwnersChanged = true;
+
         //Allow Citizens to fix up any data that wasn't fixed up by the AbstractBuilding's own onDestroyed
         for (@NotNull final CitizenData citizen : citizens.values())
         {
@@ -1275,6 +1669,8 @@ public class Colony implements IColony
     {
         //Remove the Citizen
         citizens.remove(citizen.getId());
+        tickScheduler.removeCitizen(citizen.getId());
+        sentCitizens.remove(citizen.getId());
 
         for (@NotNull final AbstractBuilding building : buildings.values())
         {
@@ -1297,6 +1693,8 @@ public class Colony implements IColony
      */
     public void removeWorkOrder(final int orderId)
     {
+        sentWorkOrders.remove(orderId);
+
         //  Inform Subscribers of removed workOrder
         for (final EntityPlayerMP player : subscribers)
         {
@@ -1399,28 +1797,45 @@ public class Colony implements IColony
     @NotNull
     public List<BlockPos> getWayPoints(@NotNull final BlockPos position, @NotNull final BlockPos target)
     {
-        final List<BlockPos> tempWayPoints = new ArrayList<>();
-        tempWayPoints.addAll(wayPoints.keySet());
-        tempWayPoints.addAll(getBuildings().keySet());
+        final int maxX = Math.max(position.getX(), target.getX());
+        final int maxZ = Math.max(position.getZ(), target.getZ());
 
-        final double maxX = Math.max(position.getX(), target.getX());
-        final double maxZ = Math.max(position.getZ(), target.getZ());
+        final int minX = Math.min(position.getX(), target.getX());
+        final int minZ = Math.min(position.getZ(), target.getZ());
 
-        final double minX = Math.min(position.getX(), target.getX());
-        final double minZ = Math.min(position.getZ(), target.getZ());
+        final List<BlockPos> tempWayPoints = new ArrayList<>();
+        addWayPointsInArea(wayPoints.keySet(), minX, minZ, maxX, maxZ, tempWayPoints);
+        addWayPointsInArea(getBuildings().keySet(), minX, minZ, maxX, maxZ, tempWayPoints);
+        return tempWayPoints;
+    }
 
-        final List<BlockPos> wayPointsCopy = new ArrayList<>(tempWayPoints);
-        for (final BlockPos p : wayPointsCopy)
+    /**
+     * Adds the positions within a 2D area to a list.
+     *
+     * @param positions the positions to filter.
+     * @param minX      min x of the area.
+     * @param minZ      min z of the area.
+     * @param maxX      max x of the area.
+     * @param maxZ      max z of the area.
+     * @param result    the list to add to.
+     */
+    private static void addWayPointsInArea(
+                                            @NotNull final Collection<BlockPos> positions,
+                                            final int minX,
+                                            final int minZ,
+                                            final int maxX,
+                                            final int maxZ,
+                                            @NotNull final List<BlockPos> result)
+    {
+        for (@NotNull final BlockPos p : positions)
         {
             final int x = p.getX();
             final int z = p.getZ();
-            if (x < minX || x > maxX || z < minZ || z > maxZ)
+            if (x >= minX && x <= maxX && z >= minZ && z <= maxZ)
             {
-                tempWayPoints.remove(p);
+                result.add(p);
             }
         }
-
-        return tempWayPoints;
     }
 
     /**
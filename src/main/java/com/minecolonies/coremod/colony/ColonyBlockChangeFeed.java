@@ -0,0 +1,113 @@
+package com.minecolonies.coremod.colony;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the block changes in the area of a colony and hands them to the subsystems once per tick.
+ * A position changed several times in a tick is handed out once with its newest state.
+ * Replaces polling the world for buildings, fields and waypoints which might have disappeared.
+ * Only used on the server thread.
+ */
+public class ColonyBlockChangeFeed
+{
+    /**
+     * The changes of the current tick, in the order they happened.
+     */
+    @NotNull
+    private Map<BlockPos, IBlockState> pending = new LinkedHashMap<>();
+
+    /**
+     * The subscribed listeners, called in the order they subscribed.
+     */
+    @NotNull
+    private final List<IBlockChangeListener> listeners = new ArrayList<>();
+
+    /**
+     * Statistics.
+     */
+    private long published = 0;
+    private long coalesced = 0;
+
+    /**
+     * Subscribes a listener to the block changes.
+     *
+     * @param listener the listener.
+     */
+    public void subscribe(@NotNull final IBlockChangeListener listener)
+    {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unsubscribes a listener.
+     *
+     * @param listener the listener.
+     */
+    public void unsubscribe(@NotNull final IBlockChangeListener listener)
+    {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Records a block change, it is handed to the listeners with the next {@link #publish()}.
+     *
+     * @param pos      the changed position.
+     * @param newState the new state.
+     */
+    public void onBlockChange(@NotNull final BlockPos pos, @NotNull final IBlockState newState)
+    {
+        if (pending.put(pos.toImmutable(), newState) != null)
+        {
+            coalesced++;
+        }
+    }
+
+    /**
+     * Hands the changes recorded since the last call to all listeners.
+     * Changes recorded by a listener while publishing are handed out with the next call.
+     */
+    public void publish()
+    {
+        if (pending.isEmpty())
+        {
+            return;
+        }
+
+        final Map<BlockPos, IBlockState> changes = Collections.unmodifiableMap(pending);
+        pending = new LinkedHashMap<>();
+        published += changes.size();
+
+        for (@NotNull final IBlockChangeListener listener : new ArrayList<>(listeners))
+        {
+            listener.onBlockChanges(changes);
+        }
+    }
+
+    /**
+     * Getter for the amount of changes handed to the listeners.
+     *
+     * @return the amount.
+     */
+    public long getPublished()
+    {
+        return published;
+    }
+
+    /**
+     * Getter for the amount of changes merged into a later change of the same position.
+     *
+     * @return the amount.
+     */
+    public long getCoalesced()
+    {
+        return coalesced;
+    }
+}
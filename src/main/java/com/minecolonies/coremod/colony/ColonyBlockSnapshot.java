@@ -0,0 +1,412 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.util.ChunkPosUtil;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Biomes;
+import net.minecraft.init.Blocks;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copy-on-write snapshot of the blocks in and around a colony, shared read-only by the path jobs of the colony.
+ * Block states are stored as packed state ids per chunk section.
+ * Chunk columns are captured on demand and block changes are applied once per tick, both on the server thread.
+ * A published section is never modified again, so readers on other threads never see a half written chunk.
+ */
+public class ColonyBlockSnapshot
+{
+    /**
+     * Blocks outside of the colony border which are still covered by the snapshot.
+     */
+    static final int PADDING = 48;
+
+    /**
+     * Section layout.
+     */
+    private static final int SECTION_SHIFT       = 4;
+    private static final int SECTION_MASK        = 15;
+    private static final int SECTIONS_PER_COLUMN = 16;
+    private static final int SECTION_VOLUME      = 16 * 16 * 16;
+    private static final int SHIFT_Y             = 8;
+    private static final int SHIFT_Z             = 4;
+    private static final int MAX_Y               = 255;
+
+    /**
+     * Ticks after which a captured column is read from the world again, to catch changes which were not notified.
+     */
+    private static final long REFRESH_INTERVAL = 20L * 60;
+
+    /**
+     * Ticks after which a column no path job asked for is dropped.
+     */
+    private static final long EVICT_AFTER = 20L * 60 * 5;
+
+    /**
+     * Ticks between two eviction passes.
+     */
+    private static final long EVICT_INTERVAL = 20L * 10;
+
+    /**
+     * The colony of the snapshot.
+     */
+    @NotNull
+    private final Colony colony;
+
+    /**
+     * Published columns, each an array of sections which are null if the section is empty.
+     */
+    private final Map<Long, char[][]> columns = new ConcurrentHashMap<>();
+
+    /**
+     * Server thread bookkeeping of the columns.
+     */
+    private final Map<Long, Long> columnCapturedAt = new HashMap<>();
+    private final Map<Long, Long> columnUsedAt     = new HashMap<>();
+
+    /**
+     * Block changes of the current tick which are not published yet.
+     */
+    private final Map<BlockPos, IBlockState> pendingChanges = new HashMap<>();
+
+    /**
+     * Time of the last eviction pass.
+     */
+    private long lastEviction = 0;
+
+    /**
+     * Creates the snapshot of a colony.
+     *
+     * @param colony the colony.
+     */
+    public ColonyBlockSnapshot(@NotNull final Colony colony)
+    {
+        this.colony = colony;
+    }
+
+    /**
+     * Index of a block inside of its section.
+     *
+     * @param x block x.
+     * @param y block y.
+     * @param z block z.
+     * @return the index.
+     */
+    private static int sectionIndex(final int x, final int y, final int z)
+    {
+        return ((y & SECTION_MASK) << SHIFT_Y) | ((z & SECTION_MASK) << SHIFT_Z) | (x & SECTION_MASK);
+    }
+
+    /**
+     * Checks if a position is in the area the snapshot covers.
+     *
+     * @param x block x.
+     * @param z block z.
+     * @return true if so.
+     */
+    public boolean covers(final int x, final int z)
+    {
+        final BlockPos center = colony.getCenter();
+        final int range = Configurations.workingRangeTownHall + PADDING;
+        return Math.abs(x - center.getX()) <= range && Math.abs(z - center.getZ()) <= range;
+    }
+
+    /**
+     * Makes sure the snapshot contains all loaded chunks of an area.
+     * Has to be called on the server thread.
+     *
+     * @param world the world of the colony.
+     * @param minX  min x of the area.
+     * @param minZ  min z of the area.
+     * @param maxX  max x of the area.
+     * @param maxZ  max z of the area.
+     * @return false if the area is not covered by the snapshot.
+     */
+    public boolean capture(@NotNull final World world, final int minX, final int minZ, final int maxX, final int maxZ)
+    {
+        if (!covers(minX, minZ) || !covers(maxX, maxZ))
+        {
+            return false;
+        }
+
+        final long time = world.getTotalWorldTime();
+        for (int chunkX = minX >> SECTION_SHIFT; chunkX <= maxX >> SECTION_SHIFT; chunkX++)
+        {
+            for (int chunkZ = minZ >> SECTION_SHIFT; chunkZ <= maxZ >> SECTION_SHIFT; chunkZ++)
+            {
+                final long key = ChunkPosUtil.chunkKey(chunkX, chunkZ);
+                columnUsedAt.put(key, time);
+
+                final Long capturedAt = columnCapturedAt.get(key);
+                if ((capturedAt == null || time - capturedAt > REFRESH_INTERVAL) && captureColumn(world, chunkX, chunkZ, key))
+                {
+                    columnCapturedAt.put(key, time);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the block states of a loaded chunk into a new column.
+     *
+     * @param world  the world.
+     * @param chunkX chunk x.
+     * @param chunkZ chunk z.
+     * @param key    key of the column.
+     * @return true if the chunk was loaded.
+     */
+    private boolean captureColumn(@NotNull final World world, final int chunkX, final int chunkZ, final long key)
+    {
+        @Nullable final Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+        if (chunk == null)
+        {
+            return false;
+        }
+
+        final ExtendedBlockStorage[] storageArray = chunk.getBlockStorageArray();
+        final char[][] column = new char[SECTIONS_PER_COLUMN][];
+        for (int sectionY = 0; sectionY < SECTIONS_PER_COLUMN && sectionY < storageArray.length; sectionY++)
+        {
+            final ExtendedBlockStorage storage = storageArray[sectionY];
+            if (storage == null || storage.isEmpty())
+            {
+                continue;
+            }
+
+            final char[] section = new char[SECTION_VOLUME];
+            for (int y = 0; y < 16; y++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    for (int x = 0; x < 16; x++)
+                    {
+                        section[sectionIndex(x, y, z)] = (char) Block.getStateId(storage.get(x, y, z));
+                    }
+                }
+            }
+            column[sectionY] = section;
+        }
+
+        columns.put(key, column);
+        return true;
+    }
+
+    /**
+     * Records a block change, it becomes visible to readers with the next call of {@link #publishChanges(long)}.
+     * Has to be called on the server thread.
+     *
+     * @param pos      the changed position.
+     * @param newState the new state.
+     */
+    public void onBlockChange(@NotNull final BlockPos pos, @NotNull final IBlockState newState)
+    {
+        if (columnCapturedAt.containsKey(ChunkPosUtil.chunkKeyOf(pos)))
+        {
+            pendingChanges.put(pos.toImmutable(), newState);
+        }
+    }
+
+    /**
+     * Applies all block changes of this tick, copying every touched section once.
+     * Has to be called on the server thread.
+     *
+     * @param time the current world time.
+     */
+    public void publishChanges(final long time)
+    {
+        if (!pendingChanges.isEmpty())
+        {
+            final Map<Long, char[][]> updated = new HashMap<>();
+            for (@NotNull final Map.Entry<BlockPos, IBlockState> entry : pendingChanges.entrySet())
+            {
+                final BlockPos pos = entry.getKey();
+                if (pos.getY() < 0 || pos.getY() > MAX_Y)
+                {
+                    continue;
+                }
+
+                final long key = ChunkPosUtil.chunkKeyOf(pos);
+                final char[][] published = columns.get(key);
+                if (published == null)
+                {
+                    continue;
+                }
+
+                char[][] column = updated.get(key);
+                if (column == null)
+                {
+                    column = published.clone();
+                    updated.put(key, column);
+                }
+
+                final int sectionY = pos.getY() >> SECTION_SHIFT;
+                if (column[sectionY] == published[sectionY])
+                {
+                    //  First change of this section in this tick, never write into a published section
+                    column[sectionY] = published[sectionY] == null ? new char[SECTION_VOLUME] : published[sectionY].clone();
+                }
+                column[sectionY][sectionIndex(pos.getX(), pos.getY(), pos.getZ())] = (char) Block.getStateId(entry.getValue());
+            }
+
+            columns.putAll(updated);
+            pendingChanges.clear();
+        }
+
+        if (time - lastEviction >= EVICT_INTERVAL)
+        {
+            lastEviction = time;
+            evictUnusedColumns(time);
+        }
+    }
+
+    /**
+     * Drops the columns no path job asked for in a while.
+     *
+     * @param time the current world time.
+     */
+    private void evictUnusedColumns(final long time)
+    {
+        final Iterator<Map.Entry<Long, Long>> iterator = columnUsedAt.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            final Map.Entry<Long, Long> entry = iterator.next();
+            if (time - entry.getValue() > EVICT_AFTER)
+            {
+                columns.remove(entry.getKey());
+                columnCapturedAt.remove(entry.getKey());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Creates a reader for the snapshot, to be used by a single path job.
+     *
+     * @return the block access.
+     */
+    @NotNull
+    public IBlockAccess createReader()
+    {
+        return new Reader(columns);
+    }
+
+    /**
+     * Read-only access to the snapshot, caching the last used column.
+     * Not thread-safe itself, every job uses its own reader.
+     */
+    private static final class Reader implements IBlockAccess
+    {
+        private final Map<Long, char[][]> columns;
+        private       long                cachedKey;
+        @Nullable
+        private       char[][]            cachedColumn;
+        private       boolean             hasCachedColumn = false;
+
+        /**
+         * Creates a reader of the published columns.
+         *
+         * @param columns the columns.
+         */
+        private Reader(final Map<Long, char[][]> columns)
+        {
+            this.columns = columns;
+        }
+
+        @Nullable
+        @Override
+        public TileEntity getTileEntity(final BlockPos pos)
+        {
+            return null;
+        }
+
+        @SideOnly(Side.CLIENT)
+        @Override
+        public int getCombinedLight(final BlockPos pos, final int lightValue)
+        {
+            return 0;
+        }
+
+        @NotNull
+        @Override
+        public IBlockState getBlockState(@NotNull final BlockPos pos)
+        {
+            final int y = pos.getY();
+            if (y < 0 || y > MAX_Y)
+            {
+                return Blocks.AIR.getDefaultState();
+            }
+
+            final long key = ChunkPosUtil.chunkKeyOf(pos);
+            if (!hasCachedColumn || key != cachedKey)
+            {
+                cachedColumn = columns.get(key);
+                cachedKey = key;
+                hasCachedColumn = true;
+            }
+
+            if (cachedColumn == null)
+            {
+                //  Not loaded, like in a ChunkCache
+                return Blocks.AIR.getDefaultState();
+            }
+
+            final char[] section = cachedColumn[y >> SECTION_SHIFT];
+            if (section == null)
+            {
+                return Blocks.AIR.getDefaultState();
+            }
+            return Block.getStateById(section[sectionIndex(pos.getX(), y, pos.getZ())]);
+        }
+
+        @Override
+        public boolean isAirBlock(@NotNull final BlockPos pos)
+        {
+            final IBlockState state = getBlockState(pos);
+            return state.getBlock().isAir(state, this, pos);
+        }
+
+        @SideOnly(Side.CLIENT)
+        @Override
+        public Biome getBiome(final BlockPos pos)
+        {
+            return Biomes.PLAINS;
+        }
+
+        @Override
+        public int getStrongPower(final BlockPos pos, final EnumFacing direction)
+        {
+            return 0;
+        }
+
+        @SideOnly(Side.CLIENT)
+        @Override
+        public WorldType getWorldType()
+        {
+            return WorldType.DEFAULT;
+        }
+
+        @Override
+        public boolean isSideSolid(@NotNull final BlockPos pos, final EnumFacing side, final boolean defaultValue)
+        {
+            return getBlockState(pos).isSideSolid(this, pos, side);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.util.BlockPosUtil;
+import com.minecolonies.coremod.util.MathUtils;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * The little the colony manager knows about a colony which is not loaded: where it is and who owns it.
+ * Headers of all colonies are kept in an index file, so the server can start without reading every colony.
+ */
+public final class ColonyHeader implements IColonyArea
+{
+    /**
+     * NBT tags.
+     */
+    private static final String TAG_ID        = "id";
+    private static final String TAG_DIMENSION = "dimension";
+    private static final String TAG_CENTER    = "center";
+    private static final String TAG_NAME      = "name";
+    private static final String TAG_OWNER     = "owner";
+
+    private final int      id;
+    private final int      dimension;
+    @NotNull
+    private final BlockPos center;
+    @NotNull
+    private final String   name;
+    @Nullable
+    private final UUID     owner;
+
+    private ColonyHeader(final int id, final int dimension, @NotNull final BlockPos center, @NotNull final String name, @Nullable final UUID owner)
+    {
+        this.id = id;
+        this.dimension = dimension;
+        this.center = center;
+        this.name = name;
+        this.owner = owner;
+    }
+
+    /**
+     * Create the header of a colony.
+     *
+     * @param colony the colony.
+     * @return the header.
+     */
+    @NotNull
+    public static ColonyHeader of(@NotNull final Colony colony)
+    {
+        return new ColonyHeader(colony.getID(), colony.getDimension(), colony.getCenter(), colony.getName(), colony.getPermissions().getOwner());
+    }
+
+    /**
+     * Read a header from NBT.
+     *
+     * @param compound the compound.
+     * @return the header.
+     */
+    @NotNull
+    public static ColonyHeader readFromNBT(@NotNull final NBTTagCompound compound)
+    {
+        return new ColonyHeader(compound.getInteger(TAG_ID),
+                                 compound.getInteger(TAG_DIMENSION),
+                                 BlockPosUtil.readFromNBT(compound, TAG_CENTER),
+                                 compound.getString(TAG_NAME),
+                                 compound.hasUniqueId(TAG_OWNER) ? compound.getUniqueId(TAG_OWNER) : null);
+    }
+
+    /**
+     * Write the header to NBT.
+     *
+     * @param compound the compound.
+     */
+    public void writeToNBT(@NotNull final NBTTagCompound compound)
+    {
+        compound.setInteger(TAG_ID, id);
+        compound.setInteger(TAG_DIMENSION, dimension);
+        BlockPosUtil.writeToNBT(compound, TAG_CENTER, center);
+        compound.setString(TAG_NAME, name);
+        if (owner != null)
+        {
+            compound.setUniqueId(TAG_OWNER, owner);
+        }
+    }
+
+    /**
+     * Getter for the id of the colony.
+     *
+     * @return the id.
+     */
+    public int getID()
+    {
+        return id;
+    }
+
+    /**
+     * Getter for the dimension of the colony.
+     *
+     * @return the dimension id.
+     */
+    public int getDimension()
+    {
+        return dimension;
+    }
+
+    @Override
+    public BlockPos getCenter()
+    {
+        return center;
+    }
+
+    /**
+     * Getter for the name of the colony.
+     *
+     * @return the name.
+     */
+    @NotNull
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Getter for the owner of the colony.
+     *
+     * @return the UUID of the owner or null if it has none.
+     */
+    @Nullable
+    public UUID getOwner()
+    {
+        return owner;
+    }
+
+    @Override
+    public boolean isCoordInColony(@NotNull final World w, @NotNull final BlockPos pos)
+    {
+        return w.provider.getDimension() == dimension
+                 && BlockPosUtil.getDistanceSquared(center, new BlockPos(pos.getX(), center.getY(), pos.getZ())) <= MathUtils.square(Configurations.workingRangeTownHall);
+    }
+
+    @Override
+    public long getDistanceSquared(@NotNull final BlockPos pos)
+    {
+        return BlockPosUtil.getDistanceSquared2D(center, pos);
+    }
+}
@@ -0,0 +1,377 @@
+package com.minecolonies.coremod.colony;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import static com.minecolonies.coremod.util.ChunkPosUtil.*;
+
+/**
+ * The items lying on the ground in the area of a colony, shared by the citizens of the colony.
+ * Items are added when they join the world or their chunk loads and are kept by chunk.
+ * Items which got picked up, merged or unloaded are dropped by the next sweep or skipped when queried.
+ * Only the area of the colony block snapshot is tracked, queries reaching out of it search the world instead.
+ * Only used on the server thread.
+ */
+public class ColonyItemTracker
+{
+    /**
+     * Ticks between two sweeps which drop gone items and move items to the chunk they are in now.
+     */
+    private static final int SWEEP_INTERVAL = 20;
+
+    /**
+     * The colony of the tracker.
+     */
+    @NotNull
+    private final Colony colony;
+
+    /**
+     * The items by chunk.
+     */
+    @NotNull
+    private final Map<Long, List<EntityItem>> chunks = new HashMap<>();
+
+    /**
+     * The chunk each item is kept in.
+     */
+    @NotNull
+    private final Map<EntityItem, Long> chunkOfItem = new HashMap<>();
+
+    /**
+     * Statistics.
+     */
+    private long sweeps  = 0;
+    private long queries = 0;
+
+    /**
+     * Create the tracker of a colony.
+     *
+     * @param colony the colony.
+     */
+    public ColonyItemTracker(@NotNull final Colony colony)
+    {
+        this.colony = colony;
+    }
+
+    /**
+     * Checks if an item still lies in the world, unloaded items are not dead but gone from the world.
+     *
+     * @param world the world.
+     * @param item  the item.
+     * @return true if so.
+     */
+    private static boolean isPresent(@NotNull final World world, @NotNull final EntityItem item)
+    {
+        return !item.isDead && world.getEntityByID(item.getEntityId()) == item;
+    }
+
+    /**
+     * Checks if an area lies completely inside of the tracked area.
+     *
+     * @param area the area.
+     * @return true if so.
+     */
+    public boolean covers(@NotNull final AxisAlignedBB area)
+    {
+        final ColonyBlockSnapshot snapshot = colony.getBlockSnapshot();
+        return snapshot.covers(MathHelper.floor_double(area.minX), MathHelper.floor_double(area.minZ))
+                 && snapshot.covers(MathHelper.floor_double(area.maxX), MathHelper.floor_double(area.maxZ));
+    }
+
+    /**
+     * Called when an item joins the world.
+     *
+     * @param item the item.
+     */
+    public void onItemJoinWorld(@NotNull final EntityItem item)
+    {
+        if (!chunkOfItem.containsKey(item) && colony.getBlockSnapshot().covers(MathHelper.floor_double(item.posX), MathHelper.floor_double(item.posZ)))
+        {
+            add(item, chunkKeyOf(item));
+        }
+    }
+
+    /**
+     * Called when a chunk in the area of the colony loaded.
+     * Picks up the items of the chunk, they joined the world before the colony might have been loaded.
+     *
+     * @param world  the world.
+     * @param chunkX the x coordinate of the chunk.
+     * @param chunkZ the z coordinate of the chunk.
+     */
+    public void onChunkLoad(@NotNull final World world, final int chunkX, final int chunkZ)
+    {
+        final Chunk chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+        if (chunk == null)
+        {
+            return;
+        }
+
+        for (@NotNull final ClassInheritanceMultiMap<Entity> entities : chunk.getEntityLists())
+        {
+            for (@NotNull final EntityItem item : entities.getByClass(EntityItem.class))
+            {
+                if (!item.isDead)
+                {
+                    onItemJoinWorld(item);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sweeps the items every interval.
+     *
+     * @param world the world of the colony.
+     */
+    public void onWorldTick(@NotNull final World world)
+    {
+        if (world.getTotalWorldTime() % SWEEP_INTERVAL != 0 || chunkOfItem.isEmpty())
+        {
+            return;
+        }
+        sweeps++;
+
+        for (@NotNull final EntityItem item : new ArrayList<>(chunkOfItem.keySet()))
+        {
+            final long key = chunkOfItem.get(item);
+            if (!isPresent(world, item) || !colony.getBlockSnapshot().covers(MathHelper.floor_double(item.posX), MathHelper.floor_double(item.posZ)))
+            {
+                remove(item, key);
+            }
+            else if (chunkKeyOf(item) != key)
+            {
+                remove(item, key);
+                add(item, chunkKeyOf(item));
+            }
+        }
+    }
+
+    private void add(@NotNull final EntityItem item, final long key)
+    {
+        chunks.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+        chunkOfItem.put(item, key);
+    }
+
+    private void remove(@NotNull final EntityItem item, final long key)
+    {
+        final List<EntityItem> items = chunks.get(key);
+        if (items != null)
+        {
+            items.remove(item);
+            if (items.isEmpty())
+            {
+                chunks.remove(key);
+            }
+        }
+        chunkOfItem.remove(item);
+    }
+
+    /**
+     * Calls an action for every item of which the bounding box intersects an area.
+     * The action may spawn or pick up items.
+     *
+     * @param world  the world.
+     * @param area   the area.
+     * @param action the action.
+     */
+    public void forEachItemWithin(@NotNull final World world, @NotNull final AxisAlignedBB area, @NotNull final Consumer<EntityItem> action)
+    {
+        queries++;
+        if (!covers(area))
+        {
+            for (@NotNull final EntityItem item : world.getEntitiesWithinAABB(EntityItem.class, area))
+            {
+                if (!item.isDead)
+                {
+                    action.accept(item);
+                }
+            }
+            return;
+        }
+        if (chunkOfItem.isEmpty())
+        {
+            return;
+        }
+
+        //  An item is kept in the chunk it was in at the last sweep, it may have drifted a bit since
+        final int minChunkX = MathHelper.floor_double(area.minX - 1) >> CHUNK_SHIFT;
+        final int maxChunkX = MathHelper.floor_double(area.maxX + 1) >> CHUNK_SHIFT;
+        final int minChunkZ = MathHelper.floor_double(area.minZ - 1) >> CHUNK_SHIFT;
+        final int maxChunkZ = MathHelper.floor_double(area.maxZ + 1) >> CHUNK_SHIFT;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++)
+        {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
+            {
+                final List<EntityItem> items = chunks.get(chunkKey(chunkX, chunkZ));
+                if (items == null)
+                {
+                    continue;
+                }
+
+                //  Index based, the action may add items to this chunk
+                for (int i = 0; i < items.size(); i++)
+                {
+                    final EntityItem item = items.get(i);
+                    if (isPresent(world, item) && area.intersectsWith(item.getEntityBoundingBox()))
+                    {
+                        action.accept(item);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the item closest to a position inside of an area, searching the chunks around the position ring by ring.
+     *
+     * @param world   the world.
+     * @param from    the position.
+     * @param area    the area.
+     * @param skipped the ids of the items to ignore.
+     * @return the item or null if there is none.
+     */
+    @Nullable
+    public EntityItem getClosestItem(@NotNull final World world, @NotNull final BlockPos from, @NotNull final AxisAlignedBB area, @NotNull final Set<Integer> skipped)
+    {
+        queries++;
+        if (!covers(area))
+        {
+            return getClosestItemInWorld(world, from, area, skipped);
+        }
+        if (chunkOfItem.isEmpty())
+        {
+            return null;
+        }
+
+        final int minChunkX = MathHelper.floor_double(area.minX - 1) >> CHUNK_SHIFT;
+        final int maxChunkX = MathHelper.floor_double(area.maxX + 1) >> CHUNK_SHIFT;
+        final int minChunkZ = MathHelper.floor_double(area.minZ - 1) >> CHUNK_SHIFT;
+        final int maxChunkZ = MathHelper.floor_double(area.maxZ + 1) >> CHUNK_SHIFT;
+        final int fromChunkX = from.getX() >> CHUNK_SHIFT;
+        final int fromChunkZ = from.getZ() >> CHUNK_SHIFT;
+        final int maxRing = Math.max(Math.max(fromChunkX - minChunkX, maxChunkX - fromChunkX), Math.max(fromChunkZ - minChunkZ, maxChunkZ - fromChunkZ));
+
+        EntityItem closest = null;
+        double closestDistance = Double.MAX_VALUE;
+        for (int ring = 0; ring <= maxRing; ring++)
+        {
+            //  Everything in this ring is at least this far away
+            final double ringDistance = Math.max(0, (ring - 1) * CHUNK_SIZE - 1);
+            if (closest != null && closestDistance <= ringDistance * ringDistance)
+            {
+                break;
+            }
+
+            for (int chunkX = fromChunkX - ring; chunkX <= fromChunkX + ring; chunkX++)
+            {
+                final int step = Math.abs(chunkX - fromChunkX) == ring ? 1 : (2 * ring);
+                for (int chunkZ = fromChunkZ - ring; chunkZ <= fromChunkZ + ring; chunkZ += Math.max(1, step))
+                {
+                    if (chunkX < minChunkX || chunkX > maxChunkX || chunkZ < minChunkZ || chunkZ > maxChunkZ)
+                    {
+                        continue;
+                    }
+
+                    final List<EntityItem> items = chunks.get(chunkKey(chunkX, chunkZ));
+                    if (items == null)
+                    {
+                        continue;
+                    }
+
+                    for (@NotNull final EntityItem item : items)
+                    {
+                        if (skipped.contains(item.getEntityId()) || !isPresent(world, item) || !area.intersectsWith(item.getEntityBoundingBox()))
+                        {
+                            continue;
+                        }
+
+                        final double distance = item.getDistanceSq(from);
+                        if (distance < closestDistance)
+                        {
+                            closest = item;
+                            closestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Finds the item closest to a position inside of an area by searching the world, for areas not tracked.
+     *
+     * @param world   the world.
+     * @param from    the position.
+     * @param area    the area.
+     * @param skipped the ids of the items to ignore.
+     * @return the item or null if there is none.
+     */
+    @Nullable
+    private static EntityItem getClosestItemInWorld(
+                                                     @NotNull final World world,
+                                                     @NotNull final BlockPos from,
+                                                     @NotNull final AxisAlignedBB area,
+                                                     @NotNull final Set<Integer> skipped)
+    {
+        EntityItem closest = null;
+        double closestDistance = Double.MAX_VALUE;
+        for (@NotNull final EntityItem item : world.getEntitiesWithinAABB(EntityItem.class, area))
+        {
+            if (item.isDead || skipped.contains(item.getEntityId()))
+            {
+                continue;
+            }
+
+            final double distance = item.getDistanceSq(from);
+            if (distance < closestDistance)
+            {
+                closest = item;
+                closestDistance = distance;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Getter for the amount of items currently kept.
+     *
+     * @return the amount.
+     */
+    public int getItemCount()
+    {
+        return chunkOfItem.size();
+    }
+
+    /**
+     * Getter for the amount of sweeps.
+     *
+     * @return the amount.
+     */
+    public long getSweeps()
+    {
+        return sweeps;
+    }
+
+    /**
+     * Getter for the amount of queries.
+     *
+     * @return the amount.
+     */
+    public long getQueries()
+    {
+        return queries;
+    }
+}
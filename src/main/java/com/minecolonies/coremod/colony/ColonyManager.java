@@ -7,26 +7,31 @@ import com.minecolonies.coremod.colony.permissions.Permissions;
 import com.minecolonies.coremod.configuration.Configurations;
 import com.minecolonies.coremod.entity.EntityCitizen;
 import com.minecolonies.coremod.util.AchievementUtils;
+import com.minecolonies.coremod.util.ChunkPosUtil;
 import com.minecolonies.coremod.util.LanguageHandler;
 import com.minecolonies.coremod.util.Log;
+import com.minecolonies.coremod.util.MathUtils;
 import io.netty.buffer.ByteBuf;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
+import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.common.DimensionManager;
 import net.minecraftforge.common.util.Constants.NBT;
+import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.*;
 
 /**
@@ -52,6 +57,18 @@ public final class ColonyManager
      * The damage source used to kill citizens.
      */
     private static final DamageSource               CONSOLE_DAMAGE_SOURCE = new DamageSource("Console");
+    /**
+     * Ticks between the checks for idle colonies.
+     */
+    private static final int                        IDLE_CHECK_INTERVAL   = 200;
+    /**
+     * Server ticks per second.
+     */
+    private static final int                        TICKS_PER_SECOND      = 20;
+    /**
+     * Players and chunks this many blocks outside of a colony load it.
+     */
+    private static final int                        LOAD_PADDING          = 16;
     /**
      * The list of all colonies.
      */
@@ -71,6 +88,49 @@ public final class ColonyManager
      */
     @NotNull
     private static final Map<Integer, ColonyView>   colonyViews           = new HashMap<>();
+    /**
+     * Spatial index of the colonies on the server.
+     */
+    @NotNull
+    private static final ColonyRegionIndex<Colony>     colonyIndex     = new ColonyRegionIndex<>();
+    /**
+     * Spatial index of the colony views on the client.
+     */
+    @NotNull
+    private static final ColonyRegionIndex<ColonyView> colonyViewIndex = new ColonyRegionIndex<>();
+    /**
+     * Headers of the colonies which are not loaded, by id.
+     */
+    @NotNull
+    private static final Map<Integer, ColonyHeader>    dormantColonies = new HashMap<>();
+    /**
+     * Spatial index of the colonies which are not loaded.
+     */
+    @NotNull
+    private static final ColonyRegionIndex<ColonyHeader> dormantIndex  = new ColonyRegionIndex<>();
+    /**
+     * Headers of colonies which could not be read, kept in the index so their files are not forgotten.
+     */
+    @NotNull
+    private static final Map<Integer, ColonyHeader>    unreadableColonies = new HashMap<>();
+    /**
+     * The server tick each loaded colony was last seen active, by id.
+     */
+    @NotNull
+    private static final Map<Integer, Long>            lastActive      = new HashMap<>();
+    /**
+     * Ticks since the server started.
+     */
+    private static long serverTicks;
+    /**
+     * Whether the index of the colony headers has to be written.
+     */
+    private static boolean indexDirty;
+    /**
+     * The colonies each player is subscribed to.
+     */
+    @NotNull
+    private static final Map<UUID, Set<Colony>>        subscriptions   = new HashMap<>();
     /**
      * Amount of worlds loaded.
      */
@@ -79,6 +139,15 @@ public final class ColonyManager
      * Whether the colonyManager should persist data.
      */
     private static boolean saveNeeded;
+    /**
+     * The storage of the colony files, null while no world is loaded.
+     */
+    @Nullable
+    private static ColonyStorage storage;
+    /**
+     * Set if colonies were loaded from the single colonies file of old saves, which is retired after the next save.
+     */
+    private static boolean legacyLoaded;
 
     private ColonyManager()
     {
@@ -106,6 +175,9 @@ public final class ColonyManager
         }
 
         coloniesByWorld.get(colony.getDimension()).add(colony);
+        colonyIndex.add(colony.getDimension(), colony);
+        lastActive.put(colony.getID(), serverTicks);
+        indexDirty = true;
 
         final String colonyName = LanguageHandler.format("com.minecolonies.coremod.gui.townHall.defaultName", player.getDisplayNameString());
         colony.setName(colonyName);
@@ -141,7 +213,15 @@ public final class ColonyManager
             final Colony colony = getColony(id);
             Log.getLogger().info("Deleting colony " + id);
             colonies.remove(id);
+            lastActive.remove(id);
+            indexDirty = true;
+            if (getStorage() != null)
+            {
+                getStorage().delete(id);
+            }
             coloniesByWorld.get(colony.getDimension()).remove(colony);
+            colonyIndex.remove(colony.getDimension(), colony);
+            colony.removeAllSubscribers();
             final Set<World> colonyWorlds = new HashSet<>();
             Log.getLogger().info("Removing citizens for " + id);
             for (final CitizenData citizenData : new ArrayList<>(colony.getCitizens().values()))
@@ -181,17 +261,229 @@ public final class ColonyManager
 
     /**
      * Get Colony by UUID.
+     * Loads the colony if it is not loaded.
      *
      * @param id ID of colony.
      * @return Colony with given ID.
      */
     public static Colony getColony(final int id)
     {
-        return colonies.get(id);
+        final Colony colony = colonies.get(id);
+        if (colony == null && dormantColonies.containsKey(id))
+        {
+            return loadDormantColony(id);
+        }
+        return colony;
+    }
+
+    /**
+     * Loads a colony which is known only by its header.
+     *
+     * @param id the id of the colony.
+     * @return the colony or null if it could not be read.
+     */
+    @Nullable
+    private static Colony loadDormantColony(final int id)
+    {
+        final ColonyHeader header = dormantColonies.remove(id);
+        if (header == null)
+        {
+            return null;
+        }
+        dormantIndex.remove(header.getDimension(), header);
+
+        @Nullable final NBTTagCompound compound = storage == null ? null : storage.read(id);
+        if (compound == null)
+        {
+            Log.getLogger().error(String.format("Colony %d could not be read, it stays unloaded", id));
+            unreadableColonies.put(id, header);
+            return null;
+        }
+
+        @NotNull final Colony colony = Colony.loadColony(compound);
+        //  The file is up to date
+        colony.takeUnsavedChanges();
+        addLoadedColony(colony);
+
+        final World world = DimensionManager.getWorld(colony.getDimension());
+        if (world != null)
+        {
+            colony.onWorldLoad(world);
+        }
+
+        final MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+        if (server != null)
+        {
+            for (@NotNull final EntityPlayerMP player : server.getPlayerList().getPlayerList())
+            {
+                colony.updateSubscriber(player);
+            }
+        }
+
+        if (world != null)
+        {
+            AchievementUtils.syncAchievements(colony);
+        }
+
+        Log.getLogger().info(String.format("Loaded colony %d on demand", id));
+        return colony;
+    }
+
+    /**
+     * Writes a colony to disk and drops it from memory, only its header is kept.
+     *
+     * @param colony the colony.
+     */
+    private static void unloadColony(@NotNull final Colony colony)
+    {
+        @Nullable final ColonyStorage colonyStorage = getStorage();
+        if (colonyStorage == null)
+        {
+            return;
+        }
+
+        if (colony.takeUnsavedChanges())
+        {
+            @NotNull final NBTTagCompound colonyTagCompound = new NBTTagCompound();
+            colony.writeToNBT(colonyTagCompound);
+            colonyStorage.save(colony.getID(), colonyTagCompound);
+        }
+
+        colonies.remove(colony.getID());
+        coloniesByWorld.get(colony.getDimension()).remove(colony);
+        colonyIndex.remove(colony.getDimension(), colony);
+        colony.removeAllSubscribers();
+        lastActive.remove(colony.getID());
+
+        final ColonyHeader header = ColonyHeader.of(colony);
+        dormantColonies.put(header.getID(), header);
+        dormantIndex.add(header.getDimension(), header);
+        indexDirty = true;
     }
 
     /**
-     * Syncs the achievements for all colonies.
+     * Checks if anything keeps a colony in use: players receiving its updates, loaded citizens or loaded buildings.
+     * Tile entities and citizens hold on to their colony, so a colony with any of them loaded must stay loaded.
+     *
+     * @param colony the colony.
+     * @return true if so.
+     */
+    private static boolean isColonyActive(@NotNull final Colony colony)
+    {
+        final World world = colony.getWorld();
+        if (world == null)
+        {
+            return false;
+        }
+
+        if (colony.hasSubscribers() || world.isBlockLoaded(colony.getCenter()))
+        {
+            return true;
+        }
+
+        for (@NotNull final CitizenData citizen : colony.getCitizens().values())
+        {
+            if (citizen.getCitizenEntity() != null)
+            {
+                return true;
+            }
+        }
+
+        for (@NotNull final AbstractBuilding building : colony.getBuildings().values())
+        {
+            if (world.isBlockLoaded(building.getLocation()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Unloads the colonies which were not active for the configured time.
+     */
+    private static void unloadIdleColonies()
+    {
+        if (Configurations.idleColonyUnloadTime <= 0 || getStorage() == null)
+        {
+            return;
+        }
+
+        final long idleTicks = (long) Configurations.idleColonyUnloadTime * TICKS_PER_SECOND;
+        for (@NotNull final Colony colony : new ArrayList<>(colonies.values()))
+        {
+            final Long last = lastActive.get(colony.getID());
+            if (last == null || isColonyActive(colony))
+            {
+                lastActive.put(colony.getID(), serverTicks);
+            }
+            else if (serverTicks - last >= idleTicks)
+            {
+                unloadColony(colony);
+            }
+        }
+    }
+
+    /**
+     * Loads the colonies near a position which are not loaded.
+     *
+     * @param dimension the dimension.
+     * @param pos       the position.
+     */
+    private static void loadDormantColoniesNear(final int dimension, @NotNull final BlockPos pos)
+    {
+        if (dormantColonies.isEmpty())
+        {
+            return;
+        }
+
+        final long maxDistanceSquared = (long) MathUtils.square(Configurations.workingRangeTownHall + LOAD_PADDING);
+        for (@NotNull final ColonyHeader header : new ArrayList<>(dormantIndex.getColoniesNear(dimension, pos)))
+        {
+            if (header.getDistanceSquared(pos) <= maxDistanceSquared)
+            {
+                loadDormantColony(header.getID());
+            }
+        }
+    }
+
+    /**
+     * Loads the colonies covering a chunk which was loaded and lets them check their blocks in it.
+     *
+     * @param world  the world.
+     * @param chunkX the x coordinate of the chunk.
+     * @param chunkZ the z coordinate of the chunk.
+     */
+    public static void onChunkLoad(@NotNull final World world, final int chunkX, final int chunkZ)
+    {
+        final BlockPos chunkCenter = new BlockPos((chunkX << ChunkPosUtil.CHUNK_SHIFT) + ChunkPosUtil.CHUNK_SIZE / 2,
+                                                   0,
+                                                   (chunkZ << ChunkPosUtil.CHUNK_SHIFT) + ChunkPosUtil.CHUNK_SIZE / 2);
+        loadDormantColoniesNear(world.provider.getDimension(), chunkCenter);
+        for (@NotNull final Colony c : colonyIndex.getColoniesNear(world.provider.getDimension(), chunkCenter))
+        {
+            c.onChunkLoad(world, chunkX, chunkZ);
+        }
+    }
+
+    /**
+     * Hands an item which joined the world to the colonies covering its position.
+     * Called on the server thread.
+     *
+     * @param world the world.
+     * @param item  the item.
+     */
+    public static void onItemJoinWorld(@NotNull final World world, @NotNull final EntityItem item)
+    {
+        for (@NotNull final Colony c : colonyIndex.getColoniesNear(world.provider.getDimension(), item.getPosition()))
+        {
+            c.getItemTracker().onItemJoinWorld(item);
+        }
+    }
+
+    /**
+     * Syncs the achievements for all loaded colonies.
+     * Reading every unloaded colony from disk for this is too expensive, they sync their achievements when they are loaded.
      */
     public static void syncAllColoniesAchievements()
     {
@@ -242,25 +534,55 @@ public final class ColonyManager
      */
     public static Colony getColony(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        final List<Colony> coloniesInWorld = coloniesByWorld.get(w.provider.getDimension());
-        if (coloniesInWorld == null)
+        final Colony colony = colonyIndex.getColonyAt(w, pos);
+        if (colony == null && !dormantColonies.isEmpty())
         {
-            return null;
+            final ColonyHeader header = dormantIndex.getColonyAt(w, pos);
+            if (header != null)
+            {
+                return loadDormantColony(header.getID());
+            }
         }
+        return colony;
+    }
 
-        for (@NotNull final Colony c : coloniesInWorld)
+    /**
+     * Forwards a block change to the colonies covering the position.
+     * Called on the server thread.
+     *
+     * @param w        World.
+     * @param pos      Block position.
+     * @param newState the new block state.
+     */
+    public static void onBlockChange(@NotNull final World w, @NotNull final BlockPos pos, @NotNull final IBlockState newState)
+    {
+        for (@NotNull final Colony c : colonyIndex.getColoniesNear(w.provider.getDimension(), pos))
         {
-            if (c.isCoordInColony(w, pos))
+            if (c.getBlockSnapshot().covers(pos.getX(), pos.getZ()))
             {
-                return c;
+                c.onBlockChange(pos, newState);
             }
         }
+    }
 
-        return null;
+    /**
+     * Forwards a possible change of a chest content to the colony containing it.
+     * Called on the server thread.
+     *
+     * @param w   World.
+     * @param pos position of the chest.
+     */
+    public static void onContainerChanged(@NotNull final World w, @NotNull final BlockPos pos)
+    {
+        final Colony colony = getColony(w, pos);
+        if (colony != null)
+        {
+            colony.onContainerChanged(pos);
+        }
     }
 
     /**
-     * Get all colonies in this world.
+     * Get all loaded colonies in this world.
      *
      * @param w World.
      * @return a list of colonies.
@@ -277,7 +599,7 @@ public final class ColonyManager
     }
 
     /**
-     * Get all colonies in all worlds.
+     * Get all loaded colonies in all worlds.
      *
      * @return a list of colonies.
      */
@@ -287,6 +609,24 @@ public final class ColonyManager
         return new ArrayList<>(colonies.values());
     }
 
+    /**
+     * Get the headers of all colonies in all worlds, loaded or not, by id.
+     *
+     * @return a list of headers.
+     */
+    @NotNull
+    public static List<ColonyHeader> getColonyHeaders()
+    {
+        @NotNull final List<ColonyHeader> headers = new ArrayList<>(dormantColonies.values());
+        headers.addAll(unreadableColonies.values());
+        for (@NotNull final Colony colony : colonies.values())
+        {
+            headers.add(ColonyHeader.of(colony));
+        }
+        headers.sort(Comparator.comparingInt(ColonyHeader::getID));
+        return headers;
+    }
+
     /**
      * Get a AbstractBuilding by position.
      *
@@ -295,8 +635,8 @@ public final class ColonyManager
      */
     public static AbstractBuilding.View getBuildingView(final BlockPos pos)
     {
-        //  On client we will just check all known views
-        for (@NotNull final ColonyView colony : colonyViews.values())
+        //  On client we will just check the views around the position
+        for (@NotNull final ColonyView colony : colonyViewIndex.getColoniesNear(pos))
         {
             final AbstractBuilding.View building = colony.getBuilding(pos);
             if (building != null)
@@ -332,15 +672,7 @@ public final class ColonyManager
      */
     private static ColonyView getColonyView(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        for (@NotNull final ColonyView c : colonyViews.values())
-        {
-            if (c.isCoordInColony(w, pos))
-            {
-                return c;
-            }
-        }
-
-        return null;
+        return colonyViewIndex.getColonyAt(w, pos);
     }
 
     /**
@@ -369,27 +701,12 @@ public final class ColonyManager
     @Nullable
     public static ColonyView getClosestColonyView(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        @Nullable ColonyView closestColony = null;
-        long closestDist = Long.MAX_VALUE;
-
-        for (@NotNull final ColonyView c : colonyViews.values())
-        {
-            if (c.getDimension() == w.provider.getDimension())
-            {
-                final long dist = c.getDistanceSquared(pos);
-                if (dist < closestDist)
-                {
-                    closestColony = c;
-                    closestDist = dist;
-                }
-            }
-        }
-
-        return closestColony;
+        return colonyViewIndex.getClosest(w.provider.getDimension(), pos);
     }
 
     /**
      * Get closest colony by x,y,z.
+     * An unloaded colony is only loaded if the position is close enough to matter for it, within the minimum town hall distance.
      *
      * @param w   World.
      * @param pos coordinates.
@@ -397,29 +714,15 @@ public final class ColonyManager
      */
     public static Colony getClosestColony(@NotNull final World w, @NotNull final BlockPos pos)
     {
-        final List<Colony> coloniesInWorld = coloniesByWorld.get(w.provider.getDimension());
-        if (coloniesInWorld == null)
+        final Colony closest = colonyIndex.getClosest(w.provider.getDimension(), pos);
+        final ColonyHeader closestDormant = dormantColonies.isEmpty() ? null : dormantIndex.getClosest(w.provider.getDimension(), pos);
+        if (closestDormant != null
+              && closestDormant.getDistanceSquared(pos) < MathUtils.square(getMinimumDistanceBetweenTownHalls())
+              && (closest == null || closestDormant.getDistanceSquared(pos) < closest.getDistanceSquared(pos)))
         {
-            return null;
-        }
-
-        @Nullable Colony closestColony = null;
-        long closestDist = Long.MAX_VALUE;
-
-        for (@NotNull final Colony c : coloniesInWorld)
-        {
-            if (c.getDimension() == w.provider.getDimension())
-            {
-                final long dist = c.getDistanceSquared(pos);
-                if (dist < closestDist)
-                {
-                    closestColony = c;
-                    closestDist = dist;
-                }
-            }
+            return loadDormantColony(closestDormant.getID());
         }
-
-        return closestColony;
+        return closest;
     }
 
     /**
@@ -490,11 +793,24 @@ public final class ColonyManager
             return null;
         }
 
-        return colonies.values()
-                 .stream()
-                 .filter(c -> owner.equals(c.getPermissions().getOwner()))
-                 .findFirst()
-                 .orElse(null);
+        final IColony colony = colonies.values()
+                                 .stream()
+                                 .filter(c -> owner.equals(c.getPermissions().getOwner()))
+                                 .findFirst()
+                                 .orElse(null);
+        if (colony != null)
+        {
+            return colony;
+        }
+
+        for (@NotNull final ColonyHeader header : dormantColonies.values())
+        {
+            if (owner.equals(header.getOwner()))
+            {
+                return loadDormantColony(header.getID());
+            }
+        }
+        return null;
     }
 
     /**
@@ -516,11 +832,17 @@ public final class ColonyManager
      */
     public static void onServerTick(@NotNull final TickEvent.ServerTickEvent event)
     {
-        for (@NotNull final Colony c : colonies.values())
+        //  A colony may load another one while it ticks
+        for (@NotNull final Colony c : new ArrayList<>(colonies.values()))
         {
             c.onServerTick(event);
         }
 
+        if (event.phase == TickEvent.Phase.END && ++serverTicks % IDLE_CHECK_INTERVAL == 0)
+        {
+            unloadIdleColonies();
+        }
+
         if (saveNeeded)
         {
             saveColonies();
@@ -528,68 +850,68 @@ public final class ColonyManager
     }
 
     /**
-     * Save all the Colonies.
+     * Save the colonies which changed since they were last saved.
+     * The colonies are written to NBT here, the files are written by the storage in the background.
      */
     private static void saveColonies()
     {
-        @NotNull final NBTTagCompound compound = new NBTTagCompound();
-        writeToNBT(compound);
-
-        @NotNull final File file = getSaveLocation();
-        saveNBTToPath(file, compound);
-
         saveNeeded = false;
-    }
+        @Nullable final ColonyStorage colonyStorage = getStorage();
+        if (colonyStorage == null)
+        {
+            return;
+        }
 
-    /**
-     * Write colonies to NBT data for saving.
-     *
-     * @param compound NBT-Tag.
-     */
-    public static void writeToNBT(@NotNull final NBTTagCompound compound)
-    {
-        @NotNull final NBTTagList colonyTagList = new NBTTagList();
         for (@NotNull final Colony colony : colonies.values())
         {
-            @NotNull final NBTTagCompound colonyTagCompound = new NBTTagCompound();
-            colony.writeToNBT(colonyTagCompound);
-            colonyTagList.appendTag(colonyTagCompound);
+            if (colony.takeUnsavedChanges())
+            {
+                @NotNull final NBTTagCompound colonyTagCompound = new NBTTagCompound();
+                colony.writeToNBT(colonyTagCompound);
+                colonyStorage.save(colony.getID(), colonyTagCompound);
+                //  Name or owner might have changed
+                indexDirty = true;
+            }
         }
-        compound.setTag(TAG_COLONIES, colonyTagList);
-    }
 
-    /**
-     * Get save location for Minecolonies data, from the world/save directory.
-     *
-     * @return Save file for minecolonies.
-     */
-    @NotNull
-    private static File getSaveLocation()
-    {
-        @NotNull final File saveDir = new File(DimensionManager.getWorld(0).getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
-        return new File(saveDir, FILENAME_MINECOLONIES);
+        if (indexDirty)
+        {
+            indexDirty = false;
+            @NotNull final List<ColonyHeader> headers = new ArrayList<>(dormantColonies.values());
+            headers.addAll(unreadableColonies.values());
+            for (@NotNull final Colony colony : colonies.values())
+            {
+                headers.add(ColonyHeader.of(colony));
+            }
+            colonyStorage.saveIndex(headers);
+        }
+
+        if (legacyLoaded)
+        {
+            legacyLoaded = false;
+            colonyStorage.retireLegacy();
+        }
     }
 
     /**
-     * Save an NBTTagCompound to a file.  Does so in a safe manner using an intermediate tmp file.
+     * Get the storage of the colonies, creating it for the overworld save folder if needed.
      *
-     * @param file     The destination file to write the data to.
-     * @param compound The NBTTagCompound to write to the file.
+     * @return the storage or null if the overworld is not loaded.
      */
-    private static void saveNBTToPath(@Nullable final File file, @NotNull final NBTTagCompound compound)
+    @Nullable
+    private static ColonyStorage getStorage()
     {
-        try
+        if (storage == null)
         {
-            if (file != null)
+            final World overworld = DimensionManager.getWorld(0);
+            if (overworld == null)
             {
-                file.getParentFile().mkdir();
-                CompressedStreamTools.safeWrite(compound, file);
+                return null;
             }
+            @NotNull final File saveDir = new File(overworld.getSaveHandler().getWorldDirectory(), FILENAME_MINECOLONIES_PATH);
+            storage = new ColonyStorage(saveDir, new File(saveDir, FILENAME_MINECOLONIES));
         }
-        catch (final IOException exception)
-        {
-            Log.getLogger().error("Exception when saving ColonyManager", exception);
-        }
+        return storage;
     }
 
     /**
@@ -603,6 +925,7 @@ public final class ColonyManager
         {
             //  Player has left the game, clear the Colony View cache
             colonyViews.clear();
+            colonyViewIndex.clear();
         }
     }
 
@@ -634,12 +957,7 @@ public final class ColonyManager
         {
             if (numWorldsLoaded == 0)
             {
-                @NotNull final File file = getSaveLocation();
-                @Nullable final NBTTagCompound data = loadNBTFromPath(file);
-                if (data != null)
-                {
-                    readFromNBT(data);
-                }
+                loadColonies();
             }
             ++numWorldsLoaded;
 
@@ -657,30 +975,79 @@ public final class ColonyManager
     }
 
     /**
-     * Load a file and return the data as an NBTTagCompound.
-     *
-     * @param file The path to the file.
-     * @return the data from the file as an NBTTagCompound, or null.
+     * Reads the headers of the colonies, the colonies themselves are loaded when they are needed.
+     * Colonies which have a file but are not in the index yet, and the colonies of old saves, are loaded right away.
      */
-    private static NBTTagCompound loadNBTFromPath(
-                                                   @Nullable final File file)
+    private static void loadColonies()
     {
-        try
+        @Nullable final ColonyStorage colonyStorage = getStorage();
+        if (colonyStorage == null)
+        {
+            return;
+        }
+
+        @Nullable final List<ColonyHeader> headers = colonyStorage.readIndex();
+        if (headers != null)
+        {
+            for (@NotNull final ColonyHeader header : headers)
+            {
+                dormantColonies.put(header.getID(), header);
+                dormantIndex.add(header.getDimension(), header);
+                topColonyId = Math.max(topColonyId, header.getID());
+            }
+        }
+        indexDirty = headers == null;
+
+        for (final int id : colonyStorage.listColonyIds())
         {
-            if (file != null && file.exists())
+            if (!dormantColonies.containsKey(id))
             {
-                return CompressedStreamTools.read(file);
+                @Nullable final NBTTagCompound colonyCompound = colonyStorage.read(id);
+                if (colonyCompound != null)
+                {
+                    addLoadedColony(Colony.loadColony(colonyCompound));
+                    indexDirty = true;
+                }
             }
         }
-        catch (final IOException exception)
+
+        @Nullable final NBTTagCompound legacyData = colonyStorage.readLegacy();
+        if (legacyData != null)
         {
-            Log.getLogger().error("Exception when loading ColonyManger", exception);
+            readFromNBT(legacyData);
+            legacyLoaded = true;
         }
-        return null;
+
+        Log.getLogger().info(String.format("Loaded %d colonies, %d more are loaded when needed", colonies.size(), dormantColonies.size()));
+    }
+
+    /**
+     * Registers a loaded colony, unless a colony with the same id is known already.
+     *
+     * @param colony the colony.
+     */
+    private static void addLoadedColony(@NotNull final Colony colony)
+    {
+        if (colonies.containsKey(colony.getID()) || dormantColonies.containsKey(colony.getID()))
+        {
+            return;
+        }
+        colonies.put(colony.getID(), colony);
+        lastActive.put(colony.getID(), serverTicks);
+
+        if (!coloniesByWorld.containsKey(colony.getDimension()))
+        {
+            coloniesByWorld.put(colony.getDimension(), new ArrayList<>());
+        }
+        coloniesByWorld.get(colony.getDimension()).add(colony);
+        colonyIndex.add(colony.getDimension(), colony);
+
+        topColonyId = Math.max(topColonyId, colony.getID());
     }
 
     /**
-     * Read Colonies from saved NBT data.
+     * Read Colonies from saved NBT data in the format of the single colonies file.
+     * Colonies which were loaded from their own file already are skipped, their file is newer.
      *
      * @param compound NBT Tag.
      */
@@ -689,19 +1056,8 @@ public final class ColonyManager
         final NBTTagList colonyTags = compound.getTagList(TAG_COLONIES, NBT.TAG_COMPOUND);
         for (int i = 0; i < colonyTags.tagCount(); ++i)
         {
-            @NotNull final Colony colony = Colony.loadColony(colonyTags.getCompoundTagAt(i));
-            colonies.put(colony.getID(), colony);
-
-            if (!coloniesByWorld.containsKey(colony.getDimension()))
-            {
-                coloniesByWorld.put(colony.getDimension(), new ArrayList<>());
-            }
-            coloniesByWorld.get(colony.getDimension()).add(colony);
-
-            topColonyId = Math.max(topColonyId, colony.getID());
+            addLoadedColony(Colony.loadColony(colonyTags.getCompoundTagAt(i)));
         }
-
-        Log.getLogger().info(String.format("Loaded %d colonies", colonies.size()));
     }
 
     /**
@@ -740,8 +1096,125 @@ public final class ColonyManager
             --numWorldsLoaded;
             if (numWorldsLoaded == 0)
             {
+                if (storage != null)
+                {
+                    saveColonies();
+                    storage.shutdown();
+                    storage = null;
+                }
+                legacyLoaded = false;
+                indexDirty = false;
                 colonies.clear();
+                dormantColonies.clear();
+                dormantIndex.clear();
+                unreadableColonies.clear();
+                lastActive.clear();
                 coloniesByWorld.clear();
+                colonyIndex.clear();
+                subscriptions.clear();
+            }
+        }
+    }
+
+    /**
+     * Called by a colony when a player subscribed to it.
+     *
+     * @param colony the colony.
+     * @param player the player.
+     */
+    static void onSubscriberAdded(@NotNull final Colony colony, @NotNull final EntityPlayerMP player)
+    {
+        subscriptions.computeIfAbsent(player.getUniqueID(), k -> new HashSet<>()).add(colony);
+    }
+
+    /**
+     * Called by a colony when a player is no subscriber anymore.
+     *
+     * @param colony the colony.
+     * @param player the player.
+     */
+    static void onSubscriberRemoved(@NotNull final Colony colony, @NotNull final EntityPlayerMP player)
+    {
+        final Set<Colony> subscribed = subscriptions.get(player.getUniqueID());
+        if (subscribed != null)
+        {
+            subscribed.remove(colony);
+            if (subscribed.isEmpty())
+            {
+                subscriptions.remove(player.getUniqueID());
+            }
+        }
+    }
+
+    /**
+     * Subscribes a player who logged in, respawned or changed the dimension to the colonies he belongs to or is close to.
+     *
+     * @param player the player.
+     */
+    public static void onPlayerJoin(@NotNull final EntityPlayerMP player)
+    {
+        unsubscribe(player);
+        for (@NotNull final ColonyHeader header : new ArrayList<>(dormantColonies.values()))
+        {
+            if (player.getGameProfile().getId().equals(header.getOwner()))
+            {
+                loadDormantColony(header.getID());
+            }
+        }
+        loadDormantColoniesNear(player.worldObj.provider.getDimension(), player.getPosition());
+
+        for (@NotNull final Colony colony : colonies.values())
+        {
+            colony.updateSubscriber(player);
+        }
+    }
+
+    /**
+     * Removes a player who logged out from the subscribers of all colonies.
+     *
+     * @param player the player.
+     */
+    public static void onPlayerLeave(@NotNull final EntityPlayerMP player)
+    {
+        unsubscribe(player);
+    }
+
+    /**
+     * Updates the subscriptions of a player who entered another chunk.
+     * Only the colonies he is subscribed to and the colonies around the new position have to be checked.
+     *
+     * @param player the player.
+     */
+    public static void onPlayerMove(@NotNull final EntityPlayerMP player)
+    {
+        loadDormantColoniesNear(player.worldObj.provider.getDimension(), player.getPosition());
+        @NotNull final Set<Colony> candidates = new HashSet<>(colonyIndex.getColoniesNear(player.worldObj.provider.getDimension(), player.getPosition()));
+        final Set<Colony> subscribed = subscriptions.get(player.getUniqueID());
+        if (subscribed != null)
+        {
+            candidates.addAll(subscribed);
+        }
+
+        for (@NotNull final Colony colony : candidates)
+        {
+            colony.updateSubscriber(player);
+        }
+    }
+
+    /**
+     * Removes a player from the subscribers of all colonies he is subscribed to.
+     * Compares the UUID, after a respawn or a dimension change the player is a new entity.
+     *
+     * @param player the player.
+     */
+    private static void unsubscribe(@NotNull final EntityPlayerMP player)
+    {
+        final Set<Colony> subscribed = subscriptions.remove(player.getUniqueID());
+        if (subscribed != null)
+        {
+            for (@NotNull final Colony colony : subscribed)
+            {
+                colony.removeSubscriber(player.getUniqueID());
             }
         }
     }
@@ -762,6 +1235,11 @@ public final class ColonyManager
         {
             view = ColonyView.createFromNetwork(colonyId);
             colonyViews.put(colonyId, view);
+
+            //  The center is only known once the first message has been read
+            final IMessage response = view.handleColonyViewMessage(colonyData, isNewSubscription);
+            colonyViewIndex.add(view.getDimension(), view);
+            return response;
         }
 
         return view.handleColonyViewMessage(colonyData, isNewSubscription);
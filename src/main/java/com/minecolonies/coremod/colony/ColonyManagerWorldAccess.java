@@ -11,7 +11,7 @@ import net.minecraft.world.IWorldEventListener;
 import net.minecraft.world.World;
 
 /**
- * Allows us to respond to entity addition and removal events.
+ * Allows us to respond to entity addition and removal events and to block changes.
  */
 public class ColonyManagerWorldAccess implements IWorldEventListener
 {
@@ -19,8 +19,10 @@ public class ColonyManagerWorldAccess implements IWorldEventListener
     @Override
     public void notifyBlockUpdate(final World worldIn, final BlockPos pos, final IBlockState oldState, final IBlockState newState, final int flags)
     {
-        //Not needed
-
+        if (oldState != newState)
+        {
+            ColonyManager.onBlockChange(worldIn, pos, newState);
+        }
     }
 
     @Override
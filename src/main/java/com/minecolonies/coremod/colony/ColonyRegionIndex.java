@@ -0,0 +1,284 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.configuration.Configurations;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+import static com.minecolonies.coremod.util.ChunkPosUtil.*;
+
+/**
+ * Grid index of the colonies of every dimension.
+ * Answers which colony owns a position and which colony is the closest one without looking at every colony.
+ * Each colony is registered in all cells its area overlaps, and in the cell of its center.
+ * Not thread-safe, used on the server thread for colonies and on the client thread for views.
+ *
+ * @param <T> colonies on the server, colony views on the client, headers of unloaded colonies.
+ */
+public class ColonyRegionIndex<T extends IColonyArea>
+{
+    /**
+     * Cells are 64x64 blocks, 4x4 chunks.
+     */
+    private static final int CELL_SHIFT = 6;
+    private static final int CELL_SIZE  = 1 << CELL_SHIFT;
+
+    /**
+     * The ring search for the closest colony is only used while it visits less cells than this factor times the occupied cells.
+     */
+    private static final int RING_SEARCH_FACTOR = 4;
+
+    /**
+     * Colonies by the cells their area overlaps, per dimension.
+     */
+    private final Map<Integer, Map<Long, List<T>>> areaCells = new HashMap<>();
+
+    /**
+     * Colonies by the cell of their center, per dimension.
+     */
+    private final Map<Integer, Map<Long, List<T>>> centerCells = new HashMap<>();
+
+    /**
+     * Bounds of the occupied center cells per dimension: min x, min z, max x, max z.
+     */
+    private final Map<Integer, int[]> centerBounds = new HashMap<>();
+
+    /**
+     * Radius of the area a colony is registered for.
+     * Larger than the colony itself so the block snapshot area is covered too.
+     *
+     * @return the radius in blocks.
+     */
+    private static int getAreaRadius()
+    {
+        return Configurations.workingRangeTownHall + ColonyBlockSnapshot.PADDING;
+    }
+
+    /**
+     * Adds a colony to the index.
+     *
+     * @param dimension the dimension of the colony.
+     * @param colony    the colony.
+     */
+    public void add(final int dimension, @NotNull final T colony)
+    {
+        final BlockPos center = colony.getCenter();
+        final int radius = getAreaRadius();
+        final Map<Long, List<T>> cells = areaCells.computeIfAbsent(dimension, k -> new HashMap<>());
+        for (int cellX = (center.getX() - radius) >> CELL_SHIFT; cellX <= (center.getX() + radius) >> CELL_SHIFT; cellX++)
+        {
+            for (int cellZ = (center.getZ() - radius) >> CELL_SHIFT; cellZ <= (center.getZ() + radius) >> CELL_SHIFT; cellZ++)
+            {
+                cells.computeIfAbsent(cellKey(cellX, cellZ), k -> new ArrayList<>()).add(colony);
+            }
+        }
+
+        final int centerX = center.getX() >> CELL_SHIFT;
+        final int centerZ = center.getZ() >> CELL_SHIFT;
+        centerCells.computeIfAbsent(dimension, k -> new HashMap<>()).computeIfAbsent(cellKey(centerX, centerZ), k -> new ArrayList<>()).add(colony);
+
+        final int[] bounds = centerBounds.get(dimension);
+        if (bounds == null)
+        {
+            centerBounds.put(dimension, new int[] {centerX, centerZ, centerX, centerZ});
+        }
+        else
+        {
+            bounds[0] = Math.min(bounds[0], centerX);
+            bounds[1] = Math.min(bounds[1], centerZ);
+            bounds[2] = Math.max(bounds[2], centerX);
+            bounds[3] = Math.max(bounds[3], centerZ);
+        }
+    }
+
+    /**
+     * Removes a colony from the index.
+     *
+     * @param dimension the dimension of the colony.
+     * @param colony    the colony.
+     */
+    public void remove(final int dimension, @NotNull final T colony)
+    {
+        removeFromCells(areaCells.get(dimension), colony);
+        removeFromCells(centerCells.get(dimension), colony);
+    }
+
+    private void removeFromCells(@Nullable final Map<Long, List<T>> cells, @NotNull final T colony)
+    {
+        if (cells == null)
+        {
+            return;
+        }
+
+        final Iterator<List<T>> iterator = cells.values().iterator();
+        while (iterator.hasNext())
+        {
+            final List<T> list = iterator.next();
+            if (list.remove(colony) && list.isEmpty())
+            {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all colonies.
+     */
+    public void clear()
+    {
+        areaCells.clear();
+        centerCells.clear();
+        centerBounds.clear();
+    }
+
+    /**
+     * Get the colony which contains a position.
+     *
+     * @param w   the world.
+     * @param pos the position.
+     * @return the colony or null.
+     */
+    @Nullable
+    public T getColonyAt(@NotNull final World w, @NotNull final BlockPos pos)
+    {
+        for (@NotNull final T colony : getColoniesNear(w.provider.getDimension(), pos))
+        {
+            if (colony.isCoordInColony(w, pos))
+            {
+                return colony;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the colonies of which the area might contain a position, including the area around the colony border.
+     *
+     * @param dimension the dimension.
+     * @param pos       the position.
+     * @return the candidates, not to be modified.
+     */
+    @NotNull
+    public List<T> getColoniesNear(final int dimension, @NotNull final BlockPos pos)
+    {
+        final Map<Long, List<T>> cells = areaCells.get(dimension);
+        if (cells == null)
+        {
+            return Collections.emptyList();
+        }
+
+        final List<T> colonies = cells.get(cellKey(pos.getX() >> CELL_SHIFT, pos.getZ() >> CELL_SHIFT));
+        return colonies == null ? Collections.emptyList() : colonies;
+    }
+
+    /**
+     * Get the colonies of all dimensions of which the area might contain a position.
+     *
+     * @param pos the position.
+     * @return the candidates.
+     */
+    @NotNull
+    public List<T> getColoniesNear(@NotNull final BlockPos pos)
+    {
+        final List<T> result = new ArrayList<>();
+        for (final int dimension : areaCells.keySet())
+        {
+            result.addAll(getColoniesNear(dimension, pos));
+        }
+        return result;
+    }
+
+    /**
+     * Get the colony with the center closest to a position, searching the cells in rings around the position.
+     *
+     * @param dimension the dimension.
+     * @param pos       the position.
+     * @return the closest colony or null if there is none in the dimension.
+     */
+    @Nullable
+    public T getClosest(final int dimension, @NotNull final BlockPos pos)
+    {
+        final Map<Long, List<T>> cells = centerCells.get(dimension);
+        if (cells == null || cells.isEmpty())
+        {
+            return null;
+        }
+
+        final int[] bounds = centerBounds.get(dimension);
+        final int cellX = pos.getX() >> CELL_SHIFT;
+        final int cellZ = pos.getZ() >> CELL_SHIFT;
+        final int maxRing = Math.max(Math.max(Math.abs(cellX - bounds[0]), Math.abs(cellX - bounds[2])),
+          Math.max(Math.abs(cellZ - bounds[1]), Math.abs(cellZ - bounds[3])));
+
+        final Closest<T> closest = new Closest<>(pos);
+        final long ringCells = (2L * maxRing + 1) * (2L * maxRing + 1);
+        if (ringCells > (long) cells.size() * RING_SEARCH_FACTOR)
+        {
+            //  Sparse dimension, looking at every occupied cell is cheaper
+            for (@NotNull final List<T> list : cells.values())
+            {
+                closest.offer(list);
+            }
+            return closest.colony;
+        }
+
+        for (int ring = 0; ring <= maxRing; ring++)
+        {
+            //  Nothing in this ring or further out can be closer than the colony found already
+            final long minDistance = (long) Math.max(0, ring - 1) * CELL_SIZE;
+            if (closest.colony != null && minDistance * minDistance > closest.distance)
+            {
+                break;
+            }
+
+            for (int dx = -ring; dx <= ring; dx++)
+            {
+                final int step = Math.abs(dx) == ring ? 1 : (2 * ring);
+                for (int dz = -ring; dz <= ring; dz += Math.max(1, step))
+                {
+                    final List<T> list = cells.get(cellKey(cellX + dx, cellZ + dz));
+                    if (list != null)
+                    {
+                        closest.offer(list);
+                    }
+                }
+            }
+        }
+        return closest.colony;
+    }
+
+    /**
+     * Keeps track of the closest colony of a search.
+     *
+     * @param <T> the colony type.
+     */
+    private static final class Closest<T extends IColonyArea>
+    {
+        @NotNull
+        private final BlockPos pos;
+        @Nullable
+        private T    colony   = null;
+        private long distance = Long.MAX_VALUE;
+
+        private Closest(@NotNull final BlockPos pos)
+        {
+            this.pos = pos;
+        }
+
+        private void offer(@NotNull final List<T> colonies)
+        {
+            for (@NotNull final T candidate : colonies)
+            {
+                final long candidateDistance = candidate.getDistanceSquared(pos);
+                if (candidateDistance < distance)
+                {
+                    colony = candidate;
+                    distance = candidateDistance;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.util.Log;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraftforge.common.util.Constants.NBT;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stores each colony in its own file in the minecolonies folder of the world.
+ * The server thread hands over an NBT snapshot of a colony, compressing and writing it happens on a background thread.
+ * A file is written next to the target and renamed over it, so a crash leaves either the old or the new colony on disk.
+ * If a colony is saved again before its last snapshot was written, only the newest snapshot is written.
+ * Next to the colonies an index with the header of every colony is stored, read on server start instead of the colonies.
+ */
+public final class ColonyStorage
+{
+    /**
+     * The folder of the colony files inside the minecolonies folder.
+     */
+    private static final String FOLDER_COLONIES = "colonies";
+
+    /**
+     * Prefix and suffix of the colony files.
+     */
+    private static final String FILENAME_COLONY_PREFIX = "colony";
+    private static final String FILENAME_SUFFIX        = ".dat";
+
+    /**
+     * Name of the index file.
+     */
+    private static final String FILENAME_INDEX = "index.dat";
+
+    /**
+     * The tag of the headers in the index file.
+     */
+    private static final String TAG_HEADERS = "headers";
+
+    /**
+     * Suffix of a file being written.
+     */
+    private static final String FILENAME_TMP_SUFFIX = ".tmp";
+
+    /**
+     * Suffix the single colonies file of old saves is renamed to once all its colonies were written into their own files.
+     */
+    private static final String FILENAME_LEGACY_SUFFIX = ".old";
+
+    /**
+     * Marks a colony file to be deleted.
+     */
+    private static final NBTTagCompound DELETED = new NBTTagCompound();
+
+    /**
+     * The folder of the colony files.
+     */
+    @NotNull
+    private final File directory;
+
+    /**
+     * The single colonies file of old saves.
+     */
+    @NotNull
+    private final File legacyFile;
+
+    /**
+     * Writes the files, one at a time in the order they were saved.
+     */
+    @NotNull
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable ->
+    {
+        final Thread thread = new Thread(runnable, "MineColonies colony writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The newest snapshot of each file waiting to be written, {@link #DELETED} if the file should be deleted.
+     * Shared with the writer thread.
+     */
+    @NotNull
+    private final Map<String, NBTTagCompound> pending = new HashMap<>();
+
+    /**
+     * The files of which the last write failed, only used on the writer thread.
+     */
+    @NotNull
+    private final Set<String> failed = new HashSet<>();
+
+    /**
+     * Amount of colony files written.
+     */
+    private volatile long written = 0;
+
+    /**
+     * Create the storage of a world.
+     *
+     * @param saveDirectory the minecolonies folder of the world.
+     * @param legacyFile    the single colonies file of old saves.
+     */
+    public ColonyStorage(@NotNull final File saveDirectory, @NotNull final File legacyFile)
+    {
+        this.directory = new File(saveDirectory, FOLDER_COLONIES);
+        this.legacyFile = legacyFile;
+    }
+
+    @NotNull
+    private static String getColonyFileName(final int id)
+    {
+        return FILENAME_COLONY_PREFIX + id + FILENAME_SUFFIX;
+    }
+
+    /**
+     * Lists the ids of the colonies which have a file, without reading them.
+     *
+     * @return the ids.
+     */
+    @NotNull
+    public List<Integer> listColonyIds()
+    {
+        final List<Integer> result = new ArrayList<>();
+        final String[] names = directory.list((dir, name) -> name.startsWith(FILENAME_COLONY_PREFIX) && name.endsWith(FILENAME_SUFFIX));
+        if (names == null)
+        {
+            return result;
+        }
+
+        for (@NotNull final String name : names)
+        {
+            try
+            {
+                result.add(Integer.parseInt(name.substring(FILENAME_COLONY_PREFIX.length(), name.length() - FILENAME_SUFFIX.length())));
+            }
+            catch (final NumberFormatException e)
+            {
+                Log.getLogger().warn("Ignoring unexpected colony file " + name, e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads a colony, the snapshot waiting to be written if there is one.
+     * The returned compound must not be changed.
+     *
+     * @param id the id of the colony.
+     * @return the colony compound or null if it could not be read.
+     */
+    @Nullable
+    public NBTTagCompound read(final int id)
+    {
+        return read(getColonyFileName(id));
+    }
+
+    /**
+     * Reads the headers of the index file.
+     *
+     * @return the headers or null if there is no index.
+     */
+    @Nullable
+    public List<ColonyHeader> readIndex()
+    {
+        final NBTTagCompound compound = read(FILENAME_INDEX);
+        if (compound == null)
+        {
+            return null;
+        }
+
+        final List<ColonyHeader> headers = new ArrayList<>();
+        final NBTTagList headerTags = compound.getTagList(TAG_HEADERS, NBT.TAG_COMPOUND);
+        for (int i = 0; i < headerTags.tagCount(); ++i)
+        {
+            headers.add(ColonyHeader.readFromNBT(headerTags.getCompoundTagAt(i)));
+        }
+        return headers;
+    }
+
+    @Nullable
+    private NBTTagCompound read(@NotNull final String fileName)
+    {
+        synchronized (pending)
+        {
+            final NBTTagCompound snapshot = pending.get(fileName);
+            if (snapshot != null)
+            {
+                return snapshot == DELETED ? null : snapshot;
+            }
+        }
+
+        final File file = new File(directory, fileName);
+        if (!file.exists())
+        {
+            return null;
+        }
+
+        try (InputStream stream = new FileInputStream(file))
+        {
+            return CompressedStreamTools.readCompressed(stream);
+        }
+        catch (final IOException exception)
+        {
+            Log.getLogger().error("Exception when loading colony file " + fileName, exception);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the single colonies file of old saves.
+     *
+     * @return the data of the file or null if there is none.
+     */
+    @Nullable
+    public NBTTagCompound readLegacy()
+    {
+        try
+        {
+            if (legacyFile.exists())
+            {
+                return CompressedStreamTools.read(legacyFile);
+            }
+        }
+        catch (final IOException exception)
+        {
+            Log.getLogger().error("Exception when loading ColonyManger", exception);
+        }
+        return null;
+    }
+
+    /**
+     * Queues a snapshot of a colony to be written.
+     * The snapshot must not be changed afterwards.
+     *
+     * @param id       the id of the colony.
+     * @param snapshot the colony written to NBT.
+     */
+    public void save(final int id, @NotNull final NBTTagCompound snapshot)
+    {
+        queue(getColonyFileName(id), snapshot);
+    }
+
+    /**
+     * Queues the index to be written.
+     *
+     * @param headers the headers of all colonies.
+     */
+    public void saveIndex(@NotNull final Collection<ColonyHeader> headers)
+    {
+        final NBTTagList headerTags = new NBTTagList();
+        for (@NotNull final ColonyHeader header : headers)
+        {
+            final NBTTagCompound headerCompound = new NBTTagCompound();
+            header.writeToNBT(headerCompound);
+            headerTags.appendTag(headerCompound);
+        }
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setTag(TAG_HEADERS, headerTags);
+        queue(FILENAME_INDEX, compound);
+    }
+
+    /**
+     * Queues the file of a colony to be deleted.
+     *
+     * @param id the id of the colony.
+     */
+    public void delete(final int id)
+    {
+        queue(getColonyFileName(id), DELETED);
+    }
+
+    private void queue(@NotNull final String fileName, @NotNull final NBTTagCompound snapshot)
+    {
+        final boolean alreadyQueued;
+        synchronized (pending)
+        {
+            alreadyQueued = pending.containsKey(fileName);
+            pending.put(fileName, snapshot);
+        }
+
+        if (!alreadyQueued)
+        {
+            writer.execute(() -> write(fileName));
+        }
+    }
+
+    /**
+     * Renames the single colonies file of old saves once everything queued before was written.
+     * The file is kept if a colony file could not be written, its colonies are then migrated again on the next load.
+     */
+    public void retireLegacy()
+    {
+        writer.execute(() ->
+        {
+            if (!failed.isEmpty())
+            {
+                Log.getLogger().warn("Keeping " + legacyFile.getName() + ", could not write " + String.join(", ", failed));
+                return;
+            }
+
+            final File retired = new File(legacyFile.getPath() + FILENAME_LEGACY_SUFFIX);
+            if (legacyFile.exists() && !legacyFile.renameTo(retired))
+            {
+                Log.getLogger().warn("Could not rename " + legacyFile.getName() + ", its colonies will be loaded again if their files are missing");
+            }
+        });
+    }
+
+    /**
+     * Writes the newest snapshot of a file, runs on the writer thread.
+     * The snapshot stays readable by {@link #read(int)} until the file is complete.
+     *
+     * @param fileName the name of the file.
+     */
+    private void write(@NotNull final String fileName)
+    {
+        while (true)
+        {
+            final NBTTagCompound snapshot;
+            synchronized (pending)
+            {
+                snapshot = pending.get(fileName);
+            }
+
+            if (snapshot == null)
+            {
+                return;
+            }
+
+            writeFile(fileName, snapshot);
+
+            synchronized (pending)
+            {
+                //  A snapshot queued while writing did not get a task of its own, it is written right away
+                if (pending.remove(fileName, snapshot))
+                {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void writeFile(@NotNull final String fileName, @NotNull final NBTTagCompound snapshot)
+    {
+        final File file = new File(directory, fileName);
+
+        if (snapshot == DELETED)
+        {
+            if (file.exists() && !file.delete())
+            {
+                Log.getLogger().warn("Could not delete " + file.getName());
+            }
+            //  A colony deleted since is no reason to keep the old file
+            failed.remove(fileName);
+            return;
+        }
+
+        final File tmpFile = new File(directory, fileName + FILENAME_TMP_SUFFIX);
+        try
+        {
+            directory.mkdirs();
+            try (OutputStream stream = new FileOutputStream(tmpFile))
+            {
+                CompressedStreamTools.writeCompressed(snapshot, stream);
+            }
+
+            try
+            {
+                Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (final AtomicMoveNotSupportedException e)
+            {
+                Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            written++;
+            failed.remove(fileName);
+        }
+        catch (final IOException exception)
+        {
+            Log.getLogger().error("Exception when saving colony file " + fileName, exception);
+            failed.add(fileName);
+        }
+    }
+
+    /**
+     * Waits until everything queued was written.
+     */
+    public void flush()
+    {
+        try
+        {
+            writer.submit(() -> { }).get();
+        }
+        catch (final InterruptedException e)
+        {
+            Log.getLogger().warn("Interrupted while waiting for the colony files", e);
+            Thread.currentThread().interrupt();
+        }
+        catch (final ExecutionException e)
+        {
+            Log.getLogger().error("Exception when saving colonies", e);
+        }
+    }
+
+    /**
+     * Writes everything queued and stops the writer thread.
+     */
+    public void shutdown()
+    {
+        flush();
+        writer.shutdown();
+    }
+
+    /**
+     * Getter for the amount of snapshots waiting to be written.
+     *
+     * @return the amount.
+     */
+    public int getPending()
+    {
+        synchronized (pending)
+        {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Getter for the amount of colony files written.
+     *
+     * @return the amount.
+     */
+    public long getWritten()
+    {
+        return written;
+    }
+}
@@ -0,0 +1,237 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.entity.EntityCitizen;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.monster.EntityMob;
+import net.minecraft.entity.monster.EntitySlime;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+import static com.minecolonies.coremod.util.ChunkPosUtil.*;
+
+/**
+ * The possible targets of the guards inside of the colony border, shared by all guards of the colony.
+ * The colony area is searched at most once per interval, when a guard asks for targets, and the entities are kept by chunk.
+ * A guard claims the target it attacks, other guards then leave it alone.
+ * Only used on the server thread.
+ */
+public class ColonyThreatTracker
+{
+    /**
+     * Min ticks between two searches of the colony area.
+     */
+    private static final int SCAN_INTERVAL = 10;
+
+    /**
+     * The colony of the tracker.
+     */
+    @NotNull
+    private final Colony colony;
+
+    /**
+     * The possible targets by cell.
+     */
+    @NotNull
+    private final Map<Long, List<EntityLivingBase>> cells = new HashMap<>();
+
+    /**
+     * The id of the citizen attacking an entity, by entity id.
+     */
+    @NotNull
+    private final Map<Integer, Integer> claims = new HashMap<>();
+
+    /**
+     * World time of the last search, the search before the first one is long ago.
+     */
+    private long lastScan = Long.MIN_VALUE / 2;
+
+    /**
+     * Statistics.
+     */
+    private long scans       = 0;
+    private int  threatCount = 0;
+
+    /**
+     * Create the tracker of a colony.
+     *
+     * @param colony the colony.
+     */
+    public ColonyThreatTracker(@NotNull final Colony colony)
+    {
+        this.colony = colony;
+    }
+
+    /**
+     * Checks if an entity might be a target of the guards, permissions of players are checked by the guards.
+     *
+     * @param entity the entity.
+     * @return true if so.
+     */
+    private static boolean isThreat(@Nullable final Entity entity)
+    {
+        return (entity instanceof EntityMob || entity instanceof EntitySlime || entity instanceof EntityPlayer) && entity.isEntityAlive();
+    }
+
+    /**
+     * Searches the colony area again if the last search is older than the interval.
+     *
+     * @param world the world of the colony.
+     */
+    private void refresh(@NotNull final World world)
+    {
+        final long time = world.getTotalWorldTime();
+        if (time >= lastScan && time - lastScan < SCAN_INTERVAL)
+        {
+            return;
+        }
+        lastScan = time;
+        scans++;
+
+        final BlockPos center = colony.getCenter();
+        final int range = Configurations.workingRangeTownHall + Configurations.townHallPadding;
+        final AxisAlignedBB area = new AxisAlignedBB(center.getX() - range, 0, center.getZ() - range,
+                                                      center.getX() + range + 1, world.getHeight(), center.getZ() + range + 1);
+
+        cells.clear();
+        final Set<Integer> ids = new HashSet<>();
+        final List<EntityLivingBase> threats = world.getEntitiesWithinAABB(EntityLivingBase.class, area, ColonyThreatTracker::isThreat);
+        for (@NotNull final EntityLivingBase threat : threats)
+        {
+            final long key = chunkKeyOf(threat);
+            cells.computeIfAbsent(key, k -> new ArrayList<>()).add(threat);
+            ids.add(threat.getEntityId());
+        }
+        threatCount = threats.size();
+
+        //  Claims of entities which died or left the colony are dropped
+        claims.keySet().retainAll(ids);
+        //  And claims of guards which died or were removed from the colony
+        claims.values().removeIf(citizenId -> !isGuardAlive(citizenId));
+    }
+
+    private boolean isGuardAlive(final int citizenId)
+    {
+        final CitizenData citizen = colony.getCitizen(citizenId);
+        if (citizen == null)
+        {
+            return false;
+        }
+        final EntityCitizen entity = citizen.getCitizenEntity();
+        return entity != null && entity.isEntityAlive();
+    }
+
+    /**
+     * Lists the possible targets around a guard which no other guard attacks, nearest first.
+     *
+     * @param guard       the guard.
+     * @param range       the horizontal range.
+     * @param heightRange the vertical range.
+     * @return the targets.
+     */
+    @NotNull
+    public List<EntityLivingBase> getThreatsNear(@NotNull final EntityCitizen guard, final double range, final double heightRange)
+    {
+        refresh(guard.worldObj);
+
+        final List<EntityLivingBase> result = new ArrayList<>();
+        if (threatCount == 0)
+        {
+            return result;
+        }
+
+        final int minCellX = MathHelper.floor_double(guard.posX - range) >> CHUNK_SHIFT;
+        final int maxCellX = MathHelper.floor_double(guard.posX + range) >> CHUNK_SHIFT;
+        final int minCellZ = MathHelper.floor_double(guard.posZ - range) >> CHUNK_SHIFT;
+        final int maxCellZ = MathHelper.floor_double(guard.posZ + range) >> CHUNK_SHIFT;
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++)
+        {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++)
+            {
+                final List<EntityLivingBase> cell = cells.get(chunkKey(cellX, cellZ));
+                if (cell == null)
+                {
+                    continue;
+                }
+
+                for (@NotNull final EntityLivingBase threat : cell)
+                {
+                    if (threat.isEntityAlive()
+                          && Math.abs(threat.posX - guard.posX) <= range
+                          && Math.abs(threat.posZ - guard.posZ) <= range
+                          && Math.abs(threat.posY - guard.posY) <= heightRange
+                          && isFreeFor(threat, guard.getCitizenId()))
+                    {
+                        result.add(threat);
+                    }
+                }
+            }
+        }
+
+        result.sort(Comparator.comparingDouble(guard::getDistanceSqToEntity));
+        return result;
+    }
+
+    private boolean isFreeFor(@NotNull final EntityLivingBase threat, final int citizenId)
+    {
+        final Integer claim = claims.get(threat.getEntityId());
+        return claim == null || claim == citizenId;
+    }
+
+    /**
+     * Claims a target for a guard, releasing the target it attacked before.
+     *
+     * @param threat    the target.
+     * @param citizenId the id of the guard.
+     * @return false if another guard attacks the target.
+     */
+    public boolean claim(@NotNull final EntityLivingBase threat, final int citizenId)
+    {
+        if (!isFreeFor(threat, citizenId))
+        {
+            return false;
+        }
+        claims.values().removeIf(claim -> claim == citizenId);
+        claims.put(threat.getEntityId(), citizenId);
+        return true;
+    }
+
+    /**
+     * Releases the target of a guard.
+     *
+     * @param threat    the target.
+     * @param citizenId the id of the guard.
+     */
+    public void release(@NotNull final EntityLivingBase threat, final int citizenId)
+    {
+        claims.remove(threat.getEntityId(), citizenId);
+    }
+
+    /**
+     * Getter for the amount of searches of the colony area.
+     *
+     * @return the amount.
+     */
+    public long getScans()
+    {
+        return scans;
+    }
+
+    /**
+     * Getter for the amount of possible targets found by the last search.
+     *
+     * @return the amount.
+     */
+    public int getThreatCount()
+    {
+        return threatCount;
+    }
+}
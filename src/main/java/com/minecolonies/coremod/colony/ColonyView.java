@@ -6,6 +6,7 @@ import com.minecolonies.coremod.colony.buildings.BuildingTownHall;
 import com.minecolonies.coremod.colony.permissions.Permissions;
 import com.minecolonies.coremod.colony.workorders.AbstractWorkOrder;
 import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.network.messages.ColonyViewBatchMessage;
 import com.minecolonies.coremod.network.messages.PermissionsMessage;
 import com.minecolonies.coremod.network.messages.TownHallRenameMessage;
 import com.minecolonies.coremod.util.BlockPosUtil;
@@ -48,6 +49,16 @@ public final class ColonyView implements IColony
     private BuildingTownHall.View townHall;
     private       int                                  maxCitizens = 0;
 
+    /**
+     * The last received versions of the views, the base of the changes the server sends.
+     */
+    @NotNull
+    private final ViewVersions receivedCitizens   = new ViewVersions();
+    @NotNull
+    private final ViewVersions receivedBuildings  = new ViewVersions();
+    @NotNull
+    private final ViewVersions receivedWorkOrders = new ViewVersions();
+
     /**
      * Base constructor for a colony.
      *
@@ -269,6 +280,9 @@ public final class ColonyView implements IColony
             citizens.clear();
             townHall = null;
             buildings.clear();
+            receivedCitizens.clear();
+            receivedBuildings.clear();
+            receivedWorkOrders.clear();
         }
 
         return null;
@@ -329,6 +343,7 @@ public final class ColonyView implements IColony
     public IMessage handleColonyViewRemoveCitizenMessage(final int citizen)
     {
         citizens.remove(citizen);
+        receivedCitizens.remove(citizen);
         return null;
     }
 
@@ -341,6 +356,7 @@ public final class ColonyView implements IColony
     public IMessage handleColonyViewRemoveBuildingMessage(final BlockPos buildingId)
     {
         final AbstractBuilding.View building = buildings.remove(buildingId);
+        receivedBuildings.remove(buildingId.toLong());
         if (townHall == building)
         {
             townHall = null;
@@ -357,10 +373,33 @@ public final class ColonyView implements IColony
     public IMessage handleColonyViewRemoveWorkOrderMessage(final int workOrderId)
     {
         workOrders.remove(workOrderId);
+        receivedWorkOrders.remove(workOrderId);
 
         return null;
     }
 
+    /**
+     * Get the received versions of one type of views.
+     *
+     * @param type the type, one of the types of the {@link ColonyViewBatchMessage}.
+     * @return the versions or null if the type is unknown.
+     */
+    @Nullable
+    public ViewVersions getReceivedViews(final byte type)
+    {
+        switch (type)
+        {
+            case ColonyViewBatchMessage.TYPE_CITIZEN:
+                return receivedCitizens;
+            case ColonyViewBatchMessage.TYPE_BUILDING:
+                return receivedBuildings;
+            case ColonyViewBatchMessage.TYPE_WORK_ORDER:
+                return receivedWorkOrders;
+            default:
+                return null;
+        }
+    }
+
     /**
      * Update a ColonyView's buildings given a network data ColonyView update packet.
      * This uses a full-replacement - buildings do not get updated and are instead overwritten.
@@ -0,0 +1,22 @@
+package com.minecolonies.coremod.colony;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Receives the block changes in the area of a colony, once per tick.
+ */
+@FunctionalInterface
+public interface IBlockChangeListener
+{
+    /**
+     * Called on the server thread with all blocks which changed since the last call.
+     * The map must not be changed or kept.
+     *
+     * @param changes the newest state of each changed position.
+     */
+    void onBlockChanges(@NotNull Map<BlockPos, IBlockState> changes);
+}
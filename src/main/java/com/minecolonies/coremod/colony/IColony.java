@@ -1,22 +1,12 @@
 package com.minecolonies.coremod.colony;
 
 import com.minecolonies.coremod.colony.permissions.IPermissions;
-import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
 
 /**
  * Interface of the Colony and ColonyView which will have to implement the following methods.
  */
-public interface IColony
+public interface IColony extends IColonyArea
 {
-
-    /**
-     * Returns the position of the colony.
-     *
-     * @return pos of the colony.
-     */
-    BlockPos getCenter();
-
     /**
      * Returns the name of the colony.
      *
@@ -31,23 +21,6 @@ public interface IColony
      */
     IPermissions getPermissions();
 
-    /**
-     * Determine if a given chunk coordinate is considered to be within the colony's bounds.
-     *
-     * @param w   World to check.
-     * @param pos Block Position.
-     * @return True if inside colony, otherwise false.
-     */
-    boolean isCoordInColony(World w, BlockPos pos);
-
-    /**
-     * Returns the squared (x, z) distance to the center.
-     *
-     * @param pos Block Position.
-     * @return Squared distance to the center in (x, z) direction.
-     */
-    long getDistanceSquared(BlockPos pos);
-
     /**
      * Returns whether or not the colony has a town hall.
      *
@@ -0,0 +1,34 @@
+package com.minecolonies.coremod.colony;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * The area of a colony, all the {@link ColonyRegionIndex} needs to know about it.
+ */
+public interface IColonyArea
+{
+    /**
+     * Returns the position of the colony.
+     *
+     * @return pos of the colony.
+     */
+    BlockPos getCenter();
+
+    /**
+     * Determine if a given chunk coordinate is considered to be within the colony's bounds.
+     *
+     * @param w   World to check.
+     * @param pos Block Position.
+     * @return True if inside colony, otherwise false.
+     */
+    boolean isCoordInColony(World w, BlockPos pos);
+
+    /**
+     * Returns the squared (x, z) distance to the center.
+     *
+     * @param pos Block Position.
+     * @return Squared distance to the center in (x, z) direction.
+     */
+    long getDistanceSquared(BlockPos pos);
+}
@@ -0,0 +1,126 @@
+package com.minecolonies.coremod.colony;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The last serialized version of each view of one type (citizens, buildings or work orders) of a colony.
+ * The server keeps the versions it sent, the client the versions it received,
+ * so a changed view can be sent as the bytes which changed since the last version.
+ * Views are keyed by a long: the citizen or work order id, or the packed position of a building.
+ */
+public class ViewVersions
+{
+    /**
+     * The last version of each view.
+     */
+    @NotNull
+    private final Map<Long, Version> versions = new HashMap<>();
+
+    /**
+     * Get the last version of a view.
+     *
+     * @param key the key of the view.
+     * @return the version or null if the view was never sent.
+     */
+    @Nullable
+    public Version get(final long key)
+    {
+        return versions.get(key);
+    }
+
+    /**
+     * Stores new data of a view under the next version number.
+     *
+     * @param key  the key of the view.
+     * @param data the serialized view.
+     * @return the new version.
+     */
+    @NotNull
+    public Version update(final long key, @NotNull final byte[] data)
+    {
+        final Version last = versions.get(key);
+        return put(key, last == null ? 1 : last.number + 1, data);
+    }
+
+    /**
+     * Stores a version of a view.
+     *
+     * @param key    the key of the view.
+     * @param number the version number.
+     * @param data   the serialized view.
+     * @return the version.
+     */
+    @NotNull
+    public Version put(final long key, final int number, @NotNull final byte[] data)
+    {
+        final Version version = new Version(number, data);
+        versions.put(key, version);
+        return version;
+    }
+
+    /**
+     * Forgets a view, it is sent whole the next time.
+     *
+     * @param key the key of the view.
+     */
+    public void remove(final long key)
+    {
+        versions.remove(key);
+    }
+
+    /**
+     * Forgets all views.
+     */
+    public void clear()
+    {
+        versions.clear();
+    }
+
+    /**
+     * One version of a view.
+     */
+    public static final class Version
+    {
+        /**
+         * The version number, counting from 1.
+         */
+        private final int number;
+
+        /**
+         * The serialized view.
+         */
+        @NotNull
+        private final byte[] data;
+
+        private Version(final int number, @NotNull final byte[] data)
+        {
+            this.number = number;
+            this.data = data;
+        }
+
+        /**
+         * Getter for the version number.
+         *
+         * @return the number.
+         */
+        public int getNumber()
+        {
+            return number;
+        }
+
+        /**
+         * Getter for the serialized view, must not be changed.
+         *
+         * @return the data.
+         */
+        @NotNull
+        public byte[] getData()
+        {
+            return data;
+        }
+    }
+}
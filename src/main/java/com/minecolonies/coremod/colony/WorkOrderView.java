@@ -32,6 +32,10 @@ public class WorkOrderView
      * Claimed by citizen id x.
      */
     private int                             claimedBy;
+    /**
+     * Amount of items the work order takes, 0 if unknown.
+     */
+    private int                             materialCount;
 
     /**
      * Public constructor of the WorkOrderView.
@@ -73,6 +77,16 @@ public class WorkOrderView
         return value;
     }
 
+    /**
+     * Material count getter.
+     *
+     * @return the amount of items the work order takes, 0 if unknown.
+     */
+    public int getMaterialCount()
+    {
+        return materialCount;
+    }
+
     /**
      * Type getter.
      *
@@ -136,5 +150,6 @@ public class WorkOrderView
         claimedBy = buf.readInt();
         type = AbstractWorkOrder.WorkOrderType.values()[buf.readInt()];
         value = ByteBufUtils.readUTF8String(buf);
+        materialCount = buf.readInt();
     }
 }
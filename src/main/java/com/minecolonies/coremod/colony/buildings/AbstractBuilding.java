@@ -179,6 +179,12 @@ public abstract class AbstractBuilding
      */
     private TileEntityColonyBuilding tileEntity;
 
+    /**
+     * Index of the items in the chests of the building.
+     */
+    @NotNull
+    private final ItemLocationIndex itemIndex = new ItemLocationIndex(this);
+
     /**
      * The level of the building.
      */
@@ -778,6 +784,8 @@ public abstract class AbstractBuilding
     public void addContainerPosition(BlockPos pos)
     {
         containerList.add(pos);
+        itemIndex.markContainersChanged();
+        colony.onBuildingContainersChanged();
     }
 
     /**
@@ -787,6 +795,8 @@ public abstract class AbstractBuilding
     public void removeContainerPosition(BlockPos pos)
     {
         containerList.remove(pos);
+        itemIndex.markContainersChanged();
+        colony.onBuildingContainersChanged();
     }
 
     /**
@@ -798,6 +808,17 @@ public abstract class AbstractBuilding
         return new ArrayList<>(containerList);
     }
 
+    /**
+     * Get the index of the items in the hut chest and the additional containers.
+     *
+     * @return the index.
+     */
+    @NotNull
+    public ItemLocationIndex getItemIndex()
+    {
+        return itemIndex;
+    }
+
     //------------------------- Starting Required Tools/Item handling -------------------------//
 
     /**
@@ -827,7 +848,23 @@ public abstract class AbstractBuilding
      */
     public void setOnGoingDelivery(boolean valueToSet)
     {
+        final boolean ended = onGoingDelivery && !valueToSet;
         this.onGoingDelivery = valueToSet;
+        if (ended)
+        {
+            notifyNeedsChanged();
+        }
+    }
+
+    /**
+     * Tells the warehouses of the colony that the needs of this building changed.
+     */
+    private void notifyNeedsChanged()
+    {
+        if (colony != null)
+        {
+            colony.onBuildingNeedsChanged(this);
+        }
     }
 
     /**
@@ -908,7 +945,11 @@ public abstract class AbstractBuilding
      */
     public void setNeedsShovel(final boolean needsShovel)
     {
-        this.needsShovel = needsShovel;
+        if (this.needsShovel != needsShovel)
+        {
+            this.needsShovel = needsShovel;
+            notifyNeedsChanged();
+        }
     }
 
     /**
@@ -917,7 +958,11 @@ public abstract class AbstractBuilding
      */
     public void setNeedsAxe(final boolean needsAxe)
     {
-        this.needsAxe = needsAxe;
+        if (this.needsAxe != needsAxe)
+        {
+            this.needsAxe = needsAxe;
+            notifyNeedsChanged();
+        }
     }
 
     /**
@@ -926,7 +971,11 @@ public abstract class AbstractBuilding
      */
     public void setNeedsHoe(final boolean needsHoe)
     {
-        this.needsHoe = needsHoe;
+        if (this.needsHoe != needsHoe)
+        {
+            this.needsHoe = needsHoe;
+            notifyNeedsChanged();
+        }
     }
 
     /**
@@ -935,7 +984,11 @@ public abstract class AbstractBuilding
      */
     public void setNeedsPickaxe(final boolean needsPickaxe)
     {
-        this.needsPickaxe = needsPickaxe;
+        if (this.needsPickaxe != needsPickaxe)
+        {
+            this.needsPickaxe = needsPickaxe;
+            notifyNeedsChanged();
+        }
     }
 
     /**
@@ -944,7 +997,11 @@ public abstract class AbstractBuilding
      */
     public void setNeedsWeapon(final boolean needsWeapon)
     {
-        this.needsWeapon = needsWeapon;
+        if (this.needsWeapon != needsWeapon)
+        {
+            this.needsWeapon = needsWeapon;
+            notifyNeedsChanged();
+        }
     }
 
     /**
@@ -956,6 +1013,7 @@ public abstract class AbstractBuilding
         if(stack != null)
         {
             itemsCurrentlyNeeded.add(stack);
+            notifyNeedsChanged();
         }
     }
 
@@ -987,7 +1045,11 @@ public abstract class AbstractBuilding
      */
     public void clearNeededItems()
     {
-        itemsCurrentlyNeeded.clear();
+        if (!itemsCurrentlyNeeded.isEmpty())
+        {
+            itemsCurrentlyNeeded.clear();
+            notifyNeedsChanged();
+        }
     }
 
     /**
@@ -996,7 +1058,34 @@ public abstract class AbstractBuilding
      */
     public void setItemsCurrentlyNeeded(@NotNull List<ItemStack> newList)
     {
+        final boolean changed = !isSameItemList(itemsCurrentlyNeeded, newList);
         this.itemsCurrentlyNeeded = new ArrayList<>(newList);
+        if (changed)
+        {
+            notifyNeedsChanged();
+        }
+    }
+
+    /**
+     * Compares two lists of stacks, including the amounts.
+     * @param first the first list.
+     * @param second the second list.
+     * @return true if they hold the same stacks in the same order.
+     */
+    private static boolean isSameItemList(@NotNull final List<ItemStack> first, @NotNull final List<ItemStack> second)
+    {
+        if (first.size() != second.size())
+        {
+            return false;
+        }
+        for (int i = 0; i < first.size(); i++)
+        {
+            if (!ItemStack.areItemStacksEqual(first.get(i), second.get(i)))
+            {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -1005,7 +1094,11 @@ public abstract class AbstractBuilding
      */
     public void setNeedsPickaxeLevel(final int needsPickaxeLevel)
     {
-        this.needsPickaxeLevel = needsPickaxeLevel;
+        if (this.needsPickaxeLevel != needsPickaxeLevel)
+        {
+            this.needsPickaxeLevel = needsPickaxeLevel;
+            notifyNeedsChanged();
+        }
     }
 
     /**
@@ -1057,6 +1150,7 @@ public abstract class AbstractBuilding
                 final TileEntity tempTileEntity = world.getTileEntity(pos);
                 if(tempTileEntity instanceof TileEntityChest && !InventoryUtils.isInventoryFull((IInventory) tempTileEntity))
                 {
+                    itemIndex.markDirty(pos);
                     return InventoryUtils.addItemStackToInventory((IInventory) tempTileEntity, stack);
                 }
             }
@@ -1084,6 +1178,7 @@ public abstract class AbstractBuilding
                 final TileEntity tempTileEntity = world.getTileEntity(pos);
                 if(tempTileEntity instanceof TileEntityChest && !InventoryUtils.isInventoryFull((IInventory) tempTileEntity))
                 {
+                    itemIndex.markDirty(pos);
                     return InventoryUtils.forceItemStackToInventory((IInventory) tempTileEntity, stack, this);
                 }
             }
@@ -8,6 +8,7 @@ import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyView;
 import com.minecolonies.coremod.colony.jobs.AbstractJob;
 import com.minecolonies.coremod.colony.jobs.JobBuilder;
+import com.minecolonies.coremod.entity.ai.util.BillOfMaterials;
 import com.minecolonies.coremod.util.Utils;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.item.ItemStack;
@@ -46,6 +47,12 @@ public class BuildingBuilder extends AbstractBuildingWorker
      */
     private HashMap<String, ItemStack> neededResources = new HashMap<>();
 
+    /**
+     * The bill of materials of the current build, null if not known since the last load.
+     */
+    @Nullable
+    private BillOfMaterials bill;
+
     /**
      * Public constructor of the building, creates an object of the building.
      *
@@ -167,6 +174,7 @@ public class BuildingBuilder extends AbstractBuildingWorker
         {
             ByteBufUtils.writeUTF8String(buf, entry.getValue().getDisplayName());
             buf.writeInt(entry.getValue().stackSize);
+            buf.writeInt(bill == null ? entry.getValue().stackSize : Math.max(entry.getValue().stackSize, bill.getTotal(entry.getKey())));
 
         }
     }
@@ -242,6 +250,20 @@ public class BuildingBuilder extends AbstractBuildingWorker
     public void resetNeededResources()
     {
         neededResources = new HashMap<>();
+        bill = null;
+        this.markDirty();
+    }
+
+    /**
+     * Replaces the needed resources with the missing items of a new build.
+     *
+     * @param missing the missing items by unlocalized name.
+     * @param newBill the bill of materials of the build.
+     */
+    public void setNeededResources(@NotNull final Map<String, ItemStack> missing, @NotNull final BillOfMaterials newBill)
+    {
+        neededResources = new HashMap<>(missing);
+        bill = newBill;
         this.markDirty();
     }
 
@@ -262,6 +284,11 @@ public class BuildingBuilder extends AbstractBuildingWorker
     {
         private HashMap<String, Integer> neededResources;
 
+        /**
+         * The amount of each needed resource the whole build takes.
+         */
+        private HashMap<String, Integer> totalResources;
+
         /**
          * Public constructor of the view, creates an instance of it.
          *
@@ -292,12 +319,14 @@ public class BuildingBuilder extends AbstractBuildingWorker
 
             final int size = buf.readInt();
             neededResources = new HashMap<>();
+            totalResources = new HashMap<>();
 
             for (int i = 0; i < size; i++)
             {
                 final String block = ByteBufUtils.readUTF8String(buf);
                 final int amount = buf.readInt();
                 neededResources.put(block, amount);
+                totalResources.put(block, buf.readInt());
             }
         }
 
@@ -311,6 +340,18 @@ public class BuildingBuilder extends AbstractBuildingWorker
             return new HashMap<>(neededResources);
         }
 
+        /**
+         * Getter for the amount of a needed resource the whole build takes.
+         *
+         * @param resource the name of the resource.
+         * @return the amount, at least the needed amount.
+         */
+        public int getTotalResource(final String resource)
+        {
+            final Integer total = totalResources.get(resource);
+            return total == null ? 0 : total;
+        }
+
         @NotNull
         @Override
         public Skill getPrimarySkill()
@@ -11,6 +11,7 @@ import io.netty.buffer.ByteBuf;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Class of the warehouse building.
@@ -21,9 +22,26 @@ public class BuildingDeliveryman extends AbstractBuildingWorker
     private static final String DELIVERYMAN = "Deliveryman";
 
     /**
-     * Building the deliveryman will deliver somethingTo
+     * Tags to store the delivery statistics.
      */
-    private AbstractBuilding buildingToDeliver;
+    private static final String TAG_TRIPS      = "trips";
+    private static final String TAG_DELIVERIES = "deliveries";
+
+    /**
+     * The trip the deliveryman is on, null if he has none.
+     */
+    @Nullable
+    private DeliveryTrip trip;
+
+    /**
+     * Amount of finished trips.
+     */
+    private int trips = 0;
+
+    /**
+     * Amount of deliveries made on the finished trips.
+     */
+    private int deliveries = 0;
 
     /**
      * Instantiates a new warehouse building.
@@ -37,21 +55,75 @@ public class BuildingDeliveryman extends AbstractBuildingWorker
     }
 
     /**
-     * Set the building the deliveryman should deliver to.
-     * @param building building to deliver to.
+     * Set the trip the deliveryman is on.
+     * @param trip the trip or null if he has none.
      */
-    public void setBuildingToDeliver(AbstractBuilding building)
+    public void setTrip(@Nullable final DeliveryTrip trip)
     {
-        this.buildingToDeliver = building;
+        this.trip = trip;
     }
 
     /**
-     * Get the building the deliveryman should deliver to.
-     * @return the building.
+     * Get the trip the deliveryman is on.
+     * @return the trip or null if he has none.
      */
+    @Nullable
+    public DeliveryTrip getTrip()
+    {
+        return trip;
+    }
+
+    /**
+     * Get the building the deliveryman is gathering for or delivering to at the moment.
+     * @return the building or null.
+     */
+    @Nullable
     public AbstractBuilding getBuildingToDeliver()
     {
-        return this.buildingToDeliver;
+        final DeliveryTrip.Stop stop = trip == null ? null : trip.getCurrentStop();
+        return stop == null ? null : stop.getBuilding();
+    }
+
+    /**
+     * Check if a building is one of the remaining stops of the trip.
+     * @param building the building.
+     * @return true if so.
+     */
+    public boolean hasDeliveryFor(@NotNull final AbstractBuilding building)
+    {
+        return trip != null && trip.contains(building);
+    }
+
+    /**
+     * Ends the trip and counts its deliveries.
+     */
+    public void finishTrip()
+    {
+        if (trip != null)
+        {
+            trips++;
+            deliveries += trip.getDelivered();
+            trip = null;
+            markDirty();
+        }
+    }
+
+    /**
+     * Get the amount of finished trips.
+     * @return the amount.
+     */
+    public int getTrips()
+    {
+        return trips;
+    }
+
+    /**
+     * Get the amount of deliveries made on the finished trips.
+     * @return the amount.
+     */
+    public int getDeliveries()
+    {
+        return deliveries;
     }
 
     @NotNull
@@ -85,12 +157,16 @@ public class BuildingDeliveryman extends AbstractBuildingWorker
     public void readFromNBT(@NotNull final NBTTagCompound compound)
     {
         super.readFromNBT(compound);
+        trips = compound.getInteger(TAG_TRIPS);
+        deliveries = compound.getInteger(TAG_DELIVERIES);
     }
 
     @Override
     public void writeToNBT(@NotNull final NBTTagCompound compound)
     {
         super.writeToNBT(compound);
+        compound.setInteger(TAG_TRIPS, trips);
+        compound.setInteger(TAG_DELIVERIES, deliveries);
     }
 
     @Override
@@ -48,6 +48,11 @@ public class BuildingWareHouse extends AbstractBuilding
      */
     private TileEntityWareHouse tileEntity;
 
+    /**
+     * The delivery requests this warehouse can serve.
+     */
+    private final DeliveryRequestQueue requestQueue = new DeliveryRequestQueue();
+
     /**
      * Instantiates a new warehouse building.
      *
@@ -125,6 +130,16 @@ public class BuildingWareHouse extends AbstractBuilding
         return Collections.unmodifiableList(registeredDeliverymen);
     }
 
+    /**
+     * Get the delivery requests of this warehouse.
+     * @return the queue.
+     */
+    @NotNull
+    public DeliveryRequestQueue getRequestQueue()
+    {
+        return requestQueue;
+    }
+
     @NotNull
     @Override
     public String getSchematicName()
@@ -0,0 +1,252 @@
+package com.minecolonies.coremod.colony.buildings;
+
+import com.minecolonies.coremod.util.BlockPosUtil;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Delivery requests of the buildings of a colony, as seen by one warehouse.
+ * Buildings report changes of their needs, the warehouse matches the changed buildings against its stock on the next tick
+ * and queues the ones it can serve.
+ * Deliverymen take the most urgent request, the closest one first among requests of the same urgency.
+ * Buildings the warehouse can not serve yet are checked again after a while, or as soon as the stock grows.
+ * Only used on the server thread.
+ */
+public class DeliveryRequestQueue
+{
+    /**
+     * Ticks between checks of the buildings waiting for something the warehouse does not have.
+     */
+    static final int RECHECK_INTERVAL = 100;
+
+    /**
+     * Requests waiting longer than this many ticks are handled before all others.
+     */
+    static final int STARVATION_TICKS = 1200;
+
+    /**
+     * Urgency of a request, lower values are delivered first.
+     */
+    public enum Urgency
+    {
+        /**
+         * The worker can not work without a tool.
+         */
+        TOOL,
+        /**
+         * The worker needs items.
+         */
+        ITEMS
+    }
+
+    /**
+     * Buildings of which the needs changed since the last update.
+     */
+    private final Set<AbstractBuilding> changed = new LinkedHashSet<>();
+
+    /**
+     * Buildings which need something the warehouse does not have.
+     */
+    private final Set<AbstractBuilding> waiting = new LinkedHashSet<>();
+
+    /**
+     * Requests the warehouse can serve, by building.
+     */
+    private final Map<AbstractBuilding, Request> requests = new HashMap<>();
+
+    /**
+     * Set until all buildings of the colony were checked once.
+     */
+    private boolean needsFullCheck = true;
+
+    /**
+     * Time of the last check of the waiting buildings.
+     */
+    private long lastRecheck = 0;
+
+    /**
+     * Called when the needs of a building changed or a delivery to it ended.
+     *
+     * @param building the building.
+     */
+    public void onNeedsChanged(@NotNull final AbstractBuilding building)
+    {
+        changed.add(building);
+    }
+
+    /**
+     * Called when items were added to the warehouse, the waiting buildings might be served now.
+     */
+    public void onStockChanged()
+    {
+        changed.addAll(waiting);
+        waiting.clear();
+    }
+
+    /**
+     * Matches the changed buildings against the stock of the warehouse.
+     *
+     * @param buildings all buildings of the colony, used for the first check.
+     * @param time      the world time.
+     * @param matcher   checks a building against the stock and queues it, true if the warehouse has something for it.
+     */
+    public void update(@NotNull final Collection<AbstractBuilding> buildings, final long time, @NotNull final Predicate<AbstractBuilding> matcher)
+    {
+        if (needsFullCheck)
+        {
+            needsFullCheck = false;
+            changed.addAll(buildings);
+        }
+
+        if (time - lastRecheck >= RECHECK_INTERVAL)
+        {
+            lastRecheck = time;
+            onStockChanged();
+        }
+
+        if (changed.isEmpty())
+        {
+            return;
+        }
+
+        //  Matching may report changes again, those are handled on the next update
+        @NotNull final List<AbstractBuilding> toMatch = new ArrayList<>(changed);
+        changed.clear();
+        for (@NotNull final AbstractBuilding building : toMatch)
+        {
+            waiting.remove(building);
+            if (building.needsAnything() && !matcher.test(building))
+            {
+                waiting.add(building);
+            }
+        }
+    }
+
+    /**
+     * Queues a request or updates the urgency of a queued one.
+     *
+     * @param building the requesting building.
+     * @param urgency  the urgency.
+     * @param time     the world time.
+     */
+    public void add(@NotNull final AbstractBuilding building, @NotNull final Urgency urgency, final long time)
+    {
+        final Request request = requests.get(building);
+        if (request == null)
+        {
+            requests.put(building, new Request(building, urgency, time));
+        }
+        else
+        {
+            request.urgency = urgency;
+        }
+    }
+
+    /**
+     * Removes the request of a building.
+     *
+     * @param building the building.
+     * @return true if there was one.
+     */
+    public boolean remove(@NotNull final AbstractBuilding building)
+    {
+        return requests.remove(building) != null;
+    }
+
+    /**
+     * Checks if a building has a queued request.
+     *
+     * @param building the building.
+     * @return true if so.
+     */
+    public boolean contains(@NotNull final AbstractBuilding building)
+    {
+        return requests.containsKey(building);
+    }
+
+    /**
+     * Takes the next request for a deliveryman.
+     *
+     * @param from the position of the deliveryman.
+     * @param time the world time.
+     * @return the requesting building or null if there is no request.
+     */
+    @Nullable
+    public AbstractBuilding poll(@NotNull final BlockPos from, final long time)
+    {
+        Request best = null;
+        int bestRank = Integer.MAX_VALUE;
+        long bestDistance = Long.MAX_VALUE;
+        for (@NotNull final Request request : requests.values())
+        {
+            final int rank = time - request.created > STARVATION_TICKS ? -1 : request.urgency.ordinal();
+            final long distance = BlockPosUtil.getDistanceSquared(from, request.building.getLocation());
+            if (rank < bestRank || (rank == bestRank && distance < bestDistance))
+            {
+                best = request;
+                bestRank = rank;
+                bestDistance = distance;
+            }
+        }
+
+        if (best == null)
+        {
+            return null;
+        }
+        requests.remove(best.building);
+        return best.building;
+    }
+
+    /**
+     * Takes the request of the building closest to a position, to add another stop to a trip.
+     *
+     * @param center             the position.
+     * @param maxDistanceSquared the maximum squared distance of the building to the position.
+     * @param accept             checks if the building fits into the trip.
+     * @return the requesting building or null if there is no fitting request.
+     */
+    @Nullable
+    public AbstractBuilding pollNear(@NotNull final BlockPos center, final long maxDistanceSquared, @NotNull final Predicate<AbstractBuilding> accept)
+    {
+        AbstractBuilding best = null;
+        long bestDistance = maxDistanceSquared;
+        for (@NotNull final Request request : requests.values())
+        {
+            final long distance = BlockPosUtil.getDistanceSquared(center, request.building.getLocation());
+            if (distance <= bestDistance && accept.test(request.building))
+            {
+                best = request.building;
+                bestDistance = distance;
+            }
+        }
+
+        if (best != null)
+        {
+            requests.remove(best);
+        }
+        return best;
+    }
+
+    /**
+     * A queued delivery request.
+     */
+    private static final class Request
+    {
+        @NotNull
+        private final AbstractBuilding building;
+        private final long             created;
+        @NotNull
+        private       Urgency          urgency;
+
+        private Request(@NotNull final AbstractBuilding building, @NotNull final Urgency urgency, final long created)
+        {
+            this.building = building;
+            this.urgency = urgency;
+            this.created = created;
+        }
+    }
+}
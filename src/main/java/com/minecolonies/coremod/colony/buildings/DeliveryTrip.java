@@ -0,0 +1,266 @@
+package com.minecolonies.coremod.colony.buildings;
+
+import com.minecolonies.coremod.util.BlockPosUtil;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One trip of a deliveryman: the buildings he delivers to with one inventory load, in the order he visits them.
+ * The stops are ordered by always going to the closest building not visited yet, starting at the warehouse.
+ */
+public class DeliveryTrip
+{
+    /**
+     * The stops in the order of the route.
+     */
+    private final List<Stop> stops = new ArrayList<>();
+
+    /**
+     * Index of the stop the deliveryman is gathering for or delivering to.
+     */
+    private int current = 0;
+
+    /**
+     * Amount of stops which received their delivery.
+     */
+    private int delivered = 0;
+
+    /**
+     * Estimates the inventory slots a delivery to a building takes: one per needed stack and one for a tool.
+     *
+     * @param building the building.
+     * @return the amount of slots.
+     */
+    public static int estimateSlots(@NotNull final AbstractBuilding building)
+    {
+        int slots = building.getRequiredTool().isEmpty() ? 0 : 1;
+        for (final ItemStack stack : building.getNeededItems())
+        {
+            if (stack != null)
+            {
+                slots++;
+            }
+        }
+        return Math.max(1, slots);
+    }
+
+    /**
+     * Adds a building to the trip.
+     *
+     * @param building the building.
+     */
+    public void addStop(@NotNull final AbstractBuilding building)
+    {
+        stops.add(new Stop(building));
+    }
+
+    /**
+     * Orders the stops to a route, greedily going to the closest remaining building.
+     *
+     * @param start the position the trip starts at.
+     */
+    public void planRoute(@NotNull final BlockPos start)
+    {
+        @NotNull final List<Stop> remaining = new ArrayList<>(stops);
+        stops.clear();
+        BlockPos pos = start;
+        while (!remaining.isEmpty())
+        {
+            Stop closest = null;
+            long closestDistance = Long.MAX_VALUE;
+            for (@NotNull final Stop stop : remaining)
+            {
+                final long distance = BlockPosUtil.getDistanceSquared(pos, stop.building.getLocation());
+                if (distance < closestDistance)
+                {
+                    closest = stop;
+                    closestDistance = distance;
+                }
+            }
+            remaining.remove(closest);
+            stops.add(closest);
+            pos = closest.building.getLocation();
+        }
+        current = 0;
+    }
+
+    /**
+     * Get the stop the deliveryman is working on.
+     *
+     * @return the stop or null if the trip is over.
+     */
+    @Nullable
+    public Stop getCurrentStop()
+    {
+        return current < stops.size() ? stops.get(current) : null;
+    }
+
+    /**
+     * Moves on to the next stop.
+     *
+     * @return the next stop or null if the trip is over.
+     */
+    @Nullable
+    public Stop nextStop()
+    {
+        current++;
+        return getCurrentStop();
+    }
+
+    /**
+     * Goes back to the first stop, after gathering the items of all stops.
+     */
+    public void restart()
+    {
+        current = 0;
+    }
+
+    /**
+     * Removes the current stop from the trip, the next stop becomes the current one.
+     *
+     * @return the next stop or null if the trip is over.
+     */
+    @Nullable
+    public Stop dropCurrentStop()
+    {
+        if (current < stops.size())
+        {
+            stops.remove(current);
+        }
+        return getCurrentStop();
+    }
+
+    /**
+     * Counts a delivery of the trip.
+     */
+    public void onDelivered()
+    {
+        delivered++;
+    }
+
+    /**
+     * Get the amount of stops which received their delivery.
+     *
+     * @return the amount.
+     */
+    public int getDelivered()
+    {
+        return delivered;
+    }
+
+    /**
+     * Check if a building is a stop of this trip.
+     *
+     * @param building the building.
+     * @return true if so.
+     */
+    public boolean contains(@NotNull final AbstractBuilding building)
+    {
+        for (int i = current; i < stops.size(); i++)
+        {
+            if (stops.get(i).building == building)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the remaining stops, starting at the current one.
+     *
+     * @return an unmodifiable list of them.
+     */
+    @NotNull
+    public List<Stop> getRemainingStops()
+    {
+        return Collections.unmodifiableList(stops.subList(Math.min(current, stops.size()), stops.size()));
+    }
+
+    /**
+     * Get the amount of stops of the trip.
+     *
+     * @return the amount.
+     */
+    public int size()
+    {
+        return stops.size();
+    }
+
+    /**
+     * A building on the trip and the items gathered for it.
+     */
+    public static final class Stop
+    {
+        /**
+         * The building to deliver to.
+         */
+        @NotNull
+        private final AbstractBuilding building;
+
+        /**
+         * The stacks gathered for the building.
+         */
+        private final List<ItemStack> items = new ArrayList<>();
+
+        /**
+         * The tool gathered for the building, empty if none.
+         */
+        @NotNull
+        private String tool = "";
+
+        private Stop(@NotNull final AbstractBuilding building)
+        {
+            this.building = building;
+        }
+
+        /**
+         * Get the building to deliver to.
+         *
+         * @return the building.
+         */
+        @NotNull
+        public AbstractBuilding getBuilding()
+        {
+            return building;
+        }
+
+        /**
+         * Get the stacks gathered for the building.
+         *
+         * @return the list of them, modifiable.
+         */
+        @NotNull
+        public List<ItemStack> getItems()
+        {
+            return items;
+        }
+
+        /**
+         * Get the tool gathered for the building.
+         *
+         * @return the tool type, empty if none.
+         */
+        @NotNull
+        public String getTool()
+        {
+            return tool;
+        }
+
+        /**
+         * Set the tool gathered for the building.
+         *
+         * @param tool the tool type.
+         */
+        public void setTool(@NotNull final String tool)
+        {
+            this.tool = tool;
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.minecolonies.coremod.colony.buildings;
+
+import com.minecolonies.coremod.entity.ai.item.handling.ItemStorage;
+import com.minecolonies.coremod.util.Utils;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.tileentity.TileEntityChest;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.oredict.OreDictionary;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Index of the items in the chests of a building: the hut chest and all additional containers.
+ * Answers which chests hold an item or a tool without reading every slot of every chest.
+ * A chest is read again when it was marked dirty, while a player has it open, and after a while to catch hoppers.
+ * The index only gives candidates, callers still check the chest itself, and mark it dirty if the item was not there.
+ * There is one index per building and no colony wide one: the colony wide lookups of the delivery system
+ * ask the index of the warehouse, the other buildings are only asked about their own chests.
+ * Only used on the server thread.
+ */
+public class ItemLocationIndex
+{
+    /**
+     * Chests are read again after this many ticks even if no change was reported.
+     */
+    private static final int RESCAN_INTERVAL = 1200;
+
+    /**
+     * The tool types the index keeps track of.
+     */
+    private static final String[] TOOL_TYPES = {Utils.PICKAXE, Utils.SHOVEL, Utils.AXE, Utils.HOE, Utils.WEAPON};
+
+    /**
+     * The building the index belongs to.
+     */
+    @NotNull
+    private final AbstractBuilding building;
+
+    /**
+     * The chests of the building, the hut chest first, then the additional containers in their order.
+     */
+    private final Map<BlockPos, Container> containers = new LinkedHashMap<>();
+
+    /**
+     * The chests holding an item, with the amount, by item and damage.
+     */
+    private final Map<ItemStorage, Map<BlockPos, Integer>> items = new HashMap<>();
+
+    /**
+     * The chests holding an item, with the amount of all damage values, by item.
+     * Answers queries with the wildcard damage value.
+     */
+    private final Map<Item, Map<BlockPos, Integer>> itemsAnyDamage = new HashMap<>();
+
+    /**
+     * The chests holding a tool, by tool type.
+     */
+    private final Map<String, Set<BlockPos>> tools = new HashMap<>();
+
+    /**
+     * Set when the containers of the building changed.
+     */
+    private boolean containersChanged = true;
+
+    /**
+     * Creates the index of a building.
+     *
+     * @param building the building.
+     */
+    public ItemLocationIndex(@NotNull final AbstractBuilding building)
+    {
+        this.building = building;
+    }
+
+    /**
+     * Called when the content of a chest changed.
+     *
+     * @param pos the position of the chest.
+     */
+    public void markDirty(@NotNull final BlockPos pos)
+    {
+        final Container container = containers.get(pos);
+        if (container != null)
+        {
+            container.dirty = true;
+        }
+    }
+
+    /**
+     * Called when a container was added to or removed from the building.
+     */
+    public void markContainersChanged()
+    {
+        containersChanged = true;
+    }
+
+    /**
+     * Get the chests which hold an item, in the order they should be searched.
+     *
+     * @param world the world.
+     * @param stack the item, the amount is ignored.
+     * @return the positions of the chests.
+     */
+    @NotNull
+    public List<BlockPos> getContainersWith(@NotNull final World world, @Nullable final ItemStack stack)
+    {
+        if (stack == null || stack.getItem() == null)
+        {
+            return Collections.emptyList();
+        }
+
+        update(world);
+        return inContainerOrder(lookup(stack));
+    }
+
+    /**
+     * Get the chests which hold a tool, in the order they should be searched.
+     * The level of the tool has to be checked on the chest.
+     *
+     * @param world the world.
+     * @param tool  the tool type.
+     * @return the positions of the chests.
+     */
+    @NotNull
+    public List<BlockPos> getContainersWithTool(@NotNull final World world, @NotNull final String tool)
+    {
+        update(world);
+        if (!Arrays.asList(TOOL_TYPES).contains(tool))
+        {
+            //  Not indexed, every chest is a candidate
+            return new ArrayList<>(containers.keySet());
+        }
+        final Set<BlockPos> positions = tools.get(tool);
+        return positions == null ? Collections.emptyList() : inContainerOrder(positions);
+    }
+
+    /**
+     * Get the amount of an item in all chests of the building.
+     *
+     * @param world the world.
+     * @param stack the item, the amount is ignored.
+     * @return the amount.
+     */
+    public int getCount(@NotNull final World world, @Nullable final ItemStack stack)
+    {
+        if (stack == null || stack.getItem() == null)
+        {
+            return 0;
+        }
+
+        update(world);
+        final Map<BlockPos, Integer> counts = lookup(stack);
+        int count = 0;
+        if (counts != null)
+        {
+            for (final int amount : counts.values())
+            {
+                count += amount;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the chest at a position of the index.
+     *
+     * @param world the world.
+     * @param pos   the position.
+     * @return the chest or null if there is none.
+     */
+    @Nullable
+    public TileEntityChest getContainer(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        final Container container = containers.get(pos);
+        return container == null ? null : container.getChest(world);
+    }
+
+    /**
+     * Get the chests holding an item, a wildcard damage value matches all damage values.
+     *
+     * @param stack the item.
+     * @return the chests with the amounts or null if there are none.
+     */
+    @Nullable
+    private Map<BlockPos, Integer> lookup(@NotNull final ItemStack stack)
+    {
+        if (stack.getItemDamage() == OreDictionary.WILDCARD_VALUE)
+        {
+            return itemsAnyDamage.get(stack.getItem());
+        }
+        return items.get(toKey(stack));
+    }
+
+    @NotNull
+    private static ItemStorage toKey(@NotNull final ItemStack stack)
+    {
+        return new ItemStorage(stack.getItem(), stack.getItemDamage(), 0, false);
+    }
+
+    @NotNull
+    private List<BlockPos> inContainerOrder(@Nullable final Collection<BlockPos> positions)
+    {
+        if (positions == null || positions.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        if (positions.size() == 1)
+        {
+            return new ArrayList<>(positions);
+        }
+
+        @NotNull final List<BlockPos> result = new ArrayList<>(positions.size());
+        for (@NotNull final BlockPos pos : containers.keySet())
+        {
+            if (positions.contains(pos))
+            {
+                result.add(pos);
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private List<BlockPos> inContainerOrder(@Nullable final Map<BlockPos, Integer> counts)
+    {
+        return counts == null ? Collections.emptyList() : inContainerOrder(counts.keySet());
+    }
+
+    /**
+     * Brings the index up to date: follows container changes of the building and reads the changed chests.
+     *
+     * @param world the world.
+     */
+    private void update(@NotNull final World world)
+    {
+        if (containersChanged)
+        {
+            containersChanged = false;
+            updateContainers();
+        }
+
+        final long time = world.getTotalWorldTime();
+        for (@NotNull final Map.Entry<BlockPos, Container> entry : containers.entrySet())
+        {
+            final Container container = entry.getValue();
+            final TileEntityChest chest = container.getChest(world);
+            final boolean isOpen = chest != null && chest.numPlayersUsing > 0;
+            if (container.dirty || isOpen || container.wasOpen || time - container.lastScan > RESCAN_INTERVAL)
+            {
+                unindex(entry.getKey(), container);
+                scan(entry.getKey(), container, chest);
+                container.lastScan = time;
+                container.dirty = false;
+                //  Changes happen while the chest is open, read it once more after it was closed
+                container.wasOpen = isOpen;
+            }
+        }
+    }
+
+    /**
+     * Syncs the indexed chests with the containers of the building.
+     */
+    private void updateContainers()
+    {
+        @NotNull final List<BlockPos> positions = new ArrayList<>();
+        positions.add(building.getLocation());
+        positions.addAll(building.getAdditionalCountainers());
+
+        @NotNull final Map<BlockPos, Container> old = new HashMap<>(containers);
+        containers.clear();
+        for (@NotNull final BlockPos pos : positions)
+        {
+            final Container container = old.remove(pos);
+            containers.put(pos, container == null ? new Container(pos) : container);
+        }
+
+        for (@NotNull final Map.Entry<BlockPos, Container> removed : old.entrySet())
+        {
+            unindex(removed.getKey(), removed.getValue());
+        }
+    }
+
+    /**
+     * Reads the content of a chest into the index.
+     */
+    private void scan(@NotNull final BlockPos pos, @NotNull final Container container, @Nullable final TileEntityChest chest)
+    {
+        if (chest == null)
+        {
+            return;
+        }
+
+        for (int slot = 0; slot < chest.getSizeInventory(); slot++)
+        {
+            final ItemStack stack = chest.getStackInSlot(slot);
+            if (stack == null || stack.getItem() == null)
+            {
+                continue;
+            }
+
+            final ItemStorage key = toKey(stack);
+            container.items.merge(key, stack.stackSize, Integer::sum);
+            for (@NotNull final String tool : TOOL_TYPES)
+            {
+                if (!container.tools.contains(tool) && isTool(stack, tool))
+                {
+                    container.tools.add(tool);
+                }
+            }
+        }
+
+        for (@NotNull final Map.Entry<ItemStorage, Integer> entry : container.items.entrySet())
+        {
+            items.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(pos, entry.getValue());
+            itemsAnyDamage.computeIfAbsent(entry.getKey().getItem(), k -> new HashMap<>()).merge(pos, entry.getValue(), Integer::sum);
+        }
+        for (@NotNull final String tool : container.tools)
+        {
+            tools.computeIfAbsent(tool, k -> new HashSet<>()).add(pos);
+        }
+    }
+
+    private static boolean isTool(@NotNull final ItemStack stack, @NotNull final String tool)
+    {
+        return Utils.WEAPON.equals(tool) ? Utils.doesItemServeAsWeapon(stack) : Utils.isTool(stack, tool);
+    }
+
+    /**
+     * Removes the content of a chest from the index.
+     */
+    private void unindex(@NotNull final BlockPos pos, @NotNull final Container container)
+    {
+        for (@NotNull final ItemStorage key : container.items.keySet())
+        {
+            final Map<BlockPos, Integer> counts = items.get(key);
+            if (counts != null)
+            {
+                counts.remove(pos);
+                if (counts.isEmpty())
+                {
+                    items.remove(key);
+                }
+            }
+            final Map<BlockPos, Integer> countsAnyDamage = itemsAnyDamage.get(key.getItem());
+            if (countsAnyDamage != null)
+            {
+                countsAnyDamage.remove(pos);
+                if (countsAnyDamage.isEmpty())
+                {
+                    itemsAnyDamage.remove(key.getItem());
+                }
+            }
+        }
+        for (@NotNull final String tool : container.tools)
+        {
+            final Set<BlockPos> positions = tools.get(tool);
+            if (positions != null)
+            {
+                positions.remove(pos);
+                if (positions.isEmpty())
+                {
+                    tools.remove(tool);
+                }
+            }
+        }
+        container.items.clear();
+        container.tools.clear();
+    }
+
+    /**
+     * The indexed content of one chest.
+     */
+    private static final class Container
+    {
+        @NotNull
+        private final BlockPos                 pos;
+        private final Map<ItemStorage, Integer> items    = new HashMap<>();
+        private final Set<String>               tools    = new HashSet<>();
+        @Nullable
+        private       TileEntityChest          chest    = null;
+        private       long                     lastScan = 0;
+        private       boolean                  dirty    = true;
+        private       boolean                  wasOpen  = false;
+
+        private Container(@NotNull final BlockPos pos)
+        {
+            this.pos = pos;
+        }
+
+        @Nullable
+        private TileEntityChest getChest(@NotNull final World world)
+        {
+            if (chest == null || chest.isInvalid())
+            {
+                final TileEntity entity = world.getTileEntity(pos);
+                chest = entity instanceof TileEntityChest ? (TileEntityChest) entity : null;
+            }
+            return chest;
+        }
+    }
+}
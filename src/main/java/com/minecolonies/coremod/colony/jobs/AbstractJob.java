@@ -62,6 +62,12 @@ public abstract class AbstractJob
     private final List<ItemStack> itemsNeeded = new ArrayList<>();
     private       String          nameTag     = "";
 
+    /**
+     * The ai of the job, null until the tasks of the citizen were added.
+     */
+    @Nullable
+    private AbstractAISkeleton<? extends AbstractJob> workAI = null;
+
     /**
      * Initialize citizen data.
      *
@@ -318,6 +324,18 @@ public abstract class AbstractJob
         {
             tasks.addTask(TASK_PRIORITY, aiTask);
         }
+        workAI = aiTask;
+    }
+
+    /**
+     * Get the ai of the job.
+     *
+     * @return the ai or null if it was not created yet.
+     */
+    @Nullable
+    public AbstractAISkeleton<? extends AbstractJob> getWorkAI()
+    {
+        return workAI;
     }
 
     /**
@@ -7,6 +7,8 @@ import com.minecolonies.coremod.colony.buildings.BuildingBuilder;
 import com.minecolonies.coremod.colony.workorders.WorkOrderBuild;
 import com.minecolonies.coremod.entity.ai.basic.AbstractAISkeleton;
 import com.minecolonies.coremod.entity.ai.citizen.builder.EntityAIStructureBuilder;
+import com.minecolonies.coremod.entity.ai.util.Structure;
+import com.minecolonies.coremod.util.StructureWrapper;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
@@ -22,11 +24,28 @@ public class JobBuilder extends AbstractJobStructure
      */
     private static final String TAG_WORK_ORDER = "workorder";
 
+    /**
+     * Tag to store the progress of the structure.
+     */
+    private static final String TAG_PROGRESS = "progress";
+
     /**
      * The id of the current workOrder.
      */
     private   int              workOrderId;
 
+    /**
+     * The structure task the builder works on, its progress is saved with the job.
+     */
+    @Nullable
+    private Structure buildTask;
+
+    /**
+     * Progress read from NBT which was not handed to a structure task yet.
+     */
+    @Nullable
+    private NBTTagCompound savedProgress;
+
     /**
      * Instantiates builder job.
      *
@@ -45,6 +64,10 @@ public class JobBuilder extends AbstractJobStructure
         {
             workOrderId = compound.getInteger(TAG_WORK_ORDER);
         }
+        if (compound.hasKey(TAG_PROGRESS))
+        {
+            savedProgress = compound.getCompoundTag(TAG_PROGRESS);
+        }
     }
 
     @NotNull
@@ -69,6 +92,50 @@ public class JobBuilder extends AbstractJobStructure
         {
             compound.setInteger(TAG_WORK_ORDER, workOrderId);
         }
+        if (buildTask != null)
+        {
+            @NotNull final NBTTagCompound progress = new NBTTagCompound();
+            buildTask.writeProgressToNBT(progress);
+            compound.setTag(TAG_PROGRESS, progress);
+        }
+        else if (savedProgress != null)
+        {
+            compound.setTag(TAG_PROGRESS, savedProgress);
+        }
+    }
+
+    /**
+     * Set the structure task the builder works on.
+     *
+     * @param buildTask the task.
+     */
+    public void setBuildTask(@Nullable final Structure buildTask)
+    {
+        this.buildTask = buildTask;
+    }
+
+    /**
+     * Takes the progress read from NBT, to continue the structure where the builder stopped.
+     *
+     * @return the progress or null if there is none.
+     */
+    @Nullable
+    public NBTTagCompound takeSavedProgress()
+    {
+        final NBTTagCompound progress = savedProgress;
+        savedProgress = null;
+        return progress;
+    }
+
+    @Override
+    public void setStructure(final StructureWrapper structure)
+    {
+        super.setStructure(structure);
+        if (structure == null)
+        {
+            buildTask = null;
+            savedProgress = null;
+        }
     }
 
     @NotNull
@@ -509,6 +509,7 @@ public class Permissions implements IPermissions
             player.rank = rank;
             markDirty();
             AchievementUtils.syncAchievements(colony);
+            colony.onPlayerRankChanged(id);
         }
         else
         {
@@ -535,6 +536,7 @@ public class Permissions implements IPermissions
 
         markDirty();
         AchievementUtils.syncAchievements(colony);
+        colony.onPlayerRankChanged(p.id);
         return true;
     }
 
@@ -570,6 +572,7 @@ public class Permissions implements IPermissions
         if (player != null && player.getRank() != Rank.OWNER && players.remove(id) != null)
         {
             markDirty();
+            colony.onPlayerRankChanged(id);
             return true;
         }
 
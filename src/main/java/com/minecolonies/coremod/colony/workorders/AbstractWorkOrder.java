@@ -314,6 +314,17 @@ public abstract class AbstractWorkOrder
         buf.writeInt(getType().ordinal());
         ByteBufUtils.writeUTF8String(buf, getValue());
         //value is upgradeName and upgradeLevel for workOrderBuild
+        buf.writeInt(getMaterialCount());
+    }
+
+    /**
+     * Gets the amount of items the WorkOrder takes, if known.
+     *
+     * @return the amount or 0 if unknown.
+     */
+    protected int getMaterialCount()
+    {
+        return 0;
     }
 
     /**
@@ -5,6 +5,7 @@ import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
 import com.minecolonies.coremod.colony.buildings.BuildingBuilder;
 import com.minecolonies.coremod.colony.jobs.JobBuilder;
+import com.minecolonies.coremod.entity.ai.util.BillOfMaterials;
 import com.minecolonies.coremod.lib.Constants;
 import com.minecolonies.coremod.util.BlockPosUtil;
 import com.minecolonies.coremod.util.LanguageHandler;
@@ -203,6 +204,14 @@ public class WorkOrderBuild extends AbstractWorkOrder
         return upgradeName;
     }
 
+    @Override
+    protected int getMaterialCount()
+    {
+        //  Only known once a builder listed the structure, the town hall window should not load schematics
+        final BillOfMaterials bill = BillOfMaterials.getIfCached(structureName, buildingRotation);
+        return bill == null ? 0 : bill.getTotalCount();
+    }
+
     /**
      * Checks if a builder may accept this workOrder.
      *
@@ -3,7 +3,10 @@ package com.minecolonies.coremod.commands;
 import com.minecolonies.coremod.colony.CitizenData;
 import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.colony.jobs.AbstractJob;
 import com.minecolonies.coremod.entity.EntityCitizen;
+import com.minecolonies.coremod.entity.ai.basic.AbstractAISkeleton;
+import com.minecolonies.coremod.entity.ai.util.AITarget;
 import net.minecraft.command.CommandException;
 import net.minecraft.command.ICommandSender;
 import net.minecraft.server.MinecraftServer;
@@ -12,7 +15,9 @@ import net.minecraft.util.text.TextComponentString;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -33,6 +38,9 @@ public class CitizenInfoCommand extends AbstractSingleCommand
     private static final String       CITIZEN_POSITION                = "§2Citizen position: §4x=§f%s §4y=§f%s §4z=§f%s";
     private static final String       CITIZEN_WORK_POSITION_NULL      = "§2Work position: §4No work position found!";
     private static final String       CITIZEN_NO_ACTIVITY             = "§4No activity is being desired or executed!";
+    private static final String       CITIZEN_AI_STATE                = "§2AI state: §f%s";
+    private static final String       CITIZEN_AI_TARGET               = "§2AI target #%d §f(%s): %d checks, %d runs";
+    private static final int          HOT_TARGETS                     = 3;
 
 
 
@@ -132,10 +140,38 @@ public class CitizenInfoCommand extends AbstractSingleCommand
                 sender.addChatMessage(new TextComponentString(String.format(CITIZEN_DESIRED_ACTIVITY,
                     entityCitizen.getDesiredActivity(),
                     entityCitizen.getColonyJob().getNameTagDescription())));
+                sendHotTargets(sender, entityCitizen.getColonyJob().getWorkAI());
             }
         }
     }
 
+    /**
+     * Sends the state of the ai and the targets of which the predicates were checked the most.
+     *
+     * @param sender the sender of the command.
+     * @param ai     the ai of the citizen.
+     */
+    private static void sendHotTargets(@NotNull final ICommandSender sender, @Nullable final AbstractAISkeleton<? extends AbstractJob> ai)
+    {
+        if (ai == null)
+        {
+            return;
+        }
+
+        sender.addChatMessage(new TextComponentString(String.format(CITIZEN_AI_STATE, ai.getState())));
+        final List<AITarget> targets = ai.getTargets();
+        final List<AITarget> hottest = new ArrayList<>(targets);
+        hottest.sort(Comparator.comparingLong(AITarget::getEvaluations).reversed());
+        for (final AITarget target : hottest.subList(0, Math.min(HOT_TARGETS, hottest.size())))
+        {
+            sender.addChatMessage(new TextComponentString(String.format(CITIZEN_AI_TARGET,
+                targets.indexOf(target),
+                target.getState() == null ? "any state" : target.getState(),
+                target.getEvaluations(),
+                target.getExecutions())));
+        }
+    }
+
     @NotNull
     @Override
     public List<String> getTabCompletionOptions(
@@ -1,6 +1,6 @@
 package com.minecolonies.coremod.commands;
 
-import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyHeader;
 import com.minecolonies.coremod.colony.ColonyManager;
 import net.minecraft.command.CommandException;
 import net.minecraft.command.ICommandSender;
@@ -58,7 +58,7 @@ public class ListColoniesCommand extends AbstractSingleCommand
     public void execute(@NotNull final MinecraftServer server, @NotNull final ICommandSender sender, @NotNull final String... args) throws CommandException
     {
         int page = 1;
-        final List<Colony> colonies = ColonyManager.getColonies();
+        final List<ColonyHeader> colonies = ColonyManager.getColonyHeaders();
         final int colonyCount = colonies.size();
 
         // check to see if we have to add one page to show the half page
@@ -86,7 +86,7 @@ public class ListColoniesCommand extends AbstractSingleCommand
         final int prevPage = Math.max(0, page - 1);
         final int nextPage = Math.min(page + 1, (colonyCount / COLONIES_ON_PAGE) + halfPage);
 
-        final List<Colony> coloniesPage;
+        final List<ColonyHeader> coloniesPage;
 
         if (pageStartIndex < 0 || pageStartIndex >= colonyCount)
         {
@@ -100,7 +100,7 @@ public class ListColoniesCommand extends AbstractSingleCommand
         final ITextComponent headerLine = new TextComponentString(PAGE_TOP_LEFT + page + PAGE_TOP_MIDDLE + pageCount + PAGE_TOP_RIGHT);
         sender.addChatMessage(headerLine);
 
-        for (final Colony colony : coloniesPage)
+        for (final ColonyHeader colony : coloniesPage)
         {
             sender.addChatMessage(new TextComponentString(String.format(
               ID_AND_NAME_TEXT, colony.getID(), colony.getName())).setStyle(new Style().setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND,
@@ -1,8 +1,13 @@
 package com.minecolonies.coremod.commands;
 
+import com.minecolonies.coremod.colony.CitizenTickScheduler;
 import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.colony.IColony;
+import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
+import com.minecolonies.coremod.colony.buildings.BuildingDeliveryman;
+import com.minecolonies.coremod.entity.pathfinding.PathCache;
+import com.minecolonies.structures.helpers.StructureCache;
 import com.mojang.authlib.GameProfile;
 import net.minecraft.command.CommandException;
 import net.minecraft.command.ICommandSender;
@@ -29,6 +34,10 @@ public class ShowColonyInfoCommand extends AbstractSingleCommand
     private static final String COORDINATES_TEXT           = "§2Coordinates: §f";
     private static final String COORDINATES_XYZ            = "§4x=§f%s §4y=§f%s §4z=§f%s";
     private static final String CITIZENS                   = "§2Citizens: §f";
+    private static final String PATH_CACHE                 = "§2Path cache: §f%d paths, %d hits, %d misses, %d invalidated";
+    private static final String STRUCTURE_CACHE            = "§2Structure cache: §f%d schematics, %d hits, %d misses, %d evicted";
+    private static final String DELIVERIES                 = "§2Deliveries: §f%d in %d trips";
+    private static final String CITIZEN_AI                 = "§2Citizen AI: §f%d runs, %d deferred by budget, %d skipped far from players";
     private static final String NO_COLONY_FOUND_MESSAGE    = "Colony with mayor %s not found.";
     private static final String NO_COLONY_FOUND_MESSAGE_ID = "Colony with ID %d not found.";
 
@@ -115,6 +124,26 @@ public class ShowColonyInfoCommand extends AbstractSingleCommand
         sender.addChatMessage(new TextComponentString(MAYOR_TEXT + mayor));
         sender.addChatMessage(new TextComponentString(CITIZENS + colony.getCitizens().size() + "/" + colony.getMaxCitizens()));
         sender.addChatMessage(new TextComponentString(COORDINATES_TEXT + String.format(COORDINATES_XYZ, position.getX(), position.getY(), position.getZ())));
+        final PathCache pathCache = colony.getPathCache();
+        sender.addChatMessage(new TextComponentString(
+          String.format(PATH_CACHE, pathCache.size(), pathCache.getHits(), pathCache.getMisses(), pathCache.getInvalidations())));
+        sender.addChatMessage(new TextComponentString(
+          String.format(STRUCTURE_CACHE, StructureCache.size(), StructureCache.getHits(), StructureCache.getMisses(), StructureCache.getEvictions())));
+
+        int trips = 0;
+        int deliveries = 0;
+        for (@NotNull final AbstractBuilding building : colony.getBuildings().values())
+        {
+            if (building instanceof BuildingDeliveryman)
+            {
+                trips += ((BuildingDeliveryman) building).getTrips();
+                deliveries += ((BuildingDeliveryman) building).getDeliveries();
+            }
+        }
+        sender.addChatMessage(new TextComponentString(String.format(DELIVERIES, deliveries, trips)));
+        final CitizenTickScheduler scheduler = colony.getTickScheduler();
+        sender.addChatMessage(new TextComponentString(
+          String.format(CITIZEN_AI, scheduler.getRuns(), scheduler.getDeferredByBudget(), scheduler.getDeferredFar())));
     }
 
     private static UUID getUUIDFromName(@NotNull final ICommandSender sender, @NotNull final String... args)
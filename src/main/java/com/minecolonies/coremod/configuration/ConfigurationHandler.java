@@ -58,6 +58,14 @@ public final class ConfigurationHandler
             maxBlocksCheckedByBuilder =
               config.get(CATEGORY_GAMEPLAY, "maxBlocksCheckedByBuilder", maxBlocksCheckedByBuilder, "Limits the number of checked blocks per builder update").getInt();
             chatFrequency = config.get(CATEGORY_GAMEPLAY, "chatFrequency", chatFrequency, "Chat Frequency (seconds)").getInt();
+            structureCacheSize = config.get(CATEGORY_GAMEPLAY, "structureCacheSize", structureCacheSize, "Number of schematics kept in memory for builders and previews").getInt();
+            citizenAIBudget = config.get(CATEGORY_GAMEPLAY, "citizenAIBudget", citizenAIBudget, "Milliseconds per tick the citizen AIs of one colony may use, 0 for no limit").getInt();
+            farCitizenTickInterval =
+              config.get(CATEGORY_GAMEPLAY, "farCitizenTickInterval", farCitizenTickInterval, "Citizens without a player nearby run their AI every this many ticks").getInt();
+            citizenNearPlayerRange =
+              config.get(CATEGORY_GAMEPLAY, "citizenNearPlayerRange", citizenNearPlayerRange, "Distance in blocks within which a player counts as near a citizen").getInt();
+            idleColonyUnloadTime =
+              config.get(CATEGORY_GAMEPLAY, "idleColonyUnloadTime", idleColonyUnloadTime, "Seconds a colony without loaded chunks and players stays in memory, 0 to keep all colonies loaded").getInt();
 
             enableInDevelopmentFeatures = config.get(CATEGORY_GAMEPLAY, "development", enableInDevelopmentFeatures,
               "Display in-development features which do not work and may break your game").getBoolean();
@@ -65,7 +73,8 @@ public final class ConfigurationHandler
             pathfindingDebugDraw = config.get(CATEGORY_PATHFINDING, "debugDraw", pathfindingDebugDraw, "Render pathfinding results for debugging purposes (SSP only)").getBoolean();
             pathfindingDebugVerbosity = config.get(CATEGORY_PATHFINDING, "debugVerbosity", pathfindingDebugVerbosity,
               "Debug output verbosity of pathfinding (0=none, 1=results, 2=live work)").getInt();
-            pathfindingMaxThreadCount = config.get(CATEGORY_PATHFINDING, "maxThreads", pathfindingMaxThreadCount, "Maximum number of threads to use for pathfinding.").getInt();
+            pathfindingMaxThreadCount = config.get(CATEGORY_PATHFINDING, "maxThreads", pathfindingMaxThreadCount, "Number of worker threads to use for pathfinding.").getInt();
+            pathfindingCacheSize = config.get(CATEGORY_PATHFINDING, "cacheSize", pathfindingCacheSize, "Number of paths each colony keeps for reuse (0 to disable)").getInt();
 
             maleFirstNames = config.get(CATEGORY_NAMES, "maleFirstNames", maleFirstNames, "Male First Names").getStringList();
             femaleFirstNames = config.get(CATEGORY_NAMES, "femaleFirstNames", femaleFirstNames, "Female First Names").getStringList();
@@ -26,12 +26,18 @@ public class Configurations
     //TODO change count to agreed upon value, possibly remove if we think this shouldn't be a problem
     public static int maxBlocksCheckedByBuilder = 1000;
     public static int chatFrequency             = 30;
+    public static int structureCacheSize        = 32;
+    public static int citizenAIBudget           = 5;
+    public static int farCitizenTickInterval    = 10;
+    public static int citizenNearPlayerRange    = 64;
+    public static int idleColonyUnloadTime      = 300;
 
     public static boolean enableInDevelopmentFeatures = false;
 
     public static boolean pathfindingDebugDraw      = false;
     public static int     pathfindingDebugVerbosity = 0;
     public static int     pathfindingMaxThreadCount = 2;
+    public static int     pathfindingCacheSize      = 256;
 
     public static String[] maleFirstNames = new String[]
                                               {
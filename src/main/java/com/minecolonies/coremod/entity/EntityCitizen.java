@@ -204,6 +204,11 @@ public class EntityCitizen extends EntityAgeable implements INpc
      */
     private BlockPos currentPosition = null;
 
+    /**
+     * If a player is near the citizen, checked once a second.
+     */
+    private boolean playerNearby = true;
+
     /**
      * Time the entitiy is at the same position already.
      */
@@ -808,17 +813,30 @@ public class EntityCitizen extends EntityAgeable implements INpc
         }
         else
         {
-            pickupItems();
-            cleanupChatMessages();
-            updateColonyServer();
-            checkIfStuck();
-            if (worldObj.isDaytime() && !worldObj.isRaining())
+            if (getOffsetTicks() % TICKS_20 == 0)
+            {
+                playerNearby = worldObj.isAnyPlayerWithinRangeAt(posX, posY, posZ, Configurations.citizenNearPlayerRange);
+            }
+
+            if (colony == null || colony.getTickScheduler().isReducedRateTick(this))
             {
-                SoundUtils.playRandomSound(worldObj, this);
+                pickupItems();
             }
-            else if (worldObj.isRaining() && 1 >= rand.nextInt(RANT_ABOUT_WEATHER_CHANCE) && this.getColonyJob() != null)
+            //  Counts ticks, so it runs on every tick
+            checkIfStuck();
+            cleanupChatMessages();
+            updateColonyServer();
+            //  Nobody would hear it without a player near
+            if (playerNearby)
             {
-                SoundUtils.playSoundAtCitizenWithChance(worldObj, this.getPosition(), this.getColonyJob().getBadWeatherSound(), 1);
+                if (worldObj.isDaytime() && !worldObj.isRaining())
+                {
+                    SoundUtils.playRandomSound(worldObj, this);
+                }
+                else if (worldObj.isRaining() && 1 >= rand.nextInt(RANT_ABOUT_WEATHER_CHANCE) && this.getColonyJob() != null)
+                {
+                    SoundUtils.playSoundAtCitizenWithChance(worldObj, this.getPosition(), this.getColonyJob().getBadWeatherSound(), 1);
+                }
             }
         }
 
@@ -923,9 +941,19 @@ public class EntityCitizen extends EntityAgeable implements INpc
 
     /**
      * Pick up all items in a range around the citizen.
+     * Citizens of a colony ask the item tracker of the colony instead of searching the world.
      */
     private void pickupItems()
     {
+        if (colony != null)
+        {
+            if (canPickUpLoot())
+            {
+                colony.getItemTracker().forEachItemWithin(worldObj, getEntityBoundingBox().expand(2.0F, 0.0F, 2.0F), this::tryPickupEntityItem);
+            }
+            return;
+        }
+
         @NotNull final List<EntityItem> retList = new ArrayList<>();
         //I know streams look better but they are flawed in type erasure
         for (final Object o : worldObj.getEntitiesWithinAABB(EntityItem.class, getEntityBoundingBox().expand(2.0F, 0.0F, 2.0F)))
@@ -990,6 +1018,26 @@ public class EntityCitizen extends EntityAgeable implements INpc
         texture = new ResourceLocation(Constants.MOD_ID, textureBase + moddedTextureId + renderMetadata + ".png");
     }
 
+    /**
+     * Check if a player is near the citizen, the citizen runs at a reduced rate if not.
+     *
+     * @return true if so.
+     */
+    public boolean isPlayerNearby()
+    {
+        return playerNearby;
+    }
+
+    /**
+     * Get the id of the citizen in its colony.
+     *
+     * @return the id, 0 if not known yet.
+     */
+    public int getCitizenId()
+    {
+        return citizenId;
+    }
+
     public int getOffsetTicks()
     {
         return this.ticksExisted + OFFSET_TICK_MULTIPLIER * this.getEntityId();
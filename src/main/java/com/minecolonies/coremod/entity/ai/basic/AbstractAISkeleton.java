@@ -1,5 +1,7 @@
 package com.minecolonies.coremod.entity.ai.basic;
 
+import com.minecolonies.coremod.colony.CitizenTickScheduler;
+import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.jobs.AbstractJob;
 import com.minecolonies.coremod.entity.EntityCitizen;
 import com.minecolonies.coremod.entity.ai.util.AIState;
@@ -12,6 +14,10 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 import static com.minecolonies.coremod.entity.EntityCitizen.Status.IDLE;
 
@@ -36,6 +42,17 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
     protected final ChatSpamFilter      chatSpamFilter;
     @NotNull
     private final   ArrayList<AITarget> targetList;
+    /**
+     * The targets which match on every state, in the order of registration.
+     */
+    @NotNull
+    private final   List<AITarget>      globalTargets;
+    /**
+     * The targets to check per state: the targets of the state and the global targets, in the order of registration.
+     * States without own targets use the global targets.
+     */
+    @NotNull
+    private final   Map<AIState, List<AITarget>> targetsByState;
     /**
      * The current state the ai is in.
      * Used to compare to state matching targets.
@@ -51,6 +68,8 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
     {
         super();
         this.targetList = new ArrayList<>();
+        this.globalTargets = new ArrayList<>();
+        this.targetsByState = new EnumMap<>(AIState.class);
         setMutexBits(MUTEX_MASK);
         this.job = job;
         this.worker = this.job.getCitizen().getCitizenEntity();
@@ -67,6 +86,15 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
     private void registerTarget(final AITarget target)
     {
         targetList.add(target);
+        if (target.getState() == null)
+        {
+            globalTargets.add(target);
+            targetsByState.values().forEach(targets -> targets.add(target));
+        }
+        else
+        {
+            targetsByState.computeIfAbsent(target.getState(), s -> new ArrayList<>(globalTargets)).add(target);
+        }
     }
 
     /**
@@ -126,7 +154,37 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
     @Override
     public final void updateTask()
     {
-        targetList.stream().anyMatch(this::checkOnTarget);
+        final Colony colony = worker.getColony();
+        if (colony == null)
+        {
+            runTargets();
+            return;
+        }
+
+        final CitizenTickScheduler scheduler = colony.getTickScheduler();
+        if (!scheduler.shouldRun(worker))
+        {
+            return;
+        }
+        final long start = System.nanoTime();
+        runTargets();
+        scheduler.onRun(worker, System.nanoTime() - start);
+    }
+
+    /**
+     * Checks the targets of the current state until one changes the state.
+     */
+    private void runTargets()
+    {
+        //  Only the targets of the current state, the state can change only with the last checked target
+        final List<AITarget> targets = targetsByState.getOrDefault(state, globalTargets);
+        for (final AITarget target : targets)
+        {
+            if (checkOnTarget(target))
+            {
+                return;
+            }
+        }
     }
 
     /**
@@ -144,8 +202,8 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
 
     /**
      * Checks on one target to see if it has to be executed.
-     * It first checks for the state of the ai.
-     * If that matches it tests the predicate if the ai
+     * The state of the ai was matched by {@link #updateTask()} already.
+     * It tests the predicate if the ai
      * wants to run the target.
      * And if that's a yes, runs the target.
      * Tester and target are both error-checked
@@ -156,10 +214,6 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
      */
     private boolean checkOnTarget(@NotNull final AITarget target)
     {
-        if (state != target.getState() && target.getState() != null)
-        {
-            return false;
-        }
         try
         {
             if (!target.test())
@@ -226,6 +280,17 @@ public abstract class AbstractAISkeleton<J extends AbstractJob> extends EntityAI
         return state;
     }
 
+    /**
+     * Get all targets of the ai, with their evaluation counters.
+     *
+     * @return an unmodifiable list of the targets in the order of registration.
+     */
+    @NotNull
+    public final List<AITarget> getTargets()
+    {
+        return Collections.unmodifiableList(targetList);
+    }
+
     protected int getLevelDelay()
     {
         return 10;
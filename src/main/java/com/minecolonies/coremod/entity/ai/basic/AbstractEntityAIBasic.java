@@ -1,6 +1,7 @@
 package com.minecolonies.coremod.entity.ai.basic;
 
 import com.minecolonies.coremod.colony.buildings.AbstractBuildingWorker;
+import com.minecolonies.coremod.colony.buildings.ItemLocationIndex;
 import com.minecolonies.coremod.colony.jobs.AbstractJob;
 import com.minecolonies.coremod.colony.jobs.JobDeliveryman;
 import com.minecolonies.coremod.entity.ai.item.handling.ItemStorage;
@@ -388,28 +389,17 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
     {
         @Nullable final AbstractBuildingWorker building = getOwnBuilding();
 
-        boolean hasItem;
         if(building != null)
         {
-            hasItem = isInTileEntity(building.getTileEntity(), is);
-
-            if(hasItem)
+            final ItemLocationIndex index = building.getItemIndex();
+            for(final BlockPos pos : index.getContainersWith(world, is))
             {
-                return true;
-            }
-
-            for(final BlockPos pos : building.getAdditionalCountainers())
-            {
-                final TileEntity entity = world.getTileEntity(pos);
-                if(entity instanceof TileEntityChest)
+                final TileEntityChest chest = index.getContainer(world, pos);
+                if(chest != null && isInTileEntity(chest, is))
                 {
-                    hasItem = isInTileEntity((TileEntityChest) entity, is);
-
-                    if(hasItem)
-                    {
-                        return true;
-                    }
+                    return true;
                 }
+                index.markDirty(pos);
             }
         }
 
@@ -425,28 +415,17 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
     {
         @Nullable final AbstractBuildingWorker building = getOwnBuilding();
 
-        boolean hasItem;
         if(building != null)
         {
-            hasItem = isToolInTileEntity(building.getTileEntity(), tool);
-
-            if(hasItem)
+            final ItemLocationIndex index = building.getItemIndex();
+            for(final BlockPos pos : index.getContainersWithTool(world, tool))
             {
-                return true;
-            }
-
-            for(final BlockPos pos : building.getAdditionalCountainers())
-            {
-                final TileEntity entity = world.getTileEntity(pos);
-                if(entity instanceof TileEntityChest)
+                final TileEntityChest chest = index.getContainer(world, pos);
+                if(chest != null && isToolInTileEntity(chest, tool))
                 {
-                    hasItem = isToolInTileEntity((TileEntityChest) entity, tool);
-
-                    if(hasItem)
-                    {
-                        return true;
-                    }
+                    return true;
                 }
+                index.markDirty(pos);
             }
         }
 
@@ -587,6 +566,10 @@ public abstract class AbstractEntityAIBasic<J extends AbstractJob> extends Abstr
     public void takeItemStackFromChest(@NotNull final Tuple<Integer, IInventory> tuple)
     {
         InventoryUtils.takeStackInSlot(tuple.getSecond(), worker.getInventoryCitizen(), tuple.getFirst());
+        if (tuple.getSecond() instanceof TileEntity && worker.getColony() != null)
+        {
+            worker.getColony().onContainerChanged(((TileEntity) tuple.getSecond()).getPos());
+        }
     }
 
     /**
@@ -9,6 +9,8 @@ import com.minecolonies.coremod.entity.ai.util.AIState;
 import com.minecolonies.coremod.entity.ai.util.AITarget;
 import com.minecolonies.coremod.inventory.InventoryCitizen;
 import com.minecolonies.coremod.tileentities.TileEntityColonyBuilding;
+import com.minecolonies.coremod.tileentities.TileEntityWareHouse;
+import com.minecolonies.coremod.util.InventoryFunctions;
 import com.minecolonies.coremod.util.InventoryUtils;
 import com.minecolonies.coremod.util.Utils;
 import net.minecraft.item.ItemStack;
@@ -21,8 +23,10 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.minecolonies.coremod.entity.ai.util.AIState.*;
 
@@ -59,13 +63,18 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
      */
     private static final int DUMP_AND_GATHER_DELAY = 10;
 
+    /**
+     * Further stops of a trip have to be within this distance of the first one, squared.
+     */
+    private static final long MAX_STOP_DISTANCE_SQUARED = 48L * 48L;
+
     /**
      * Warehouse the deliveryman is assigned to.
      */
     private BuildingWareHouse wareHouse = null;
 
     /**
-     * List of itemStacks the deliveryman will deliver to the requesting building.
+     * List of itemStacks the deliveryman still has to gather for the current stop of the trip.
      */
     private List<ItemStack> itemsToDeliver = new ArrayList<>();
 
@@ -278,7 +287,7 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
     }
 
     /**
-     * Deliver the items to the hut.
+     * Deliver the items to the current stop of the trip.
      *
      * @return the next state.
      */
@@ -287,52 +296,84 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
         final AbstractBuildingWorker ownBuilding = getOwnBuilding();
         if (ownBuilding instanceof BuildingDeliveryman)
         {
-            final AbstractBuilding buildingToDeliver = ((BuildingDeliveryman) ownBuilding).getBuildingToDeliver();
-            if (buildingToDeliver != null)
+            final DeliveryTrip trip = ((BuildingDeliveryman) ownBuilding).getTrip();
+            final DeliveryTrip.Stop stop = trip == null ? null : trip.getCurrentStop();
+            if (stop != null)
             {
+                final AbstractBuilding buildingToDeliver = stop.getBuilding();
                 if (!worker.isWorkerAtSiteWithMove(buildingToDeliver.getLocation(), MIN_DISTANCE_TO_WAREHOUSE))
                 {
                     return DELIVERY;
                 }
 
-                final InventoryCitizen workerInventory = worker.getInventoryCitizen();
-                for (int i = 0; i < workerInventory.getSizeInventory(); i++)
+                for (final ItemStack stack : stop.getItems())
                 {
-                    final ItemStack stack = workerInventory.getStackInSlot(i);
-                    if (stack == null)
-                    {
-                        continue;
-                    }
+                    InventoryFunctions.matchFirstInInventory(worker.getInventoryCitizen(),
+                            invStack -> invStack != null && stack.isItemEqual(invStack),
+                            slot -> transferSlot(buildingToDeliver, slot));
+                }
 
-                    if (buildingToDeliver.transferStack(stack, world))
-                    {
-                        workerInventory.removeStackFromSlot(i);
-                    }
-                    else
-                    {
-                        @Nullable final ItemStack tempStack = buildingToDeliver.forceTransferStack(stack, world);
-                        if(tempStack == null)
-                        {
-                            chatSpamFilter.talkWithoutSpam("com.minecolonies.coremod.job.deliveryman.workerChestFull"
-                                    , new TextComponentString(" :" + buildingToDeliver.getSchematicName()));
-                        }
-                        else
-                        {
-                            workerInventory.addItemStackToInventory(tempStack);
-                        }
-                    }
+                final String tool = stop.getTool();
+                if (!tool.isEmpty())
+                {
+                    InventoryFunctions.matchFirstInInventory(worker.getInventoryCitizen(),
+                            invStack -> invStack != null && (Utils.WEAPON.equals(tool) ? Utils.doesItemServeAsWeapon(invStack) : Utils.isTool(invStack, tool)),
+                            slot -> transferSlot(buildingToDeliver, slot));
                 }
+
                 worker.addExperience(1.0D);
                 buildingToDeliver.setOnGoingDelivery(false);
-                ((BuildingDeliveryman) ownBuilding).setBuildingToDeliver(null);
+                trip.onDelivered();
+                if (trip.nextStop() != null)
+                {
+                    return DELIVERY;
+                }
+            }
+            ((BuildingDeliveryman) ownBuilding).finishTrip();
+        }
+
+        //  Bring back whatever could not be delivered
+        return InventoryUtils.getAmountOfStacks(worker.getInventoryCitizen()) > 0 ? DUMPING : START_WORKING;
+    }
+
+    /**
+     * Transfer a stack of the worker inventory to a building.
+     *
+     * @param buildingToDeliver the building.
+     * @param slot              the slot of the stack.
+     */
+    private void transferSlot(@NotNull final AbstractBuilding buildingToDeliver, final int slot)
+    {
+        final InventoryCitizen workerInventory = worker.getInventoryCitizen();
+        final ItemStack stack = workerInventory.getStackInSlot(slot);
+        if (stack == null)
+        {
+            return;
+        }
+
+        if (buildingToDeliver.transferStack(stack, world))
+        {
+            workerInventory.removeStackFromSlot(slot);
+        }
+        else
+        {
+            @Nullable final ItemStack tempStack = buildingToDeliver.forceTransferStack(stack, world);
+            if(tempStack == null)
+            {
+                chatSpamFilter.talkWithoutSpam("com.minecolonies.coremod.job.deliveryman.workerChestFull"
+                        , new TextComponentString(" :" + buildingToDeliver.getSchematicName()));
+            }
+            else
+            {
+                workerInventory.removeStackFromSlot(slot);
+                workerInventory.addItemStackToInventory(tempStack);
             }
         }
-        return START_WORKING;
     }
 
     /**
      * Prepare deliveryman for delivery.
-     * Check if the building still needs the item and if the required items are still in the warehouse.
+     * Check if the buildings of the trip still need the items and if the required items are still in the warehouse.
      *
      * @return the next state to go to.
      */
@@ -341,49 +382,99 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
         final AbstractBuildingWorker ownBuilding = getOwnBuilding();
         if (ownBuilding instanceof BuildingDeliveryman)
         {
-            final AbstractBuilding buildingToDeliver = ((BuildingDeliveryman) ownBuilding).getBuildingToDeliver();
-            if (buildingToDeliver != null)
+            final DeliveryTrip trip = ((BuildingDeliveryman) ownBuilding).getTrip();
+            if (trip != null)
             {
-                final boolean ableToDeliver = wareHouse.getTileEntity().checkInWareHouse(buildingToDeliver, false);
-                if (!ableToDeliver)
+                DeliveryTrip.Stop stop = trip.getCurrentStop();
+                while (stop != null)
+                {
+                    if (wareHouse.getTileEntity().checkInWareHouse(stop.getBuilding(), false))
+                    {
+                        stop = trip.nextStop();
+                    }
+                    else
+                    {
+                        stop.getBuilding().setOnGoingDelivery(false);
+                        stop = trip.dropCurrentStop();
+                    }
+                }
+
+                if (trip.size() == 0)
                 {
-                    buildingToDeliver.setOnGoingDelivery(false);
+                    ((BuildingDeliveryman) ownBuilding).setTrip(null);
                     return START_WORKING;
                 }
-                itemsToDeliver = new ArrayList<>(buildingToDeliver.getNeededItems());
+
+                trip.planRoute(wareHouse.getLocation());
+                itemsToDeliver = new ArrayList<>(trip.getCurrentStop().getBuilding().getNeededItems());
                 return GATHER_IN_WAREHOUSE;
             }
         }
         return START_WORKING;
     }
 
+    /**
+     * Gather the items and tools of all stops of the trip, one stop after the other.
+     *
+     * @return the next state to go to.
+     */
     private AIState gatherItemsFromWareHouse()
     {
         final AbstractBuildingWorker ownBuilding = getOwnBuilding();
         if (ownBuilding instanceof BuildingDeliveryman)
         {
-            final AbstractBuilding buildingToDeliver = ((BuildingDeliveryman) ownBuilding).getBuildingToDeliver();
-            if (buildingToDeliver != null)
+            final DeliveryTrip trip = ((BuildingDeliveryman) ownBuilding).getTrip();
+            final DeliveryTrip.Stop stop = trip == null ? null : trip.getCurrentStop();
+            if (stop != null)
             {
+                final AbstractBuilding buildingToDeliver = stop.getBuilding();
                 if (itemsToDeliver.isEmpty() && hasTools(buildingToDeliver))
                 {
-                    return DELIVERY;
+                    stop.setTool(buildingToDeliver.getRequiredTool());
+                    return gatherForNextStop(trip, trip.nextStop());
                 }
 
-                if(gatherItems(buildingToDeliver))
+                if(gatherItems(stop))
                 {
                     setDelay(DUMP_AND_GATHER_DELAY);
                     return GATHER_IN_WAREHOUSE;
                 }
 
-                ((BuildingDeliveryman) ownBuilding).setBuildingToDeliver(null);
-                itemsToDeliver.clear();
-                return START_WORKING;
+                //  Not in the warehouse anymore, the building has to wait for another trip
+                buildingToDeliver.setOnGoingDelivery(false);
+                return gatherForNextStop(trip, trip.dropCurrentStop());
             }
+            ((BuildingDeliveryman) ownBuilding).setTrip(null);
         }
+        itemsToDeliver.clear();
         return START_WORKING;
     }
 
+    /**
+     * Continue gathering with the next stop or start delivering if all stops have their items.
+     *
+     * @param trip the trip.
+     * @param next the next stop, null if all stops have been handled.
+     * @return the next state to go to.
+     */
+    private AIState gatherForNextStop(@NotNull final DeliveryTrip trip, @Nullable final DeliveryTrip.Stop next)
+    {
+        if (next != null)
+        {
+            itemsToDeliver = new ArrayList<>(next.getBuilding().getNeededItems());
+            return GATHER_IN_WAREHOUSE;
+        }
+
+        itemsToDeliver.clear();
+        if (trip.size() == 0)
+        {
+            ((BuildingDeliveryman) getOwnBuilding()).setTrip(null);
+            return START_WORKING;
+        }
+        trip.restart();
+        return DELIVERY;
+    }
+
     /**
      * Check if the deliveryman has all the tools to make the delivery.
      *
@@ -409,11 +500,12 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
      * Gather item from chest.
      * Gathers only one stack of the item.
      *
-     * @param buildingToDeliver building to deliver to.
+     * @param stop the stop of the trip to gather for.
      * @return true if continue, false if not succuesful
      */
-    private boolean gatherItems(@NotNull final AbstractBuilding buildingToDeliver)
+    private boolean gatherItems(@NotNull final DeliveryTrip.Stop stop)
     {
+        final AbstractBuilding buildingToDeliver = stop.getBuilding();
         BlockPos position;
         if (itemsToDeliver.isEmpty())
         {
@@ -466,6 +558,7 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
                 final ItemStack stack = itemsToDeliver.get(0);
                 if (isInTileEntity((TileEntityChest) tileEntity, stack))
                 {
+                    stop.getItems().add(stack);
                     itemsToDeliver.remove(0);
                     return true;
                 }
@@ -488,21 +581,61 @@ public class EntityAIWorkDeliveryman extends AbstractEntityAIInteract<JobDeliver
         }
 
         final AbstractBuildingWorker ownBuilding = getOwnBuilding();
-
-        @Nullable final AbstractBuilding buildingToDeliver = wareHouse.getTileEntity().getTask();
         if (ownBuilding instanceof BuildingDeliveryman)
         {
-            if (buildingToDeliver == null)
+            @Nullable final DeliveryTrip trip = planTrip(ownBuilding.getBuildingLevel());
+            ((BuildingDeliveryman) ownBuilding).setTrip(trip);
+            if (trip == null)
             {
-                ((BuildingDeliveryman) ownBuilding).setBuildingToDeliver(null);
                 return GATHERING;
             }
-            ((BuildingDeliveryman) ownBuilding).setBuildingToDeliver(buildingToDeliver);
         }
 
         return PREPARE_DELIVERY;
     }
 
+    /**
+     * Plan the next trip.
+     * Starts with the most urgent request and adds close requests while they fit into the inventory.
+     * Only one building per tool type is served on a trip.
+     *
+     * @param maxStops the maximum amount of stops, the level of the hut.
+     * @return the trip or null if there is nothing to deliver.
+     */
+    @Nullable
+    private DeliveryTrip planTrip(final int maxStops)
+    {
+        final TileEntityWareHouse tileEntity = wareHouse.getTileEntity();
+        @Nullable final AbstractBuilding first = tileEntity.getTask(worker.getPosition());
+        if (first == null)
+        {
+            return null;
+        }
+
+        @NotNull final DeliveryTrip trip = new DeliveryTrip();
+        trip.addStop(first);
+        @NotNull final Set<String> tools = new HashSet<>();
+        tools.add(first.getRequiredTool());
+        final InventoryCitizen inventory = worker.getInventoryCitizen();
+        int freeSlots = inventory.getSizeInventory() - InventoryUtils.getAmountOfStacks(inventory) - DeliveryTrip.estimateSlots(first);
+
+        while (trip.size() < maxStops && freeSlots > 0)
+        {
+            final int slots = freeSlots;
+            @Nullable final AbstractBuilding next = tileEntity.getTaskNear(first.getLocation(), MAX_STOP_DISTANCE_SQUARED,
+                    building -> DeliveryTrip.estimateSlots(building) <= slots
+                            && (building.getRequiredTool().isEmpty() || !tools.contains(building.getRequiredTool())));
+            if (next == null)
+            {
+                break;
+            }
+            trip.addStop(next);
+            tools.add(next.getRequiredTool());
+            freeSlots -= DeliveryTrip.estimateSlots(next);
+        }
+        return trip;
+    }
+
     /**
      * Check if the deliveryman code should be executed.
      * More concretely if he has a warehouse to work at.
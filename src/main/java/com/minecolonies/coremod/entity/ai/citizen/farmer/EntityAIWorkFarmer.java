@@ -240,18 +240,36 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
      */
     private boolean containsPlants(final Field field)
     {
-        BlockPos position;
-        IBlockState blockState;
+        return field.hasPlants(world);
+    }
 
+    /**
+     * Moves the offset to the next tile of the field which needs initializing, skipping the others by their tile state.
+     * Only planted tiles are looked at in the world, to find crops of another seed.
+     *
+     * @param field the field object.
+     * @return true if a tile was found.
+     */
+    private boolean handleOffsetInitialize(@NotNull final Field field)
+    {
         while (handleOffset(field))
         {
-            // Check to see if the block is a plant, and if it is, break it.
-            position = field.getLocation().down().south(workingOffset.getZ()).east(workingOffset.getX());
-            blockState = world.getBlockState(position.up());
-
-            if (blockState.getBlock() instanceof BlockCrops)
+            switch (field.getTileState(world, workingOffset))
             {
-                return true;
+                case UNTILLED:
+                case TILLED:
+                    return true;
+                case PLANTED:
+                case MATURE:
+                    final BlockPos crop = field.getLocation().south(workingOffset.getZ()).east(workingOffset.getX());
+                    final IBlockState cropState = world.getBlockState(crop);
+                    if (cropState.getBlock() instanceof BlockCrops && ((BlockCrops) cropState.getBlock()).getItem(world, crop, cropState) != field.getSeed())
+                    {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
             }
         }
         return false;
@@ -413,12 +431,19 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
     /**
      * Handles the offset of the field for the farmer.
      * Skips to the next harvestable crop, returns true if one was found.
+     * Tiles which are not mature are skipped by their tile state, without looking at the world.
      *
      * @param field the field object.
      * @return true if a harvestable crop was found.
      */
     private boolean handleOffsetHarvest(@NotNull final Field field)
     {
+        if (field.countTiles(world, Field.TileState.MATURE) == 0)
+        {
+            workingOffset = null;
+            return false;
+        }
+
         if (workingOffset == null)
         {
             handleOffset(field);
@@ -426,7 +451,7 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
 
         BlockPos position = field.getLocation().down().south(workingOffset.getZ()).east(workingOffset.getX());
 
-        while (!shouldHarvest(position))
+        while (field.getTileState(world, workingOffset) != Field.TileState.MATURE || !shouldHarvest(position))
         {
             if (!handleOffset(field))
             {
@@ -517,7 +542,7 @@ public class EntityAIWorkFarmer extends AbstractEntityAIInteract<JobFarmer>
             }
         }
 
-        if (!handleOffset(field))
+        if (!handleOffsetInitialize(field))
         {
             resetVariables();
             shouldDumpInventory = true;
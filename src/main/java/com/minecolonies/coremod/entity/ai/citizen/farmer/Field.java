@@ -7,8 +7,12 @@ import com.minecolonies.coremod.inventory.InventoryField;
 import com.minecolonies.coremod.tileentities.ScarecrowTileEntity;
 import com.minecolonies.coremod.util.BlockPosUtil;
 import com.minecolonies.coremod.util.LanguageHandler;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockCrops;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.InventoryPlayer;
+import net.minecraft.init.Blocks;
 import net.minecraft.inventory.Container;
 import net.minecraft.inventory.Slot;
 import net.minecraft.item.ItemStack;
@@ -20,6 +24,8 @@ import net.minecraftforge.common.IPlantable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+
 /**
  * Handles the field class.
  */
@@ -125,6 +131,13 @@ public class Field extends Container
      */
     private static final int MAX_RANGE = 5;
 
+    /**
+     * Bits of the state of one tile, and the tiles packed into a long.
+     */
+    private static final int  TILE_BITS      = 4;
+    private static final long TILE_MASK      = (1L << TILE_BITS) - 1;
+    private static final int  TILES_PER_LONG = Long.SIZE / TILE_BITS;
+
     /**
      * The colony of the field.
      */
@@ -176,6 +189,19 @@ public class Field extends Container
      */
     private int widthMinusZ;
 
+    /**
+     * The state of each tile of the field, packed by {@link #TILE_BITS}, null until the field was scanned.
+     * Not saved, the field is scanned again after loading.
+     */
+    @Nullable
+    private long[] tiles;
+
+    /**
+     * Amount of tiles in each state, by ordinal.
+     */
+    @NotNull
+    private final int[] tileCounts = new int[TileState.values().length];
+
     /**
      * The inventorySlot of the field.
      */
@@ -351,6 +377,7 @@ public class Field extends Container
         this.lengthMinusX = searchNextBlock(0, position.west(), EnumFacing.WEST, world);
         this.widthPlusZ = searchNextBlock(0, position.south(), EnumFacing.SOUTH, world);
         this.widthMinusZ = searchNextBlock(0, position.north(), EnumFacing.NORTH, world);
+        invalidateTiles();
     }
 
     /**
@@ -620,6 +647,174 @@ public class Field extends Container
         this.inventory.setCustomName(customName);
     }
 
+    /**
+     * Get the state of a tile, scanning the field first if it was not scanned yet.
+     *
+     * @param world  the world of the field.
+     * @param offset the offset of the tile to the scarecrow, only x and z are used.
+     * @return the state, OTHER for offsets outside of the field.
+     */
+    @NotNull
+    public TileState getTileState(@NotNull final World world, @NotNull final BlockPos offset)
+    {
+        final int index = getTileIndex(offset.getX(), offset.getZ());
+        if (index < 0)
+        {
+            return TileState.OTHER;
+        }
+        return TileState.values()[(int) ((getTiles(world)[index / TILES_PER_LONG] >>> ((index % TILES_PER_LONG) * TILE_BITS)) & TILE_MASK)];
+    }
+
+    /**
+     * Checks if crops grow on the field.
+     *
+     * @param world the world of the field.
+     * @return true if at least one tile is planted or mature.
+     */
+    public boolean hasPlants(@NotNull final World world)
+    {
+        getTiles(world);
+        return tileCounts[TileState.PLANTED.ordinal()] + tileCounts[TileState.MATURE.ordinal()] > 0;
+    }
+
+    /**
+     * Counts the tiles in a state.
+     *
+     * @param world the world of the field.
+     * @param state the state.
+     * @return the amount of tiles.
+     */
+    public int countTiles(@NotNull final World world, @NotNull final TileState state)
+    {
+        getTiles(world);
+        return tileCounts[state.ordinal()];
+    }
+
+    /**
+     * Updates the state of a tile after a block changed, the ground or the crop on it.
+     *
+     * @param world the world of the field.
+     * @param pos   the changed position.
+     */
+    public void onBlockChange(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        if (tiles == null || pos.getY() < location.getY() - 1 || pos.getY() > location.getY() + 1)
+        {
+            return;
+        }
+
+        final int index = getTileIndex(pos.getX() - location.getX(), pos.getZ() - location.getZ());
+        if (index >= 0)
+        {
+            setTile(index, classifyTile(world, new BlockPos(pos.getX(), location.getY() - 1, pos.getZ())));
+        }
+    }
+
+    /**
+     * Forgets the tile states, the field is scanned again when they are needed.
+     */
+    public void invalidateTiles()
+    {
+        tiles = null;
+    }
+
+    /**
+     * Get the index of a tile.
+     *
+     * @param x the x offset to the scarecrow.
+     * @param z the z offset to the scarecrow.
+     * @return the index or -1 if the offset is outside of the field.
+     */
+    private int getTileIndex(final int x, final int z)
+    {
+        if (x < -lengthMinusX || x > lengthPlusX || z < -widthMinusZ || z > widthPlusZ)
+        {
+            return -1;
+        }
+        return (z + widthMinusZ) * (lengthMinusX + lengthPlusX + 1) + x + lengthMinusX;
+    }
+
+    /**
+     * Get the packed tile states, scanning the field if needed.
+     *
+     * @param world the world of the field.
+     * @return the packed states.
+     */
+    @NotNull
+    private long[] getTiles(@NotNull final World world)
+    {
+        if (tiles == null)
+        {
+            final int tileCount = (lengthMinusX + lengthPlusX + 1) * (widthMinusZ + widthPlusZ + 1);
+            tiles = new long[(tileCount + TILES_PER_LONG - 1) / TILES_PER_LONG];
+            Arrays.fill(tileCounts, 0);
+            tileCounts[TileState.OTHER.ordinal()] = tileCount;
+
+            for (int x = -lengthMinusX; x <= lengthPlusX; x++)
+            {
+                for (int z = -widthMinusZ; z <= widthPlusZ; z++)
+                {
+                    setTile(getTileIndex(x, z), classifyTile(world, location.add(x, -1, z)));
+                }
+            }
+        }
+        return tiles;
+    }
+
+    private void setTile(final int index, @NotNull final TileState state)
+    {
+        final int shift = (index % TILES_PER_LONG) * TILE_BITS;
+        final long packed = tiles[index / TILES_PER_LONG];
+        tileCounts[(int) ((packed >>> shift) & TILE_MASK)]--;
+        tiles[index / TILES_PER_LONG] = (packed & ~(TILE_MASK << shift)) | ((long) state.ordinal() << shift);
+        tileCounts[state.ordinal()]++;
+    }
+
+    /**
+     * Looks at the ground of a tile and the crop on it.
+     *
+     * @param world  the world of the field.
+     * @param ground the ground position of the tile.
+     * @return the state of the tile.
+     */
+    @NotNull
+    private TileState classifyTile(@NotNull final World world, @NotNull final BlockPos ground)
+    {
+        if (isNoPartOfField(world, ground))
+        {
+            return TileState.OTHER;
+        }
+
+        final IBlockState crop = world.getBlockState(ground.up());
+        if (crop.getBlock() instanceof BlockCrops)
+        {
+            return ((BlockCrops) crop.getBlock()).canGrow(world, ground.up(), crop, false) ? TileState.PLANTED : TileState.MATURE;
+        }
+
+        final Block groundBlock = world.getBlockState(ground).getBlock();
+        if (groundBlock == Blocks.FARMLAND)
+        {
+            return TileState.TILLED;
+        }
+        if (groundBlock == Blocks.DIRT || groundBlock == Blocks.GRASS)
+        {
+            return TileState.UNTILLED;
+        }
+        return TileState.OTHER;
+    }
+
+    /**
+     * Describes the state of one tile of a field, what the farmer has to do on it.
+     */
+    public enum TileState
+    {
+        OTHER,
+        UNTILLED,
+        TILLED,
+        PLANTED,
+        MATURE
+    }
+
     /**
      * Describes the stage the field is in.
      * Like if it has been hoed, planted or is empty.
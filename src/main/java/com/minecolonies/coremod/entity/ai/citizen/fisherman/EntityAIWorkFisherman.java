@@ -20,6 +20,7 @@ import net.minecraft.item.ItemFishingRod;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -96,6 +97,11 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
      */
     private static final int SEARCH_RANGE = 50;
 
+    /**
+     * The max square distance from the hut of a pond taken from the pond index, as far as the path search looks.
+     */
+    private static final int MAX_POND_DISTANCE_SQ = 250;
+
     /**
      * The percentage of times where the fisherman will check out a new pond.
      */
@@ -309,12 +315,18 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
 
     /**
      * Let's the fisherman walk to the water if the water object in his job class already has been filled.
+     * Walks to the shore of the water if the colony knows it, instead of into the water.
      *
      * @return true if the fisherman has arrived at the water.
      */
     private boolean walkToWater()
     {
-        return job.getWater() != null && walkToBlock(job.getWater());
+        if (job.getWater() == null)
+        {
+            return false;
+        }
+        final BlockPos shore = worker.getColony() == null ? null : worker.getColony().getPondIndex().getShore(job.getWater());
+        return walkToBlock(shore == null ? job.getWater() : shore);
     }
 
     /**
@@ -384,13 +396,25 @@ public class EntityAIWorkFisherman extends AbstractEntityAISkill<JobFisherman>
     }
 
     /**
-     * Uses the pathFinding system to search close water spots which possibilitate fishing.
+     * Takes the nearest unused pond known to the colony, else uses the pathFinding system to search close water spots which possibilitate fishing.
      * Sets a number of possible water pools and sets the water pool the fisherman should fish now.
      *
      * @return the next AIState the fisherman should switch to, after executing this method
      */
     private AIState findNewWater()
     {
+        if (pathResult == null && worker.getColony() != null && getOwnBuilding() != null)
+        {
+            final BlockPos knownPond = worker.getColony().getPondIndex()
+                                         .claimNearestPond(getOwnBuilding().getLocation(), MAX_POND_DISTANCE_SQ, worker.getCitizenData().getId(), job.getPonds());
+            if (knownPond != null)
+            {
+                job.setWater(knownPond);
+                job.addToPonds(knownPond);
+                return FISHERMAN_CHECK_WATER;
+            }
+        }
+
         if (pathResult == null)
         {
             pathResult = worker.getNavigator().moveToWater(SEARCH_RANGE, 1.0D, job.getPonds());
@@ -14,9 +14,13 @@ import org.jetbrains.annotations.Nullable;
 public final class Pond
 {
     private static final String TAG_LOCATION                  = "Location";
-    private static final int    WATER_POOL_WIDTH_REQUIREMENT  = 6;
     private static final int    WATER_POOL_HEIGHT_REQUIREMENT = 3;
 
+    /**
+     * How far from a fishing spot its check looks, also used by the pond index.
+     */
+    static final int WATER_POOL_WIDTH_REQUIREMENT = 6;
+
     private final BlockPos location;
 
     private Pond(final BlockPos water)
@@ -56,12 +60,14 @@ public final class Pond
         final int x = water.getX();
         final int y = water.getY();
         final int z = water.getZ();
+        //  One position reused for all checks, they run for every candidate of the path job
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
 
         //If not one direction contains a pool with length at least 6 and width 7
-        return checkWaterPoolInDirectionXThenZ(world, x, y, z, 1)
-                 || checkWaterPoolInDirectionXThenZ(world, x, y, z, -1)
-                 || checkWaterPoolInDirectionZThenX(world, x, y, z, 1)
-                 || checkWaterPoolInDirectionZThenX(world, x, y, z, -1);
+        return checkWaterPoolInDirectionXThenZ(world, pos, x, y, z, 1)
+                 || checkWaterPoolInDirectionXThenZ(world, pos, x, y, z, -1)
+                 || checkWaterPoolInDirectionZThenX(world, pos, x, y, z, 1)
+                 || checkWaterPoolInDirectionZThenX(world, pos, x, y, z, -1);
     }
 
     /**
@@ -69,24 +75,25 @@ public final class Pond
      * direction Z all blocks are also water.
      *
      * @param world  World.
+     * @param pos    position to reuse.
      * @param x      posX.
      * @param y      posY.
      * @param z      posZ.
      * @param vector direction.
      * @return true if all blocks are water, else false.
      */
-    private static boolean checkWaterPoolInDirectionXThenZ(@NotNull final IBlockAccess world, final int x, final int y, final int z, final int vector)
+    private static boolean checkWaterPoolInDirectionXThenZ(@NotNull final IBlockAccess world, @NotNull final BlockPos.MutableBlockPos pos, final int x, final int y, final int z, final int vector)
     {
         //Check 6 blocks in direction +/- x
         for (int dx = x + WATER_POOL_WIDTH_REQUIREMENT * vector; dx <= x + WATER_POOL_WIDTH_REQUIREMENT * vector; dx++)
         {
-            if (world.getBlockState(new BlockPos(dx, y, z)).getBlock() != Blocks.WATER)
+            if (world.getBlockState(pos.setPos(dx, y, z)).getBlock() != Blocks.WATER)
             {
                 return false;
             }
         }
         //Takes the middle x block and searches 3 water blocks to both sides
-        return checkWaterPoolInDirectionZ(world, x + WATER_POOL_HEIGHT_REQUIREMENT * vector, y, z, 1) && checkWaterPoolInDirectionZ(world, x + WATER_POOL_HEIGHT_REQUIREMENT
+        return checkWaterPoolInDirectionZ(world, pos, x + WATER_POOL_HEIGHT_REQUIREMENT * vector, y, z, 1) && checkWaterPoolInDirectionZ(world, pos, x + WATER_POOL_HEIGHT_REQUIREMENT
                                                                                                                                                  * vector, y, z, -1);
     }
 
@@ -95,24 +102,25 @@ public final class Pond
      * direction X all blocks are also water.
      *
      * @param world  World.
+     * @param pos    position to reuse.
      * @param x      posX.
      * @param y      posY.
      * @param z      posZ.
      * @param vector direction.
      * @return true if all blocks are water, else false.
      */
-    private static boolean checkWaterPoolInDirectionZThenX(@NotNull final IBlockAccess world, final int x, final int y, final int z, final int vector)
+    private static boolean checkWaterPoolInDirectionZThenX(@NotNull final IBlockAccess world, @NotNull final BlockPos.MutableBlockPos pos, final int x, final int y, final int z, final int vector)
     {
         //Check 6 blocks in direction +/- z
         for (int dz = z + WATER_POOL_WIDTH_REQUIREMENT * vector; dz <= z + WATER_POOL_WIDTH_REQUIREMENT * vector; dz++)
         {
-            if (world.getBlockState(new BlockPos(x, y, dz)).getBlock() != Blocks.WATER)
+            if (world.getBlockState(pos.setPos(x, y, dz)).getBlock() != Blocks.WATER)
             {
                 return false;
             }
         }
         //Takes the middle z block and searches 3 water blocks to both sides
-        return checkWaterPoolInDirectionX(world, x, y, z + WATER_POOL_HEIGHT_REQUIREMENT * vector, 1) && checkWaterPoolInDirectionX(world, x, y, z + WATER_POOL_HEIGHT_REQUIREMENT
+        return checkWaterPoolInDirectionX(world, pos, x, y, z + WATER_POOL_HEIGHT_REQUIREMENT * vector, 1) && checkWaterPoolInDirectionX(world, pos, x, y, z + WATER_POOL_HEIGHT_REQUIREMENT
                                                                                                                                                        * vector, -1);
     }
 
@@ -120,18 +128,19 @@ public final class Pond
      * Checks if all blocks in direction Z are Pond.
      *
      * @param world  World.
+     * @param pos    position to reuse.
      * @param x      posX.
      * @param y      posY.
      * @param z      posZ.
      * @param vector direction.
      * @return true if all blocks are water, else false.
      */
-    private static boolean checkWaterPoolInDirectionZ(@NotNull final IBlockAccess world, final int x, final int y, final int z, final int vector)
+    private static boolean checkWaterPoolInDirectionZ(@NotNull final IBlockAccess world, @NotNull final BlockPos.MutableBlockPos pos, final int x, final int y, final int z, final int vector)
     {
         //Check 3 blocks in direction +/- z
         for (int dz = z + WATER_POOL_HEIGHT_REQUIREMENT * vector; dz <= z + WATER_POOL_HEIGHT_REQUIREMENT * vector; dz++)
         {
-            if (world.getBlockState(new BlockPos(x, y, dz)).getBlock() != Blocks.WATER)
+            if (world.getBlockState(pos.setPos(x, y, dz)).getBlock() != Blocks.WATER)
             {
                 return false;
             }
@@ -143,18 +152,19 @@ public final class Pond
      * Checks if all blocks in direction X are Pond.
      *
      * @param world  World.
+     * @param pos    position to reuse.
      * @param x      posX.
      * @param y      posY.
      * @param z      posZ.
      * @param vector direction.
      * @return true if all blocks are water, else false.
      */
-    private static boolean checkWaterPoolInDirectionX(@NotNull final IBlockAccess world, final int x, final int y, final int z, final int vector)
+    private static boolean checkWaterPoolInDirectionX(@NotNull final IBlockAccess world, @NotNull final BlockPos.MutableBlockPos pos, final int x, final int y, final int z, final int vector)
     {
         //Check 3 blocks in direction +/- x
         for (int dx = x + WATER_POOL_HEIGHT_REQUIREMENT * vector; dx <= x + WATER_POOL_HEIGHT_REQUIREMENT * vector; dx++)
         {
-            if (world.getBlockState(new BlockPos(dx, y, z)).getBlock() != Blocks.WATER)
+            if (world.getBlockState(pos.setPos(dx, y, z)).getBlock() != Blocks.WATER)
             {
                 return false;
             }
@@ -0,0 +1,315 @@
+package com.minecolonies.coremod.entity.ai.citizen.fisherman;
+
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.buildings.BuildingFisherman;
+import com.minecolonies.coremod.entity.ai.util.AbstractHutAreaScanner;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+import static com.minecolonies.coremod.util.ChunkPosUtil.*;
+
+/**
+ * The fishing spots known in the area of the fisherman huts of a colony.
+ * The water surface of the scanned chunks is checked with {@link Pond#createWater} once, the valid spots are kept by chunk.
+ * Spots keep a minimum distance to each other, so a large lake does not turn into hundreds of spots.
+ * Only water at the shore is a spot, each spot keeps the position next to it the fisherman stands at.
+ * A spot is dropped when a block its check looked at changes, the chunk is then scanned again.
+ * Only used on the server thread.
+ */
+public class PondIndex extends AbstractHutAreaScanner
+{
+    /**
+     * Chunks scanned around a hut in each direction, covering the distance the fisherman fishes from his hut.
+     */
+    private static final int SCAN_RADIUS_CHUNKS = 2;
+
+    /**
+     * Min square distance between two spots, the same the path search keeps to known ponds.
+     */
+    private static final int MIN_SPOT_DISTANCE_SQ = 40;
+
+    /**
+     * How far from a spot a block change can make its check fail.
+     */
+    private static final int CHECK_RANGE = Pond.WATER_POOL_WIDTH_REQUIREMENT;
+
+    /**
+     * The known spots by chunk.
+     */
+    @NotNull
+    private final Map<Long, List<BlockPos>> spotsByChunk = new HashMap<>();
+
+    /**
+     * The position to stand at to fish at a spot.
+     */
+    @NotNull
+    private final Map<BlockPos, BlockPos> shores = new HashMap<>();
+
+    /**
+     * The id of the citizen fishing at a spot.
+     */
+    @NotNull
+    private final Map<BlockPos, Integer> claims = new HashMap<>();
+
+    /**
+     * Amount of spots dropped because they changed.
+     */
+    private long invalidations = 0;
+
+    /**
+     * Create the index of a colony.
+     *
+     * @param colony the colony.
+     */
+    public PondIndex(@NotNull final Colony colony)
+    {
+        super(colony, BuildingFisherman.class, SCAN_RADIUS_CHUNKS);
+    }
+
+    /**
+     * Checks every column of the chunk whose surface is still water and borders a shore.
+     */
+    @Override
+    protected void scanChunk(@NotNull final World world, @NotNull final Chunk chunk)
+    {
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int x = 0; x <= CHUNK_MASK; x++)
+        {
+            for (int z = 0; z <= CHUNK_MASK; z++)
+            {
+                pos.setPos((chunk.xPosition << CHUNK_SHIFT) + x, chunk.getHeightValue(x, z) - 1, (chunk.zPosition << CHUNK_SHIFT) + z);
+                if (chunk.getBlockState(pos).getBlock() != Blocks.WATER || hasSpotNear(pos))
+                {
+                    continue;
+                }
+                final BlockPos shore = findShore(world, pos);
+                if (shore != null && Pond.createWater(world, pos) != null)
+                {
+                    final BlockPos spot = pos.toImmutable();
+                    spotsByChunk.computeIfAbsent(chunkKeyOf(spot), key -> new ArrayList<>()).add(spot);
+                    shores.put(spot, shore);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds a position next to the water to stand at, on a solid block at the height of the water surface.
+     *
+     * @param world the world.
+     * @param water the surface water.
+     * @return the position or null if the water has no shore.
+     */
+    @Nullable
+    private static BlockPos findShore(@NotNull final World world, @NotNull final BlockPos water)
+    {
+        for (@NotNull final EnumFacing facing : EnumFacing.HORIZONTALS)
+        {
+            final BlockPos ground = water.offset(facing);
+            if (world.isBlockLoaded(ground)
+                  && world.getBlockState(ground).getMaterial().isSolid()
+                  && isPassable(world, ground.up())
+                  && isPassable(world, ground.up(2)))
+            {
+                return ground.up();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isPassable(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        final Material material = world.getBlockState(pos).getMaterial();
+        return !material.isSolid() && !material.isLiquid();
+    }
+
+    private boolean hasSpotNear(@NotNull final BlockPos pos)
+    {
+        for (@NotNull final BlockPos spot : getSpotsAround(pos, 1))
+        {
+            if (spot.distanceSq(pos) < MIN_SPOT_DISTANCE_SQ)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lists the spots in the chunks around a position.
+     *
+     * @param pos    the position.
+     * @param radius the chunks around the chunk of the position.
+     * @return the spots.
+     */
+    @NotNull
+    private List<BlockPos> getSpotsAround(@NotNull final BlockPos pos, final int radius)
+    {
+        final List<BlockPos> result = new ArrayList<>();
+        final int chunkX = pos.getX() >> CHUNK_SHIFT;
+        final int chunkZ = pos.getZ() >> CHUNK_SHIFT;
+        for (int x = -radius; x <= radius; x++)
+        {
+            for (int z = -radius; z <= radius; z++)
+            {
+                final List<BlockPos> spots = spotsByChunk.get(chunkKey(chunkX + x, chunkZ + z));
+                if (spots != null)
+                {
+                    result.addAll(spots);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void removeSpot(@NotNull final BlockPos spot)
+    {
+        final long key = chunkKeyOf(spot);
+        final List<BlockPos> spots = spotsByChunk.get(key);
+        if (spots != null && spots.remove(spot))
+        {
+            if (spots.isEmpty())
+            {
+                spotsByChunk.remove(key);
+            }
+            claims.remove(spot);
+            shores.remove(spot);
+            invalidations++;
+        }
+    }
+
+    @Override
+    public void onBlockChanges(@NotNull final Map<BlockPos, IBlockState> changes)
+    {
+        for (@NotNull final Map.Entry<BlockPos, IBlockState> entry : changes.entrySet())
+        {
+            final BlockPos pos = entry.getKey();
+            for (@NotNull final BlockPos spot : getSpotsAround(pos, 1))
+            {
+                if (Math.abs(spot.getX() - pos.getX()) <= CHECK_RANGE
+                      && Math.abs(spot.getZ() - pos.getZ()) <= CHECK_RANGE
+                      && pos.getY() - spot.getY() >= -1
+                      && pos.getY() - spot.getY() <= 2)
+                {
+                    removeSpot(spot);
+                    rescan(chunkKeyOf(spot));
+                }
+            }
+
+            //  New water might make a new spot
+            if (entry.getValue().getBlock() == Blocks.WATER)
+            {
+                rescan(chunkKeyOf(pos));
+            }
+        }
+    }
+
+    @Override
+    protected void forgetChunk(final long key)
+    {
+        final List<BlockPos> spots = spotsByChunk.remove(key);
+        if (spots != null)
+        {
+            for (@NotNull final BlockPos spot : spots)
+            {
+                claims.remove(spot);
+                shores.remove(spot);
+            }
+        }
+    }
+
+    /**
+     * Takes the nearest known spot nobody else is fishing at, away from the ponds the fisherman already knows.
+     * Spots claimed by fishermen which are gone or dead are free again.
+     *
+     * @param from          the position to measure from, usually the hut.
+     * @param maxDistanceSq the max square distance of the spot.
+     * @param citizenId     the id of the fisherman.
+     * @param knownPonds    the ponds the fisherman already knows.
+     * @return the spot or null if no spot is known.
+     */
+    @Nullable
+    public BlockPos claimNearestPond(@NotNull final BlockPos from, final double maxDistanceSq, final int citizenId, @NotNull final List<BlockPos> knownPonds)
+    {
+        releaseClaimsOfDeadCitizens(claims);
+
+        final int radius = (int) Math.ceil(Math.sqrt(maxDistanceSq)) / (CHUNK_MASK + 1) + 1;
+        BlockPos nearest = null;
+        double nearestDistance = maxDistanceSq;
+        for (@NotNull final BlockPos spot : getSpotsAround(from, radius))
+        {
+            final Integer claim = claims.get(spot);
+            final double distance = spot.distanceSq(from);
+            if ((claim == null || claim == citizenId) && distance <= nearestDistance && !isNearKnownPond(spot, knownPonds))
+            {
+                nearest = spot;
+                nearestDistance = distance;
+            }
+        }
+
+        if (nearest != null)
+        {
+            claims.values().removeIf(claim -> claim == citizenId);
+            claims.put(nearest, citizenId);
+        }
+        return nearest;
+    }
+
+    /**
+     * Getter for the position to stand at to fish at a spot.
+     *
+     * @param spot the spot.
+     * @return the position or null if the spot is not known (anymore).
+     */
+    @Nullable
+    public BlockPos getShore(@NotNull final BlockPos spot)
+    {
+        return shores.get(spot);
+    }
+
+    private static boolean isNearKnownPond(@NotNull final BlockPos spot, @NotNull final List<BlockPos> knownPonds)
+    {
+        for (@NotNull final BlockPos pond : knownPonds)
+        {
+            if (pond.distanceSq(spot) < MIN_SPOT_DISTANCE_SQ)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Getter for the amount of known spots.
+     *
+     * @return the amount.
+     */
+    public int getPondCount()
+    {
+        int count = 0;
+        for (@NotNull final List<BlockPos> spots : spotsByChunk.values())
+        {
+            count += spots.size();
+        }
+        return count;
+    }
+
+    /**
+     * Getter for the amount of spots dropped because they changed.
+     *
+     * @return the amount.
+     */
+    public long getInvalidations()
+    {
+        return invalidations;
+    }
+}
@@ -14,11 +14,8 @@ import com.minecolonies.coremod.tileentities.TileEntityColonyBuilding;
 import com.minecolonies.coremod.util.BlockPosUtil;
 import com.minecolonies.coremod.util.LanguageHandler;
 import com.minecolonies.coremod.util.Log;
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityItem;
-import net.minecraft.entity.monster.EntityMob;
-import net.minecraft.entity.monster.EntitySlime;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.ItemArmor;
@@ -28,10 +25,7 @@ import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
 
 import static com.minecolonies.coremod.entity.ai.util.AIState.*;
 
@@ -48,10 +42,6 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
      * Follow the player if farther than this.
      */
     public static final int FOLLOW_RANGE = 10;
-    /**
-     * Distance the guard starts searching.
-     */
-    protected static final int  START_SEARCH_DISTANCE   = 5;
     /**
      * The start search distance of the guard to track/attack entities may get more depending on the level.
      */
@@ -108,10 +98,6 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
      * Amount of arrows already shot or sword hits dealt.
      */
     protected int attacksExecuted       = 0;
-    /**
-     * The distance the guard is searching entities in currently.
-     */
-    protected int currentSearchDistance = START_SEARCH_DISTANCE;
     /**
      * Checks if the guard should dump its inventory.
      */
@@ -123,13 +109,19 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
     /**
      * Containing all close entities.
      */
-    private List<Entity> entityList;
+    private List<EntityLivingBase> entityList = new ArrayList<>();
 
     /**
-     * Positions of all items that have to be collected.
+     * The area in which items are collected, null if not collecting.
      */
     @Nullable
-    private List<BlockPos> items;
+    private AxisAlignedBB itemArea;
+
+    /**
+     * Ids of the items already walked to while collecting.
+     */
+    @NotNull
+    private final Set<Integer> gatheredItems = new HashSet<>();
 
     /**
      * Number of ticks the guard is standing still.
@@ -284,7 +276,7 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
             return AIState.GUARD_PATROL;
         }
 
-        final Entity entity = entityList.get(0);
+        final EntityLivingBase entity = entityList.get(0);
 
         final BlockPos buildingLocation = getOwnBuilding().getLocation();
 
@@ -293,9 +285,10 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
         {
             if (entity instanceof EntityPlayer)
             {
-                if (worker.getColony() != null && worker.getColony().getPermissions().hasPermission((EntityPlayer) entity, Permissions.Action.GUARDS_ATTACK))
+                if (worker.getColony() != null && worker.getColony().getPermissions().hasPermission((EntityPlayer) entity, Permissions.Action.GUARDS_ATTACK)
+                      && worker.getColony().getThreatTracker().claim(entity, worker.getCitizenId()))
                 {
-                    targetEntity = (EntityLivingBase) entity;
+                    targetEntity = entity;
                     worker.getNavigator().clearPathEntity();
                     return AIState.GUARD_HUNT_DOWN_TARGET;
                 }
@@ -303,10 +296,11 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
                 setDelay(BASE_DELAY);
                 return AIState.GUARD_GET_TARGET;
             }
-            else if (worker.getEntitySenses().canSee(entity) && (entityList.get(0)).isEntityAlive())
+            else if (worker.getEntitySenses().canSee(entity) && entity.isEntityAlive()
+                       && worker.getColony() != null && worker.getColony().getThreatTracker().claim(entity, worker.getCitizenId()))
             {
                 worker.getNavigator().clearPathEntity();
-                targetEntity = (EntityLivingBase) entity;
+                targetEntity = entity;
                 return AIState.GUARD_HUNT_DOWN_TARGET;
             }
         }
@@ -328,41 +322,43 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
 
     /**
      * Searches for the next target.
+     * The targets come from the threat tracker of the colony, which the guards of a colony share.
      *
      * @return the next AIState.
      */
     protected AIState searchTarget()
     {
-        entityList = this.worker.worldObj.getEntitiesWithinAABB(EntityMob.class, this.getTargetableArea(currentSearchDistance));
-        entityList.addAll(this.worker.worldObj.getEntitiesWithinAABB(EntitySlime.class, this.getTargetableArea(currentSearchDistance)));
-        entityList.addAll(this.worker.worldObj.getEntitiesWithinAABB(EntityPlayer.class, this.getTargetableArea(currentSearchDistance)));
-
         if (targetEntity != null && targetEntity.isEntityAlive() && worker.getEntitySenses().canSee(targetEntity))
         {
             return AIState.GUARD_HUNT_DOWN_TARGET;
         }
 
         setDelay(BASE_DELAY);
-        if (entityList.isEmpty())
+        final Colony colony = worker.getColony();
+        if (colony == null)
         {
-            if (currentSearchDistance < getMaxVision())
-            {
-                currentSearchDistance += START_SEARCH_DISTANCE;
-            }
-            else
-            {
-                currentSearchDistance = START_SEARCH_DISTANCE;
-                return AIState.GUARD_PATROL;
-            }
+            entityList = new ArrayList<>();
+            return AIState.GUARD_PATROL;
+        }
 
-            return AIState.GUARD_SEARCH_TARGET;
+        entityList = colony.getThreatTracker().getThreatsNear(worker, getMaxVision(), HEIGHT_DETECTION_RANGE);
+        if (entityList.isEmpty())
+        {
+            return AIState.GUARD_PATROL;
         }
         return AIState.GUARD_GET_TARGET;
     }
 
-    private AxisAlignedBB getTargetableArea(final double range)
+    /**
+     * Stops attacking the current target and lets other guards attack it.
+     */
+    protected void clearTarget()
     {
-        return this.worker.getEntityBoundingBox().expand(range, HEIGHT_DETECTION_RANGE, range);
+        if (targetEntity != null && worker.getColony() != null)
+        {
+            worker.getColony().getThreatTracker().release(targetEntity, worker.getCitizenId());
+        }
+        targetEntity = null;
     }
 
     /**
@@ -537,50 +533,50 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
      */
     private AIState gathering()
     {
-        if (items == null)
+        if (itemArea == null)
         {
             searchForItems();
         }
-        if (!items.isEmpty())
+        if (gatherItems())
         {
-            gatherItems();
             return getState();
         }
-        items = null;
+        itemArea = null;
         return GUARD_PATROL;
     }
 
     /**
-     * Search for all items around the Guard.
-     * and store them in the items list
+     * Start collecting the items around the Guard,
+     * the items themselves are kept by the item tracker of the colony.
      */
     private void searchForItems()
     {
-        items = new ArrayList<>();
-
-        items = world.getEntitiesWithinAABB(EntityItem.class, worker.getEntityBoundingBox().expand(RANGE_HORIZONTAL_PICKUP, RANGE_VERTICAL_PICKUP, RANGE_HORIZONTAL_PICKUP))
-                  .stream()
-                  .filter(item -> item != null && !item.isDead)
-                  .map(BlockPosUtil::fromEntity)
-                  .collect(Collectors.toList());
+        itemArea = worker.getEntityBoundingBox().expand(RANGE_HORIZONTAL_PICKUP, RANGE_VERTICAL_PICKUP, RANGE_HORIZONTAL_PICKUP);
+        gatheredItems.clear();
     }
 
     /**
      * Collect one item by walking to it.
+     *
+     * @return false if there are no more items to collect.
      */
-    private void gatherItems()
+    private boolean gatherItems()
     {
         worker.setCanPickUpLoot(true);
         if (worker.getNavigator().noPath())
         {
             final BlockPos pos = getAndRemoveClosestItem();
+            if (pos == null)
+            {
+                return false;
+            }
             worker.isWorkerAtSiteWithMove(pos, ITEM_PICKUP_RANGE);
-            return;
+            return true;
         }
         if (worker.getNavigator().getPath() == null)
         {
             setDelay(WAIT_WHILE_WALKING);
-            return;
+            return true;
         }
 
         final int currentIndex = worker.getNavigator().getPath().getCurrentPathIndex();
@@ -589,7 +585,7 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
         {
             stillTicks = 0;
             previousIndex = currentIndex;
-            return;
+            return true;
         }
 
         stillTicks++;
@@ -599,33 +595,29 @@ public abstract class AbstractEntityAIGuard extends AbstractEntityAISkill<JobGua
             //Skip this item
             worker.getNavigator().clearPathEntity();
         }
+        return true;
     }
 
     /**
-     * Find the closest item and remove it from the list.
+     * Find the closest item which was not walked to yet and mark it as walked to.
      *
-     * @return the closest item
+     * @return the position of the item or null if there are no more items.
      */
+    @Nullable
     private BlockPos getAndRemoveClosestItem()
     {
-        if (items == null)
+        final Colony colony = worker.getColony();
+        if (itemArea == null || colony == null)
         {
-            return worker.getPosition();
+            return null;
         }
 
-        int index = 0;
-        double distance = Double.MAX_VALUE;
-
-        for (int i = 0; i < items.size(); i++)
+        final EntityItem item = colony.getItemTracker().getClosestItem(world, worker.getPosition(), itemArea, gatheredItems);
+        if (item == null)
         {
-            final double tempDistance = items.get(i).distanceSq(worker.getPosition());
-            if (tempDistance < distance)
-            {
-                index = i;
-                distance = tempDistance;
-            }
+            return null;
         }
-
-        return items.remove(index);
+        gatheredItems.add(item.getEntityId());
+        return BlockPosUtil.fromEntity(item);
     }
 }
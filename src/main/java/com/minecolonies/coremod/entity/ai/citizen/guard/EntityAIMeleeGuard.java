@@ -129,7 +129,7 @@ public class EntityAIMeleeGuard extends AbstractEntityAIGuard
     {
         if (!targetEntity.isEntityAlive() || checkForWeapon())
         {
-            targetEntity = null;
+            clearTarget();
             worker.setAIMoveSpeed((float) 1.0D);
             return AIState.GUARD_GATHERING;
         }
@@ -140,10 +140,10 @@ public class EntityAIMeleeGuard extends AbstractEntityAIGuard
             attackEntity(targetEntity, (float) DAMAGE_PER_ATTACK);
             setDelay(getReloadTime());
             attacksExecuted += 1;
-            currentSearchDistance = START_SEARCH_DISTANCE;
 
             if (attacksExecuted >= getMaxAttacksUntilRestock())
             {
+                clearTarget();
                 return AIState.GUARD_RESTOCK;
             }
 
@@ -152,6 +152,7 @@ public class EntityAIMeleeGuard extends AbstractEntityAIGuard
 
         if (shouldReturnToTarget(targetEntity.getPosition(), FOLLOW_RANGE))
         {
+            clearTarget();
             return AIState.GUARD_PATROL;
         }
 
@@ -183,7 +183,7 @@ public class EntityAIRangeGuard extends AbstractEntityAIGuard implements IRanged
     {
         if (!targetEntity.isEntityAlive() || checkOrRequestItems(false, new ItemStack(Items.BOW)))
         {
-            targetEntity = null;
+            clearTarget();
             worker.setAIMoveSpeed((float) 1.0D);
             return AIState.GUARD_GATHERING;
         }
@@ -197,6 +197,7 @@ public class EntityAIRangeGuard extends AbstractEntityAIGuard implements IRanged
 
             if (attacksExecuted >= getMaxAttacksUntilRestock())
             {
+                clearTarget();
                 return AIState.GUARD_RESTOCK;
             }
 
@@ -205,6 +206,7 @@ public class EntityAIRangeGuard extends AbstractEntityAIGuard implements IRanged
 
         if (shouldReturnToTarget(targetEntity.getPosition(), FOLLOW_RANGE + MAX_ATTACK_DISTANCE))
         {
+            clearTarget();
             return AIState.GUARD_PATROL;
         }
 
@@ -1,5 +1,6 @@
 package com.minecolonies.coremod.entity.ai.citizen.lumberjack;
 
+import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.jobs.JobLumberjack;
 import com.minecolonies.coremod.entity.ai.basic.AbstractEntityAIInteract;
 import com.minecolonies.coremod.entity.ai.util.AIState;
@@ -14,14 +15,14 @@ import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemBlock;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.SoundCategory;
+import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import static com.minecolonies.coremod.entity.ai.util.AIState.*;
 
@@ -145,10 +146,16 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
     private              int   previousIndex           = 0;
 
     /**
-     * Positions of all items that have to be collected.
+     * The area in which items are collected, null if not collecting.
      */
     @Nullable
-    private List<BlockPos> items;
+    private AxisAlignedBB itemArea;
+
+    /**
+     * Ids of the items already walked to while collecting.
+     */
+    @NotNull
+    private final Set<Integer> gatheredItems = new HashSet<>();
 
     /**
      * The active pathfinding job used to walk to trees.
@@ -243,11 +250,23 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
 
     /**
      * Search for a tree.
+     * Takes the nearest tree known to the colony, looks for one by pathfinding if none is known.
      *
      * @return LUMBERJACK_GATHERING if job was canceled.
      */
     private AIState findTree()
     {
+        if (pathResult == null && worker.getColony() != null && getOwnBuilding() != null)
+        {
+            final Tree knownTree = worker.getColony().getTreeRegistry()
+                                     .claimNearestTree(getOwnBuilding().getLocation(), SEARCH_RANGE + searchIncrement, worker.getCitizenData().getId());
+            if (knownTree != null)
+            {
+                job.tree = knownTree;
+                return getState();
+            }
+        }
+
         if (pathResult == null || pathResult.treeLocation == null)
         {
             pathResult = worker.getNavigator().moveToTree(SEARCH_RANGE + searchIncrement, 1.0D);
@@ -543,51 +562,51 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
      */
     private AIState gathering()
     {
-        if (items == null)
+        if (itemArea == null)
         {
             searchForItems();
         }
-        if (!items.isEmpty())
+        if (gatherItems())
         {
-            gatherItems();
             return getState();
         }
-        items = null;
+        itemArea = null;
         return LUMBERJACK_SEARCHING_TREE;
     }
 
     /**
-     * Search for all items around the Lumberjack.
-     * and store them in the items list.
+     * Start collecting the items around the Lumberjack,
+     * the items themselves are kept by the item tracker of the colony.
      */
     private void searchForItems()
     {
-        items = new ArrayList<>();
-
         //TODO check if sapling or apple (currently picks up all items, which may be okay)
-        items = world.getEntitiesWithinAABB(EntityItem.class, worker.getEntityBoundingBox().expand(RANGE_HORIZONTAL_PICKUP, RANGE_VERTICAL_PICKUP, RANGE_HORIZONTAL_PICKUP))
-                  .stream()
-                  .filter(item -> item != null && !item.isDead)
-                  .map(BlockPosUtil::fromEntity)
-                  .collect(Collectors.toList());
+        itemArea = worker.getEntityBoundingBox().expand(RANGE_HORIZONTAL_PICKUP, RANGE_VERTICAL_PICKUP, RANGE_HORIZONTAL_PICKUP);
+        gatheredItems.clear();
     }
 
     /**
      * Collect one item by walking to it.
+     *
+     * @return false if there are no more items to collect.
      */
-    private void gatherItems()
+    private boolean gatherItems()
     {
         worker.setCanPickUpLoot(true);
         if (worker.getNavigator().noPath())
         {
             final BlockPos pos = getAndRemoveClosestItem();
+            if (pos == null)
+            {
+                return false;
+            }
             worker.isWorkerAtSiteWithMove(pos, ITEM_PICKUP_RANGE);
-            return;
+            return true;
         }
         if (worker.getNavigator().getPath() == null)
         {
             setDelay(WAIT_WHILE_WALKING);
-            return;
+            return true;
         }
 
         final int currentIndex = worker.getNavigator().getPath().getCurrentPathIndex();
@@ -596,7 +615,7 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
         {
             stillTicks = 0;
             previousIndex = currentIndex;
-            return;
+            return true;
         }
 
         stillTicks++;
@@ -606,29 +625,30 @@ public class EntityAIWorkLumberjack extends AbstractEntityAIInteract<JobLumberja
             //Skip this item
             worker.getNavigator().clearPathEntity();
         }
+        return true;
     }
 
     /**
-     * Find the closest item and remove it from the list.
+     * Find the closest item which was not walked to yet and mark it as walked to.
      *
-     * @return the closest item
+     * @return the position of the item or null if there are no more items.
      */
+    @Nullable
     private BlockPos getAndRemoveClosestItem()
     {
-        int index = 0;
-        double distance = Double.MAX_VALUE;
-
-        for (int i = 0; i < items.size(); i++)
+        final Colony colony = worker.getColony();
+        if (itemArea == null || colony == null)
         {
-            final double tempDistance = items.get(i).distanceSq(worker.getPosition());
-            if (tempDistance < distance)
-            {
-                index = i;
-                distance = tempDistance;
-            }
+            return null;
         }
 
-        return items.remove(index);
+        final EntityItem item = colony.getItemTracker().getClosestItem(world, worker.getPosition(), itemArea, gatheredItems);
+        if (item == null)
+        {
+            return null;
+        }
+        gatheredItems.add(item.getEntityId());
+        return BlockPosUtil.fromEntity(item);
     }
 
     /**
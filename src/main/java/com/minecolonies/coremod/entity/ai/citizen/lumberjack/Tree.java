@@ -6,10 +6,10 @@ import net.minecraft.block.BlockNewLog;
 import net.minecraft.block.BlockOldLog;
 import net.minecraft.block.BlockPlanks;
 import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraft.util.Tuple;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
@@ -19,8 +19,10 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Custom class for Trees. Used by lumberjack
@@ -55,7 +57,7 @@ public class Tree
     /**
      * Max size a tree should have.
      */
-    private static final int MAX_TREE_SIZE = 256;
+    static final int MAX_TREE_SIZE = 256;
 
     /**
      * The location of the tree stump.
@@ -105,27 +107,16 @@ public class Tree
      */
     public Tree(@NotNull final World world, @NotNull final BlockPos log)
     {
-        final Block block = BlockPosUtil.getBlock(world, log);
-        if (block.isWood(world, log))
+        final IBlockState state = world.getBlockState(log);
+        if (state.getBlock().isWood(world, log))
         {
-            if (block instanceof BlockOldLog)
-            {
-                variant = world.getBlockState(log).getValue(BlockOldLog.VARIANT);
-            }
-            else if (block instanceof BlockNewLog)
-            {
-                variant = world.getBlockState(log).getValue(BlockNewLog.VARIANT);
-            }
-            else
-            {
-                variant = BlockPlanks.EnumType.OAK;
-            }
+            variant = getVariant(state);
 
             woodBlocks = new LinkedList<>();
             location = log;
             topLog = log;
 
-            addAndSearch(world, log);
+            addLogs(findConnectedLogs(world, log));
 
             checkTree(world, topLog);
             stumpLocations = new ArrayList<>();
@@ -148,67 +139,126 @@ public class Tree
             return false;
         }
 
-        final Tuple<BlockPos, BlockPos> baseAndTOp = getBottomAndTopLog(world, pos, new LinkedList<>(), null, null);
-
-        //Get base log, should already be base log.
-        final BlockPos basePos = baseAndTOp.getFirst();
+        BlockPos basePos = pos;
+        BlockPos topPos = pos;
+        for (@NotNull final BlockPos log : findConnectedLogs(world, pos))
+        {
+            if (log.getY() < basePos.getY())
+            {
+                basePos = log;
+            }
+            if (log.getY() > topPos.getY())
+            {
+                topPos = log;
+            }
+        }
 
-        //Make sure tree is on solid ground and tree is not build above cobblestone.
-        return world.getBlockState(basePos.down()).getMaterial().isSolid()
-                 && world.getBlockState(basePos.down()).getBlock() != Blocks.COBBLESTONE
-                 && hasEnoughLeaves(world, baseAndTOp.getSecond());
+        return isOnGround(world, basePos) && hasEnoughLeaves(world, topPos);
     }
 
     /**
-     * Adds a log and searches for further logs(Breadth first search).
+     * Scans a tree from one of its logs, for the tree registry of the colony.
+     * The tree can be kept and handed to a lumberjack with {@link #copy()}, its logs are already found and sorted.
      *
-     * @param world The world the log is in.
-     * @param log   the log to add.
-     * @return a tuple containing, first: bottom log and second: top log.
+     * @param world the world.
+     * @param log   a log of the tree.
+     * @return the tree or null if the log is not part of a tree.
      */
-    @NotNull
-    private static Tuple<BlockPos, BlockPos> getBottomAndTopLog(
-                                                                 @NotNull final IBlockAccess world,
-                                                                 @NotNull final BlockPos log,
-                                                                 @NotNull final LinkedList<BlockPos> woodenBlocks,
-                                                                 final BlockPos bottomLog,
-                                                                 final BlockPos topLog)
+    @Nullable
+    public static Tree scan(@NotNull final IBlockAccess world, @NotNull final BlockPos log)
     {
-        BlockPos bottom = bottomLog == null ? log : bottomLog;
-        BlockPos top = topLog == null ? log : topLog;
-
-        if (woodenBlocks.size() >= MAX_TREE_SIZE)
+        final IBlockState state = world.getBlockState(log);
+        if (!state.getBlock().isWood(world, log))
         {
-            return new Tuple<>(bottom, top);
+            return null;
         }
 
-        if (log.getY() < bottom.getY())
+        @NotNull final Tree tree = new Tree();
+        tree.variant = getVariant(state);
+        tree.woodBlocks = new LinkedList<>();
+        tree.stumpLocations = new ArrayList<>();
+        tree.location = log;
+        tree.topLog = log;
+        tree.addLogs(findConnectedLogs(world, log));
+
+        if (!isOnGround(world, tree.location) || !hasEnoughLeaves(world, tree.topLog))
         {
-            bottom = log;
+            return null;
         }
 
-        if (log.getY() > top.getY())
+        tree.sortLogs();
+        tree.fillTreeStumps(tree.location.getY());
+        return tree;
+    }
+
+    /**
+     * Get the wood variant of a log.
+     *
+     * @param state the state of the log.
+     * @return the variant, oak for logs of other mods.
+     */
+    @NotNull
+    private static BlockPlanks.EnumType getVariant(@NotNull final IBlockState state)
+    {
+        final Block block = state.getBlock();
+        if (block instanceof BlockOldLog)
         {
-            top = log;
+            return state.getValue(BlockOldLog.VARIANT);
         }
+        else if (block instanceof BlockNewLog)
+        {
+            return state.getValue(BlockNewLog.VARIANT);
+        }
+        return BlockPlanks.EnumType.OAK;
+    }
 
-        woodenBlocks.add(log);
-        for (int y = -1; y <= 1; y++)
+    /**
+     * Searches all logs connected to a log (Breadth first search), at most {@link #MAX_TREE_SIZE}.
+     *
+     * @param world the world the log is in.
+     * @param log   the log to start at.
+     * @return the logs, starting with the given one.
+     */
+    @NotNull
+    static List<BlockPos> findConnectedLogs(@NotNull final IBlockAccess world, @NotNull final BlockPos log)
+    {
+        final List<BlockPos> logs = new ArrayList<>();
+        final Set<BlockPos> visited = new HashSet<>();
+        logs.add(log);
+        visited.add(log);
+
+        for (int i = 0; i < logs.size() && logs.size() < MAX_TREE_SIZE; i++)
         {
-            for (int x = -1; x <= 1; x++)
+            final BlockPos current = logs.get(i);
+            for (int y = -1; y <= 1; y++)
             {
-                for (int z = -1; z <= 1; z++)
+                for (int x = -1; x <= 1; x++)
                 {
-                    final BlockPos temp = log.add(x, y, z);
-                    if (world.getBlockState(temp).getBlock().isWood(null, temp) && !woodenBlocks.contains(temp))
+                    for (int z = -1; z <= 1; z++)
                     {
-                        return getBottomAndTopLog(world, temp, woodenBlocks, bottom, top);
+                        final BlockPos temp = current.add(x, y, z);
+                        if (visited.add(temp) && world.getBlockState(temp).getBlock().isWood(null, temp) && logs.size() < MAX_TREE_SIZE)
+                        {
+                            logs.add(temp);
+                        }
                     }
                 }
             }
         }
+        return logs;
+    }
 
-        return new Tuple<>(bottom, top);
+    /**
+     * Make sure tree is on solid ground and tree is not build above cobblestone.
+     *
+     * @param world   the world.
+     * @param basePos the lowest log of the tree.
+     * @return true if so.
+     */
+    private static boolean isOnGround(@NotNull final IBlockAccess world, @NotNull final BlockPos basePos)
+    {
+        final IBlockState ground = world.getBlockState(basePos.down());
+        return ground.getMaterial().isSolid() && ground.getBlock() != Blocks.COBBLESTONE;
     }
 
     private static boolean hasEnoughLeaves(@NotNull final IBlockAccess world, final BlockPos pos)
@@ -305,8 +355,8 @@ public class Tree
      */
     public void findLogs(@NotNull final World world)
     {
-        addAndSearch(world, location);
-        Collections.sort(woodBlocks, (c1, c2) -> (int) (c1.distanceSq(location) - c2.distanceSq(location)));
+        addLogs(findConnectedLogs(world, location));
+        sortLogs();
         if (getStumpLocations().isEmpty())
         {
             fillTreeStumps(location.getY());
@@ -331,45 +381,65 @@ public class Tree
     }
 
     /**
-     * Adds a log and searches for further logs(Breadth first search).
+     * Adds logs to the tree, moving the base and top log if they are lower or higher.
      *
-     * @param world The world the log is in.
-     * @param log   the log to add.
+     * @param logs the logs to add.
      */
-    private void addAndSearch(@NotNull final World world, @NotNull final BlockPos log)
+    private void addLogs(@NotNull final List<BlockPos> logs)
     {
-        if (woodBlocks.size() >= MAX_TREE_SIZE)
-        {
-            return;
-        }
-
-        if (log.getY() < location.getY())
+        for (@NotNull final BlockPos log : logs)
         {
-            location = log;
-        }
-
-        if (log.getY() > topLog.getY())
-        {
-            topLog = log;
-        }
+            if (log.getY() < location.getY())
+            {
+                location = log;
+            }
 
-        woodBlocks.add(log);
-        for (int y = -1; y <= 1; y++)
-        {
-            for (int x = -1; x <= 1; x++)
+            if (log.getY() > topLog.getY())
             {
-                for (int z = -1; z <= 1; z++)
-                {
-                    final BlockPos temp = log.add(x, y, z);
-                    if (BlockPosUtil.getBlock(world, temp).isWood(null, temp) && !woodBlocks.contains(temp))
-                    {
-                        addAndSearch(world, temp);
-                    }
-                }
+                topLog = log;
             }
+
+            woodBlocks.add(log);
         }
     }
 
+    /**
+     * Sorts the logs by distance to the base, the furthest is cut first.
+     */
+    private void sortLogs()
+    {
+        Collections.sort(woodBlocks, (c1, c2) -> (int) (c1.distanceSq(location) - c2.distanceSq(location)));
+    }
+
+    /**
+     * Copies the tree, so the copy can be cut without changing the original.
+     *
+     * @return the copy.
+     */
+    @NotNull
+    public Tree copy()
+    {
+        @NotNull final Tree tree = new Tree();
+        tree.location = location;
+        tree.topLog = topLog;
+        tree.variant = variant;
+        tree.isTree = isTree;
+        tree.woodBlocks = new LinkedList<>(woodBlocks);
+        tree.stumpLocations = new ArrayList<>(stumpLocations);
+        return tree;
+    }
+
+    /**
+     * All logs of the tree which are not cut yet.
+     *
+     * @return an unmodifiable list of the positions.
+     */
+    @NotNull
+    public List<BlockPos> getLogs()
+    {
+        return Collections.unmodifiableList(woodBlocks);
+    }
+
     /**
      * Returns the next log block.
      *
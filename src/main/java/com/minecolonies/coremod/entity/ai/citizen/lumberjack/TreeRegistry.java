@@ -0,0 +1,291 @@
+package com.minecolonies.coremod.entity.ai.citizen.lumberjack;
+
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.buildings.BuildingLumberjack;
+import com.minecolonies.coremod.entity.ai.util.AbstractHutAreaScanner;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.minecolonies.coremod.util.ChunkPosUtil.*;
+
+/**
+ * The trees known in the area of the lumberjack huts of a colony.
+ * Every tree found in the scanned chunks is checked once and kept with its logs.
+ * Lumberjacks take the nearest tree from the registry instead of looking for trees by pathfinding.
+ * A tree is dropped as soon as one of its logs changes, a chunk in which a log appears is scanned again.
+ * Only used on the server thread.
+ */
+public class TreeRegistry extends AbstractHutAreaScanner
+{
+    /**
+     * Chunks scanned around a hut in each direction, covering the first search range of the lumberjack.
+     */
+    private static final int SCAN_RADIUS_CHUNKS = 4;
+
+    /**
+     * Blocks of leaves, logs and air a column is scanned down from the surface.
+     */
+    private static final int MAX_CANOPY_DEPTH = 32;
+
+    /**
+     * The known trees by their base log.
+     */
+    @NotNull
+    private final Map<BlockPos, Tree> trees = new HashMap<>();
+
+    /**
+     * The known trees by the chunk of their base log.
+     */
+    @NotNull
+    private final Map<Long, List<Tree>> treesByChunk = new HashMap<>();
+
+    /**
+     * The known trees by each of their logs.
+     */
+    @NotNull
+    private final Map<BlockPos, Tree> treesByLog = new HashMap<>();
+
+    /**
+     * The id of the citizen cutting a tree, by the base log of the tree.
+     */
+    @NotNull
+    private final Map<BlockPos, Integer> claims = new HashMap<>();
+
+    /**
+     * Amount of trees dropped because they changed.
+     */
+    private long invalidations = 0;
+
+    /**
+     * Create the registry of a colony.
+     *
+     * @param colony the colony.
+     */
+    public TreeRegistry(@NotNull final Colony colony)
+    {
+        super(colony, BuildingLumberjack.class, SCAN_RADIUS_CHUNKS);
+    }
+
+    /**
+     * Finds the trees standing in a chunk.
+     * Each column is followed down from the surface through leaves, logs and air, the lowest log of a trunk is checked as a tree.
+     */
+    @Override
+    protected void scanChunk(@NotNull final World world, @NotNull final Chunk chunk)
+    {
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int x = 0; x <= CHUNK_MASK; x++)
+        {
+            for (int z = 0; z <= CHUNK_MASK; z++)
+            {
+                final int top = chunk.getHeightValue(x, z);
+                boolean inTrunk = false;
+                for (int y = top; y >= 0 && y > top - MAX_CANOPY_DEPTH; y--)
+                {
+                    pos.setPos((chunk.xPosition << CHUNK_SHIFT) + x, y, (chunk.zPosition << CHUNK_SHIFT) + z);
+                    final IBlockState state = chunk.getBlockState(pos);
+                    final boolean isLog = state.getBlock().isWood(null, pos);
+                    if (!isLog && inTrunk)
+                    {
+                        addTree(world, pos.up());
+                        break;
+                    }
+                    if (!isLog && state.getMaterial() != Material.LEAVES && state.getMaterial() != Material.AIR)
+                    {
+                        break;
+                    }
+                    inTrunk = isLog;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks a log which is not known yet and keeps it if it is part of a tree.
+     *
+     * @param world the world.
+     * @param log   the log.
+     * @return the tree or null if it is none.
+     */
+    @Nullable
+    public Tree addTree(@NotNull final World world, @NotNull final BlockPos log)
+    {
+        final Tree known = treesByLog.get(log);
+        if (known != null)
+        {
+            return known;
+        }
+
+        final Tree tree = Tree.scan(world, log);
+        if (tree != null && !trees.containsKey(tree.getLocation()))
+        {
+            trees.put(tree.getLocation(), tree);
+            treesByChunk.computeIfAbsent(chunkKeyOf(tree.getLocation()), key -> new ArrayList<>()).add(tree);
+            for (@NotNull final BlockPos treeLog : tree.getLogs())
+            {
+                treesByLog.put(treeLog, tree);
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Forgets a tree.
+     *
+     * @param tree the tree.
+     */
+    private void removeTree(@NotNull final Tree tree)
+    {
+        if (trees.remove(tree.getLocation()) == null)
+        {
+            return;
+        }
+
+        final long key = chunkKeyOf(tree.getLocation());
+        final List<Tree> chunkTrees = treesByChunk.get(key);
+        if (chunkTrees != null)
+        {
+            chunkTrees.remove(tree);
+            if (chunkTrees.isEmpty())
+            {
+                treesByChunk.remove(key);
+            }
+        }
+
+        for (@NotNull final BlockPos log : tree.getLogs())
+        {
+            treesByLog.remove(log);
+        }
+        claims.remove(tree.getLocation());
+        invalidations++;
+    }
+
+    @Override
+    public void onBlockChanges(@NotNull final Map<BlockPos, IBlockState> changes)
+    {
+        for (@NotNull final Map.Entry<BlockPos, IBlockState> entry : changes.entrySet())
+        {
+            final Tree tree = treesByLog.get(entry.getKey());
+            if (tree != null)
+            {
+                removeTree(tree);
+            }
+
+            //  A new log, maybe a grown sapling or the rest of a changed tree
+            if (entry.getValue().getBlock().isWood(null, entry.getKey()))
+            {
+                rescan(chunkKeyOf(entry.getKey()));
+            }
+        }
+    }
+
+    @Override
+    protected void forgetChunk(final long key)
+    {
+        final List<Tree> chunkTrees = treesByChunk.get(key);
+        if (chunkTrees != null)
+        {
+            for (@NotNull final Tree tree : new ArrayList<>(chunkTrees))
+            {
+                removeTree(tree);
+            }
+        }
+    }
+
+    /**
+     * Takes the nearest known tree nobody else is cutting.
+     * The chunks around the position are searched ring by ring, until no tree of an outer ring can be nearer.
+     * Trees claimed by lumberjacks which are gone or dead are free again.
+     *
+     * @param from      the position to measure from, usually the hut.
+     * @param range     the max distance of the tree.
+     * @param citizenId the id of the lumberjack.
+     * @return a copy of the tree for the lumberjack to cut or null if no tree is known.
+     */
+    @Nullable
+    public Tree claimNearestTree(@NotNull final BlockPos from, final int range, final int citizenId)
+    {
+        releaseClaimsOfDeadCitizens(claims);
+
+        final int chunkX = from.getX() >> CHUNK_SHIFT;
+        final int chunkZ = from.getZ() >> CHUNK_SHIFT;
+        final int radius = range / CHUNK_SIZE + 1;
+        Tree nearest = null;
+        double nearestDistance = (double) range * range;
+        for (int ring = 0; ring <= radius; ring++)
+        {
+            //  Trees of this ring are further away than the chunks between it and the position
+            final double ringDistance = (double) (ring - 1) * CHUNK_SIZE;
+            if (nearest != null && nearestDistance <= ringDistance * ringDistance)
+            {
+                break;
+            }
+
+            for (int x = -ring; x <= ring; x++)
+            {
+                for (int z = -ring; z <= ring; z++)
+                {
+                    if (Math.abs(x) != ring && Math.abs(z) != ring)
+                    {
+                        continue;
+                    }
+
+                    final List<Tree> chunkTrees = treesByChunk.get(chunkKey(chunkX + x, chunkZ + z));
+                    if (chunkTrees == null)
+                    {
+                        continue;
+                    }
+
+                    for (@NotNull final Tree tree : chunkTrees)
+                    {
+                        final Integer claim = claims.get(tree.getLocation());
+                        final double distance = tree.getLocation().distanceSq(from);
+                        if ((claim == null || claim == citizenId) && distance <= nearestDistance)
+                        {
+                            nearest = tree;
+                            nearestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+
+        if (nearest == null)
+        {
+            return null;
+        }
+        claims.values().removeIf(claim -> claim == citizenId);
+        claims.put(nearest.getLocation(), citizenId);
+        return nearest.copy();
+    }
+
+    /**
+     * Getter for the amount of known trees.
+     *
+     * @return the amount.
+     */
+    public int getTreeCount()
+    {
+        return trees.size();
+    }
+
+    /**
+     * Getter for the amount of trees dropped because they changed.
+     *
+     * @return the amount.
+     */
+    public long getInvalidations()
+    {
+        return invalidations;
+    }
+}
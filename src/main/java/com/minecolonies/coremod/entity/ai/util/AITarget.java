@@ -24,6 +24,12 @@ public class AITarget
     @NotNull
     private final Supplier<AIState> action;
 
+    /**
+     * How often the predicate was checked and how often the action was applied, to find hot targets.
+     */
+    private long evaluations = 0;
+    private long executions  = 0;
+
     /**
      * Construct a target.
      *
@@ -111,6 +117,7 @@ public class AITarget
      */
     public boolean test()
     {
+        evaluations++;
         return predicate.getAsBoolean();
     }
 
@@ -122,6 +129,27 @@ public class AITarget
      */
     public AIState apply()
     {
+        executions++;
         return action.get();
     }
+
+    /**
+     * Get how often the predicate of this target was checked.
+     *
+     * @return the amount.
+     */
+    public long getEvaluations()
+    {
+        return evaluations;
+    }
+
+    /**
+     * Get how often the action of this target was applied.
+     *
+     * @return the amount.
+     */
+    public long getExecutions()
+    {
+        return executions;
+    }
 }
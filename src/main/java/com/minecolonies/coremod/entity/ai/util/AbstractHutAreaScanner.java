@@ -0,0 +1,269 @@
+package com.minecolonies.coremod.entity.ai.util;
+
+import com.minecolonies.coremod.colony.CitizenData;
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.IBlockChangeListener;
+import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
+import com.minecolonies.coremod.entity.EntityCitizen;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+import static com.minecolonies.coremod.util.ChunkPosUtil.*;
+
+/**
+ * Base of the indexes a colony keeps of the area around the huts of one type, like the trees around the lumberjacks.
+ * The chunks around each hut are scanned a few per tick, nearest to the hut first.
+ * A chunk is only scanned while it and its neighbours are loaded, so scanning never loads chunks,
+ * it is scanned again when it loads and when the subclass asks for it after a block change.
+ * Only used on the server thread.
+ */
+public abstract class AbstractHutAreaScanner implements IBlockChangeListener
+{
+    /**
+     * Chunks scanned per tick.
+     */
+    private static final int CHUNKS_PER_TICK = 1;
+
+    /**
+     * The colony of the index.
+     */
+    @NotNull
+    private final Colony colony;
+
+    /**
+     * The type of the huts whose area is scanned.
+     */
+    @NotNull
+    private final Class<? extends AbstractBuilding> hutType;
+
+    /**
+     * Chunks scanned around a hut in each direction.
+     */
+    private final int radiusChunks;
+
+    /**
+     * The huts whose chunks were queued.
+     */
+    @NotNull
+    private final Set<BlockPos> huts = new HashSet<>();
+
+    /**
+     * The chunks around the huts, and the ones of them which were scanned.
+     */
+    @NotNull
+    private final Set<Long> area    = new HashSet<>();
+    @NotNull
+    private final Set<Long> scanned = new HashSet<>();
+
+    /**
+     * The chunks waiting to be scanned, nearest to a hut first.
+     */
+    @NotNull
+    private final Set<Long> scanQueue = new LinkedHashSet<>();
+
+    /**
+     * Amount of chunks scanned.
+     */
+    private long chunkScans = 0;
+
+    /**
+     * Create the scanner of a colony.
+     *
+     * @param colony       the colony.
+     * @param hutType      the type of the huts whose area is scanned.
+     * @param radiusChunks chunks scanned around a hut in each direction.
+     */
+    protected AbstractHutAreaScanner(@NotNull final Colony colony, @NotNull final Class<? extends AbstractBuilding> hutType, final int radiusChunks)
+    {
+        this.colony = colony;
+        this.hutType = hutType;
+        this.radiusChunks = radiusChunks;
+    }
+
+    /**
+     * Queues the chunks around new huts and scans some queued chunks.
+     *
+     * @param world the world of the colony.
+     */
+    public void onWorldTick(@NotNull final World world)
+    {
+        for (@NotNull final AbstractBuilding building : colony.getBuildings().values())
+        {
+            if (hutType.isInstance(building) && huts.add(building.getLocation()))
+            {
+                addHut(building.getLocation());
+            }
+        }
+
+        final Iterator<Long> iterator = scanQueue.iterator();
+        for (int i = 0; i < CHUNKS_PER_TICK && iterator.hasNext(); i++)
+        {
+            final long key = iterator.next();
+            iterator.remove();
+            //  Chunks which are not loaded are queued again when they or their neighbours load
+            final Chunk chunk = world.getChunkProvider().getLoadedChunk(getChunkX(key), getChunkZ(key));
+            if (chunk != null && isLoadedWithNeighbours(world, getChunkX(key), getChunkZ(key)))
+            {
+                chunkScans++;
+                scanChunk(world, chunk);
+                scanned.add(key);
+            }
+        }
+    }
+
+    /**
+     * Queues the chunks around a hut, nearest first.
+     *
+     * @param hut the location of the hut.
+     */
+    private void addHut(@NotNull final BlockPos hut)
+    {
+        final int hutX = hut.getX() >> CHUNK_SHIFT;
+        final int hutZ = hut.getZ() >> CHUNK_SHIFT;
+        final List<Long> chunks = new ArrayList<>();
+        for (int x = -radiusChunks; x <= radiusChunks; x++)
+        {
+            for (int z = -radiusChunks; z <= radiusChunks; z++)
+            {
+                chunks.add(chunkKey(hutX + x, hutZ + z));
+            }
+        }
+        chunks.sort(Comparator.comparingLong(key -> distanceSquared(getChunkX(key) - hutX, getChunkZ(key) - hutZ)));
+
+        for (final long key : chunks)
+        {
+            if (area.add(key))
+            {
+                scanQueue.add(key);
+            }
+        }
+    }
+
+    private static long distanceSquared(final long dx, final long dz)
+    {
+        return dx * dx + dz * dz;
+    }
+
+    /**
+     * What is found in a chunk can reach into the neighbouring chunks, scanning them must not load chunks.
+     */
+    private static boolean isLoadedWithNeighbours(@NotNull final World world, final int chunkX, final int chunkZ)
+    {
+        for (int x = -1; x <= 1; x++)
+        {
+            for (int z = -1; z <= 1; z++)
+            {
+                if (world.getChunkProvider().getLoadedChunk(chunkX + x, chunkZ + z) == null)
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Called when a chunk of the colony loaded, forgets what was found in it and scans it again, it might have changed while it was unloaded.
+     * Neighbours which waited for this chunk to be scanned are queued again as well.
+     *
+     * @param chunkX the x coordinate of the chunk.
+     * @param chunkZ the z coordinate of the chunk.
+     */
+    public void onChunkLoad(final int chunkX, final int chunkZ)
+    {
+        final long key = chunkKey(chunkX, chunkZ);
+        if (!area.contains(key))
+        {
+            return;
+        }
+
+        forgetChunk(key);
+        scanned.remove(key);
+        scanQueue.add(key);
+
+        for (int x = -1; x <= 1; x++)
+        {
+            for (int z = -1; z <= 1; z++)
+            {
+                final long neighbour = chunkKey(chunkX + x, chunkZ + z);
+                if (area.contains(neighbour) && !scanned.contains(neighbour))
+                {
+                    scanQueue.add(neighbour);
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans a chunk again if it was scanned before.
+     *
+     * @param key the key of the chunk.
+     */
+    protected void rescan(final long key)
+    {
+        if (scanned.remove(key))
+        {
+            scanQueue.add(key);
+        }
+    }
+
+    /**
+     * Drops the claims of citizens which are gone or dead, so what they claimed can be claimed again.
+     *
+     * @param claims the id of the claiming citizen by the claimed position.
+     */
+    protected void releaseClaimsOfDeadCitizens(@NotNull final Map<BlockPos, Integer> claims)
+    {
+        claims.values().removeIf(citizenId -> !isCitizenAlive(citizenId));
+    }
+
+    private boolean isCitizenAlive(final int citizenId)
+    {
+        final CitizenData citizen = colony.getCitizen(citizenId);
+        if (citizen == null)
+        {
+            return false;
+        }
+        final EntityCitizen entity = citizen.getCitizenEntity();
+        return entity != null && entity.isEntityAlive();
+    }
+
+    /**
+     * Scans a loaded chunk whose neighbours are loaded as well.
+     *
+     * @param world the world.
+     * @param chunk the chunk.
+     */
+    protected abstract void scanChunk(@NotNull World world, @NotNull Chunk chunk);
+
+    /**
+     * Forgets everything found in a chunk, it is scanned again.
+     *
+     * @param key the key of the chunk.
+     */
+    protected abstract void forgetChunk(long key);
+
+    /**
+     * Checks if the chunks around all huts were scanned.
+     *
+     * @return true if so, an empty index then means there is nothing to find.
+     */
+    public boolean isScanComplete()
+    {
+        return scanQueue.isEmpty();
+    }
+
+    /**
+     * Getter for the amount of chunks scanned.
+     *
+     * @return the amount.
+     */
+    public long getChunkScans()
+    {
+        return chunkScans;
+    }
+}
@@ -0,0 +1,446 @@
+package com.minecolonies.coremod.entity.ai.util;
+
+import com.minecolonies.coremod.blocks.AbstractBlockHut;
+import com.minecolonies.coremod.blocks.ModBlocks;
+import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.entity.ai.basic.AbstractEntityAIStructure;
+import com.minecolonies.coremod.util.BlockUtils;
+import com.minecolonies.coremod.util.Log;
+import com.minecolonies.coremod.util.StructureWrapper;
+import com.minecolonies.structures.helpers.StructureCache;
+import com.minecolonies.structures.helpers.StructureProxy;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockBed;
+import net.minecraft.block.BlockDoor;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityList;
+import net.minecraft.entity.item.EntityArmorStand;
+import net.minecraft.entity.item.EntityItemFrame;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.tileentity.TileEntityFlowerPot;
+import net.minecraft.tileentity.TileEntityLockable;
+import net.minecraft.util.Mirror;
+import net.minecraft.util.Rotation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.RayTraceResult;
+import net.minecraft.world.World;
+import net.minecraft.world.gen.structure.template.PlacementSettings;
+import net.minecraft.world.gen.structure.template.Template;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The items a builder needs for a schematic in one rotation and mirror.
+ * The positions which need material and their items are listed once per schematic and cached,
+ * a builder starting a work order only compares these positions with the world to leave out what is already placed.
+ * The schematic name contains the level, so every level of a hut has its own bill.
+ * Only used on the server thread.
+ */
+public final class BillOfMaterials
+{
+    /**
+     * The cached bills by schematic name, rotation and mirror, in access order.
+     */
+    private static final LinkedHashMap<String, BillOfMaterials> bills = new LinkedHashMap<>(16, 0.75F, true);
+
+    /**
+     * The shared template the bill was listed from, a bill of another template is outdated.
+     */
+    @Nullable
+    private final Template template;
+
+    /**
+     * Packed local positions of the blocks which need material, see {@link BuildPlan#pack(int, int, int)}.
+     */
+    @NotNull
+    private final int[] positions;
+
+    /**
+     * The schematic state of each position.
+     */
+    @NotNull
+    private final IBlockState[] states;
+
+    /**
+     * The items each position needs, the block and the content of its tile entity.
+     */
+    @NotNull
+    private final ItemStack[][] items;
+
+    /**
+     * Positions which also have an entity, those are never considered placed.
+     */
+    @NotNull
+    private final BitSet withEntity;
+
+    /**
+     * The items of the entities of the schematic, needed regardless of the world.
+     */
+    @NotNull
+    private final List<ItemStack> entityItems;
+
+    /**
+     * All items of the schematic by unlocalized name.
+     */
+    @NotNull
+    private final Map<String, ItemStack> totals;
+
+    /**
+     * Amount of all items of the schematic.
+     */
+    private final int totalCount;
+
+    private BillOfMaterials(
+                             @Nullable final Template template,
+                             @NotNull final int[] positions,
+                             @NotNull final IBlockState[] states,
+                             @NotNull final ItemStack[][] items,
+                             @NotNull final BitSet withEntity,
+                             @NotNull final List<ItemStack> entityItems)
+    {
+        this.template = template;
+        this.positions = positions;
+        this.states = states;
+        this.items = items;
+        this.withEntity = withEntity;
+        this.entityItems = entityItems;
+
+        this.totals = new HashMap<>();
+        for (@NotNull final ItemStack[] positionItems : items)
+        {
+            for (@NotNull final ItemStack stack : positionItems)
+            {
+                add(totals, stack);
+            }
+        }
+        for (@NotNull final ItemStack stack : entityItems)
+        {
+            add(totals, stack);
+        }
+
+        int count = 0;
+        for (@NotNull final ItemStack stack : totals.values())
+        {
+            count += stack.stackSize;
+        }
+        this.totalCount = count;
+    }
+
+    /**
+     * Get the bill of a structure, listing it if it is not cached.
+     * A bill is listed again when the schematic was read again by the {@link StructureCache}, it might have been replaced.
+     * The structure has to be rotated before.
+     *
+     * @param world     the world, used to read tile entities and entities of the schematic.
+     * @param structure the structure.
+     * @return the bill.
+     */
+    @NotNull
+    public static BillOfMaterials get(@NotNull final World world, @NotNull final StructureWrapper structure)
+    {
+        final PlacementSettings settings = structure.structure().getStructure().getSettings();
+        final String key = getKey(structure.getName(), settings.getRotation(), settings.getMirror());
+        BillOfMaterials bill = bills.get(key);
+        if (bill == null || bill.template != structure.structure().getStructure().getTemplate())
+        {
+            bill = compile(world, structure);
+            bills.put(key, bill);
+            final int capacity = Math.max(1, Configurations.structureCacheSize);
+            while (bills.size() > capacity)
+            {
+                bills.remove(bills.keySet().iterator().next());
+            }
+        }
+        return bill;
+    }
+
+    /**
+     * Get the bill of a schematic if it was listed already, without listing it.
+     *
+     * @param structureName the name of the schematic.
+     * @param rotateTimes   the times the structure is rotated.
+     * @return the bill or null if it is not cached.
+     */
+    @Nullable
+    public static BillOfMaterials getIfCached(@NotNull final String structureName, final int rotateTimes)
+    {
+        final BillOfMaterials bill = bills.get(getKey(structureName, StructureProxy.getRotation(rotateTimes), Mirror.NONE));
+        if (bill == null || bill.template != StructureCache.getCachedTemplate(structureName))
+        {
+            return null;
+        }
+        return bill;
+    }
+
+    @NotNull
+    private static String getKey(@NotNull final String structureName, @NotNull final Rotation rotation, @NotNull final Mirror mirror)
+    {
+        return structureName + '|' + rotation.name() + '|' + mirror.name();
+    }
+
+    /**
+     * Lists the positions of a structure which need material.
+     * Left out are air, blocks a builder places for free, the foot of beds and the upper half of doors.
+     */
+    @NotNull
+    private static BillOfMaterials compile(@NotNull final World world, @NotNull final StructureWrapper structure)
+    {
+        final int width = structure.getWidth();
+        final int height = structure.getHeight();
+        final int length = structure.getLength();
+
+        final List<Integer> positionList = new ArrayList<>();
+        final List<IBlockState> stateList = new ArrayList<>();
+        final List<ItemStack[]> itemList = new ArrayList<>();
+        final BitSet withEntity = new BitSet();
+        final List<ItemStack> entityItems = new ArrayList<>();
+
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int y = 0; y < height; y++)
+        {
+            for (int z = 0; z < length; z++)
+            {
+                for (int x = 0; x < width; x++)
+                {
+                    pos.setPos(x, y, z);
+                    final Template.EntityInfo entityInfo = structure.structure().getEntityinfo(pos);
+                    if (entityInfo != null)
+                    {
+                        entityItems.addAll(getItemStacksOfEntity(world, entityInfo));
+                    }
+
+                    final IBlockState state = structure.structure().getBlockState(pos);
+                    if (!needsMaterial(state))
+                    {
+                        continue;
+                    }
+
+                    final List<ItemStack> needed = new ArrayList<>();
+                    final Template.BlockInfo blockInfo = structure.structure().getBlockInfo(pos);
+                    if (blockInfo != null && blockInfo.tileentityData != null)
+                    {
+                        needed.addAll(getItemStacksOfTileEntity(world, blockInfo.tileentityData));
+                    }
+                    needed.add(BlockUtils.getItemStackFromBlockState(state));
+                    needed.removeIf(stack -> stack == null || stack.getItem() == null);
+
+                    if (entityInfo != null)
+                    {
+                        withEntity.set(positionList.size());
+                    }
+                    positionList.add(BuildPlan.pack(x, y, z));
+                    stateList.add(state);
+                    itemList.add(needed.toArray(new ItemStack[needed.size()]));
+                }
+            }
+        }
+        entityItems.removeIf(stack -> stack == null || stack.getItem() == null);
+
+        final int[] positions = new int[positionList.size()];
+        for (int i = 0; i < positions.length; i++)
+        {
+            positions[i] = positionList.get(i);
+        }
+        return new BillOfMaterials(structure.structure().getStructure().getTemplate(),
+                                    positions,
+                                    stateList.toArray(new IBlockState[stateList.size()]),
+                                    itemList.toArray(new ItemStack[itemList.size()][]),
+                                    withEntity,
+                                    entityItems);
+    }
+
+    /**
+     * Checks if a schematic block has to be paid with material.
+     */
+    private static boolean needsMaterial(@Nullable final IBlockState state)
+    {
+        if (state == null)
+        {
+            return false;
+        }
+
+        final Block block = state.getBlock();
+        return block != Blocks.AIR
+                 && block != ModBlocks.blockSubstitution
+                 && !AbstractEntityAIStructure.isBlockFree(block, block.getMetaFromState(state))
+                 && !(block instanceof BlockBed && state.getValue(BlockBed.PART).equals(BlockBed.EnumPartType.FOOT))
+                 && !(block instanceof BlockDoor && state.getValue(BlockDoor.HALF).equals(BlockDoor.EnumDoorHalf.UPPER));
+    }
+
+    /**
+     * Get the items stored in the tile entity data of a schematic block.
+     *
+     * @param world    the world.
+     * @param compound the tile entity data.
+     * @return the list of itemstacks.
+     */
+    @NotNull
+    public static List<ItemStack> getItemStacksOfTileEntity(@NotNull final World world, @NotNull final NBTTagCompound compound)
+    {
+        final List<ItemStack> result = new ArrayList<>();
+        final TileEntity tileEntity = TileEntity.create(world, compound);
+        if (tileEntity instanceof TileEntityFlowerPot)
+        {
+            result.add(((TileEntityFlowerPot) tileEntity).getFlowerItemStack());
+        }
+        else if (tileEntity instanceof TileEntityLockable)
+        {
+            for (int i = 0; i < ((TileEntityLockable) tileEntity).getSizeInventory(); i++)
+            {
+                final ItemStack stack = ((TileEntityLockable) tileEntity).getStackInSlot(i);
+                if (stack != null)
+                {
+                    result.add(stack);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the items needed to place an entity of a schematic.
+     */
+    @NotNull
+    private static List<ItemStack> getItemStacksOfEntity(@NotNull final World world, @NotNull final Template.EntityInfo entityInfo)
+    {
+        final List<ItemStack> result = new ArrayList<>();
+        final Entity entity;
+        try
+        {
+            entity = EntityList.createEntityFromNBT(entityInfo.entityData, world);
+        }
+        catch (final RuntimeException e)
+        {
+            Log.getLogger().info("Couldn't restore entitiy", e);
+            return result;
+        }
+
+        if (entity instanceof EntityItemFrame)
+        {
+            final ItemStack stack = ((EntityItemFrame) entity).getDisplayedItem();
+            if (stack != null)
+            {
+                stack.stackSize = 1;
+                result.add(stack);
+                result.add(new ItemStack(Items.ITEM_FRAME, 1, stack.getItemDamage()));
+            }
+        }
+        else if (entity instanceof EntityArmorStand)
+        {
+            result.add(entity.getPickedResult(new RayTraceResult(entity)));
+            entity.getArmorInventoryList().forEach(result::add);
+        }
+        else if (entity != null)
+        {
+            result.add(entity.getPickedResult(new RayTraceResult(entity)));
+        }
+        return result;
+    }
+
+    /**
+     * Get the items still missing to build the structure at a position.
+     * Compares only the positions which need material with the world.
+     *
+     * @param world  the world.
+     * @param offset the world position of the local origin of the structure.
+     * @return the missing items by unlocalized name.
+     */
+    @NotNull
+    public Map<String, ItemStack> getMissing(@NotNull final World world, @NotNull final BlockPos offset)
+    {
+        final Map<String, ItemStack> missing = new HashMap<>();
+        final BlockPos.MutableBlockPos worldPos = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < positions.length; i++)
+        {
+            final BlockPos local = BuildPlan.unpack(positions[i]);
+            worldPos.setPos(offset.getX() + local.getX(), offset.getY() + local.getY(), offset.getZ() + local.getZ());
+            if (worldPos.getY() <= 0)
+            {
+                continue;
+            }
+
+            final IBlockState worldState = world.getBlockState(worldPos);
+            final Block worldBlock = worldState.getBlock();
+            if (worldBlock == Blocks.BEDROCK
+                  || worldBlock instanceof AbstractBlockHut
+                  || (!withEntity.get(i) && Structure.doesStructureStateEqualWorldState(states[i], worldState)))
+            {
+                continue;
+            }
+
+            for (@NotNull final ItemStack stack : items[i])
+            {
+                add(missing, stack);
+            }
+        }
+
+        for (@NotNull final ItemStack stack : entityItems)
+        {
+            add(missing, stack);
+        }
+        return missing;
+    }
+
+    /**
+     * Adds the amount of a stack to a map of stacks by unlocalized name.
+     */
+    private static void add(@NotNull final Map<String, ItemStack> map, @NotNull final ItemStack stack)
+    {
+        final ItemStack existing = map.get(stack.getUnlocalizedName());
+        if (existing == null)
+        {
+            final ItemStack copy = stack.copy();
+            copy.stackSize = 1;
+            map.put(stack.getUnlocalizedName(), copy);
+        }
+        else
+        {
+            existing.stackSize++;
+        }
+    }
+
+    /**
+     * Get all items of the schematic.
+     *
+     * @return a copy of the items by unlocalized name.
+     */
+    @NotNull
+    public Map<String, ItemStack> getTotals()
+    {
+        final Map<String, ItemStack> copy = new HashMap<>();
+        for (@NotNull final Map.Entry<String, ItemStack> entry : totals.entrySet())
+        {
+            copy.put(entry.getKey(), entry.getValue().copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Get the amount of an item the whole schematic needs.
+     *
+     * @param unlocalizedName the unlocalized name of the item.
+     * @return the amount, 0 if the schematic does not need it.
+     */
+    public int getTotal(@NotNull final String unlocalizedName)
+    {
+        final ItemStack stack = totals.get(unlocalizedName);
+        return stack == null ? 0 : stack.stackSize;
+    }
+
+    /**
+     * Get the amount of all items of the schematic.
+     *
+     * @return the amount.
+     */
+    public int getTotalCount()
+    {
+        return totalCount;
+    }
+}
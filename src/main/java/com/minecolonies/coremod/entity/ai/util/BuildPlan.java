@@ -0,0 +1,288 @@
+package com.minecolonies.coremod.entity.ai.util;
+
+import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.util.StructureWrapper;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.IntPredicate;
+
+/**
+ * The positions of a structure a builder has to visit in each stage, in the order of the stage.
+ * Each stage is compiled once from the schematic into a list of packed local positions,
+ * leaving out positions which never need work in that stage (solid blocks when decorating, blocks without entity when spawning).
+ * While building, the positions ahead are compared with the world in batches of one chunk layer,
+ * only those which need work are handed to the builder.
+ * The progress is one index per stage, so it can be saved and restored.
+ */
+public class BuildPlan
+{
+    /**
+     * Bits per coordinate of a packed position.
+     */
+    private static final int BITS = 10;
+
+    /**
+     * Mask of one coordinate of a packed position.
+     */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * Amount of positions compared with the world at once, the size of a chunk layer.
+     */
+    private static final int CHUNK_BATCH = 256;
+
+    /**
+     * Marks a stage which was not compiled yet.
+     */
+    private static final int[] NOT_COMPILED = new int[0];
+
+    /**
+     * The structure the plan is made for.
+     */
+    @NotNull
+    private final StructureWrapper structure;
+
+    /**
+     * The packed positions of each stage, by stage ordinal.
+     */
+    @NotNull
+    private final int[][] positions = new int[Structure.Stage.values().length][];
+
+    /**
+     * The stage the plan is at.
+     */
+    @NotNull
+    private Structure.Stage stage = Structure.Stage.CLEAR;
+
+    /**
+     * Index of the position handed out last, -1 before the first one.
+     */
+    private int cursor = -1;
+
+    /**
+     * Index of the first position which was not compared with the world yet.
+     */
+    private int diffedUpTo = 0;
+
+    /**
+     * Indices of the compared positions which need work.
+     */
+    private final int[] pending      = new int[CHUNK_BATCH];
+    private       int   pendingStart = 0;
+    private       int   pendingEnd   = 0;
+
+    /**
+     * Create the plan of a structure, the stages are compiled when first used.
+     * The structure has to be rotated before that.
+     *
+     * @param structure the structure.
+     */
+    public BuildPlan(@NotNull final StructureWrapper structure)
+    {
+        this.structure = structure;
+        for (int i = 0; i < positions.length; i++)
+        {
+            positions[i] = NOT_COMPILED;
+        }
+    }
+
+    /**
+     * Packs a local position into an int.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @param z the z coordinate.
+     * @return the packed position.
+     */
+    public static int pack(final int x, final int y, final int z)
+    {
+        return (y << (2 * BITS)) | (z << BITS) | x;
+    }
+
+    /**
+     * Unpacks a local position.
+     *
+     * @param packed the packed position.
+     * @return the position.
+     */
+    @NotNull
+    public static BlockPos unpack(final int packed)
+    {
+        return new BlockPos(packed & MASK, (packed >> (2 * BITS)) & MASK, (packed >> BITS) & MASK);
+    }
+
+    /**
+     * Starts a stage from its beginning.
+     *
+     * @param newStage the stage.
+     */
+    public void startStage(@NotNull final Structure.Stage newStage)
+    {
+        restore(newStage, -1);
+    }
+
+    /**
+     * Continues a stage at a saved position.
+     *
+     * @param newStage the stage.
+     * @param index    the index of the position the builder was working on, it is checked again.
+     */
+    public void restore(@NotNull final Structure.Stage newStage, final int index)
+    {
+        this.stage = newStage;
+        this.cursor = -1;
+        this.diffedUpTo = Math.max(0, index);
+        this.pendingStart = 0;
+        this.pendingEnd = 0;
+    }
+
+    /**
+     * Get the index of the position the builder is working on.
+     *
+     * @return the index, -1 before the first position.
+     */
+    public int getCursor()
+    {
+        return cursor;
+    }
+
+    /**
+     * Get the packed position the builder is working on.
+     *
+     * @return the packed position.
+     */
+    public int getCurrentPosition()
+    {
+        return getPositions(stage)[cursor];
+    }
+
+    /**
+     * Moves to the next position which needs work.
+     * Compares at most {@link Configurations#maxBlocksCheckedByBuilder} positions (rounded up to a batch) with the world per call.
+     *
+     * @param needsWork checks a packed position against the world.
+     * @return NEW_BLOCK if a position was found, AT_END if the stage is done, CONFIG_LIMIT if the check limit was reached.
+     */
+    @NotNull
+    public Structure.Result advance(@NotNull final IntPredicate needsWork)
+    {
+        final int[] stagePositions = getPositions(stage);
+        int checked = 0;
+        while (true)
+        {
+            if (pendingStart < pendingEnd)
+            {
+                cursor = pending[pendingStart++];
+                //  The world might have changed since the batch was compared
+                if (needsWork.test(stagePositions[cursor]))
+                {
+                    return Structure.Result.NEW_BLOCK;
+                }
+                continue;
+            }
+
+            if (diffedUpTo >= stagePositions.length)
+            {
+                cursor = stagePositions.length;
+                return Structure.Result.AT_END;
+            }
+
+            if (checked >= Configurations.maxBlocksCheckedByBuilder)
+            {
+                return Structure.Result.CONFIG_LIMIT;
+            }
+
+            final int end = Math.min(stagePositions.length, diffedUpTo + CHUNK_BATCH);
+            pendingStart = 0;
+            pendingEnd = 0;
+            for (int i = diffedUpTo; i < end; i++)
+            {
+                if (needsWork.test(stagePositions[i]))
+                {
+                    pending[pendingEnd++] = i;
+                }
+            }
+            checked += end - diffedUpTo;
+            diffedUpTo = end;
+        }
+    }
+
+    /**
+     * Get the positions of a stage, compiling them on first use.
+     *
+     * @param forStage the stage.
+     * @return the packed positions.
+     */
+    @NotNull
+    private int[] getPositions(@NotNull final Structure.Stage forStage)
+    {
+        int[] stagePositions = positions[forStage.ordinal()];
+        if (stagePositions == NOT_COMPILED)
+        {
+            stagePositions = compile(forStage);
+            positions[forStage.ordinal()] = stagePositions;
+        }
+        return stagePositions;
+    }
+
+    /**
+     * Lists the positions of a stage in its order: clearing and decorating from the top, building and spawning from the bottom.
+     *
+     * @param forStage the stage.
+     * @return the packed positions.
+     */
+    @NotNull
+    private int[] compile(@NotNull final Structure.Stage forStage)
+    {
+        final int width = structure.getWidth();
+        final int height = structure.getHeight();
+        final int length = structure.getLength();
+        final boolean fromTop = forStage == Structure.Stage.CLEAR || forStage == Structure.Stage.DECORATE;
+
+        final int[] result = new int[width * height * length];
+        int count = 0;
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < result.length; i++)
+        {
+            final int index = fromTop ? result.length - 1 - i : i;
+            final int x = index % width;
+            final int z = (index / width) % length;
+            final int y = index / (width * length);
+            pos.setPos(x, y, z);
+            if (isPartOfStage(forStage, pos))
+            {
+                result[count++] = pack(x, y, z);
+            }
+        }
+
+        final int[] compiled = new int[count];
+        System.arraycopy(result, 0, compiled, 0, count);
+        return compiled;
+    }
+
+    /**
+     * Checks if a position can need work in a stage, looking at the schematic only.
+     */
+    private boolean isPartOfStage(@NotNull final Structure.Stage forStage, @NotNull final BlockPos pos)
+    {
+        final IBlockState state = structure.structure().getBlockState(pos);
+        if (state == null)
+        {
+            return false;
+        }
+
+        switch (forStage)
+        {
+            case DECORATE:
+                return !state.getMaterial().isSolid();
+            case SPAWN:
+                return structure.structure().getEntityinfo(pos) != null;
+            case COMPLETE:
+                return false;
+            default:
+                return true;
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.minecolonies.coremod.entity.ai.util;
 
 import com.minecolonies.coremod.blocks.ModBlocks;
-import com.minecolonies.coremod.configuration.Configurations;
 import com.minecolonies.coremod.util.BlockPosUtil;
+import com.minecolonies.coremod.util.Log;
 import com.minecolonies.coremod.util.StructureWrapper;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockDoor;
@@ -11,6 +11,7 @@ import net.minecraft.block.BlockStairs;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.item.Item;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.gen.structure.template.Template;
@@ -18,8 +19,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
-import java.util.function.Function;
-import java.util.function.Supplier;
 
 /**
  * Represents a build task for the Structure AI.
@@ -28,6 +27,12 @@ import java.util.function.Supplier;
  */
 public class Structure
 {
+    /**
+     * Tags to store the progress.
+     */
+    private static final String TAG_STAGE      = "stage";
+    private static final String TAG_PLAN_INDEX = "planIndex";
+
     /**
      * This exception get's thrown when a StructureProxy file could not be loaded.
      */
@@ -128,32 +133,42 @@ public class Structure
          */
         public boolean doesStructureBlockEqualWorldBlock()
         {
-            final IBlockState structureBlockState = metadata;
-            final Block structureBlock = structureBlockState.getBlock();
-
-            //All worldBlocks are equal the substitution block
-            if (structureBlock == ModBlocks.blockSubstitution
-                    || (structureBlock == ModBlocks.blockSolidSubstitution && worldMetadata.getMaterial().isSolid()
-                    && !(worldBlock instanceof BlockOre) && worldBlock != Blocks.AIR))
-            {
-                return true;
-            }
-
-            final IBlockState worldBlockState = worldMetadata;
-
-            //list of things to only check block for.
-            //For the time being any flower pot is equal to each other.
-            if (structureBlock instanceof BlockDoor || structureBlock == Blocks.FLOWER_POT)
-            {
-                return structureBlock == worldBlockState.getBlock();
-            }
-            else if (structureBlock instanceof BlockStairs && structureBlockState.equals(worldBlockState))
-            {
-                return true;
-            }
-
-            return structureBlockState.equals(worldBlockState);
+            return doesStructureStateEqualWorldState(metadata, worldMetadata);
+        }
+    }
+
+    /**
+     * Checks if a structure state equals the state in the world.
+     *
+     * @param structureBlockState the state in the structure.
+     * @param worldBlockState     the state in the world.
+     * @return true if so.
+     */
+    public static boolean doesStructureStateEqualWorldState(@NotNull final IBlockState structureBlockState, @NotNull final IBlockState worldBlockState)
+    {
+        final Block structureBlock = structureBlockState.getBlock();
+        final Block worldBlock = worldBlockState.getBlock();
+
+        //All worldBlocks are equal the substitution block
+        if (structureBlock == ModBlocks.blockSubstitution
+                || (structureBlock == ModBlocks.blockSolidSubstitution && worldBlockState.getMaterial().isSolid()
+                && !(worldBlock instanceof BlockOre) && worldBlock != Blocks.AIR))
+        {
+            return true;
         }
+
+        //list of things to only check block for.
+        //For the time being any flower pot is equal to each other.
+        if (structureBlock instanceof BlockDoor || structureBlock == Blocks.FLOWER_POT)
+        {
+            return structureBlock == worldBlock;
+        }
+        else if (structureBlock instanceof BlockStairs && structureBlockState.equals(worldBlockState))
+        {
+            return true;
+        }
+
+        return structureBlockState.equals(worldBlockState);
     }
 
     private       Stage            stage;
@@ -166,6 +181,11 @@ public class Structure
      * the targetWorld to build the structure in.
      */
     private final World            targetWorld;
+    /**
+     * The positions to visit in each stage, null without structure.
+     */
+    @Nullable
+    private final BuildPlan        plan;
 
     /**
      * Create a new building task.
@@ -203,6 +223,7 @@ public class Structure
         this.structure = loadStructure(targetWorld, buildingLocation, structureFileName, rotation, stageProgress, blockProgress);
         this.stage = stageProgress;
         this.targetWorld = targetWorld;
+        this.plan = createPlan(structure, stageProgress);
     }
 
     /**
@@ -217,6 +238,19 @@ public class Structure
         this.structure = structure;
         this.stage = stageProgress;
         this.targetWorld = targetWorld;
+        this.plan = createPlan(structure, stageProgress);
+    }
+
+    @Nullable
+    private static BuildPlan createPlan(@Nullable final StructureWrapper structure, final Stage stageProgress)
+    {
+        if (structure == null)
+        {
+            return null;
+        }
+        final BuildPlan buildPlan = new BuildPlan(structure);
+        buildPlan.startStage(stageProgress);
+        return buildPlan;
     }
 
     /**
@@ -291,6 +325,47 @@ public class Structure
     public void setStage(Stage stage)
     {
         this.stage = stage;
+        if (plan != null)
+        {
+            plan.startStage(stage);
+            structure.reset();
+        }
+    }
+
+    /**
+     * Saves the stage and the position in the plan.
+     *
+     * @param compound the compound to write to.
+     */
+    public void writeProgressToNBT(@NotNull final NBTTagCompound compound)
+    {
+        compound.setString(TAG_STAGE, stage.name());
+        compound.setInteger(TAG_PLAN_INDEX, plan == null ? -1 : plan.getCursor());
+    }
+
+    /**
+     * Continues at a saved stage and position.
+     * The structure has to be rotated and placed already.
+     *
+     * @param compound the compound written by {@link #writeProgressToNBT(NBTTagCompound)}.
+     */
+    public void readProgressFromNBT(@NotNull final NBTTagCompound compound)
+    {
+        try
+        {
+            this.stage = Stage.valueOf(compound.getString(TAG_STAGE));
+        }
+        catch (final IllegalArgumentException e)
+        {
+            Log.getLogger().warn("Unknown build stage " + compound.getString(TAG_STAGE) + ", starting over", e);
+            this.stage = Stage.CLEAR;
+        }
+
+        if (plan != null)
+        {
+            plan.restore(stage, compound.getInteger(TAG_PLAN_INDEX));
+            structure.reset();
+        }
     }
 
     /**
@@ -313,51 +388,52 @@ public class Structure
     @NotNull
     public Result advanceBlock()
     {
-        switch (this.stage)
+        if (plan == null || this.stage == Stage.COMPLETE)
         {
-            case CLEAR:
-                return advanceBlocks(this.structure::decrementBlock,
-                        structureBlock -> structureBlock.doesStructureBlockEqualWorldBlock()
-                                || structureBlock.worldBlock == Blocks.AIR);
-            case BUILD:
-                return advanceBlocks(this.structure::incrementBlock, structureBlock -> structureBlock.doesStructureBlockEqualWorldBlock()
-                        && structureBlock.block == Blocks.AIR
-                        && !structureBlock.metadata.getMaterial().isSolid());
-            case DECORATE:
-                return advanceBlocks(this.structure::decrementBlock, structureBlock ->
-                        structureBlock.doesStructureBlockEqualWorldBlock()
-                                || structureBlock.metadata.getMaterial().isSolid());
-            case SPAWN:
-                return advanceBlocks(this.structure::incrementBlock, structureBlock ->
-                        structureBlock.entity == null);
-            default:
-                return Result.NEW_BLOCK;
+            return Result.NEW_BLOCK;
+        }
+
+        final Result result = plan.advance(this::needsWork);
+        if (result == Result.NEW_BLOCK)
+        {
+            this.structure.setLocalPosition(BuildPlan.unpack(plan.getCurrentPosition()));
         }
+        else
+        {
+            //  Nothing to work on at the moment, the next call continues with the plan
+            this.structure.reset();
+        }
+        return result;
     }
 
     /**
-     * Advance many blocks until either moveOneBlock or checkIfApplies return false
-     * or if we reached the maximum of iterations in maxBlocksCheckedByBuilder.
+     * Checks if a position of the structure needs work in the current stage.
      *
-     * @param moveOneBlock   this will be called to advance the structure one block.
-     * @param checkIfApplies this will be evaluated to check if we should skip a block.
-     * @return a Result enum specifying the result
+     * @param packed the packed local position.
+     * @return true if the builder has to go there.
      */
-    @NotNull
-    private Result advanceBlocks(@NotNull final Supplier<Boolean> moveOneBlock, @NotNull final Function<StructureBlock, Boolean> checkIfApplies)
+    private boolean needsWork(final int packed)
     {
-        for (int i = 0; i < Configurations.maxBlocksCheckedByBuilder; i++)
+        final BlockPos local = BuildPlan.unpack(packed);
+        if (this.stage == Stage.SPAWN)
         {
-            if (!moveOneBlock.get())
-            {
-                return Result.AT_END;
-            }
-            if (!checkIfApplies.apply(getCurrentBlock()))
-            {
-                return Result.NEW_BLOCK;
-            }
+            return this.structure.structure().getEntityinfo(local) != null;
+        }
+
+        final IBlockState structureState = this.structure.structure().getBlockState(local);
+        final IBlockState worldState = BlockPosUtil.getBlockState(targetWorld, local.add(this.structure.getOffsetPosition()));
+        final boolean equal = doesStructureStateEqualWorldState(structureState, worldState);
+        switch (this.stage)
+        {
+            case CLEAR:
+                return !equal && worldState.getBlock() != Blocks.AIR;
+            case BUILD:
+                return !(equal && structureState.getBlock() == Blocks.AIR && !structureState.getMaterial().isSolid());
+            case DECORATE:
+                return !equal && !structureState.getMaterial().isSolid();
+            default:
+                return false;
         }
-        return Result.CONFIG_LIMIT;
     }
 
     /**
@@ -368,14 +444,16 @@ public class Structure
     @NotNull
     public StructureBlock getCurrentBlock()
     {
+        final BlockPos position = this.structure.getBlockPosition();
+        final IBlockState worldState = BlockPosUtil.getBlockState(targetWorld, position);
         return new StructureBlock(
                 this.structure.getBlock(),
-                this.structure.getBlockPosition(),
+                position,
                 this.structure.getBlockState(),
                 this.structure.getEntityinfo(),
                 this.structure.getItem(),
-                BlockPosUtil.getBlock(targetWorld, this.structure.getBlockPosition()),
-                BlockPosUtil.getBlockState(targetWorld, this.structure.getBlockPosition())
+                worldState.getBlock(),
+                worldState
         );
     }
 
@@ -1,6 +1,8 @@
 package com.minecolonies.coremod.entity.pathfinding;
 
 import com.minecolonies.coremod.blocks.BlockHutField;
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.configuration.Configurations;
 import com.minecolonies.coremod.util.BlockUtils;
 import com.minecolonies.coremod.util.Log;
@@ -36,7 +38,6 @@ public abstract class AbstractPathJob implements Callable<Path>
     private static final   int      SHIFT_WEST            = 2;
     private static final   int      SHIFT_NORTH           = 3;
     private static final   int      SHIFT_EAST            = 4;
-    private static final   BlockPos BLOCKPOS_IDENTITY     = new BlockPos(0, 0, 0);
     private static final   BlockPos BLOCKPOS_UP           = new BlockPos(0, 1, 0);
     private static final   BlockPos BLOCKPOS_DOWN         = new BlockPos(0, -1, 0);
     private static final   BlockPos BLOCKPOS_NORTH = new BlockPos(0, 0, -1);
@@ -90,11 +91,19 @@ public abstract class AbstractPathJob implements Callable<Path>
     @NotNull
     protected final  BlockPos     start;
     @NotNull
+    protected final  BlockPos     end;
+    @NotNull
     protected final  IBlockAccess world;
     protected final  PathResult   result;
     private final    int          maxRange;
-    private final Queue<Node>        nodesOpen                    = new PriorityQueue<>(500);
-    private final Map<Integer, Node> nodesVisited                 = new HashMap<>();
+    /**
+     * Reusable search storage of each worker thread.
+     */
+    private static final ThreadLocal<SearchContext> searchContext = ThreadLocal.withInitial(SearchContext::new);
+    //  Open and closed set, taken from the search context of the running thread
+    private       NodeHeap           nodesOpen;
+    private       NodeMap            nodesVisited;
+    private       SearchContext      context;
     //  Debug Rendering
     protected     boolean            debugDrawEnabled             = false;
     protected     int                debugSleepMs                 = 0;
@@ -110,6 +119,9 @@ public abstract class AbstractPathJob implements Callable<Path>
     private       boolean            allowJumpPointSearchTypeWalk = false;
     private       int                totalNodesAdded              = 0;
     private       int                totalNodesVisited            = 0;
+    //  Scheduling
+    @NotNull
+    private       PathJobPriority    priority                     = PathJobPriority.NORMAL;
 
     /**
      * AbstractPathJob constructor.
@@ -141,9 +153,10 @@ public abstract class AbstractPathJob implements Callable<Path>
         final int maxX = Math.max(start.getX(), end.getX()) + (range / 2);
         final int maxZ = Math.max(start.getZ(), end.getZ()) + (range / 2);
 
-        this.world = new ChunkCache(world, new BlockPos(minX, MIN_Y, minZ), new BlockPos(maxX, MAX_Y, maxZ), range);
+        this.world = createBlockAccess(world, start, minX, minZ, maxX, maxZ, range);
 
         this.start = new BlockPos(start);
+        this.end = new BlockPos(end);
         this.maxRange = range;
 
         this.result = result;
@@ -160,9 +173,40 @@ public abstract class AbstractPathJob implements Callable<Path>
         }
     }
 
-    private static boolean onLadderGoingUp(@NotNull final Node currentNode, @NotNull final BlockPos dPos)
+    /**
+     * Creates the block access of a job.
+     * Jobs inside of a colony read from the shared snapshot of the colony, other jobs get their own chunk cache.
+     *
+     * @param world the world within which to path.
+     * @param start the start position.
+     * @param minX  min x of the search area.
+     * @param minZ  min z of the search area.
+     * @param maxX  max x of the search area.
+     * @param maxZ  max z of the search area.
+     * @param range maximum path range.
+     * @return the block access.
+     */
+    @NotNull
+    private static IBlockAccess createBlockAccess(
+                                                   @NotNull final World world,
+                                                   @NotNull final BlockPos start,
+                                                   final int minX,
+                                                   final int minZ,
+                                                   final int maxX,
+                                                   final int maxZ,
+                                                   final int range)
     {
-        return currentNode.isLadder() && (dPos.getY() >= 0 || dPos.getX() != 0 || dPos.getZ() != 0);
+        @Nullable final Colony colony = world.isRemote ? null : ColonyManager.getColony(world, start);
+        if (colony != null && colony.getBlockSnapshot().capture(world, minX, minZ, maxX, maxZ))
+        {
+            return colony.getBlockSnapshot().createReader();
+        }
+        return new ChunkCache(world, new BlockPos(minX, MIN_Y, minZ), new BlockPos(maxX, MAX_Y, maxZ), range);
+    }
+
+    private static boolean onLadderGoingUp(@NotNull final Node currentNode, final int dx, final int dy, final int dz)
+    {
+        return currentNode.isLadder() && (dy >= 0 || dx != 0 || dz != 0);
     }
 
     /**
@@ -281,9 +325,23 @@ public abstract class AbstractPathJob implements Callable<Path>
      */
     private static int computeNodeKey(@NotNull final BlockPos pos)
     {
-        return ((pos.getX() & 0xFFF) << SHIFT_X_BY)
-                 | ((pos.getY() & 0xFF) << SHIFT_Y_BY)
-                 | (pos.getZ() & 0xFFF);
+        return computeNodeKey(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Generate a pseudo-unique key for identifying a given node by it's coordinates.
+     *
+     * @param x x coordinate.
+     * @param y y coordinate.
+     * @param z z coordinate.
+     * @return key for node in map
+     * @see AbstractPathJob#computeNodeKey(BlockPos)
+     */
+    private static int computeNodeKey(final int x, final int y, final int z)
+    {
+        return ((x & 0xFFF) << SHIFT_X_BY)
+                 | ((y & 0xFF) << SHIFT_Y_BY)
+                 | (z & 0xFFF);
     }
 
     /**
@@ -316,17 +374,6 @@ public abstract class AbstractPathJob implements Callable<Path>
         return cost;
     }
 
-    private static boolean checkPreconditions(final Node node, final int newY)
-    {
-        if (nodeClosed(node))
-        {
-            //  Early out on previously visited and closed nodes
-            return true;
-        }
-
-        return newY < 0;
-    }
-
     private static boolean nodeClosed(@Nullable final Node node)
     {
         return node != null && node.isClosed();
@@ -342,6 +389,43 @@ public abstract class AbstractPathJob implements Callable<Path>
         return result;
     }
 
+    /**
+     * Getter for the priority the scheduler uses for this job.
+     *
+     * @return the priority.
+     */
+    @NotNull
+    public PathJobPriority getPriority()
+    {
+        return priority;
+    }
+
+    /**
+     * Setter for the priority the scheduler uses for this job.
+     * Has to be set before the job is enqueued.
+     *
+     * @param priority the priority to set.
+     */
+    public void setPriority(@NotNull final PathJobPriority priority)
+    {
+        this.priority = priority;
+    }
+
+    /**
+     * Checks if another job would compute the same path as this one.
+     * Used by the scheduler to merge duplicate requests.
+     *
+     * @param other the job to compare to.
+     * @return true if both jobs request the same search.
+     */
+    public boolean isSameRequest(@NotNull final AbstractPathJob other)
+    {
+        return other.getClass() == this.getClass()
+                 && other.maxRange == maxRange
+                 && other.start.equals(start)
+                 && other.end.equals(end);
+    }
+
     /**
      * Callable method for initiating asynchronous task.
      *
@@ -350,6 +434,9 @@ public abstract class AbstractPathJob implements Callable<Path>
     @Override
     public final Path call()
     {
+        context = searchContext.get();
+        nodesOpen = context.nodesOpen;
+        nodesVisited = context.nodesVisited;
         try
         {
             return search();
@@ -358,6 +445,13 @@ public abstract class AbstractPathJob implements Callable<Path>
         {
             Log.getLogger().debug(e);
         }
+        finally
+        {
+            context.reset();
+            context = null;
+            nodesOpen = null;
+            nodesVisited = null;
+        }
 
         return null;
     }
@@ -472,52 +566,56 @@ public abstract class AbstractPathJob implements Callable<Path>
 
     private void walkCurrentNode(@NotNull final Node currentNode)
     {
-        BlockPos dPos = BLOCKPOS_IDENTITY;
+        int dx = 0;
+        int dy = 0;
+        int dz = 0;
         if (currentNode.parent != null)
         {
-            dPos = currentNode.pos.subtract(currentNode.parent.pos);
+            dx = currentNode.pos.getX() - currentNode.parent.pos.getX();
+            dy = currentNode.pos.getY() - currentNode.parent.pos.getY();
+            dz = currentNode.pos.getZ() - currentNode.parent.pos.getZ();
         }
 
         //  On a ladder, we can go 1 straight-up
-        if (onLadderGoingUp(currentNode, dPos))
+        if (onLadderGoingUp(currentNode, dx, dy, dz))
         {
             walk(currentNode, BLOCKPOS_UP);
         }
 
         //  We can also go down 1, if the lower block is a ladder
-        if (onLadderGoingDown(currentNode, dPos))
+        if (onLadderGoingDown(currentNode, dx, dy, dz))
         {
             walk(currentNode, BLOCKPOS_DOWN);
         }
 
         // N
-        if (dPos.getZ() <= 0)
+        if (dz <= 0)
         {
             walk(currentNode, BLOCKPOS_NORTH);
         }
 
         // E
-        if (dPos.getX() >= 0)
+        if (dx >= 0)
         {
             walk(currentNode, BLOCKPOS_EAST);
         }
 
         // S
-        if (dPos.getZ() >= 0)
+        if (dz >= 0)
         {
             walk(currentNode, BLOCKPOS_SOUTH);
         }
 
         // W
-        if (dPos.getX() <= 0)
+        if (dx <= 0)
         {
             walk(currentNode, BLOCKPOS_WEST);
         }
     }
 
-    private boolean onLadderGoingDown(@NotNull final Node currentNode, @NotNull final BlockPos dPos)
+    private boolean onLadderGoingDown(@NotNull final Node currentNode, final int dx, final int dy, final int dz)
     {
-        return (dPos.getY() <= 0 || dPos.getX() != 0 || dPos.getZ() != 0) && isLadder(currentNode.pos.down());
+        return (dy <= 0 || dx != 0 || dz != 0) && isLadder(currentNode.pos.down());
     }
 
     private void handleDebugDraw()
@@ -536,8 +634,8 @@ public abstract class AbstractPathJob implements Callable<Path>
     @NotNull
     private Node getAndSetupStartNode()
     {
-        @NotNull final Node startNode = new Node(start,
-                                                  computeHeuristic(start));
+        final double heuristic = computeHeuristic(start);
+        @NotNull final Node startNode = obtainNode(null, start.getX(), start.getY(), start.getZ(), 0, heuristic, heuristic);
 
         if (isLadder(start))
         {
@@ -689,26 +787,35 @@ public abstract class AbstractPathJob implements Callable<Path>
      */
     protected final boolean walk(@NotNull final Node parent, @NotNull final BlockPos dPos)
     {
-        BlockPos pos = parent.pos.add(dPos);
+        final int x = parent.pos.getX() + dPos.getX();
+        final int z = parent.pos.getZ() + dPos.getZ();
+        int y = parent.pos.getY() + dPos.getY();
 
         //  Cheap test to perform before doing a 'y' test
         //  Has this node been visited?
-        int nodeKey = computeNodeKey(pos);
+        int nodeKey = computeNodeKey(x, y, z);
         Node node = nodesVisited.get(nodeKey);
+        if (nodeClosed(node))
+        {
+            //  Early out on previously visited and closed nodes
+            return false;
+        }
 
         //  Can we traverse into this node?  Fix the y up
+        @NotNull final BlockPos.MutableBlockPos pos = context.walkPos;
+        pos.setPos(x, y, z);
         final int newY = getGroundHeight(parent, pos);
-
-        if (checkPreconditions(node, newY))
+        if (newY < 0)
         {
             return false;
         }
 
-        if (pos.getY() != newY)
+        if (y != newY)
         {
             //  Has this node been visited?
-            pos = new BlockPos(pos.getX(), newY, pos.getZ());
-            nodeKey = computeNodeKey(pos);
+            y = newY;
+            pos.setPos(x, y, z);
+            nodeKey = computeNodeKey(x, y, z);
             node = nodesVisited.get(nodeKey);
             if (nodeClosed(node))
             {
@@ -717,7 +824,6 @@ public abstract class AbstractPathJob implements Callable<Path>
             }
         }
 
-
         final boolean isSwimming = calculateSwimming(world, pos, node);
         final boolean onRoad = BlockUtils.isPathBlock(world.getBlockState(pos).getBlock());
         //  Cost may have changed due to a jump up or drop
@@ -729,14 +835,16 @@ public abstract class AbstractPathJob implements Callable<Path>
         if (node == null)
         {
             node = createNode(parent, pos, nodeKey, isSwimming, heuristic, cost, score);
+            nodesOpen.offer(node);
         }
         else if (updateCurrentNode(parent, node, heuristic, cost, score))
         {
-
             return false;
         }
-
-        nodesOpen.offer(node);
+        else
+        {
+            nodesOpen.decreaseKey(node);
+        }
 
         //  Jump Point Search-ish optimization:
         // If this node was a (heuristic-based) improvement on our parent,
@@ -759,8 +867,7 @@ public abstract class AbstractPathJob implements Callable<Path>
                              final Node parent, @NotNull final BlockPos pos, final int nodeKey,
                              final boolean isSwimming, final double heuristic, final double cost, final double score)
     {
-        final Node node;
-        node = new Node(parent, pos, cost, heuristic, score);
+        final Node node = obtainNode(parent, pos.getX(), pos.getY(), pos.getZ(), cost, heuristic, score);
         nodesVisited.put(nodeKey, node);
         if (debugDrawEnabled)
         {
@@ -781,6 +888,28 @@ public abstract class AbstractPathJob implements Callable<Path>
         return node;
     }
 
+    /**
+     * Get a node for the search, recycled from the search context unless debug drawing keeps references to the nodes.
+     *
+     * @param parent    parent node arrives from.
+     * @param x         x coordinate of node.
+     * @param y         y coordinate of node.
+     * @param z         z coordinate of node.
+     * @param cost      node cost.
+     * @param heuristic heuristic estimate.
+     * @param score     node total score.
+     * @return the initialized node.
+     */
+    @NotNull
+    private Node obtainNode(@Nullable final Node parent, final int x, final int y, final int z, final double cost, final double heuristic, final double score)
+    {
+        if (debugDrawEnabled)
+        {
+            return new Node(parent, new BlockPos(x, y, z), cost, heuristic, score);
+        }
+        return context.obtainNode(parent, x, y, z, cost, heuristic, score);
+    }
+
     private boolean updateCurrentNode(@NotNull final Node parent, @NotNull final Node node, final double heuristic, final double cost, final double score)
     {
         //  This node already exists
@@ -789,7 +918,7 @@ public abstract class AbstractPathJob implements Callable<Path>
             return true;
         }
 
-        if (!nodesOpen.remove(node))
+        if (!nodesOpen.contains(node))
         {
             return true;
         }
@@ -1030,6 +1159,71 @@ public abstract class AbstractPathJob implements Callable<Path>
         this.allowSwimming = allowSwimming;
     }
 
+    /**
+     * Storage of a worker thread which is reused by every search it runs, so searches barely allocate.
+     */
+    private static final class SearchContext
+    {
+        /**
+         * Nodes kept in the pool after a search, the ones of larger searches are left to the garbage collector.
+         */
+        private static final int MAX_POOLED_NODES = 8192;
+
+        private final NodeHeap                 nodesOpen    = new NodeHeap();
+        private final NodeMap                  nodesVisited = new NodeMap();
+        private final ArrayList<Node>          nodePool     = new ArrayList<>();
+        private final BlockPos.MutableBlockPos walkPos      = new BlockPos.MutableBlockPos();
+        private       int                      nodesUsed    = 0;
+
+        /**
+         * Get a node of the pool, or a new one if all pooled nodes are used.
+         *
+         * @param parent    parent node arrives from.
+         * @param x         x coordinate of node.
+         * @param y         y coordinate of node.
+         * @param z         z coordinate of node.
+         * @param cost      node cost.
+         * @param heuristic heuristic estimate.
+         * @param score     node total score.
+         * @return the initialized node.
+         */
+        @NotNull
+        private Node obtainNode(@Nullable final Node parent, final int x, final int y, final int z, final double cost, final double heuristic, final double score)
+        {
+            if (nodesUsed < nodePool.size())
+            {
+                final Node node = nodePool.get(nodesUsed++);
+                node.init(parent, x, y, z, cost, heuristic, score);
+                return node;
+            }
+
+            final Node node = new Node(parent, new BlockPos(x, y, z), cost, heuristic, score);
+            nodePool.add(node);
+            nodesUsed++;
+            return node;
+        }
+
+        /**
+         * Clears the sets and releases all nodes for the next search.
+         */
+        private void reset()
+        {
+            nodesOpen.clear();
+            nodesVisited.clear();
+            for (int i = 0; i < nodesUsed; i++)
+            {
+                nodePool.get(i).parent = null;
+            }
+            nodesUsed = 0;
+
+            if (nodePool.size() > MAX_POOLED_NODES)
+            {
+                nodePool.subList(MAX_POOLED_NODES, nodePool.size()).clear();
+                nodePool.trimToSize();
+            }
+        }
+    }
+
     /**
      * Check if we can walk on a surface, drop into, or neither.
      */
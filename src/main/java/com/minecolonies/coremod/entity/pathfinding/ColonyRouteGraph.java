@@ -0,0 +1,708 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.util.BlockPosUtil;
+import com.minecolonies.coremod.util.ChunkPosUtil;
+import net.minecraft.block.BlockFence;
+import net.minecraft.block.BlockFenceGate;
+import net.minecraft.block.BlockWall;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Abstract graph of the walkable surface of a colony, used to plan routes which are too long for a single path job.
+ * Every 16x16 chunk column is a section. Connected walkable cells on the border of two sections form a portal,
+ * and the portals of a section are linked by their walking distance inside of the section.
+ * A route is a list of portals found on this graph, path jobs then only have to path from one portal to the next.
+ * Sections are built lazily from loaded chunks and updated when the surface inside of them changes.
+ * Only used on the server thread.
+ */
+public class ColonyRouteGraph
+{
+    /**
+     * Section layout, a section is a chunk column.
+     */
+    private static final int SECTION_SIZE  = ChunkPosUtil.CHUNK_SIZE;
+    private static final int SECTION_SHIFT = ChunkPosUtil.CHUNK_SHIFT;
+    private static final int SECTION_MASK  = ChunkPosUtil.CHUNK_MASK;
+    private static final int SECTION_AREA  = SECTION_SIZE * SECTION_SIZE;
+
+    /**
+     * Height of a cell nobody can stand on, also the cost of unreachable cells.
+     */
+    private static final int UNWALKABLE = -1;
+
+    /**
+     * Max height difference between two neighbouring cells a citizen can walk over.
+     */
+    private static final int MAX_STEP = 1;
+
+    /**
+     * Positions further away from the surface than this are not planned from the surface cell.
+     */
+    private static final int MAX_SURFACE_DISTANCE = 2;
+
+    /**
+     * Cost of stepping through a portal into the next section.
+     */
+    private static final int PORTAL_COST = 1;
+
+    /**
+     * Max sections built while planning one route, the rest is built by the following requests.
+     */
+    private static final int MAX_SECTIONS_BUILT_PER_ROUTE = 64;
+
+    /**
+     * Squared max distance between two points of a route, portals in between are skipped.
+     */
+    private static final int MAX_LEG_LENGTH_SQUARED = 24 * 24;
+
+    /**
+     * The colony the graph belongs to.
+     */
+    @NotNull
+    private final Colony colony;
+
+    /**
+     * The built sections by section key.
+     */
+    private final Map<Long, Section> sections = new HashMap<>();
+
+    /**
+     * Sections built during the current route request.
+     */
+    private int     sectionsBuilt   = 0;
+    private boolean budgetExhausted = false;
+
+    /**
+     * Creates the route graph of a colony.
+     *
+     * @param colony the colony.
+     */
+    public ColonyRouteGraph(@NotNull final Colony colony)
+    {
+        this.colony = colony;
+    }
+
+    private static int cellIndex(final int x, final int z)
+    {
+        return ((z & SECTION_MASK) << SECTION_SHIFT) | (x & SECTION_MASK);
+    }
+
+    private static boolean isConnected(final int height, final int otherHeight)
+    {
+        return height != UNWALKABLE && otherHeight != UNWALKABLE && Math.abs(height - otherHeight) <= MAX_STEP;
+    }
+
+    /**
+     * Computes the height a citizen stands at in a column, ignoring leaves.
+     *
+     * @param chunk the chunk of the column.
+     * @param x     world x of the column.
+     * @param z     world z of the column.
+     * @return the y of the standing position or UNWALKABLE.
+     */
+    private static int computeHeight(@NotNull final Chunk chunk, final int x, final int z)
+    {
+        @NotNull final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int y = chunk.getHeightValue(x & SECTION_MASK, z & SECTION_MASK); y > 0; y--)
+        {
+            pos.setPos(x, y - 1, z);
+            final IBlockState state = chunk.getBlockState(pos);
+            final Material material = state.getMaterial();
+            if (material.isLiquid())
+            {
+                return material == Material.LAVA ? UNWALKABLE : y;
+            }
+
+            if (material.blocksMovement() && material != Material.LEAVES)
+            {
+                if (state.getBlock() instanceof BlockFence || state.getBlock() instanceof BlockFenceGate || state.getBlock() instanceof BlockWall)
+                {
+                    return UNWALKABLE;
+                }
+                return y;
+            }
+        }
+        return UNWALKABLE;
+    }
+
+    /**
+     * Updates the surface of a section after a block changed.
+     *
+     * @param world the world of the colony.
+     * @param pos   the changed position.
+     */
+    public void onBlockChange(@NotNull final World world, @NotNull final BlockPos pos)
+    {
+        final int sectionX = pos.getX() >> SECTION_SHIFT;
+        final int sectionZ = pos.getZ() >> SECTION_SHIFT;
+        final Section section = sections.get(ChunkPosUtil.chunkKey(sectionX, sectionZ));
+        if (section == null)
+        {
+            return;
+        }
+
+        final Chunk chunk = world.getChunkProvider().getLoadedChunk(sectionX, sectionZ);
+        if (chunk == null)
+        {
+            sections.remove(ChunkPosUtil.chunkKey(sectionX, sectionZ));
+            return;
+        }
+
+        final int cell = cellIndex(pos.getX(), pos.getZ());
+        final int height = computeHeight(chunk, pos.getX(), pos.getZ());
+        if (height == section.heights[cell])
+        {
+            return;
+        }
+
+        section.heights[cell] = height;
+        section.resetPortals();
+
+        //  Portals on the border depend on the cells on both sides
+        final int localX = pos.getX() & SECTION_MASK;
+        final int localZ = pos.getZ() & SECTION_MASK;
+        if (localX == 0)
+        {
+            resetPortals(sectionX - 1, sectionZ);
+        }
+        else if (localX == SECTION_MASK)
+        {
+            resetPortals(sectionX + 1, sectionZ);
+        }
+
+        if (localZ == 0)
+        {
+            resetPortals(sectionX, sectionZ - 1);
+        }
+        else if (localZ == SECTION_MASK)
+        {
+            resetPortals(sectionX, sectionZ + 1);
+        }
+    }
+
+    private void resetPortals(final int sectionX, final int sectionZ)
+    {
+        final Section section = sections.get(ChunkPosUtil.chunkKey(sectionX, sectionZ));
+        if (section != null)
+        {
+            section.resetPortals();
+        }
+    }
+
+    /**
+     * Plans a route over the colony.
+     *
+     * @param world the world of the colony.
+     * @param from  the start position.
+     * @param to    the target position.
+     * @return the positions to walk through before the target, empty if the target can be pathed to directly,
+     * or null if the graph can't tell, for example outside of the colony or in unloaded chunks.
+     */
+    @Nullable
+    public List<BlockPos> findRoute(@NotNull final World world, @NotNull final BlockPos from, @NotNull final BlockPos to)
+    {
+        sectionsBuilt = 0;
+        budgetExhausted = false;
+
+        final Section startSection = getSection(world, from.getX() >> SECTION_SHIFT, from.getZ() >> SECTION_SHIFT);
+        final Section goalSection = getSection(world, to.getX() >> SECTION_SHIFT, to.getZ() >> SECTION_SHIFT);
+        if (startSection == null || goalSection == null)
+        {
+            return null;
+        }
+
+        if (startSection == goalSection)
+        {
+            return Collections.emptyList();
+        }
+
+        if (!ensurePortals(world, startSection) || !ensurePortals(world, goalSection))
+        {
+            return null;
+        }
+
+        @NotNull final int[] startCosts = startSection.costsFrom(from, startSection.portals);
+        @NotNull final int[] goalCosts = goalSection.costsFrom(to, goalSection.portals);
+
+        final PriorityQueue<RouteNode> open = new PriorityQueue<>();
+        final Map<Portal, Integer> bestCosts = new HashMap<>();
+        final Map<Portal, Portal> parents = new HashMap<>();
+
+        for (int i = 0; i < startSection.portals.size(); i++)
+        {
+            if (startCosts[i] != UNWALKABLE)
+            {
+                final Portal portal = startSection.portals.get(i);
+                bestCosts.put(portal, startCosts[i]);
+                open.add(new RouteNode(portal, startCosts[i], startCosts[i] + portal.estimateTo(to)));
+            }
+        }
+
+        int bestGoalCost = Integer.MAX_VALUE;
+        Portal bestGoalPortal = null;
+        while (!open.isEmpty())
+        {
+            final RouteNode node = open.poll();
+            if (node.estimate >= bestGoalCost)
+            {
+                break;
+            }
+
+            if (node.cost > bestCosts.get(node.portal))
+            {
+                //  A cheaper way to this portal has been found already
+                continue;
+            }
+
+            for (int side = 0; side < 2; side++)
+            {
+                final Section section = side == 0 ? getSection(world, node.portal.ax >> SECTION_SHIFT, node.portal.az >> SECTION_SHIFT)
+                                          : getSection(world, node.portal.bx >> SECTION_SHIFT, node.portal.bz >> SECTION_SHIFT);
+                if (section == null)
+                {
+                    if (budgetExhausted)
+                    {
+                        return null;
+                    }
+                    continue;
+                }
+
+                if (!ensurePortals(world, section))
+                {
+                    return null;
+                }
+
+                final Integer index = section.portalIndices.get(node.portal);
+                if (index == null)
+                {
+                    continue;
+                }
+
+                if (section == goalSection && goalCosts[index] != UNWALKABLE && node.cost + goalCosts[index] < bestGoalCost)
+                {
+                    bestGoalCost = node.cost + goalCosts[index];
+                    bestGoalPortal = node.portal;
+                }
+
+                for (int i = 0; i < section.portals.size(); i++)
+                {
+                    final int cost = section.costs[index][i];
+                    if (i == index || cost == UNWALKABLE)
+                    {
+                        continue;
+                    }
+
+                    final Portal next = section.portals.get(i);
+                    final int nextCost = node.cost + cost + PORTAL_COST;
+                    final Integer oldCost = bestCosts.get(next);
+                    if (oldCost == null || nextCost < oldCost)
+                    {
+                        bestCosts.put(next, nextCost);
+                        parents.put(next, node.portal);
+                        open.add(new RouteNode(next, nextCost, nextCost + next.estimateTo(to)));
+                    }
+                }
+            }
+        }
+
+        if (bestGoalPortal == null)
+        {
+            return null;
+        }
+
+        final List<Portal> portals = new ArrayList<>();
+        for (Portal portal = bestGoalPortal; portal != null; portal = parents.get(portal))
+        {
+            portals.add(portal);
+        }
+        Collections.reverse(portals);
+
+        return toWayPoints(portals, from, to);
+    }
+
+    /**
+     * Turns the portals of a route into way points, skipping portals as long as the legs stay short.
+     *
+     * @param portals the portals in walking order.
+     * @param from    the start position.
+     * @param to      the target position.
+     * @return the way points.
+     */
+    @NotNull
+    private static List<BlockPos> toWayPoints(@NotNull final List<Portal> portals, @NotNull final BlockPos from, @NotNull final BlockPos to)
+    {
+        final List<BlockPos> wayPoints = new ArrayList<>();
+        BlockPos last = from;
+        for (int i = 0; i < portals.size(); i++)
+        {
+            final BlockPos next = i + 1 < portals.size() ? portals.get(i + 1).getPosition() : to;
+            if (BlockPosUtil.getDistanceSquared2D(last, next) > MAX_LEG_LENGTH_SQUARED)
+            {
+                last = portals.get(i).getPosition();
+                wayPoints.add(last);
+            }
+        }
+        return wayPoints;
+    }
+
+    /**
+     * Get a section, building it if it is in the colony and loaded.
+     *
+     * @param world    the world.
+     * @param sectionX section x.
+     * @param sectionZ section z.
+     * @return the section or null.
+     */
+    @Nullable
+    private Section getSection(@NotNull final World world, final int sectionX, final int sectionZ)
+    {
+        final long key = ChunkPosUtil.chunkKey(sectionX, sectionZ);
+        Section section = sections.get(key);
+        if (section != null)
+        {
+            return section;
+        }
+
+        final int minX = sectionX << SECTION_SHIFT;
+        final int minZ = sectionZ << SECTION_SHIFT;
+        if (!colony.getBlockSnapshot().covers(minX + SECTION_SIZE / 2, minZ + SECTION_SIZE / 2))
+        {
+            return null;
+        }
+
+        if (sectionsBuilt >= MAX_SECTIONS_BUILT_PER_ROUTE)
+        {
+            budgetExhausted = true;
+            return null;
+        }
+
+        final Chunk chunk = world.getChunkProvider().getLoadedChunk(sectionX, sectionZ);
+        if (chunk == null)
+        {
+            return null;
+        }
+
+        sectionsBuilt++;
+        final int[] heights = new int[SECTION_AREA];
+        for (int z = 0; z < SECTION_SIZE; z++)
+        {
+            for (int x = 0; x < SECTION_SIZE; x++)
+            {
+                heights[cellIndex(x, z)] = computeHeight(chunk, minX + x, minZ + z);
+            }
+        }
+
+        section = new Section(sectionX, sectionZ, heights);
+        sections.put(key, section);
+        return section;
+    }
+
+    /**
+     * Makes sure the portals of a section and the costs between them are computed.
+     *
+     * @param world   the world.
+     * @param section the section.
+     * @return false if the build budget ran out.
+     */
+    private boolean ensurePortals(@NotNull final World world, @NotNull final Section section)
+    {
+        if (section.portals != null)
+        {
+            return true;
+        }
+
+        final Section west = getSection(world, section.sectionX - 1, section.sectionZ);
+        final Section east = getSection(world, section.sectionX + 1, section.sectionZ);
+        final Section north = getSection(world, section.sectionX, section.sectionZ - 1);
+        final Section south = getSection(world, section.sectionX, section.sectionZ + 1);
+        if (budgetExhausted)
+        {
+            //  Do not keep an incomplete set of portals
+            return false;
+        }
+
+        final List<Portal> portals = new ArrayList<>();
+        if (west != null)
+        {
+            addBorderPortals(west, section, false, portals);
+        }
+        if (east != null)
+        {
+            addBorderPortals(section, east, false, portals);
+        }
+        if (north != null)
+        {
+            addBorderPortals(north, section, true, portals);
+        }
+        if (south != null)
+        {
+            addBorderPortals(section, south, true, portals);
+        }
+
+        section.setPortals(portals);
+        return true;
+    }
+
+    /**
+     * Finds the portals on the border of two sections, one for each run of connected cells.
+     *
+     * @param first      the west or north section.
+     * @param second     the east or south section.
+     * @param northSouth true if the sections are north and south of each other.
+     * @param portals    the list to add the portals to.
+     */
+    private static void addBorderPortals(@NotNull final Section first, @NotNull final Section second, final boolean northSouth, @NotNull final List<Portal> portals)
+    {
+        int runStart = UNWALKABLE;
+        for (int i = 0; i <= SECTION_SIZE; i++)
+        {
+            final boolean open = i < SECTION_SIZE && isConnected(first.heights[borderCell(i, northSouth, true)], second.heights[borderCell(i, northSouth, false)]);
+            if (open && runStart == UNWALKABLE)
+            {
+                runStart = i;
+            }
+            else if (!open && runStart != UNWALKABLE)
+            {
+                final int middle = (runStart + i - 1) / 2;
+                final int firstCell = borderCell(middle, northSouth, true);
+                final int secondCell = borderCell(middle, northSouth, false);
+                portals.add(new Portal(
+                                        first.worldX(firstCell), first.heights[firstCell], first.worldZ(firstCell),
+                                        second.worldX(secondCell), second.worldZ(secondCell)));
+                runStart = UNWALKABLE;
+            }
+        }
+    }
+
+    private static int borderCell(final int i, final boolean northSouth, final boolean firstSection)
+    {
+        final int edge = firstSection ? SECTION_MASK : 0;
+        return northSouth ? cellIndex(i, edge) : cellIndex(edge, i);
+    }
+
+    /**
+     * The surface and portals of one chunk column.
+     */
+    private static final class Section
+    {
+        private final int   sectionX;
+        private final int   sectionZ;
+        private final int[] heights;
+        @Nullable
+        private List<Portal>         portals;
+        @Nullable
+        private Map<Portal, Integer> portalIndices;
+        @Nullable
+        private int[][]              costs;
+
+        private Section(final int sectionX, final int sectionZ, @NotNull final int[] heights)
+        {
+            this.sectionX = sectionX;
+            this.sectionZ = sectionZ;
+            this.heights = heights;
+        }
+
+        private int worldX(final int cell)
+        {
+            return (sectionX << SECTION_SHIFT) + (cell & SECTION_MASK);
+        }
+
+        private int worldZ(final int cell)
+        {
+            return (sectionZ << SECTION_SHIFT) + (cell >> SECTION_SHIFT);
+        }
+
+        private boolean contains(final int x, final int z)
+        {
+            return x >> SECTION_SHIFT == sectionX && z >> SECTION_SHIFT == sectionZ;
+        }
+
+        private int localCell(@NotNull final Portal portal)
+        {
+            return contains(portal.ax, portal.az) ? cellIndex(portal.ax, portal.az) : cellIndex(portal.bx, portal.bz);
+        }
+
+        private void resetPortals()
+        {
+            portals = null;
+            portalIndices = null;
+            costs = null;
+        }
+
+        private void setPortals(@NotNull final List<Portal> newPortals)
+        {
+            final Map<Portal, Integer> indices = new HashMap<>();
+            final int[][] newCosts = new int[newPortals.size()][];
+            for (int i = 0; i < newPortals.size(); i++)
+            {
+                indices.put(newPortals.get(i), i);
+                final int[] distances = walkingDistances(localCell(newPortals.get(i)));
+                newCosts[i] = new int[newPortals.size()];
+                for (int j = 0; j < newPortals.size(); j++)
+                {
+                    newCosts[i][j] = distances[localCell(newPortals.get(j))];
+                }
+            }
+
+            portals = newPortals;
+            portalIndices = indices;
+            costs = newCosts;
+        }
+
+        /**
+         * Costs from a position to the portals of this section.
+         * Positions which are not on the surface, like inside of buildings or underground, get the straight distance.
+         *
+         * @param pos           the position.
+         * @param targetPortals the portals.
+         * @return the cost per portal, UNWALKABLE if not reachable.
+         */
+        @NotNull
+        private int[] costsFrom(@NotNull final BlockPos pos, @NotNull final List<Portal> targetPortals)
+        {
+            final int cell = cellIndex(pos.getX(), pos.getZ());
+            final boolean onSurface = heights[cell] != UNWALKABLE && Math.abs(heights[cell] - pos.getY()) <= MAX_SURFACE_DISTANCE;
+            @Nullable final int[] distances = onSurface ? walkingDistances(cell) : null;
+
+            final int[] result = new int[targetPortals.size()];
+            for (int i = 0; i < targetPortals.size(); i++)
+            {
+                result[i] = distances == null ? targetPortals.get(i).estimateTo(pos) : distances[localCell(targetPortals.get(i))];
+            }
+            return result;
+        }
+
+        /**
+         * Breadth first search over the walkable cells of the section.
+         *
+         * @param startCell the cell to start at.
+         * @return the distance to each cell, UNWALKABLE if not reachable.
+         */
+        @NotNull
+        private int[] walkingDistances(final int startCell)
+        {
+            final int[] distances = new int[SECTION_AREA];
+            Arrays.fill(distances, UNWALKABLE);
+            if (heights[startCell] == UNWALKABLE)
+            {
+                return distances;
+            }
+
+            final int[] queue = new int[SECTION_AREA];
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = startCell;
+            distances[startCell] = 0;
+            while (head < tail)
+            {
+                final int cell = queue[head++];
+                final int x = cell & SECTION_MASK;
+                final int z = cell >> SECTION_SHIFT;
+                for (int direction = 0; direction < 4; direction++)
+                {
+                    final int nextX = x + (direction == 0 ? 1 : (direction == 1 ? -1 : 0));
+                    final int nextZ = z + (direction == 2 ? 1 : (direction == 3 ? -1 : 0));
+                    if (nextX < 0 || nextX >= SECTION_SIZE || nextZ < 0 || nextZ >= SECTION_SIZE)
+                    {
+                        continue;
+                    }
+
+                    final int next = cellIndex(nextX, nextZ);
+                    if (distances[next] == UNWALKABLE && isConnected(heights[cell], heights[next]))
+                    {
+                        distances[next] = distances[cell] + 1;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            return distances;
+        }
+    }
+
+    /**
+     * Crossing between two neighbouring cells of different sections.
+     */
+    private static final class Portal
+    {
+        private final int ax;
+        private final int ay;
+        private final int az;
+        private final int bx;
+        private final int bz;
+
+        private Portal(final int ax, final int ay, final int az, final int bx, final int bz)
+        {
+            this.ax = ax;
+            this.ay = ay;
+            this.az = az;
+            this.bx = bx;
+            this.bz = bz;
+        }
+
+        @NotNull
+        private BlockPos getPosition()
+        {
+            return new BlockPos(ax, ay, az);
+        }
+
+        private int estimateTo(@NotNull final BlockPos pos)
+        {
+            return Math.abs(ax - pos.getX()) + Math.abs(az - pos.getZ());
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+
+            final Portal portal = (Portal) o;
+            return ax == portal.ax && az == portal.az && bx == portal.bx && bz == portal.bz;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return ((ax * 31 + az) * 31 + bx) * 31 + bz;
+        }
+    }
+
+    /**
+     * Entry of the open list of the route search.
+     */
+    private static final class RouteNode implements Comparable<RouteNode>
+    {
+        @NotNull
+        private final Portal portal;
+        private final int    cost;
+        private final int    estimate;
+
+        private RouteNode(@NotNull final Portal portal, final int cost, final int estimate)
+        {
+            this.portal = portal;
+            this.cost = cost;
+            this.estimate = estimate;
+        }
+
+        @Override
+        public int compareTo(@NotNull final RouteNode other)
+        {
+            return Integer.compare(estimate, other.estimate);
+        }
+    }
+}
@@ -18,14 +18,15 @@ public class Node implements Comparable<Node>
 
     /**
      * The position of the node.
+     * Mutable, as nodes are reused between searches.
      */
     @NotNull
-    public final  BlockPos pos;
+    public final  BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
 
     /**
      * The hash of the node.
      */
-    private final int      hash;
+    private       int      hash;
 
     /**
      * The parent of the node (Node preceding this node).
@@ -81,6 +82,11 @@ public class Node implements Comparable<Node>
      */
     private boolean swimming = false;
 
+    /**
+     * Index of the node in the open set heap, -1 if not in the heap.
+     */
+    private int heapIndex = -1;
+
     /**
      * Create initial Node.
      *
@@ -102,14 +108,37 @@ public class Node implements Comparable<Node>
      * @param score     node total score.
      */
     public Node(@Nullable final Node parent, @NotNull final BlockPos pos, final double cost, final double heuristic, final double score)
+    {
+        init(parent, pos.getX(), pos.getY(), pos.getZ(), cost, heuristic, score);
+    }
+
+    /**
+     * (Re)initializes the node, resetting all flags and counters.
+     * Used to recycle nodes of a previous search.
+     *
+     * @param parent    parent node arrives from.
+     * @param x         x coordinate of node.
+     * @param y         y coordinate of node.
+     * @param z         z coordinate of node.
+     * @param cost      node cost.
+     * @param heuristic heuristic estimate.
+     * @param score     node total score.
+     */
+    final void init(@Nullable final Node parent, final int x, final int y, final int z, final double cost, final double heuristic, final double score)
     {
         this.parent = parent;
-        this.pos = pos;
+        this.pos.setPos(x, y, z);
         this.steps = parent == null ? 0 : (parent.steps + 1);
         this.cost = cost;
         this.heuristic = heuristic;
         this.score = score;
-        this.hash = pos.getX() ^ ((pos.getZ() << HASH_A) | (pos.getZ() >> HASH_B)) ^ (pos.getY() << HASH_C);
+        this.hash = x ^ ((z << HASH_A) | (z >> HASH_B)) ^ (y << HASH_C);
+        this.counterAdded = 0;
+        this.counterVisited = 0;
+        this.closed = false;
+        this.ladder = false;
+        this.swimming = false;
+        this.heapIndex = -1;
     }
 
     @Override
@@ -318,4 +347,22 @@ public class Node implements Comparable<Node>
     {
         return counterAdded;
     }
+
+    /**
+     * Getter of the index of the node in the open set heap.
+     * @return the index, or -1 if not in the heap.
+     */
+    int getHeapIndex()
+    {
+        return heapIndex;
+    }
+
+    /**
+     * Sets the index of the node in the open set heap.
+     * @param heapIndex the index, or -1 if removed from the heap.
+     */
+    void setHeapIndex(final int heapIndex)
+    {
+        this.heapIndex = heapIndex;
+    }
 }
@@ -0,0 +1,192 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap of nodes, used as the open set of the A* search.
+ * Every node knows its own index in the heap, this allows decrease-key and membership tests in O(log n) and O(1).
+ */
+public class NodeHeap
+{
+    /**
+     * Initial capacity of the heap.
+     */
+    private static final int INITIAL_CAPACITY = 512;
+
+    /**
+     * A heap grown above this capacity by a large search is dropped when cleared, so a worker thread does not keep it.
+     */
+    private static final int TRIM_CAPACITY = INITIAL_CAPACITY * 16;
+
+    /**
+     * The nodes in heap order.
+     */
+    @NotNull
+    private Node[] heap = new Node[INITIAL_CAPACITY];
+
+    /**
+     * The amount of nodes in the heap.
+     */
+    private int size = 0;
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return true if so.
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Getter for the amount of nodes in the heap.
+     *
+     * @return the size.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Checks if a node is currently in the heap.
+     *
+     * @param node the node to check.
+     * @return true if so.
+     */
+    public boolean contains(@NotNull final Node node)
+    {
+        final int index = node.getHeapIndex();
+        return index >= 0 && index < size && heap[index] == node;
+    }
+
+    /**
+     * Adds a node to the heap.
+     *
+     * @param node the node to add.
+     */
+    public void offer(@NotNull final Node node)
+    {
+        if (size == heap.length)
+        {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        heap[size] = node;
+        node.setHeapIndex(size);
+        siftUp(size);
+        size++;
+    }
+
+    /**
+     * Removes and returns the node with the lowest score.
+     *
+     * @return the node or null if the heap is empty.
+     */
+    @Nullable
+    public Node poll()
+    {
+        if (size == 0)
+        {
+            return null;
+        }
+
+        final Node first = heap[0];
+        size--;
+        final Node last = heap[size];
+        heap[size] = null;
+        if (size > 0)
+        {
+            heap[0] = last;
+            last.setHeapIndex(0);
+            siftDown(0);
+        }
+
+        first.setHeapIndex(-1);
+        return first;
+    }
+
+    /**
+     * Restores the heap order after the score of a node in the heap decreased.
+     *
+     * @param node the node which has been updated.
+     */
+    public void decreaseKey(@NotNull final Node node)
+    {
+        siftUp(node.getHeapIndex());
+    }
+
+    /**
+     * Removes all nodes from the heap, dropping the array if it grew above {@link #TRIM_CAPACITY}.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            heap[i].setHeapIndex(-1);
+            heap[i] = null;
+        }
+        size = 0;
+
+        if (heap.length > TRIM_CAPACITY)
+        {
+            heap = new Node[INITIAL_CAPACITY];
+        }
+    }
+
+    private void siftUp(final int startIndex)
+    {
+        int index = startIndex;
+        final Node node = heap[index];
+        while (index > 0)
+        {
+            final int parentIndex = (index - 1) >>> 1;
+            final Node parent = heap[parentIndex];
+            if (node.compareTo(parent) >= 0)
+            {
+                break;
+            }
+
+            heap[index] = parent;
+            parent.setHeapIndex(index);
+            index = parentIndex;
+        }
+
+        heap[index] = node;
+        node.setHeapIndex(index);
+    }
+
+    private void siftDown(final int startIndex)
+    {
+        int index = startIndex;
+        final Node node = heap[index];
+        final int half = size >>> 1;
+        while (index < half)
+        {
+            int childIndex = (index << 1) + 1;
+            Node child = heap[childIndex];
+            final int rightIndex = childIndex + 1;
+            if (rightIndex < size && heap[rightIndex].compareTo(child) < 0)
+            {
+                childIndex = rightIndex;
+                child = heap[childIndex];
+            }
+
+            if (node.compareTo(child) <= 0)
+            {
+                break;
+            }
+
+            heap[index] = child;
+            child.setHeapIndex(index);
+            index = childIndex;
+        }
+
+        heap[index] = node;
+        node.setHeapIndex(index);
+    }
+}
@@ -0,0 +1,169 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressed hash table from node keys to nodes, used as the visited set of the A* search.
+ * Keys are the primitive ints of the node key, so no boxing happens on lookups.
+ */
+public class NodeMap
+{
+    /**
+     * Initial capacity of the table, has to be a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * A table grown above this capacity by a large search is dropped when cleared, so a worker thread does not keep it.
+     */
+    private static final int TRIM_CAPACITY = INITIAL_CAPACITY * 16;
+
+    /**
+     * Multiplier used to spread the keys over the table.
+     */
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    /**
+     * Shift used to fold the high bits of the hash.
+     */
+    private static final int HASH_SHIFT = 16;
+
+    /**
+     * The keys of the table.
+     */
+    @NotNull
+    private int[]  keys   = new int[INITIAL_CAPACITY];
+
+    /**
+     * The nodes of the table, null marks an empty slot.
+     */
+    @NotNull
+    private Node[] values = new Node[INITIAL_CAPACITY];
+
+    /**
+     * The amount of nodes in the table.
+     */
+    private int size = 0;
+
+    /**
+     * Get the node for a key.
+     *
+     * @param key the node key.
+     * @return the node or null if there is none.
+     */
+    @Nullable
+    public Node get(final int key)
+    {
+        final int mask = values.length - 1;
+        int index = hash(key) & mask;
+        while (values[index] != null)
+        {
+            if (keys[index] == key)
+            {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Store a node for a key, replacing any previous node.
+     *
+     * @param key  the node key.
+     * @param node the node.
+     */
+    public void put(final int key, @NotNull final Node node)
+    {
+        //  Keep the load factor at or below one half
+        if ((size + 1) * 2 > values.length)
+        {
+            resize(values.length * 2);
+        }
+
+        if (insert(keys, values, key, node))
+        {
+            size++;
+        }
+    }
+
+    /**
+     * Getter for the amount of nodes in the table.
+     *
+     * @return the size.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Removes all nodes, keeping the allocated table for the next search unless it grew above {@link #TRIM_CAPACITY}.
+     */
+    public void clear()
+    {
+        if (values.length > TRIM_CAPACITY)
+        {
+            keys = new int[INITIAL_CAPACITY];
+            values = new Node[INITIAL_CAPACITY];
+            size = 0;
+        }
+        else if (size > 0)
+        {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    private void resize(final int capacity)
+    {
+        final int[] newKeys = new int[capacity];
+        final Node[] newValues = new Node[capacity];
+        for (int i = 0; i < values.length; i++)
+        {
+            if (values[i] != null)
+            {
+                insert(newKeys, newValues, keys[i], values[i]);
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+
+    /**
+     * Insert a key into the given table arrays.
+     *
+     * @param tableKeys   the key array.
+     * @param tableValues the node array.
+     * @param key         the node key.
+     * @param node        the node.
+     * @return true if the key was not present yet.
+     */
+    private static boolean insert(@NotNull final int[] tableKeys, @NotNull final Node[] tableValues, final int key, @NotNull final Node node)
+    {
+        final int mask = tableValues.length - 1;
+        int index = hash(key) & mask;
+        while (tableValues[index] != null)
+        {
+            if (tableKeys[index] == key)
+            {
+                tableValues[index] = node;
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+
+        tableKeys[index] = key;
+        tableValues[index] = node;
+        return true;
+    }
+
+    private static int hash(final int key)
+    {
+        final int h = key * HASH_MULTIPLIER;
+        return h ^ (h >>> HASH_SHIFT);
+    }
+}
@@ -0,0 +1,345 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.util.ChunkPosUtil;
+import net.minecraft.pathfinding.Path;
+import net.minecraft.pathfinding.PathPoint;
+import net.minecraft.util.math.BlockPos;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Least recently used cache of the paths walked inside of a colony.
+ * Citizens walk the same routes between huts, fields and the warehouse all day, a cached path is reused when start and goal
+ * are within one block of a stored one.
+ * Entries are dropped when a block changes in one of the chunks their path passes through.
+ * Only used on the server thread.
+ */
+public class PathCache
+{
+    /**
+     * Start and goal of a request may be this many blocks away from the stored ones.
+     */
+    private static final int TOLERANCE = 1;
+
+    /**
+     * Positions are grouped in cells of two blocks, the entries within the tolerance are in the cells of the neighbouring positions.
+     */
+    private static final int CELL_SHIFT = 1;
+
+    /**
+     * The colony the cache belongs to.
+     */
+    @NotNull
+    private final Colony colony;
+
+    /**
+     * The entries in access order, the eldest entry is evicted first.
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75F, true);
+
+    /**
+     * The entries of which the path passes through a chunk.
+     */
+    private final Map<Long, Set<Key>> entriesByChunk = new HashMap<>();
+
+    /**
+     * Statistics.
+     */
+    private long hits          = 0;
+    private long misses        = 0;
+    private long invalidations = 0;
+
+    /**
+     * Creates the path cache of a colony.
+     *
+     * @param colony the colony.
+     */
+    public PathCache(@NotNull final Colony colony)
+    {
+        this.colony = colony;
+    }
+
+    private static boolean isWithinTolerance(@NotNull final BlockPos a, @NotNull final BlockPos b)
+    {
+        return Math.abs(a.getX() - b.getX()) <= TOLERANCE
+                 && Math.abs(a.getY() - b.getY()) <= TOLERANCE
+                 && Math.abs(a.getZ() - b.getZ()) <= TOLERANCE;
+    }
+
+    /**
+     * Looks up a path.
+     *
+     * @param start the start of the request.
+     * @param goal  the goal of the request.
+     * @return a new path which can be followed, or null if none is cached.
+     */
+    @Nullable
+    public Path get(@NotNull final BlockPos start, @NotNull final BlockPos goal)
+    {
+        final Entry entry = find(start, goal);
+        if (entry == null)
+        {
+            misses++;
+            return null;
+        }
+
+        hits++;
+        //  Paths keep the index of the entity following them, so every caller gets its own
+        return new Path(entry.points.clone());
+    }
+
+    /**
+     * Finds an entry of which start and goal are within the tolerance of the request.
+     * A position near the edge of its cell may match entries in the neighbouring cell, so the cells of all positions within the tolerance are checked.
+     *
+     * @param start the start of the request.
+     * @param goal  the goal of the request.
+     * @return the entry or null if there is none.
+     */
+    @Nullable
+    private Entry find(@NotNull final BlockPos start, @NotNull final BlockPos goal)
+    {
+        final Set<Long> goalCells = cellsAround(goal);
+        for (final long startCell : cellsAround(start))
+        {
+            for (final long goalCell : goalCells)
+            {
+                final Entry entry = entries.get(new Key(startCell, goalCell));
+                if (entry != null && isWithinTolerance(entry.start, start) && isWithinTolerance(entry.goal, goal))
+                {
+                    return entry;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Collects the cells of the positions within the tolerance of a position, the own cell first.
+     *
+     * @param pos the position.
+     * @return the cells, at most two per axis.
+     */
+    @NotNull
+    private static Set<Long> cellsAround(@NotNull final BlockPos pos)
+    {
+        final Set<Long> cells = new LinkedHashSet<>();
+        cells.add(cellOf(pos.getX(), pos.getY(), pos.getZ()));
+        for (int x = -TOLERANCE; x <= TOLERANCE; x += TOLERANCE)
+        {
+            for (int y = -TOLERANCE; y <= TOLERANCE; y += TOLERANCE)
+            {
+                for (int z = -TOLERANCE; z <= TOLERANCE; z += TOLERANCE)
+                {
+                    cells.add(cellOf(pos.getX() + x, pos.getY() + y, pos.getZ() + z));
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static long cellOf(final int x, final int y, final int z)
+    {
+        return new BlockPos(x >> CELL_SHIFT, y >> CELL_SHIFT, z >> CELL_SHIFT).toLong();
+    }
+
+    /**
+     * Stores a path which reached its goal.
+     * Paths leaving the area the colony gets block changes for are not stored, as they could not be invalidated.
+     *
+     * @param start the start of the request.
+     * @param goal  the goal of the request.
+     * @param path  the computed path.
+     */
+    public void put(@NotNull final BlockPos start, @NotNull final BlockPos goal, @NotNull final Path path)
+    {
+        final int capacity = Configurations.pathfindingCacheSize;
+        final int length = path.getCurrentPathLength();
+        if (capacity <= 0 || length == 0)
+        {
+            return;
+        }
+
+        @NotNull final PathPoint[] points = new PathPoint[length];
+        @NotNull final Set<Long> chunks = new HashSet<>();
+        for (int i = 0; i < length; i++)
+        {
+            final PathPoint point = path.getPathPointFromIndex(i);
+            if (!colony.getBlockSnapshot().covers(point.xCoord, point.zCoord))
+            {
+                return;
+            }
+            points[i] = point;
+            chunks.add(ChunkPosUtil.chunkKey(point.xCoord >> ChunkPosUtil.CHUNK_SHIFT, point.zCoord >> ChunkPosUtil.CHUNK_SHIFT));
+        }
+
+        @NotNull final Key key = new Key(cellOf(start.getX(), start.getY(), start.getZ()), cellOf(goal.getX(), goal.getY(), goal.getZ()));
+        remove(key);
+
+        entries.put(key, new Entry(start.toImmutable(), goal.toImmutable(), points, chunks));
+        for (@NotNull final Long chunk : chunks)
+        {
+            entriesByChunk.computeIfAbsent(chunk, k -> new HashSet<>()).add(key);
+        }
+
+        while (entries.size() > capacity)
+        {
+            remove(entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Drops all paths passing through the chunk of a changed block.
+     *
+     * @param pos the changed position.
+     */
+    public void onBlockChange(@NotNull final BlockPos pos)
+    {
+        final Set<Key> keys = entriesByChunk.remove(ChunkPosUtil.chunkKeyOf(pos));
+        if (keys == null)
+        {
+            return;
+        }
+
+        for (@NotNull final Key key : keys)
+        {
+            if (remove(key))
+            {
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Removes an entry and its chunk references.
+     *
+     * @param key the key of the entry.
+     * @return true if there was an entry.
+     */
+    private boolean remove(@NotNull final Key key)
+    {
+        final Entry entry = entries.remove(key);
+        if (entry == null)
+        {
+            return false;
+        }
+
+        for (@NotNull final Long chunk : entry.chunks)
+        {
+            final Set<Key> keys = entriesByChunk.get(chunk);
+            if (keys != null)
+            {
+                keys.remove(key);
+                if (keys.isEmpty())
+                {
+                    entriesByChunk.remove(chunk);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Getter for the amount of cached paths.
+     *
+     * @return the size.
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Getter for the amount of requests served from the cache.
+     *
+     * @return the hits.
+     */
+    public long getHits()
+    {
+        return hits;
+    }
+
+    /**
+     * Getter for the amount of requests which had to be computed.
+     *
+     * @return the misses.
+     */
+    public long getMisses()
+    {
+        return misses;
+    }
+
+    /**
+     * Getter for the amount of paths dropped because of block changes.
+     *
+     * @return the invalidations.
+     */
+    public long getInvalidations()
+    {
+        return invalidations;
+    }
+
+    /**
+     * Start and goal cell of an entry.
+     */
+    private static final class Key
+    {
+        private final long startCell;
+        private final long goalCell;
+
+        private Key(final long startCell, final long goalCell)
+        {
+            this.startCell = startCell;
+            this.goalCell = goalCell;
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+
+            final Key key = (Key) o;
+            return startCell == key.startCell && goalCell == key.goalCell;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Long.hashCode(startCell) * 31 + Long.hashCode(goalCell);
+        }
+    }
+
+    /**
+     * A cached path.
+     */
+    private static final class Entry
+    {
+        @NotNull
+        private final BlockPos    start;
+        @NotNull
+        private final BlockPos    goal;
+        @NotNull
+        private final PathPoint[] points;
+        @NotNull
+        private final Set<Long>   chunks;
+
+        private Entry(@NotNull final BlockPos start, @NotNull final BlockPos goal, @NotNull final PathPoint[] points, @NotNull final Set<Long> chunks)
+        {
+            this.start = start;
+            this.goal = goal;
+            this.points = points;
+            this.chunks = chunks;
+        }
+    }
+}
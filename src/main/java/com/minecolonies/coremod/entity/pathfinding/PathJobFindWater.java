@@ -66,6 +66,20 @@ public class PathJobFindWater extends AbstractPathJob
         return (WaterPathResult) super.getResult();
     }
 
+    /**
+     * Searches for water only match if they also look away from the same ponds and around the same hut.
+     *
+     * @param other the job to compare to.
+     * @return true if both jobs request the same search.
+     */
+    @Override
+    public boolean isSameRequest(@NotNull final AbstractPathJob other)
+    {
+        return super.isSameRequest(other)
+                 && ((PathJobFindWater) other).hutLocation.equals(hutLocation)
+                 && ((PathJobFindWater) other).ponds.equals(ponds);
+    }
+
     @Override
     protected double computeHeuristic(@NotNull final BlockPos pos)
     {
@@ -0,0 +1,25 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+/**
+ * Priorities of the jobs handled by the path finding scheduler.
+ * Jobs with a lower ordinal are handed to a worker thread first.
+ */
+public enum PathJobPriority
+{
+    /**
+     * Citizens which are stuck or have to flee from something.
+     */
+    URGENT,
+    /**
+     * Citizens which have to react quickly, like guards.
+     */
+    HIGH,
+    /**
+     * Regular movement of citizens.
+     */
+    NORMAL,
+    /**
+     * Wide area searches like looking for trees or water.
+     */
+    LOW
+}
@@ -1,5 +1,6 @@
 package com.minecolonies.coremod.entity.pathfinding;
 
+import com.minecolonies.coremod.colony.jobs.JobGuard;
 import com.minecolonies.coremod.entity.EntityCitizen;
 import com.minecolonies.coremod.util.BlockPosUtil;
 import com.minecolonies.coremod.util.BlockUtils;
@@ -37,6 +38,11 @@ public class PathNavigate extends PathNavigateGround
     private       Future<Path> future;
     @Nullable
     private       PathResult   pathResult;
+    //  Request of the running move job, stored in the path cache of the colony once computed
+    @Nullable
+    private       BlockPos     cacheStart;
+    @Nullable
+    private       BlockPos     cacheGoal;
 
     /**
      * Instantiates the navigation of an entity.
@@ -161,9 +167,63 @@ public class PathNavigate extends PathNavigateGround
         @NotNull final BlockPos start = AbstractPathJob.prepareStart(entity);
         @NotNull final BlockPos dest = new BlockPos(newX, newY, newZ);
 
-        return setPathJob(
+        @Nullable final PathCache pathCache = getPathCache();
+        if (pathCache != null)
+        {
+            @Nullable final Path cachedPath = pathCache.get(start, dest);
+            if (cachedPath != null)
+            {
+                return setCachedPath(cachedPath, dest, speed);
+            }
+        }
+
+        final PathResult result = setPathJob(
           new PathJobMoveToLocation(entity.worldObj, start, dest, (int) getPathSearchRange()),
           dest, speed);
+        cacheStart = start;
+        cacheGoal = dest;
+        return result;
+    }
+
+    /**
+     * Get the path cache of the colony of a citizen.
+     *
+     * @return the cache or null if the entity has none.
+     */
+    @Nullable
+    private PathCache getPathCache()
+    {
+        if (entity instanceof EntityCitizen && ((EntityCitizen) entity).getColony() != null)
+        {
+            return ((EntityCitizen) entity).getColony().getPathCache();
+        }
+        return null;
+    }
+
+    /**
+     * Follow a path taken from the path cache, without scheduling a job.
+     *
+     * @param path  the path.
+     * @param dest  the destination.
+     * @param speed the speed to walk.
+     * @return the PathResult.
+     */
+    @NotNull
+    private PathResult setCachedPath(@NotNull final Path path, @NotNull final BlockPos dest, final double speed)
+    {
+        clearPathEntity();
+
+        @NotNull final PathResult result = new PathResult();
+        setPath(path, speed);
+
+        this.destination = dest;
+        this.walkSpeed = speed;
+
+        result.setPathReachesDestination(true);
+        result.setPathLength(path.getCurrentPathLength());
+        result.setStatus(PathResult.Status.IN_PROGRESS_FOLLOWING);
+        pathResult = result;
+        return result;
     }
 
     public boolean isUnableToReachDestination()
@@ -174,16 +234,47 @@ public class PathNavigate extends PathNavigateGround
     @Nullable
     private PathResult setPathJob(@NotNull final AbstractPathJob job, final BlockPos dest, final double speed)
     {
+        return setPathJob(job, dest, speed, getDefaultPriority());
+    }
+
+    @Nullable
+    private PathResult setPathJob(@NotNull final AbstractPathJob job, final BlockPos dest, final double speed, @NotNull final PathJobPriority priority)
+    {
+        job.setPriority(priority);
+
+        //  The scheduler drops our pending job if it is superseded, or hands it back if it is the same request
+        final Future<Path> scheduled = Pathfinding.enqueue(this, job);
+        if (scheduled == future)
+        {
+            this.walkSpeed = speed;
+            return pathResult;
+        }
+
         clearPathEntity();
 
         this.destination = dest;
         this.walkSpeed = speed;
 
-        future = Pathfinding.enqueue(job);
+        future = scheduled;
         pathResult = job.getResult();
         return pathResult;
     }
 
+    /**
+     * Priority of the path jobs of this entity, guards are served before regular citizens.
+     *
+     * @return the priority.
+     */
+    @NotNull
+    private PathJobPriority getDefaultPriority()
+    {
+        if (entity instanceof EntityCitizen && ((EntityCitizen) entity).getColonyJob() instanceof JobGuard)
+        {
+            return PathJobPriority.HIGH;
+        }
+        return PathJobPriority.NORMAL;
+    }
+
     @Override
     public boolean setPath(@NotNull Path path, final double speed)
     {
@@ -232,6 +323,12 @@ public class PathNavigate extends PathNavigateGround
                 pathResult.setPathLength(getPath().getCurrentPathLength());
                 pathResult.setStatus(PathResult.Status.IN_PROGRESS_FOLLOWING);
 
+                @Nullable final PathCache pathCache = getPathCache();
+                if (pathCache != null && cacheGoal != null && pathResult.getPathReachesDestination())
+                {
+                    pathCache.put(cacheStart, cacheGoal, getPath());
+                }
+
                 final PathPoint p = getPath().getFinalPathPoint();
                 if (p != null && destination == null)
                 {
@@ -393,6 +490,8 @@ public class PathNavigate extends PathNavigateGround
         }
 
         destination = null;
+        cacheStart = null;
+        cacheGoal = null;
         super.clearPathEntity();
     }
 
@@ -407,7 +506,7 @@ public class PathNavigate extends PathNavigateGround
     {
         @NotNull final BlockPos start = AbstractPathJob.prepareStart(entity);
         return (PathJobFindTree.TreePathResult) setPathJob(
-          new PathJobFindTree(entity.worldObj, start, ((EntityCitizen) entity).getWorkBuilding().getLocation(), range), null, speed);
+          new PathJobFindTree(entity.worldObj, start, ((EntityCitizen) entity).getWorkBuilding().getLocation(), range), null, speed, PathJobPriority.LOW);
     }
 
     /**
@@ -423,7 +522,7 @@ public class PathNavigate extends PathNavigateGround
     {
         @NotNull final BlockPos start = AbstractPathJob.prepareStart(entity);
         return (PathJobFindWater.WaterPathResult) setPathJob(
-          new PathJobFindWater(entity.worldObj, start, ((EntityCitizen) entity).getWorkBuilding().getLocation(), range, ponds), null, speed);
+          new PathJobFindWater(entity.worldObj, start, ((EntityCitizen) entity).getWorkBuilding().getLocation(), range, ponds), null, speed, PathJobPriority.LOW);
     }
 
     /**
@@ -455,6 +554,7 @@ public class PathNavigate extends PathNavigateGround
 
     /**
      * Used to path away from a position.
+     * These jobs are scheduled with urgent priority, as they are used to get unstuck or flee.
      *
      * @param avoid the position to avoid.
      * @param range the range he should move out of.
@@ -468,6 +568,6 @@ public class PathNavigate extends PathNavigateGround
 
         return setPathJob(
           new PathJobMoveAwayFromLocation(entity.worldObj, start, avoid, (int) range, (int) getPathSearchRange()),
-          null, speed);
+          null, speed, PathJobPriority.URGENT);
     }
 }
@@ -14,23 +14,62 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.lwjgl.opengl.GL11;
 
 import java.util.ConcurrentModificationException;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Static class the handles all the Pathfinding.
+ * Jobs are scheduled by priority on a pool of worker threads,
+ * a job requested again by the same owner replaces or merges with its pending job.
  */
 public final class Pathfinding
 {
-    private static final BlockingQueue<Runnable> jobQueue = new LinkedBlockingDeque<>();
+    private static final BlockingQueue<Runnable> jobQueue = new PriorityBlockingQueue<>();
     private static final ResourceLocation        TEXTURE  = new ResourceLocation("textures/gui/widgets.png");
     private static final ThreadPoolExecutor executor;
+
+    /**
+     * Time in seconds idle workers are kept alive.
+     */
+    private static final int KEEP_ALIVE_SECONDS = 10;
+
+    /**
+     * Jobs which are not started yet, by the owner which requested them.
+     */
+    private static final Map<Object, PathJobTask> pendingJobs = new ConcurrentHashMap<>();
+
+    /**
+     * Sequence used to keep jobs of the same priority in fifo order.
+     */
+    private static final AtomicLong jobSequence = new AtomicLong();
+
+    /**
+     * Statistics of the scheduler.
+     */
+    private static final AtomicLong startedJobs    = new AtomicLong();
+    private static final AtomicLong totalWaitNanos = new AtomicLong();
+    private static final AtomicLong maxWaitNanos   = new AtomicLong();
+    private static final AtomicLong mergedJobs     = new AtomicLong();
+    private static final AtomicLong supersededJobs = new AtomicLong();
+
     static
     {
-        executor = new ThreadPoolExecutor(1, Configurations.pathfindingMaxThreadCount, 10, TimeUnit.SECONDS, jobQueue);
+        final int threadCount = Math.max(1, Configurations.pathfindingMaxThreadCount);
+        final AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threadCount, threadCount, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, jobQueue, runnable ->
+        {
+            final Thread thread = new Thread(runnable, "Minecolonies Pathfinding Worker #" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
     }
     private Pathfinding()
     {
@@ -45,7 +84,128 @@ public final class Pathfinding
      */
     public static Future<Path> enqueue(@NotNull final AbstractPathJob job)
     {
-        return executor.submit(job);
+        return enqueue(null, job);
+    }
+
+    /**
+     * Add a job to the queue for processing on behalf of an owner.
+     * If the owner still has a pending job for the same request, that job is returned instead.
+     * Any other pending job of the owner is superseded and removed from the queue.
+     *
+     * @param owner the requester of the job, usually a {@link PathNavigate}, or null.
+     * @param job   PathJob
+     * @return a Future containing the Path
+     */
+    public static synchronized Future<Path> enqueue(@Nullable final Object owner, @NotNull final AbstractPathJob job)
+    {
+        if (owner != null)
+        {
+            final PathJobTask pending = pendingJobs.get(owner);
+            if (pending != null && !pending.isDone())
+            {
+                if (pending.job.isSameRequest(job))
+                {
+                    mergedJobs.incrementAndGet();
+                    return pending;
+                }
+
+                pending.cancel(true);
+                executor.remove(pending);
+                supersededJobs.incrementAndGet();
+            }
+        }
+
+        @NotNull final PathJobTask task = new PathJobTask(owner, job);
+        if (owner != null)
+        {
+            pendingJobs.put(owner, task);
+        }
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Get the amount of jobs waiting for a worker.
+     *
+     * @return the queue depth.
+     */
+    public static int getQueueDepth()
+    {
+        return jobQueue.size();
+    }
+
+    /**
+     * Get the average time jobs waited in the queue before a worker picked them up.
+     *
+     * @return the wait time in milliseconds.
+     */
+    public static double getAverageWaitMillis()
+    {
+        final long started = startedJobs.get();
+        return started == 0 ? 0 : (TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get()) / (double) started / 1000D);
+    }
+
+    /**
+     * Get the longest time a job waited in the queue before a worker picked it up.
+     *
+     * @return the wait time in milliseconds.
+     */
+    public static long getMaxWaitMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    /**
+     * Get the amount of jobs which have been started by a worker.
+     *
+     * @return the amount.
+     */
+    public static long getStartedJobs()
+    {
+        return startedJobs.get();
+    }
+
+    /**
+     * Get the amount of requests which have been merged into an identical pending job.
+     *
+     * @return the amount.
+     */
+    public static long getMergedJobs()
+    {
+        return mergedJobs.get();
+    }
+
+    /**
+     * Get the amount of pending jobs which have been dropped because their owner requested a new path.
+     *
+     * @return the amount.
+     */
+    public static long getSupersededJobs()
+    {
+        return supersededJobs.get();
+    }
+
+    /**
+     * Records the time a job waited in the queue.
+     *
+     * @param waitNanos the wait time in nanoseconds.
+     */
+    private static void recordWait(final long waitNanos)
+    {
+        startedJobs.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+
+        long max = maxWaitNanos.get();
+        while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos))
+        {
+            max = maxWaitNanos.get();
+        }
+
+        if (Configurations.pathfindingDebugVerbosity > AbstractPathJob.DEBUG_VERBOSITY_NONE)
+        {
+            Log.getLogger().info(String.format("Pathfinding job waited %d ms, %d jobs queued",
+              TimeUnit.NANOSECONDS.toMillis(waitNanos), getQueueDepth()));
+        }
     }
 
     /**
@@ -240,4 +400,62 @@ public final class Pathfinding
         GL11.glPopMatrix();
         GL11.glPopAttrib();
     }
+
+    /**
+     * Task wrapping a path job, ordered by the priority of the job and then by the order of submission.
+     */
+    private static final class PathJobTask extends FutureTask<Path> implements Comparable<PathJobTask>
+    {
+        @Nullable
+        private final Object          owner;
+        @NotNull
+        private final AbstractPathJob job;
+        private final long            sequence;
+        private final long            enqueueTime;
+
+        /**
+         * Creates the task for a job.
+         *
+         * @param owner the requester of the job, or null.
+         * @param job   the job to run.
+         */
+        private PathJobTask(@Nullable final Object owner, @NotNull final AbstractPathJob job)
+        {
+            super(job);
+            this.owner = owner;
+            this.job = job;
+            this.sequence = jobSequence.getAndIncrement();
+            this.enqueueTime = System.nanoTime();
+        }
+
+        @Override
+        public void run()
+        {
+            if (!isDone())
+            {
+                recordWait(System.nanoTime() - enqueueTime);
+            }
+            super.run();
+        }
+
+        @Override
+        protected void done()
+        {
+            if (owner != null)
+            {
+                pendingJobs.remove(owner, this);
+            }
+        }
+
+        @Override
+        public int compareTo(@NotNull final PathJobTask other)
+        {
+            final int priorityCompare = job.getPriority().compareTo(other.job.getPriority());
+            if (priorityCompare != 0)
+            {
+                return priorityCompare;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
 }
@@ -11,6 +11,7 @@ import com.minecolonies.coremod.util.BlockPosUtil;
 import com.minecolonies.coremod.util.EntityUtils;
 import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.awt.geom.Point2D;
 import java.util.ArrayList;
@@ -352,6 +353,33 @@ public class WalkToProxy
             return target;
         }
 
+        //  Plan on the route graph of the colony, the way points are only used where the graph can't help
+        @Nullable final List<BlockPos> route = worker.getColony().getRouteGraph().findRoute(worker.worldObj, position, target);
+        if (route != null)
+        {
+            if (route.isEmpty())
+            {
+                return target;
+            }
+
+            proxyList.addAll(route);
+            return proxyList.get(0);
+        }
+
+        return getWayPointProxy(target, position, distanceToPath);
+    }
+
+    /**
+     * Returns a proxy point to the goal, using the way points and buildings of the colony.
+     *
+     * @param target         the target.
+     * @param position       the position to start from.
+     * @param distanceToPath the total distance.
+     * @return a proxy or, if not applicable null.
+     */
+    @NotNull
+    private BlockPos getWayPointProxy(@NotNull BlockPos target, @NotNull BlockPos position, double distanceToPath)
+    {
         double weight = Double.MAX_VALUE;
         BlockPos proxyPoint = null;
 
@@ -379,7 +407,7 @@ public class WalkToProxy
         {
             proxyList.add(proxyPoint);
 
-            getProxy(target, proxyPoint, distanceToPath);
+            getWayPointProxy(target, proxyPoint, distanceToPath);
 
             return proxyList.get(0);
         }
@@ -14,17 +14,24 @@ import net.minecraft.block.BlockSilverfish;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.client.multiplayer.WorldClient;
+import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.tileentity.TileEntityChest;
+import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.client.event.RenderGameOverlayEvent;
+import net.minecraftforge.event.entity.EntityEvent;
 import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -123,6 +130,16 @@ public class EventHandler
         //Only execute for the main hand our colony events.
         if (event.getHand() == EnumHand.MAIN_HAND && !(event.getWorld().isRemote))
         {
+            if (world.getTileEntity(event.getPos()) instanceof TileEntityChest)
+            {
+                //  The player might change the content, double chests span two positions
+                ColonyManager.onContainerChanged(world, event.getPos());
+                for (final EnumFacing facing : EnumFacing.HORIZONTALS)
+                {
+                    ColonyManager.onContainerChanged(world, event.getPos().offset(facing));
+                }
+            }
+
             // this was the simple way of doing it, minecraft calls onBlockActivated
             // and uses that return value, but I didn't want to call it twice
             if (playerRightClickInteract(player, world, event.getPos())
@@ -351,6 +368,51 @@ public class EventHandler
         }
     }*/
 
+    /**
+     * Gets called when an entity enters another chunk.
+     * Updates the colony subscriptions of players moving around.
+     *
+     * @param event {@link net.minecraftforge.event.entity.EntityEvent.EnteringChunk}
+     */
+    @SubscribeEvent
+    public void onEnteringChunk(@NotNull final EntityEvent.EnteringChunk event)
+    {
+        if (event.getEntity() instanceof EntityPlayerMP)
+        {
+            ColonyManager.onPlayerMove((EntityPlayerMP) event.getEntity());
+        }
+    }
+
+    /**
+     * Gets called when a chunk loads.
+     * Loads the colonies covering the chunk.
+     *
+     * @param event {@link net.minecraftforge.event.world.ChunkEvent.Load}
+     */
+    @SubscribeEvent
+    public void onChunkLoad(@NotNull final ChunkEvent.Load event)
+    {
+        if (!event.getWorld().isRemote)
+        {
+            ColonyManager.onChunkLoad(event.getWorld(), event.getChunk().xPosition, event.getChunk().zPosition);
+        }
+    }
+
+    /**
+     * Gets called when an entity joins the world, only after no other handler cancelled it.
+     * Hands dropped items to the colonies around them.
+     *
+     * @param event {@link net.minecraftforge.event.entity.EntityJoinWorldEvent}
+     */
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onItemJoinWorld(@NotNull final EntityJoinWorldEvent event)
+    {
+        if (!event.getWorld().isRemote && event.getEntity() instanceof EntityItem)
+        {
+            ColonyManager.onItemJoinWorld(event.getWorld(), (EntityItem) event.getEntity());
+        }
+    }
+
     /**
      * Gets called when world loads.
      * Calls {@link ColonyManager#onWorldLoad(World)}
@@ -63,6 +63,52 @@ public class FMLEventHandler
         {
             MineColonies.getNetwork().sendTo(new ColonyStylesMessage(), (EntityPlayerMP) event.player);
             ColonyManager.syncAllColoniesAchievements();
+            ColonyManager.onPlayerJoin((EntityPlayerMP) event.player);
+        }
+    }
+
+    /**
+     * Called when a player logs out.
+     * Removes the player from the subscribers of the colonies.
+     *
+     * @param event {@link net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent}
+     */
+    @SubscribeEvent
+    public void onPlayerLogout(@NotNull final PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        if (event.player instanceof EntityPlayerMP)
+        {
+            ColonyManager.onPlayerLeave((EntityPlayerMP) event.player);
+        }
+    }
+
+    /**
+     * Called when a player changes the dimension.
+     * Updates the colonies the player is subscribed to.
+     *
+     * @param event {@link net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerChangedDimensionEvent}
+     */
+    @SubscribeEvent
+    public void onPlayerChangedDimension(@NotNull final PlayerEvent.PlayerChangedDimensionEvent event)
+    {
+        if (event.player instanceof EntityPlayerMP)
+        {
+            ColonyManager.onPlayerJoin((EntityPlayerMP) event.player);
+        }
+    }
+
+    /**
+     * Called when a player respawns.
+     * Updates the colonies the player is subscribed to.
+     *
+     * @param event {@link net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerRespawnEvent}
+     */
+    @SubscribeEvent
+    public void onPlayerRespawn(@NotNull final PlayerEvent.PlayerRespawnEvent event)
+    {
+        if (event.player instanceof EntityPlayerMP)
+        {
+            ColonyManager.onPlayerJoin((EntityPlayerMP) event.player);
         }
     }
 }
@@ -0,0 +1,226 @@
+package com.minecolonies.coremod.network.messages;
+
+import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.colony.ColonyView;
+import com.minecolonies.coremod.colony.ViewVersions;
+import com.minecolonies.coremod.util.Log;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * Add or Update the citizen, building and work order views of a ColonyView on the client, in one message.
+ * The views are serialized once when the message is built, the same message is then sent to every subscriber.
+ * Every view has a version number; a view the client already has is sent as the bytes which changed since its last version,
+ * the bytes from the first to the last changed field of the serialized view.
+ * A client which does not have the base version of a change answers with a {@link ColonyViewResyncMessage} and gets every view again.
+ */
+public class ColonyViewBatchMessage implements IMessage, IMessageHandler<ColonyViewBatchMessage, IMessage>
+{
+    public static final byte TYPE_CITIZEN    = 0;
+    public static final byte TYPE_BUILDING   = 1;
+    public static final byte TYPE_WORK_ORDER = 2;
+
+    /**
+     * Base version of an entry holding the whole view.
+     */
+    private static final int WHOLE_VIEW = 0;
+
+    private int     colonyId;
+    private int     entryCount;
+    private ByteBuf payload;
+
+    /**
+     * Empty constructor used when registering the message.
+     */
+    public ColonyViewBatchMessage()
+    {
+        super();
+    }
+
+    /**
+     * Creates an empty batch for a colony.
+     *
+     * @param colonyId the id of the colony.
+     */
+    public ColonyViewBatchMessage(final int colonyId)
+    {
+        this.colonyId = colonyId;
+        this.payload = Unpooled.buffer();
+    }
+
+    /**
+     * Serializes a view.
+     *
+     * @param serializer writes the view.
+     * @return the bytes of the view.
+     */
+    @NotNull
+    public static byte[] serialize(@NotNull final Consumer<ByteBuf> serializer)
+    {
+        final ByteBuf buf = Unpooled.buffer();
+        serializer.accept(buf);
+        final byte[] data = new byte[buf.readableBytes()];
+        buf.readBytes(data);
+        return data;
+    }
+
+    /**
+     * Adds a version of a view, whole or as the bytes which changed since the base version.
+     *
+     * @param type    the type of the view.
+     * @param key     the key of the view.
+     * @param base    the version the client has, null to send the whole view.
+     * @param version the version to send.
+     */
+    public void addView(final byte type, final long key, @Nullable final ViewVersions.Version base, @NotNull final ViewVersions.Version version)
+    {
+        payload.writeByte(type);
+        payload.writeLong(key);
+        payload.writeInt(version.getNumber());
+        final byte[] data = version.getData();
+        if (base == null)
+        {
+            payload.writeInt(WHOLE_VIEW);
+            writeBytes(data, 0, data.length);
+        }
+        else
+        {
+            final byte[] baseData = base.getData();
+            final int maxCommon = Math.min(baseData.length, data.length);
+            int prefix = 0;
+            while (prefix < maxCommon && baseData[prefix] == data[prefix])
+            {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < maxCommon - prefix && baseData[baseData.length - 1 - suffix] == data[data.length - 1 - suffix])
+            {
+                suffix++;
+            }
+
+            payload.writeInt(base.getNumber());
+            payload.writeInt(prefix);
+            payload.writeInt(suffix);
+            writeBytes(data, prefix, data.length - prefix - suffix);
+        }
+        entryCount++;
+    }
+
+    private void writeBytes(@NotNull final byte[] data, final int offset, final int length)
+    {
+        payload.writeInt(length);
+        payload.writeBytes(data, offset, length);
+    }
+
+    @NotNull
+    private static byte[] readBytes(@NotNull final ByteBuf data)
+    {
+        final byte[] bytes = new byte[data.readInt()];
+        data.readBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Checks if the batch contains any view.
+     *
+     * @return true if not.
+     */
+    public boolean isEmpty()
+    {
+        return entryCount == 0;
+    }
+
+    @Override
+    public void fromBytes(@NotNull final ByteBuf buf)
+    {
+        colonyId = buf.readInt();
+        entryCount = buf.readInt();
+        payload = Unpooled.buffer(buf.readableBytes());
+        buf.readBytes(payload, buf.readableBytes());
+    }
+
+    @Override
+    public void toBytes(@NotNull final ByteBuf buf)
+    {
+        buf.writeInt(colonyId);
+        buf.writeInt(entryCount);
+        //  Leave the reader index untouched, the message is written once per subscriber
+        buf.writeBytes(payload, payload.readerIndex(), payload.readableBytes());
+    }
+
+    @Nullable
+    @Override
+    public IMessage onMessage(@NotNull final ColonyViewBatchMessage message, final MessageContext ctx)
+    {
+        final ColonyView view = ColonyManager.getColonyView(message.colonyId);
+        if (view == null)
+        {
+            Log.getLogger().error(String.format("Colony view does not exist for ID #%d", message.colonyId));
+            return null;
+        }
+
+        final ByteBuf data = message.payload;
+        boolean outdated = false;
+        for (int i = 0; i < message.entryCount; i++)
+        {
+            final byte type = data.readByte();
+            final ViewVersions received = view.getReceivedViews(type);
+            if (received == null)
+            {
+                Log.getLogger().error(String.format("Unknown view type %d in batch of colony #%d", type, message.colonyId));
+                return null;
+            }
+
+            final long key = data.readLong();
+            final int number = data.readInt();
+            final int baseNumber = data.readInt();
+            final byte[] viewData;
+            if (baseNumber == WHOLE_VIEW)
+            {
+                viewData = readBytes(data);
+            }
+            else
+            {
+                final int prefix = data.readInt();
+                final int suffix = data.readInt();
+                final byte[] changed = readBytes(data);
+                final ViewVersions.Version base = received.get(key);
+                if (base == null || base.getNumber() != baseNumber)
+                {
+                    outdated = true;
+                    continue;
+                }
+
+                final byte[] baseData = base.getData();
+                viewData = new byte[prefix + changed.length + suffix];
+                System.arraycopy(baseData, 0, viewData, 0, prefix);
+                System.arraycopy(changed, 0, viewData, prefix, changed.length);
+                System.arraycopy(baseData, baseData.length - suffix, viewData, prefix + changed.length, suffix);
+            }
+
+            received.put(key, number, viewData);
+            final ByteBuf viewBuf = Unpooled.wrappedBuffer(viewData);
+            switch (type)
+            {
+                case TYPE_CITIZEN:
+                    view.handleColonyViewCitizensMessage((int) key, viewBuf);
+                    break;
+                case TYPE_BUILDING:
+                    view.handleColonyBuildingViewMessage(BlockPos.fromLong(key), viewBuf);
+                    break;
+                default:
+                    view.handleColonyViewWorkOrderMessage(viewBuf);
+                    break;
+            }
+        }
+        return outdated ? new ColonyViewResyncMessage(message.colonyId) : null;
+    }
+}
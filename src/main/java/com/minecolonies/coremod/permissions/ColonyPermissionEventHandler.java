@@ -2,12 +2,12 @@ package com.minecolonies.coremod.permissions;
 
 import com.minecolonies.coremod.blocks.AbstractBlockHut;
 import com.minecolonies.coremod.colony.Colony;
+import com.minecolonies.coremod.colony.ColonyManager;
 import com.minecolonies.coremod.colony.permissions.Permissions;
 import com.minecolonies.coremod.configuration.Configurations;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockContainer;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemMonsterPlacer;
 import net.minecraft.item.ItemPotion;
@@ -19,27 +19,30 @@ import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.event.world.ExplosionEvent;
 import net.minecraftforge.fml.common.eventhandler.Event;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-
-import java.util.List;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * This class handles all permission checks on events and cancels them if needed.
+ * A single instance handles the events of all colonies, the colony owning the position of an event is looked up in the colony index.
  */
 public class ColonyPermissionEventHandler
 {
-
-    private final Colony colony;
-
     /**
-     * Create this EventHandler.
+     * Get the colony which contains a position.
      *
-     * @param colony the colony to check on.
+     * @param world the world of the event.
+     * @param pos   the position of the event.
+     * @return the colony or null.
      */
-    public ColonyPermissionEventHandler(final Colony colony)
+    @Nullable
+    private static Colony getColony(@Nullable final World world, @Nullable final BlockPos pos)
     {
-        this.colony = colony;
+        if (world == null || pos == null || world.isRemote)
+        {
+            return null;
+        }
+        return ColonyManager.getColony(world, pos);
     }
 
     /**
@@ -65,9 +68,10 @@ public class ColonyPermissionEventHandler
      * @param blockState the state that block is in
      * @return true if canceled
      */
-    private boolean checkBlockEventDenied(final World worldIn, final BlockPos posIn, final EntityPlayer playerIn, final IBlockState blockState)
+    private static boolean checkBlockEventDenied(final World worldIn, final BlockPos posIn, final EntityPlayer playerIn, final IBlockState blockState)
     {
-        if (colony.isCoordInColony(worldIn, posIn))
+        @Nullable final Colony colony = getColony(worldIn, posIn);
+        if (colony != null)
         {
             if (!colony.getPermissions().isColonyMember(playerIn))
             {
@@ -128,19 +132,50 @@ public class ColonyPermissionEventHandler
         }
 
         final World eventWorld = event.getWorld();
-        final Predicate<BlockPos> getBlocksInColony = pos -> colony.isCoordInColony(eventWorld, pos);
-        final Predicate<Entity> getEntitiesInColony = entity -> colony.isCoordInColony(entity.getEntityWorld(), entity.getPosition());
-        // if block is in colony -> remove from list
-        final List<BlockPos> blocksToRemove = event.getAffectedBlocks().stream()
-                                                .filter(getBlocksInColony)
-                                                .collect(Collectors.toList());
-
-        // if entity is in colony -> remove from list
-        final List<Entity> entitiesToRemove = event.getAffectedEntities().stream()
-                                                .filter(getEntitiesInColony)
-                                                .collect(Collectors.toList());
-        event.getAffectedBlocks().removeAll(blocksToRemove);
-        event.getAffectedEntities().removeAll(entitiesToRemove);
+        if (eventWorld.isRemote)
+        {
+            return;
+        }
+
+        // if block is in a colony -> remove from list, in one pass over the list
+        final ColonyLookup lookup = new ColonyLookup(eventWorld);
+        event.getAffectedBlocks().removeIf(lookup::isInColony);
+
+        // if entity is in a colony -> remove from list
+        event.getAffectedEntities().removeIf(entity -> lookup.isInColony(entity.getPosition()));
+    }
+
+    /**
+     * Looks up the colonies of the positions affected by an explosion.
+     * Neighbouring positions mostly belong to the same colony, so the last colony found is checked first.
+     */
+    private static final class ColonyLookup
+    {
+        @NotNull
+        private final World  world;
+        @Nullable
+        private       Colony lastColony;
+
+        private ColonyLookup(@NotNull final World world)
+        {
+            this.world = world;
+        }
+
+        private boolean isInColony(@NotNull final BlockPos pos)
+        {
+            if (lastColony != null && lastColony.isCoordInColony(world, pos))
+            {
+                return true;
+            }
+
+            final Colony colony = ColonyManager.getColony(world, pos);
+            if (colony != null)
+            {
+                lastColony = colony;
+                return true;
+            }
+            return false;
+        }
     }
 
     /**
@@ -153,7 +188,7 @@ public class ColonyPermissionEventHandler
     {
         if (Configurations.enableColonyProtection
                 && Configurations.turnOffExplosionsInColonies
-                && colony.isCoordInColony(event.getWorld(), new BlockPos(event.getExplosion().getPosition())))
+                && getColony(event.getWorld(), new BlockPos(event.getExplosion().getPosition())) != null)
         {
             cancelEvent(event);
         }
@@ -173,7 +208,8 @@ public class ColonyPermissionEventHandler
     @SubscribeEvent
     public void on(final PlayerInteractEvent event)
     {
-        if (colony.isCoordInColony(event.getWorld(), event.getPos()))
+        @Nullable final Colony colony = getColony(event.getWorld(), event.getPos());
+        if (colony != null)
         {
             final Block block = event.getWorld().getBlockState(event.getPos()).getBlock();
             // Huts
@@ -218,7 +254,8 @@ public class ColonyPermissionEventHandler
     public void on(final PlayerInteractEvent.EntityInteract event)
     {
         final EntityPlayer playerIn = event.getEntityPlayer();
-        if (Configurations.enableColonyProtection && colony.isCoordInColony(playerIn.getEntityWorld(), playerIn.getPosition()))
+        @Nullable final Colony colony = Configurations.enableColonyProtection ? getColony(playerIn.getEntityWorld(), playerIn.getPosition()) : null;
+        if (colony != null)
         {
             final Permissions.Rank rank = colony.getPermissions().getRank(playerIn);
 
@@ -243,7 +280,8 @@ public class ColonyPermissionEventHandler
     public void on(final PlayerInteractEvent.EntityInteractSpecific event)
     {
         final EntityPlayer playerIn = event.getEntityPlayer();
-        if (Configurations.enableColonyProtection && colony.isCoordInColony(playerIn.getEntityWorld(), playerIn.getPosition()))
+        @Nullable final Colony colony = Configurations.enableColonyProtection ? getColony(playerIn.getEntityWorld(), playerIn.getPosition()) : null;
+        if (colony != null)
         {
             final Permissions.Rank rank = colony.getPermissions().getRank(playerIn);
 
@@ -269,7 +307,8 @@ public class ColonyPermissionEventHandler
     public void on(final ItemTossEvent event)
     {
         final EntityPlayer playerIn = event.getPlayer();
-        if (Configurations.enableColonyProtection && colony.isCoordInColony(playerIn.getEntityWorld(), playerIn.getPosition()))
+        @Nullable final Colony colony = Configurations.enableColonyProtection ? getColony(playerIn.getEntityWorld(), playerIn.getPosition()) : null;
+        if (colony != null)
         {
             final Permissions.Rank rank = colony.getPermissions().getRank(playerIn);
 
@@ -300,7 +339,8 @@ public class ColonyPermissionEventHandler
     public void on(final EntityItemPickupEvent event)
     {
         final EntityPlayer playerIn = event.getEntityPlayer();
-        if (Configurations.enableColonyProtection && colony.isCoordInColony(playerIn.getEntityWorld(), playerIn.getPosition()))
+        @Nullable final Colony colony = Configurations.enableColonyProtection ? getColony(playerIn.getEntityWorld(), playerIn.getPosition()) : null;
+        if (colony != null)
         {
             final Permissions.Rank rank = colony.getPermissions().getRank(playerIn);
 
@@ -325,7 +365,8 @@ public class ColonyPermissionEventHandler
     public void on(final FillBucketEvent event)
     {
         final EntityPlayer playerIn = event.getEntityPlayer();
-        if (Configurations.enableColonyProtection && colony.isCoordInColony(playerIn.getEntityWorld(), playerIn.getPosition()))
+        @Nullable final Colony colony = Configurations.enableColonyProtection ? getColony(playerIn.getEntityWorld(), playerIn.getPosition()) : null;
+        if (colony != null)
         {
             final Permissions.Rank rank = colony.getPermissions().getRank(playerIn);
 
@@ -350,7 +391,8 @@ public class ColonyPermissionEventHandler
     public void on(final ArrowLooseEvent event)
     {
         final EntityPlayer playerIn = event.getEntityPlayer();
-        if (Configurations.enableColonyProtection && colony.isCoordInColony(playerIn.getEntityWorld(), playerIn.getPosition()))
+        @Nullable final Colony colony = Configurations.enableColonyProtection ? getColony(playerIn.getEntityWorld(), playerIn.getPosition()) : null;
+        if (colony != null)
         {
             final Permissions.Rank rank = colony.getPermissions().getRank(playerIn);
 
@@ -375,7 +417,8 @@ public class ColonyPermissionEventHandler
     public void on(final AttackEntityEvent event)
     {
         final EntityPlayer playerIn = event.getEntityPlayer();
-        if (Configurations.enableColonyProtection && colony.isCoordInColony(playerIn.getEntityWorld(), playerIn.getPosition()))
+        @Nullable final Colony colony = Configurations.enableColonyProtection ? getColony(playerIn.getEntityWorld(), playerIn.getPosition()) : null;
+        if (colony != null)
         {
             final Permissions.Rank rank = colony.getPermissions().getRank(playerIn);
 
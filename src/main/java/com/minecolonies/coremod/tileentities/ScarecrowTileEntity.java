@@ -2,6 +2,7 @@ package com.minecolonies.coremod.tileentities;
 
 import com.minecolonies.coremod.colony.Colony;
 import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.entity.ai.citizen.farmer.Field;
 import com.minecolonies.coremod.inventory.InventoryField;
 import com.minecolonies.coremod.util.EntityUtils;
 import com.minecolonies.coremod.util.LanguageHandler;
@@ -107,7 +108,18 @@ public class ScarecrowTileEntity extends TileEntityChest
         final World world = getWorld();
 
         @Nullable final Colony colony = ColonyManager.getColony(world, pos);
-        if (colony != null && colony.getField(pos) == null)
+        if (colony == null)
+        {
+            return;
+        }
+
+        final Field field = colony.getField(pos);
+        if (field != null)
+        {
+            //  The tile entity was created again with the chunk, the field has to use its inventory
+            field.setInventoryField(getInventoryField());
+        }
+        else
         {
             @Nullable final Entity entity = EntityUtils.getEntityFromUUID(world, colony.getPermissions().getOwner());
 
@@ -248,6 +248,17 @@ public class TileEntityColonyBuilding extends TileEntityChest
         return compound;
     }
 
+    @Override
+    public void markDirty()
+    {
+        super.markDirty();
+        //  Called for every change of the content, keeps the item index of the building current
+        if (building != null)
+        {
+            building.getItemIndex().markDirty(getPos());
+        }
+    }
+
     @Override
     public boolean isUseableByPlayer(@NotNull final EntityPlayer player)
     {
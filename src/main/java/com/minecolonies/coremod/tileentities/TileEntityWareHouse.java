@@ -5,6 +5,8 @@ import com.minecolonies.coremod.colony.buildings.AbstractBuilding;
 import com.minecolonies.coremod.colony.buildings.AbstractBuildingWorker;
 import com.minecolonies.coremod.colony.buildings.BuildingDeliveryman;
 import com.minecolonies.coremod.colony.buildings.BuildingWareHouse;
+import com.minecolonies.coremod.colony.buildings.DeliveryRequestQueue;
+import com.minecolonies.coremod.colony.buildings.ItemLocationIndex;
 import com.minecolonies.coremod.inventory.InventoryCitizen;
 import com.minecolonies.coremod.util.InventoryFunctions;
 import com.minecolonies.coremod.util.InventoryUtils;
@@ -20,24 +22,16 @@ import net.minecraft.util.math.Vec3d;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Class which handles the tileEntity of our colonyBuildings.
  */
 public class TileEntityWareHouse extends TileEntityColonyBuilding
 {
-    /**
-     * List which contains the currentTasks to be executed by the deliveryman.
-     */
-    private final CopyOnWriteArrayList<AbstractBuilding> list = new CopyOnWriteArrayList<>();
-
-    /**
-     * Index of last controlled building.
-     */
-    private int index = 1;
-
     /**
      * Empty standard constructor.
      */
@@ -63,43 +57,71 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
                 && wareHouseBuilding instanceof BuildingWareHouse
                 && !((BuildingWareHouse) wareHouseBuilding).getRegisteredDeliverymen().isEmpty())
         {
-            final Map<BlockPos, AbstractBuilding> buildingMap = getColony().getBuildings();
-
-            if (buildingMap.size() < this.index)
-            {
-                this.index = 1;
-            }
-
-            int i = 1;
-            for (@NotNull final Map.Entry<BlockPos, AbstractBuilding> buildingEntry : buildingMap.entrySet())
-            {
-                if (i == index)
-                {
-                    if(buildingEntry.getValue() instanceof AbstractBuildingWorker
-                            && !list.contains(buildingEntry.getValue())
-                            && ((AbstractBuildingWorker) buildingEntry.getValue()).needsAnything())
-                    {
-                        checkInWareHouse((AbstractBuildingWorker) buildingEntry.getValue(), true);
-                    }
-                    this.index++;
-                }
-                i++;
-            }
+            final Colony colony = getColony();
+            ((BuildingWareHouse) wareHouseBuilding).getRequestQueue().update(colony.getBuildings().values(), worldObj.getTotalWorldTime(),
+                    building -> building instanceof AbstractBuildingWorker
+                            && colony.getBuilding(building.getID()) == building
+                            && checkInWareHouse(building, true));
         }
     }
 
     /**
-     * Get the first task in the list.
+     * Get the next task for a deliveryman: the most urgent request, the closest one if several are as urgent.
+     * @param from the position of the deliveryman.
      * @return the building which needs a delivery.
      */
     @Nullable
-    public AbstractBuilding getTask()
+    public AbstractBuilding getTask(@NotNull final BlockPos from)
     {
-        if(list.isEmpty())
+        return takeTask(queue -> queue.poll(from, worldObj.getTotalWorldTime()));
+    }
+
+    /**
+     * Get a task close to a position, to add another stop to a trip.
+     * @param center the position.
+     * @param maxDistanceSquared the maximum squared distance of the building to the position.
+     * @param accept checks if the building fits into the trip.
+     * @return the closest fitting building which needs a delivery, or null.
+     */
+    @Nullable
+    public AbstractBuilding getTaskNear(@NotNull final BlockPos center, final long maxDistanceSquared, @NotNull final Predicate<AbstractBuilding> accept)
+    {
+        return takeTask(queue -> queue.pollNear(center, maxDistanceSquared, accept));
+    }
+
+    /**
+     * Takes requests from the queue until one of a building which is still part of the colony is found.
+     * @param poll takes the next request from the queue.
+     * @return the building or null if there is none.
+     */
+    @Nullable
+    private AbstractBuilding takeTask(@NotNull final Function<DeliveryRequestQueue, AbstractBuilding> poll)
+    {
+        final DeliveryRequestQueue queue = getRequestQueue();
+        final Colony colony = getColony();
+        if(queue == null || colony == null)
         {
             return null;
         }
-        return list.remove(0);
+
+        AbstractBuilding building = poll.apply(queue);
+        while(building != null && colony.getBuilding(building.getID()) != building)
+        {
+            //  Removed from the colony while queued
+            building = poll.apply(queue);
+        }
+        return building;
+    }
+
+    /**
+     * Get the delivery requests of the warehouse building.
+     * @return the queue or null if the building is not known yet.
+     */
+    @Nullable
+    private DeliveryRequestQueue getRequestQueue()
+    {
+        final AbstractBuilding building = getBuilding();
+        return building instanceof BuildingWareHouse ? ((BuildingWareHouse) building).getRequestQueue() : null;
     }
 
     /**
@@ -110,6 +132,12 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
      */
     public boolean checkInWareHouse(@NotNull final AbstractBuilding buildingEntry, boolean addToList)
     {
+        final DeliveryRequestQueue queue = getRequestQueue();
+        if(queue == null)
+        {
+            return false;
+        }
+
         if(buildingEntry.areItemsNeeded())
         {
             for(final ItemStack stack : buildingEntry.getNeededItems())
@@ -124,14 +152,13 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
                     if(addToList)
                     {
                         buildingEntry.setOnGoingDelivery(true);
-                        list.add(buildingEntry);
+                        queue.add(buildingEntry, DeliveryRequestQueue.Urgency.ITEMS, worldObj.getTotalWorldTime());
                     }
                     return true;
                 }
             }
-            if (list.contains(buildingEntry))
+            if (queue.remove(buildingEntry))
             {
-                list.remove(buildingEntry);
                 buildingEntry.setOnGoingDelivery(false);
             }
         }
@@ -144,13 +171,12 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
                 if (addToList)
                 {
                     buildingEntry.setOnGoingDelivery(true);
-                    list.add(buildingEntry);
+                    queue.add(buildingEntry, DeliveryRequestQueue.Urgency.TOOL, worldObj.getTotalWorldTime());
                 }
                 return true;
             }
-            if (list.contains(buildingEntry))
+            if (queue.remove(buildingEntry))
             {
-                list.remove(buildingEntry);
                 buildingEntry.setOnGoingDelivery(false);
             }
         }
@@ -173,10 +199,9 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
                 if(colony != null)
                 {
                     final AbstractBuilding building = colony.getBuilding(new BlockPos(pos));
-                    if(building instanceof BuildingDeliveryman)
+                    if(building instanceof BuildingDeliveryman && ((BuildingDeliveryman) building).hasDeliveryFor(buildingEntry))
                     {
-                        return ((BuildingDeliveryman) building).getBuildingToDeliver() != null
-                                && ((BuildingDeliveryman) building).getBuildingToDeliver().getLocation() == buildingEntry.getLocation();
+                        return true;
                     }
                 }
             }
@@ -191,25 +216,7 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
      */
     public boolean isInHut(@Nullable final ItemStack is)
     {
-        @Nullable final AbstractBuilding building = getBuilding();
-        if(building != null)
-        {
-            if(isInTileEntity(building.getTileEntity(), is))
-            {
-                return true;
-            }
-
-            for(final BlockPos pos : building.getAdditionalCountainers())
-            {
-                @Nullable final TileEntity entity = worldObj.getTileEntity(pos);
-                if(entity instanceof TileEntityChest && isInTileEntity((TileEntityChest) entity, is))
-                {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return getPositionOfChestWithItemStack(is) != null;
     }
 
     /**
@@ -224,18 +231,15 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
 
         if(building != null)
         {
-            if(isInTileEntity(building.getTileEntity(), stack))
-            {
-                return building.getLocation();
-            }
-
-            for(final BlockPos pos : building.getAdditionalCountainers())
+            final ItemLocationIndex index = building.getItemIndex();
+            for(final BlockPos pos : index.getContainersWith(worldObj, stack))
             {
-                final TileEntity entity = worldObj.getTileEntity(pos);
-                if(entity instanceof TileEntityChest && isInTileEntity((TileEntityChest) entity, stack))
+                final TileEntityChest chest = index.getContainer(worldObj, pos);
+                if(chest != null && isInTileEntity(chest, stack))
                 {
                     return pos;
                 }
+                index.markDirty(pos);
             }
         }
         return null;
@@ -254,18 +258,19 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
 
         if(building != null)
         {
-            if((minLevel != -1
-                    && InventoryUtils.isPickaxeInTileEntity(building.getTileEntity(), minLevel, building.getBuildingLevel()))
-                    || InventoryUtils.isToolInTileEntity(building.getTileEntity(), tool, requestingBuilding.getBuildingLevel()))
+            final ItemLocationIndex index = building.getItemIndex();
+            @NotNull final Set<BlockPos> candidates = new LinkedHashSet<>();
+            if(minLevel != -1)
             {
-                return building.getLocation();
+                candidates.addAll(index.getContainersWithTool(worldObj, Utils.PICKAXE));
             }
+            candidates.addAll(index.getContainersWithTool(worldObj, tool));
 
-            for(@NotNull final BlockPos pos : building.getAdditionalCountainers())
+            for(@NotNull final BlockPos pos : candidates)
             {
-                final TileEntity entity = worldObj.getTileEntity(pos);
-                if (entity instanceof TileEntityChest && ((minLevel != -1 && InventoryUtils.isPickaxeInTileEntity((TileEntityChest) entity, minLevel, building.getBuildingLevel()))
-                        || InventoryUtils.isToolInTileEntity((TileEntityChest) entity, tool, requestingBuilding.getBuildingLevel())))
+                final TileEntityChest chest = index.getContainer(worldObj, pos);
+                if (chest != null && ((minLevel != -1 && InventoryUtils.isPickaxeInTileEntity(chest, minLevel, building.getBuildingLevel()))
+                        || InventoryUtils.isToolInTileEntity(chest, tool, requestingBuilding.getBuildingLevel())))
                 {
                     return pos;
                 }
@@ -284,35 +289,22 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
     {
         @Nullable final AbstractBuilding building = getBuilding();
 
-        boolean hasItem;
         if(building != null)
         {
-            if(tool.equals(Utils.PICKAXE))
+            final ItemLocationIndex index = building.getItemIndex();
+            for(final BlockPos pos : index.getContainersWithTool(worldObj, tool))
             {
-                hasItem = InventoryUtils.isPickaxeInTileEntity(building.getTileEntity(), requestingBuilding.getNeededPickaxeLevel(), requestingBuilding.getBuildingLevel());
-            }
-            else
-            {
-                hasItem = InventoryUtils.isToolInTileEntity(building.getTileEntity(), tool, requestingBuilding.getBuildingLevel());
-            }
-
-            if(hasItem)
-            {
-                return true;
-            }
-
-            for(final BlockPos pos : building.getAdditionalCountainers())
-            {
-                @Nullable final TileEntity entity = worldObj.getTileEntity(pos);
-                if(entity instanceof TileEntityChest)
+                final TileEntityChest chest = index.getContainer(worldObj, pos);
+                if(chest != null)
                 {
+                    final boolean hasItem;
                     if(tool.equals(Utils.PICKAXE))
                     {
-                        hasItem = InventoryUtils.isPickaxeInTileEntity((TileEntityChest) entity, requestingBuilding.getNeededPickaxeLevel(), requestingBuilding.getBuildingLevel());
+                        hasItem = InventoryUtils.isPickaxeInTileEntity(chest, requestingBuilding.getNeededPickaxeLevel(), requestingBuilding.getBuildingLevel());
                     }
                     else
                     {
-                        hasItem = InventoryUtils.isToolInTileEntity((TileEntityChest) entity, tool, requestingBuilding.getBuildingLevel());
+                        hasItem = InventoryUtils.isToolInTileEntity(chest, tool, requestingBuilding.getBuildingLevel());
                     }
 
                     if(hasItem)
@@ -385,6 +377,13 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
             }
             InventoryUtils.addItemStackToInventory(chest, stack);
             inventoryCitizen.removeStackFromSlot(i);
+            getBuilding().getItemIndex().markDirty(chest.getPos());
+        }
+
+        final DeliveryRequestQueue queue = getRequestQueue();
+        if(queue != null)
+        {
+            queue.onStockChanged();
         }
 
     }
@@ -397,19 +396,15 @@ public class TileEntityWareHouse extends TileEntityColonyBuilding
     @Nullable
     private TileEntityChest searchRightChestForStack(@NotNull final ItemStack stack)
     {
-        if(InventoryUtils.findFirstSlotInInventoryWith(this, stack.getItem(), stack.getItemDamage()) != -1 && InventoryUtils.getOpenSlot(this) != -1)
+        final ItemLocationIndex index = getBuilding().getItemIndex();
+        for(@NotNull final BlockPos pos : index.getContainersWith(worldObj, stack))
         {
-            return this;
-        }
-
-        for(@NotNull final BlockPos pos : getBuilding().getAdditionalCountainers())
-        {
-            final TileEntity entity = worldObj.getTileEntity(pos);
-            if(entity instanceof TileEntityChest
-                    && InventoryUtils.findFirstSlotInInventoryWith((TileEntityChest) entity, stack.getItem(), stack.getItemDamage()) != -1
+            final TileEntityChest chest = index.getContainer(worldObj, pos);
+            if(chest != null
+                    && InventoryUtils.findFirstSlotInInventoryWith(chest, stack.getItem(), stack.getItemDamage()) != -1
                     && InventoryUtils.getOpenSlot(this) != -1)
             {
-                return (TileEntityChest) entity;
+                return chest;
             }
         }
 
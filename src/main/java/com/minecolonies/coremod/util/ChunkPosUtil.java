@@ -0,0 +1,100 @@
+package com.minecolonies.coremod.util;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Utility methods for chunk positions.
+ * Maps of chunks use a long key holding the chunk x in the high and the chunk z in the low 32 bits,
+ * grids of cells of another size use the same layout through {@link #cellKey(int, int)}.
+ */
+public final class ChunkPosUtil
+{
+    /**
+     * Chunk layout.
+     */
+    public static final int CHUNK_SHIFT = 4;
+    public static final int CHUNK_SIZE  = 1 << CHUNK_SHIFT;
+    public static final int CHUNK_MASK  = CHUNK_SIZE - 1;
+
+    /**
+     * Key layout.
+     */
+    private static final int  SHIFT_KEY_X = 32;
+    private static final long MASK_KEY_Z  = 0xFFFFFFFFL;
+
+    private ChunkPosUtil()
+    {
+        //Hide default constructor.
+    }
+
+    /**
+     * Creates the key of a cell of a grid on the x/z plane.
+     *
+     * @param cellX the x coordinate of the cell.
+     * @param cellZ the z coordinate of the cell.
+     * @return the key.
+     */
+    public static long cellKey(final int cellX, final int cellZ)
+    {
+        return ((long) cellX << SHIFT_KEY_X) | (cellZ & MASK_KEY_Z);
+    }
+
+    /**
+     * Creates the key of a chunk.
+     *
+     * @param chunkX the x coordinate of the chunk.
+     * @param chunkZ the z coordinate of the chunk.
+     * @return the key.
+     */
+    public static long chunkKey(final int chunkX, final int chunkZ)
+    {
+        return cellKey(chunkX, chunkZ);
+    }
+
+    /**
+     * Creates the key of the chunk a position is in.
+     *
+     * @param pos the position.
+     * @return the key.
+     */
+    public static long chunkKeyOf(@NotNull final BlockPos pos)
+    {
+        return chunkKey(pos.getX() >> CHUNK_SHIFT, pos.getZ() >> CHUNK_SHIFT);
+    }
+
+    /**
+     * Creates the key of the chunk an entity is in.
+     *
+     * @param entity the entity.
+     * @return the key.
+     */
+    public static long chunkKeyOf(@NotNull final Entity entity)
+    {
+        return chunkKey(MathHelper.floor_double(entity.posX) >> CHUNK_SHIFT, MathHelper.floor_double(entity.posZ) >> CHUNK_SHIFT);
+    }
+
+    /**
+     * Getter for the x coordinate of the chunk of a key.
+     *
+     * @param key the key.
+     * @return the x coordinate.
+     */
+    public static int getChunkX(final long key)
+    {
+        return (int) (key >> SHIFT_KEY_X);
+    }
+
+    /**
+     * Getter for the z coordinate of the chunk of a key.
+     *
+     * @param key the key.
+     * @return the z coordinate.
+     */
+    public static int getChunkZ(final long key)
+    {
+        return (int) key;
+    }
+}
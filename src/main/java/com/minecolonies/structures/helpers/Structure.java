@@ -1,7 +1,5 @@
 package com.minecolonies.structures.helpers;
 
-import com.minecolonies.coremod.lib.Constants;
-import com.minecolonies.coremod.util.Log;
 import com.minecolonies.structures.fake.FakeEntity;
 import com.minecolonies.structures.fake.FakeWorld;
 import com.minecolonies.structures.lib.ModelHolder;
@@ -19,9 +17,7 @@ import net.minecraft.client.renderer.tileentity.TileEntityRendererDispatcher;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.server.MinecraftServer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.*;
 import net.minecraft.util.math.BlockPos;
@@ -32,13 +28,10 @@ import net.minecraft.world.gen.structure.template.Template;
 import net.minecraftforge.client.ForgeHooksClient;
 import net.minecraftforge.client.MinecraftForgeClient;
 import net.minecraftforge.client.model.pipeline.LightUtil;
-import net.minecraftforge.fml.common.FMLCommonHandler;
-import org.apache.commons.io.IOUtils;
 import org.jetbrains.annotations.NotNull;
 import org.lwjgl.opengl.GL11;
 
 import javax.annotation.Nullable;
-import java.io.*;
 import java.util.List;
 
 /**
@@ -67,9 +60,13 @@ public class Structure
     private static final double SCALE                    = 1.001;
 
     /**
-     * Template of the structure.
+     * Template of the structure, shared through the {@link StructureCache}.
      */
-    private Template          template;
+    private final Template    template;
+    /**
+     * Name of the structure.
+     */
+    private final String      structureName;
     private Minecraft         mc;
     private PlacementSettings settings;
 
@@ -82,75 +79,35 @@ public class Structure
      */
     public Structure(@Nullable final World world, final String structureName, final PlacementSettings settings)
     {
-        InputStream inputstream = MinecraftServer.class.getResourceAsStream("/assets/" + Constants.MOD_ID + "/schematics/" + structureName + ".nbt");
-
         if (world == null || world.isRemote)
         {
             this.settings = settings;
             this.mc = Minecraft.getMinecraft();
         }
 
-        //Might be at a different location!
-        if (inputstream == null)
-        {
-            try
-            {
-                final File decorationFolder;
-
-                if (FMLCommonHandler.instance().getMinecraftServerInstance() == null)
-                {
-                    decorationFolder = new File(Minecraft.getMinecraft().mcDataDir, "minecolonies/");
-                }
-                else
-                {
-                    decorationFolder = new File(FMLCommonHandler.instance().getMinecraftServerInstance().getDataDirectory(), "minecolonies/");
-                }
-                inputstream = new FileInputStream(decorationFolder.getPath() + "/" + structureName + ".nbt");
-            }
-            catch (final FileNotFoundException e)
-            {
-                Log.getLogger().warn("Couldn't find any structure with this name anywhere", e);
-            }
-        }
-
-        if (inputstream == null)
-        {
-            return;
-        }
-
-        try
-        {
-            this.template = readTemplateFromStream(inputstream);
-        }
-        catch (final IOException e)
-        {
-            Log.getLogger().warn(String.format("Failed to load template %s", structureName), e);
-        }
-        finally
-        {
-            IOUtils.closeQuietly(inputstream);
-        }
+        this.structureName = structureName;
+        this.template = StructureCache.getTemplate(structureName);
     }
 
     /**
-     * Reads a template from an inputstream.
+     * Checks if the template is null.
+     *
+     * @return true if the template is null.
      */
-    private static Template readTemplateFromStream(final InputStream stream) throws IOException
+    public boolean isTemplateMissing()
     {
-        final NBTTagCompound nbttagcompound = CompressedStreamTools.readCompressed(stream);
-        final Template template = new Template();
-        template.read(nbttagcompound);
-        return template;
+        return template == null;
     }
 
     /**
-     * Checks if the template is null.
+     * Get the shared template of the structure.
      *
-     * @return true if the template is null.
+     * @return the template or null if it is missing.
      */
-    public boolean isTemplateMissing()
+    @Nullable
+    public Template getTemplate()
     {
-        return template == null;
+        return template;
     }
 
     public Template.BlockInfo[] getBlockInfo()
@@ -242,12 +199,19 @@ public class Structure
 
     /**
      * Get blockInfo of structure with a specific setting.
+     * The array is shared with all users of the structure, it must not be modified.
      *
      * @param settings the setting.
      * @return the block info array.
      */
     public Template.BlockInfo[] getBlockInfoWithSettings(final PlacementSettings settings)
     {
+        final StructureBlockData blockData = StructureCache.getBlockData(structureName, settings.getRotation(), settings.getMirror());
+        if (blockData != null)
+        {
+            return blockData.getBlockInfos();
+        }
+
         Template.BlockInfo[] blockList = new Template.BlockInfo[template.blocks.size()];
         blockList = template.blocks.toArray(blockList);
 
@@ -0,0 +1,249 @@
+package com.minecolonies.structures.helpers;
+
+import com.minecolonies.coremod.blocks.AbstractBlockHut;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.Mirror;
+import net.minecraft.util.Rotation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.gen.structure.template.PlacementSettings;
+import net.minecraft.world.gen.structure.template.Template;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The blocks of a template with one rotation and mirror applied.
+ * Immutable, one instance is shared by all builders and previews using the same schematic in the same orientation.
+ * The blocks are stored in a flat array of indices into a palette of the states used by the template.
+ */
+public final class StructureBlockData
+{
+    /**
+     * Index of positions which are not part of the template.
+     */
+    private static final short EMPTY = -1;
+
+    /**
+     * Size of the structure in this orientation.
+     */
+    private final int width;
+    private final int height;
+    private final int length;
+
+    /**
+     * The transformed template positions are moved by this to start at 0.
+     */
+    @NotNull
+    private final BlockPos shift;
+
+    /**
+     * The transformed blocks, in the order of the template, with positions relative to the template anchor.
+     */
+    @NotNull
+    private final Template.BlockInfo[] blockInfos;
+
+    /**
+     * The different states of the template.
+     */
+    @NotNull
+    private final IBlockState[] palette;
+
+    /**
+     * Palette index for every position, x first, then z, then y.
+     */
+    @NotNull
+    private final short[] states;
+
+    /**
+     * Tile entity data by position index, only for the few positions which have any.
+     */
+    @NotNull
+    private final Map<Integer, NBTTagCompound> tileEntityData;
+
+    /**
+     * Position of the hut block, relative to the corner of the structure, null for decorations.
+     */
+    @Nullable
+    private final BlockPos hutPos;
+
+    /**
+     * Transforms the blocks of a template.
+     *
+     * @param template the template.
+     * @param rotation the rotation.
+     * @param mirror   the mirror.
+     */
+    StructureBlockData(@NotNull final Template template, @NotNull final Rotation rotation, @NotNull final Mirror mirror)
+    {
+        final PlacementSettings settings = new PlacementSettings().setRotation(rotation).setMirror(mirror);
+        final BlockPos size = template.transformedSize(rotation);
+        this.width = size.getX();
+        this.height = size.getY();
+        this.length = size.getZ();
+
+        blockInfos = new Template.BlockInfo[template.blocks.size()];
+        int minX = 0;
+        int minY = 0;
+        int minZ = 0;
+        for (int i = 0; i < blockInfos.length; i++)
+        {
+            final Template.BlockInfo info = template.blocks.get(i);
+            final IBlockState state = info.blockState.withMirror(mirror).withRotation(rotation);
+            final BlockPos pos = Template.transformedBlockPos(settings, info.pos);
+            blockInfos[i] = new Template.BlockInfo(pos, state, info.tileentityData);
+
+            minX = Math.min(minX, pos.getX());
+            minY = Math.min(minY, pos.getY());
+            minZ = Math.min(minZ, pos.getZ());
+        }
+        shift = new BlockPos(-minX, -minY, -minZ);
+
+        states = new short[width * height * length];
+        Arrays.fill(states, EMPTY);
+        tileEntityData = new HashMap<>();
+        final Map<IBlockState, Short> paletteIndices = new HashMap<>();
+        final List<IBlockState> paletteList = new ArrayList<>();
+        BlockPos hut = null;
+        for (@NotNull final Template.BlockInfo info : blockInfos)
+        {
+            final BlockPos pos = info.pos.add(shift);
+            final int index = index(pos.getX(), pos.getY(), pos.getZ());
+            if (index < 0)
+            {
+                continue;
+            }
+
+            Short stateIndex = paletteIndices.get(info.blockState);
+            if (stateIndex == null)
+            {
+                stateIndex = (short) paletteList.size();
+                paletteIndices.put(info.blockState, stateIndex);
+                paletteList.add(info.blockState);
+            }
+            states[index] = stateIndex;
+
+            if (info.tileentityData != null)
+            {
+                tileEntityData.put(index, info.tileentityData);
+            }
+
+            if (info.blockState.getBlock() instanceof AbstractBlockHut)
+            {
+                hut = pos;
+            }
+        }
+        palette = paletteList.toArray(new IBlockState[paletteList.size()]);
+        hutPos = hut;
+    }
+
+    /**
+     * Calculates the index of a position in the flat arrays.
+     *
+     * @return the index or -1 if the position is outside of the structure.
+     */
+    private int index(final int x, final int y, final int z)
+    {
+        if (x < 0 || y < 0 || z < 0 || x >= width || y >= height || z >= length)
+        {
+            return -1;
+        }
+        return (y * length + z) * width + x;
+    }
+
+    /**
+     * Get the state at a position.
+     *
+     * @param pos the position relative to the corner of the structure.
+     * @return the state or null if the position is not part of the template.
+     */
+    @Nullable
+    public IBlockState getBlockState(@NotNull final BlockPos pos)
+    {
+        final int index = index(pos.getX(), pos.getY(), pos.getZ());
+        if (index < 0 || states[index] == EMPTY)
+        {
+            return null;
+        }
+        return palette[states[index]];
+    }
+
+    /**
+     * Get the tile entity data at a position.
+     * Shared with all users of the template, must not be modified.
+     *
+     * @param pos the position relative to the corner of the structure.
+     * @return the data or null if there is none.
+     */
+    @Nullable
+    public NBTTagCompound getTileEntityData(@NotNull final BlockPos pos)
+    {
+        final int index = index(pos.getX(), pos.getY(), pos.getZ());
+        return index < 0 ? null : tileEntityData.get(index);
+    }
+
+    /**
+     * Get the transformed blocks in the order of the template, with positions relative to the template anchor.
+     * Shared with all users of the template, must not be modified.
+     *
+     * @return the block infos.
+     */
+    @NotNull
+    public Template.BlockInfo[] getBlockInfos()
+    {
+        return blockInfos;
+    }
+
+    /**
+     * Get the offset which moves the transformed template positions to start at 0.
+     *
+     * @return the shift.
+     */
+    @NotNull
+    public BlockPos getShift()
+    {
+        return shift;
+    }
+
+    /**
+     * Get the position of the hut block.
+     *
+     * @return the position relative to the corner of the structure or null if there is no hut.
+     */
+    @Nullable
+    public BlockPos getHutPos()
+    {
+        return hutPos;
+    }
+
+    /**
+     * Getter of the width.
+     *
+     * @return the width.
+     */
+    public int getWidth()
+    {
+        return width;
+    }
+
+    /**
+     * Getter of the height.
+     *
+     * @return the height.
+     */
+    public int getHeight()
+    {
+        return height;
+    }
+
+    /**
+     * Getter of the length.
+     *
+     * @return the length.
+     */
+    public int getLength()
+    {
+        return length;
+    }
+}
@@ -0,0 +1,294 @@
+package com.minecolonies.structures.helpers;
+
+import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.lib.Constants;
+import com.minecolonies.coremod.util.Log;
+import net.minecraft.client.Minecraft;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Mirror;
+import net.minecraft.util.Rotation;
+import net.minecraft.world.gen.structure.template.Template;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import org.apache.commons.io.IOUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Process wide cache of the parsed schematics.
+ * Builders, the build tool preview and the structure placement all used to read and decompress the schematic file for every use,
+ * now the template is parsed once and the transformed blocks are shared per rotation and mirror.
+ * Least recently used schematics are evicted when more than the configured amount is cached.
+ * Thread-safe, the client thread and the server thread share the cache in single player.
+ */
+public final class StructureCache
+{
+    /**
+     * The cached schematics by name, in access order.
+     */
+    private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75F, true);
+
+    /**
+     * Statistics.
+     */
+    private static final AtomicLong hits      = new AtomicLong();
+    private static final AtomicLong misses    = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+
+    private StructureCache()
+    {
+        //Hides default constructor.
+    }
+
+    /**
+     * Get the template of a schematic, loading it if needed.
+     * The template is shared, it must not be modified.
+     *
+     * @param structureName name of the structure (at stored location).
+     * @return the template or null if it could not be loaded.
+     */
+    @Nullable
+    public static Template getTemplate(@NotNull final String structureName)
+    {
+        final Entry entry = getEntry(structureName);
+        return entry == null ? null : entry.template;
+    }
+
+    /**
+     * Get the template of a schematic if it is cached, without loading it.
+     *
+     * @param structureName name of the structure (at stored location).
+     * @return the template or null if it is not cached.
+     */
+    @Nullable
+    public static Template getCachedTemplate(@NotNull final String structureName)
+    {
+        synchronized (entries)
+        {
+            final Entry entry = entries.get(structureName);
+            return entry == null ? null : entry.template;
+        }
+    }
+
+    /**
+     * Get the blocks of a schematic with a rotation and mirror applied, loading the schematic if needed.
+     *
+     * @param structureName name of the structure (at stored location).
+     * @param rotation      the rotation.
+     * @param mirror        the mirror.
+     * @return the shared block data or null if the schematic could not be loaded.
+     */
+    @Nullable
+    public static StructureBlockData getBlockData(@NotNull final String structureName, @NotNull final Rotation rotation, @NotNull final Mirror mirror)
+    {
+        final Entry entry = getEntry(structureName);
+        return entry == null ? null : entry.getBlockData(rotation, mirror);
+    }
+
+    /**
+     * Get the cache entry of a schematic, loading it if needed.
+     * Missing schematics are not cached, they might be added later on.
+     *
+     * @param structureName name of the structure.
+     * @return the entry or null if it could not be loaded.
+     */
+    @Nullable
+    private static Entry getEntry(@NotNull final String structureName)
+    {
+        synchronized (entries)
+        {
+            final Entry entry = entries.get(structureName);
+            if (entry != null)
+            {
+                hits.incrementAndGet();
+                return entry;
+            }
+        }
+
+        misses.incrementAndGet();
+        //  Read outside of the lock, the other thread does not have to wait for the file
+        final Template template = loadTemplate(structureName);
+        if (template == null)
+        {
+            return null;
+        }
+
+        synchronized (entries)
+        {
+            final Entry entry = entries.computeIfAbsent(structureName, name -> new Entry(template));
+            final int capacity = Math.max(1, Configurations.structureCacheSize);
+            while (entries.size() > capacity)
+            {
+                entries.remove(entries.keySet().iterator().next());
+                evictions.incrementAndGet();
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Removes all schematics, for example when the schematics on the disk were replaced.
+     */
+    public static void clear()
+    {
+        synchronized (entries)
+        {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Reads a template from the mod assets or, if not found there, from the minecolonies folder.
+     *
+     * @param structureName name of the structure.
+     * @return the template or null if it could not be read.
+     */
+    @Nullable
+    private static Template loadTemplate(@NotNull final String structureName)
+    {
+        InputStream inputstream = MinecraftServer.class.getResourceAsStream("/assets/" + Constants.MOD_ID + "/schematics/" + structureName + ".nbt");
+
+        //Might be at a different location!
+        if (inputstream == null)
+        {
+            try
+            {
+                final File decorationFolder;
+
+                if (FMLCommonHandler.instance().getMinecraftServerInstance() == null)
+                {
+                    decorationFolder = new File(Minecraft.getMinecraft().mcDataDir, "minecolonies/");
+                }
+                else
+                {
+                    decorationFolder = new File(FMLCommonHandler.instance().getMinecraftServerInstance().getDataDirectory(), "minecolonies/");
+                }
+                inputstream = new FileInputStream(decorationFolder.getPath() + "/" + structureName + ".nbt");
+            }
+            catch (final FileNotFoundException e)
+            {
+                Log.getLogger().warn("Couldn't find any structure with this name anywhere", e);
+            }
+        }
+
+        if (inputstream == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return readTemplateFromStream(inputstream);
+        }
+        catch (final IOException e)
+        {
+            Log.getLogger().warn(String.format("Failed to load template %s", structureName), e);
+            return null;
+        }
+        finally
+        {
+            IOUtils.closeQuietly(inputstream);
+        }
+    }
+
+    /**
+     * Reads a template from an inputstream.
+     */
+    private static Template readTemplateFromStream(final InputStream stream) throws IOException
+    {
+        final NBTTagCompound nbttagcompound = CompressedStreamTools.readCompressed(stream);
+        final Template template = new Template();
+        template.read(nbttagcompound);
+        return template;
+    }
+
+    /**
+     * Getter for the amount of cached schematics.
+     *
+     * @return the size.
+     */
+    public static int size()
+    {
+        synchronized (entries)
+        {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Getter for the amount of requests served from the cache.
+     *
+     * @return the hits.
+     */
+    public static long getHits()
+    {
+        return hits.get();
+    }
+
+    /**
+     * Getter for the amount of requests which had to read the schematic.
+     *
+     * @return the misses.
+     */
+    public static long getMisses()
+    {
+        return misses.get();
+    }
+
+    /**
+     * Getter for the amount of schematics evicted to stay within the configured size.
+     *
+     * @return the evictions.
+     */
+    public static long getEvictions()
+    {
+        return evictions.get();
+    }
+
+    /**
+     * A cached schematic and its transformed blocks.
+     */
+    private static final class Entry
+    {
+        @NotNull
+        private final Template                                 template;
+        /**
+         * Block data by rotation and mirror, computed on first use.
+         */
+        @NotNull
+        private final AtomicReferenceArray<StructureBlockData> blockData = new AtomicReferenceArray<>(Rotation.values().length * Mirror.values().length);
+
+        private Entry(@NotNull final Template template)
+        {
+            this.template = template;
+        }
+
+        @NotNull
+        private StructureBlockData getBlockData(@NotNull final Rotation rotation, @NotNull final Mirror mirror)
+        {
+            final int index = mirror.ordinal() * Rotation.values().length + rotation.ordinal();
+            StructureBlockData data = blockData.get(index);
+            if (data == null)
+            {
+                //  Both threads might transform at the same time, the result is the same so either one can be kept
+                data = new StructureBlockData(template, rotation, mirror);
+                if (!blockData.compareAndSet(index, null, data))
+                {
+                    data = blockData.get(index);
+                }
+            }
+            return data;
+        }
+    }
+}
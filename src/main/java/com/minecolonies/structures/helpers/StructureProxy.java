@@ -1,8 +1,8 @@
 package com.minecolonies.structures.helpers;
 
-import com.minecolonies.coremod.blocks.AbstractBlockHut;
 import com.minecolonies.coremod.util.BlockPosUtil;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.Mirror;
 import net.minecraft.util.Rotation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
@@ -11,7 +11,9 @@ import net.minecraft.world.gen.structure.template.Template;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Proxy class translating the structures method to something we can use.
@@ -19,8 +21,15 @@ import java.util.List;
 public class StructureProxy
 {
     private final Structure structure;
-    private Template.EntityInfo[][][] entities;
-    private Template.BlockInfo[][][] blocks;
+    private final String    name;
+    /**
+     * The blocks in the current rotation, shared with everyone using the same structure.
+     */
+    private StructureBlockData                  blockData;
+    /**
+     * The entities in the current rotation, by position relative to the corner of the structure.
+     */
+    private final Map<BlockPos, Template.EntityInfo> entities = new HashMap<>();
     private int                      width;
     private int                      height;
     private int                      length;
@@ -33,39 +42,34 @@ public class StructureProxy
     public StructureProxy(final World worldObj, final String name)
     {
         this.structure = new Structure(worldObj, name, new PlacementSettings());
+        this.name = name;
 
         if(structure.isTemplateMissing())
         {
             return;
         }
-        final BlockPos size = structure.getSize(Rotation.NONE);
-
-        this.width = size.getX();
-        this.height = size.getY();
-        this.length = size.getZ();
-
-        this.blocks = new Template.BlockInfo[width][height][length];
-        this.entities = new Template.EntityInfo[width][height][length];
-
-        for (final Template.BlockInfo info : structure.getBlockInfo())
-        {
-            final BlockPos tempPos = info.pos;
-            blocks[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = info;
-            entities[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = null;
-
-            if (info.blockState.getBlock() instanceof AbstractBlockHut)
-            {
-                offset = info.pos;
-            }
-        }
+        setBlockData(StructureCache.getBlockData(name, Rotation.NONE, Mirror.NONE));
+        offset = blockData.getHutPos();
 
         for(final Template.EntityInfo info: structure.getTileEntities())
         {
-            final BlockPos tempPos = info.blockPos;
-            entities[tempPos.getX()][tempPos.getY()][tempPos.getZ()] = info;
+            entities.put(info.blockPos, info);
         }
     }
 
+    /**
+     * Uses the blocks of another rotation.
+     *
+     * @param data the block data.
+     */
+    private void setBlockData(final StructureBlockData data)
+    {
+        this.blockData = data;
+        this.width = data.getWidth();
+        this.height = data.getHeight();
+        this.length = data.getLength();
+    }
+
     /**
      * Getter of the offset.
      *
@@ -127,7 +131,7 @@ public class StructureProxy
      */
     public IBlockState getBlockState(@NotNull final BlockPos pos)
     {
-        return blocks[pos.getX()][pos.getY()][pos.getZ()].blockState;
+        return blockData.getBlockState(pos);
     }
 
     /**
@@ -136,9 +140,15 @@ public class StructureProxy
      * @param pos the position.
      * @return the blockState.
      */
+    @Nullable
     public Template.BlockInfo getBlockInfo(@NotNull final BlockPos pos)
     {
-        return blocks[pos.getX()][pos.getY()][pos.getZ()];
+        final IBlockState state = blockData.getBlockState(pos);
+        if (state == null)
+        {
+            return null;
+        }
+        return new Template.BlockInfo(pos.toImmutable(), state, blockData.getTileEntityData(pos));
     }
 
     /**
@@ -160,11 +170,7 @@ public class StructureProxy
     @Nullable
     public Template.EntityInfo getEntityinfo(@NotNull final BlockPos pos)
     {
-        if(entities[pos.getX()][pos.getY()].length == 0)
-        {
-            return null;
-        }
-        return entities[pos.getX()][pos.getY()][pos.getZ()];
+        return entities.get(pos.toImmutable());
     }
 
     /**
@@ -198,91 +204,57 @@ public class StructureProxy
     }
 
     /**
-     * Rotate the structure depending on the direction it's facing.
+     * Get the rotation a structure gets when it is rotated some times.
      *
      * @param times times to rotate.
-     * @param world the world to rotate it in.
-     * @param rotatePos the pos to rotate it around.
+     * @return the rotation.
      */
-    public void rotate(final int times, World world, BlockPos rotatePos)
+    @NotNull
+    public static Rotation getRotation(final int times)
     {
-        final Rotation rotation;
         switch (times)
         {
             case 1:
-                rotation = Rotation.CLOCKWISE_90;
-                break;
+                return Rotation.CLOCKWISE_90;
             case 2:
-                rotation = Rotation.CLOCKWISE_180;
-                break;
+                return Rotation.CLOCKWISE_180;
             case 3:
-                rotation = Rotation.COUNTERCLOCKWISE_90;
-                break;
+                return Rotation.COUNTERCLOCKWISE_90;
             default:
-                rotation = Rotation.NONE;
-        }
-        structure.setPlacementSettings(new PlacementSettings().setRotation(rotation));
-
-        final BlockPos size = structure.getSize(rotation);
-
-        this.width = size.getX();
-        this.height = size.getY();
-        this.length = size.getZ();
-
-        this.blocks = new Template.BlockInfo[width][height][length];
-        this.entities = new Template.EntityInfo[width][height][length];
-
-        int minX = 0;
-        int minY = 0;
-        int minZ = 0;
-
-        for (final Template.BlockInfo info : structure.getBlockInfoWithSettings(new PlacementSettings().setRotation(rotation)))
-        {
-            final BlockPos tempPos = info.pos;
-            final int x = tempPos.getX();
-            final int y = tempPos.getY();
-            final int z = tempPos.getZ();
-            if (x < minX)
-            {
-                minX = x;
-            }
-
-            if (y < minY)
-            {
-                minY = y;
-            }
-
-            if (z < minZ)
-            {
-                minZ = z;
-            }
+                return Rotation.NONE;
         }
+    }
 
-        minX = Math.abs(minX);
-        minY = Math.abs(minY);
-        minZ = Math.abs(minZ);
-        boolean foundHut = false;
+    /**
+     * Rotate the structure depending on the direction it's facing.
+     *
+     * @param times times to rotate.
+     * @param world the world to rotate it in.
+     * @param rotatePos the pos to rotate it around.
+     */
+    public void rotate(final int times, World world, BlockPos rotatePos)
+    {
+        final Rotation rotation = getRotation(times);
         final PlacementSettings settings = new PlacementSettings().setRotation(rotation);
+        structure.setPlacementSettings(settings);
 
-        for (final Template.BlockInfo info : structure.getBlockInfoWithSettings(settings))
-        {
-            final BlockPos tempPos = info.pos;
-            final int x = tempPos.getX() + minX;
-            final int y = tempPos.getY() + minY;
-            final int z = tempPos.getZ() + minZ;
+        final BlockPos size = structure.getSize(rotation);
+        setBlockData(StructureCache.getBlockData(name, rotation, Mirror.NONE));
 
-            this.blocks[x][y][z] = info;
-            this.entities[x][y][z] = null;
+        final BlockPos shift = blockData.getShift();
+        final int minX = shift.getX();
+        final int minY = shift.getY();
+        final int minZ = shift.getZ();
 
-            if (info.blockState.getBlock() instanceof AbstractBlockHut)
-            {
-                foundHut = true;
-                offset = info.pos.add(minX, minY, minZ);
-            }
+        final boolean foundHut = blockData.getHutPos() != null;
+        if (foundHut)
+        {
+            offset = blockData.getHutPos();
         }
 
         updateOffSetIfDecoration(foundHut, size, times, minX, minY, minZ);
 
+        entities.clear();
         for(final Template.EntityInfo info: structure.getTileEntities())
         {
             final Template.EntityInfo newInfo = structure.transformEntityInfoWithSettings(info, world, rotatePos.subtract(offset).add(new BlockPos(minX, minY, minZ)), settings);
@@ -291,7 +263,7 @@ public class StructureProxy
             final int x = tempPos.getX() + minX;
             final int y = tempPos.getY() + minY;
             final int z = tempPos.getZ() + minZ;
-            this.entities[x][y][z] = newInfo;
+            entities.put(new BlockPos(x, y, z), newInfo);
         }
     }
 
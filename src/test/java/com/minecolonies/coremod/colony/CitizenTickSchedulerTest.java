@@ -0,0 +1,73 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.test.AbstractTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CitizenTickSchedulerTest extends AbstractTest
+{
+    private static final long START_TICK   = 100;
+    private static final long OVER_BUDGET  = 10_000_000L;
+    private static final int  BUSY_CITIZEN = 1;
+    private static final int  NEW_CITIZEN  = 2;
+
+    private int oldBudget;
+
+    @Override
+    public String getTestName()
+    {
+        return "CitizenTickSchedulerTest";
+    }
+
+    @Before
+    public void setUpBudget()
+    {
+        oldBudget = Configurations.citizenAIBudget;
+        Configurations.citizenAIBudget = 1;
+    }
+
+    @After
+    public void restoreBudget()
+    {
+        Configurations.citizenAIBudget = oldBudget;
+    }
+
+    @Test
+    public void testCitizenWithinBudgetRuns()
+    {
+        final CitizenTickScheduler scheduler = new CitizenTickScheduler();
+        assertTrue(scheduler.shouldRun(NEW_CITIZEN, START_TICK, true, true));
+    }
+
+    @Test
+    public void testCitizenFarFromPlayersWaitsForItsTick()
+    {
+        final CitizenTickScheduler scheduler = new CitizenTickScheduler();
+        assertFalse(scheduler.shouldRun(NEW_CITIZEN, START_TICK, false, false));
+        assertEquals(1, scheduler.getDeferredFar());
+    }
+
+    @Test
+    public void testCitizenWhichNeverRanRunsWhileBudgetStaysUsedUp()
+    {
+        final CitizenTickScheduler scheduler = new CitizenTickScheduler();
+        final long lastChance = START_TICK + CitizenTickScheduler.MAX_DEFERRED_TICKS + 1;
+
+        boolean ran = false;
+        for (long tick = START_TICK; tick <= lastChance && !ran; tick++)
+        {
+            //  Another citizen uses up the budget first in every tick
+            assertTrue(scheduler.shouldRun(BUSY_CITIZEN, tick, true, true));
+            scheduler.onRun(BUSY_CITIZEN, OVER_BUDGET);
+
+            ran = scheduler.shouldRun(NEW_CITIZEN, tick, true, true);
+        }
+
+        assertTrue(ran);
+        assertTrue(scheduler.getDeferredByBudget() > 0);
+    }
+}
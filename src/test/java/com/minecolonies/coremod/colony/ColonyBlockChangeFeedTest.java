@@ -0,0 +1,120 @@
+package com.minecolonies.coremod.colony;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+public class ColonyBlockChangeFeedTest extends AbstractTest
+{
+    private static final BlockPos FIRST  = new BlockPos(1, 64, 1);
+    private static final BlockPos SECOND = new BlockPos(2, 64, 2);
+
+    @Override
+    public String getTestName()
+    {
+        return "ColonyBlockChangeFeedTest";
+    }
+
+    @Test
+    public void testChangesOfOnePositionAreMerged()
+    {
+        final ColonyBlockChangeFeed feed = new ColonyBlockChangeFeed();
+        final List<Map<BlockPos, IBlockState>> received = new ArrayList<>();
+        feed.subscribe(changes -> received.add(new LinkedHashMap<>(changes)));
+
+        final IBlockState oldState = mock(IBlockState.class);
+        final IBlockState newState = mock(IBlockState.class);
+        final IBlockState otherState = mock(IBlockState.class);
+        feed.onBlockChange(FIRST, oldState);
+        feed.onBlockChange(SECOND, otherState);
+        feed.onBlockChange(new BlockPos.MutableBlockPos(1, 64, 1), newState);
+        feed.publish();
+
+        assertEquals(1, received.size());
+        assertEquals(Arrays.asList(FIRST, SECOND), new ArrayList<>(received.get(0).keySet()));
+        assertSame(newState, received.get(0).get(FIRST));
+        assertSame(otherState, received.get(0).get(SECOND));
+        assertEquals(2, feed.getPublished());
+        assertEquals(1, feed.getCoalesced());
+    }
+
+    @Test
+    public void testPublishHandsChangesOutOnce()
+    {
+        final ColonyBlockChangeFeed feed = new ColonyBlockChangeFeed();
+        final List<Map<BlockPos, IBlockState>> received = new ArrayList<>();
+        feed.subscribe(changes -> received.add(new LinkedHashMap<>(changes)));
+
+        feed.publish();
+        assertTrue(received.isEmpty());
+
+        feed.onBlockChange(FIRST, mock(IBlockState.class));
+        feed.publish();
+        feed.publish();
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    public void testEveryListenerGetsTheSameChanges()
+    {
+        final ColonyBlockChangeFeed feed = new ColonyBlockChangeFeed();
+        final List<Map<BlockPos, IBlockState>> received = new ArrayList<>();
+        final IBlockChangeListener removed = received::add;
+        feed.subscribe(received::add);
+        feed.subscribe(removed);
+        feed.subscribe(received::add);
+        feed.unsubscribe(removed);
+
+        feed.onBlockChange(FIRST, mock(IBlockState.class));
+        feed.publish();
+
+        assertEquals(2, received.size());
+        assertSame(received.get(0), received.get(1));
+    }
+
+    @Test
+    public void testChangesRecordedWhilePublishingComeWithTheNextPublish()
+    {
+        final ColonyBlockChangeFeed feed = new ColonyBlockChangeFeed();
+        final IBlockState state = mock(IBlockState.class);
+        final List<Map<BlockPos, IBlockState>> received = new ArrayList<>();
+        feed.subscribe(changes ->
+        {
+            received.add(new LinkedHashMap<>(changes));
+            if (changes.containsKey(FIRST))
+            {
+                feed.onBlockChange(SECOND, state);
+            }
+        });
+
+        feed.onBlockChange(FIRST, state);
+        feed.publish();
+        assertEquals(1, received.size());
+        assertFalse(received.get(0).containsKey(SECOND));
+
+        feed.publish();
+        assertEquals(2, received.size());
+        assertEquals(1, received.get(1).size());
+        assertSame(state, received.get(1).get(SECOND));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testListenersCanNotChangeTheChanges()
+    {
+        final ColonyBlockChangeFeed feed = new ColonyBlockChangeFeed();
+        feed.subscribe(changes -> changes.clear());
+
+        feed.onBlockChange(FIRST, mock(IBlockState.class));
+        feed.publish();
+    }
+}
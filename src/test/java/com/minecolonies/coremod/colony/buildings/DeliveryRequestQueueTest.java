@@ -0,0 +1,154 @@
+package com.minecolonies.coremod.colony.buildings;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DeliveryRequestQueueTest extends AbstractTest
+{
+    private static final BlockPos ORIGIN = new BlockPos(0, 64, 0);
+
+    @Override
+    public String getTestName()
+    {
+        return "DeliveryRequestQueueTest";
+    }
+
+    private static AbstractBuilding building(final int x, final boolean needsAnything)
+    {
+        final AbstractBuilding building = mock(AbstractBuilding.class);
+        when(building.getLocation()).thenReturn(new BlockPos(x, 64, 0));
+        when(building.needsAnything()).thenReturn(needsAnything);
+        return building;
+    }
+
+    private static Predicate<AbstractBuilding> recording(final List<AbstractBuilding> matched, final boolean served)
+    {
+        return building ->
+        {
+            matched.add(building);
+            return served;
+        };
+    }
+
+    @Test
+    public void testPollPrefersUrgencyThenDistance()
+    {
+        final DeliveryRequestQueue queue = new DeliveryRequestQueue();
+        final AbstractBuilding farTool = building(100, true);
+        final AbstractBuilding nearItems = building(10, true);
+        final AbstractBuilding farItems = building(50, true);
+        queue.add(farItems, DeliveryRequestQueue.Urgency.ITEMS, 0);
+        queue.add(nearItems, DeliveryRequestQueue.Urgency.ITEMS, 0);
+        queue.add(farTool, DeliveryRequestQueue.Urgency.TOOL, 0);
+
+        assertSame(farTool, queue.poll(ORIGIN, 1));
+        assertSame(nearItems, queue.poll(ORIGIN, 1));
+        assertSame(farItems, queue.poll(ORIGIN, 1));
+        assertNull(queue.poll(ORIGIN, 1));
+    }
+
+    @Test
+    public void testStarvedRequestGoesBeforeMoreUrgentOnes()
+    {
+        final DeliveryRequestQueue queue = new DeliveryRequestQueue();
+        final AbstractBuilding oldItems = building(100, true);
+        final AbstractBuilding newTool = building(10, true);
+        queue.add(oldItems, DeliveryRequestQueue.Urgency.ITEMS, 0);
+        queue.add(newTool, DeliveryRequestQueue.Urgency.TOOL, DeliveryRequestQueue.STARVATION_TICKS);
+
+        assertSame(newTool, queue.poll(ORIGIN, DeliveryRequestQueue.STARVATION_TICKS));
+
+        queue.add(newTool, DeliveryRequestQueue.Urgency.TOOL, DeliveryRequestQueue.STARVATION_TICKS);
+        assertSame(oldItems, queue.poll(ORIGIN, DeliveryRequestQueue.STARVATION_TICKS + 1));
+        assertSame(newTool, queue.poll(ORIGIN, DeliveryRequestQueue.STARVATION_TICKS + 1));
+    }
+
+    @Test
+    public void testAddUpdatesUrgencyOfQueuedRequest()
+    {
+        final DeliveryRequestQueue queue = new DeliveryRequestQueue();
+        final AbstractBuilding near = building(10, true);
+        final AbstractBuilding far = building(100, true);
+        queue.add(near, DeliveryRequestQueue.Urgency.ITEMS, 0);
+        queue.add(far, DeliveryRequestQueue.Urgency.ITEMS, 0);
+        queue.add(far, DeliveryRequestQueue.Urgency.TOOL, 1);
+
+        assertSame(far, queue.poll(ORIGIN, 1));
+        assertTrue(queue.contains(near));
+        assertTrue(queue.remove(near));
+        assertFalse(queue.contains(near));
+    }
+
+    @Test
+    public void testWaitingBuildingIsRecheckedAfterInterval()
+    {
+        final DeliveryRequestQueue queue = new DeliveryRequestQueue();
+        final AbstractBuilding building = building(10, true);
+        final List<AbstractBuilding> matched = new ArrayList<>();
+
+        queue.update(Collections.singletonList(building), 1, recording(matched, false));
+        assertEquals(1, matched.size());
+
+        queue.update(Collections.emptyList(), DeliveryRequestQueue.RECHECK_INTERVAL - 1, recording(matched, false));
+        assertEquals(1, matched.size());
+
+        queue.update(Collections.emptyList(), DeliveryRequestQueue.RECHECK_INTERVAL, recording(matched, false));
+        assertEquals(2, matched.size());
+    }
+
+    @Test
+    public void testStockChangeRechecksWaitingBuildingAtOnce()
+    {
+        final DeliveryRequestQueue queue = new DeliveryRequestQueue();
+        final AbstractBuilding building = building(10, true);
+        final List<AbstractBuilding> matched = new ArrayList<>();
+
+        queue.update(Collections.singletonList(building), 1, recording(matched, false));
+        queue.onStockChanged();
+        queue.update(Collections.emptyList(), 2, recording(matched, true));
+        assertEquals(2, matched.size());
+
+        //  Served buildings do not wait for a recheck
+        queue.update(Collections.emptyList(), DeliveryRequestQueue.RECHECK_INTERVAL, recording(matched, true));
+        assertEquals(2, matched.size());
+    }
+
+    @Test
+    public void testBuildingWithoutNeedsIsNotMatched()
+    {
+        final DeliveryRequestQueue queue = new DeliveryRequestQueue();
+        final AbstractBuilding building = building(10, false);
+        final List<AbstractBuilding> matched = new ArrayList<>();
+
+        queue.onNeedsChanged(building);
+        queue.update(Collections.emptyList(), 1, recording(matched, true));
+        assertTrue(matched.isEmpty());
+    }
+
+    @Test
+    public void testPollNearTakesClosestAcceptedWithinDistance()
+    {
+        final DeliveryRequestQueue queue = new DeliveryRequestQueue();
+        final AbstractBuilding near = building(5, true);
+        final AbstractBuilding middle = building(10, true);
+        final AbstractBuilding far = building(100, true);
+        queue.add(near, DeliveryRequestQueue.Urgency.ITEMS, 0);
+        queue.add(middle, DeliveryRequestQueue.Urgency.ITEMS, 0);
+        queue.add(far, DeliveryRequestQueue.Urgency.ITEMS, 0);
+
+        assertSame(middle, queue.pollNear(ORIGIN, 20 * 20, b -> b != near));
+        assertNull(queue.pollNear(ORIGIN, 20 * 20, b -> b != near));
+        assertTrue(queue.contains(near));
+        assertTrue(queue.contains(far));
+    }
+}
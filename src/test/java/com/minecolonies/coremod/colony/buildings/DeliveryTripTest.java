@@ -0,0 +1,139 @@
+package com.minecolonies.coremod.colony.buildings;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DeliveryTripTest extends AbstractTest
+{
+    private static final BlockPos WAREHOUSE = new BlockPos(0, 64, 0);
+
+    @Override
+    public String getTestName()
+    {
+        return "DeliveryTripTest";
+    }
+
+    private static AbstractBuilding building(final int x, final int z)
+    {
+        final AbstractBuilding building = mock(AbstractBuilding.class);
+        when(building.getLocation()).thenReturn(new BlockPos(x, 64, z));
+        return building;
+    }
+
+    private static AbstractBuilding needing(final String tool, final List<ItemStack> items)
+    {
+        final AbstractBuilding building = mock(AbstractBuilding.class);
+        when(building.getRequiredTool()).thenReturn(tool);
+        when(building.getNeededItems()).thenReturn(items);
+        return building;
+    }
+
+    private static List<AbstractBuilding> route(final DeliveryTrip trip)
+    {
+        final List<AbstractBuilding> route = new ArrayList<>();
+        for (final DeliveryTrip.Stop stop : trip.getRemainingStops())
+        {
+            route.add(stop.getBuilding());
+        }
+        return route;
+    }
+
+    @Test
+    public void testPlanRouteGoesToClosestRemainingStop()
+    {
+        final AbstractBuilding a = building(10, 0);
+        final AbstractBuilding b = building(20, 0);
+        final AbstractBuilding c = building(30, 0);
+        final AbstractBuilding d = building(-15, 0);
+
+        final DeliveryTrip trip = new DeliveryTrip();
+        trip.addStop(c);
+        trip.addStop(d);
+        trip.addStop(a);
+        trip.addStop(b);
+        trip.planRoute(WAREHOUSE);
+
+        //  From a, d at 25 is farther than b at 10, so d is last
+        assertEquals(Arrays.asList(a, b, c, d), route(trip));
+    }
+
+    @Test
+    public void testPlanRouteStartsAtFirstStopAgain()
+    {
+        final AbstractBuilding a = building(10, 0);
+        final AbstractBuilding b = building(0, 40);
+
+        final DeliveryTrip trip = new DeliveryTrip();
+        trip.addStop(b);
+        trip.addStop(a);
+        trip.nextStop();
+        trip.planRoute(WAREHOUSE);
+
+        assertSame(a, trip.getCurrentStop().getBuilding());
+        assertSame(b, trip.nextStop().getBuilding());
+        assertNull(trip.nextStop());
+        assertEquals(2, trip.size());
+    }
+
+    @Test
+    public void testPlanRouteOfEmptyTrip()
+    {
+        final DeliveryTrip trip = new DeliveryTrip();
+        trip.planRoute(WAREHOUSE);
+
+        assertEquals(0, trip.size());
+        assertNull(trip.getCurrentStop());
+    }
+
+    @Test
+    public void testDropCurrentStopKeepsRemainingOrder()
+    {
+        final AbstractBuilding a = building(10, 0);
+        final AbstractBuilding b = building(20, 0);
+        final AbstractBuilding c = building(30, 0);
+
+        final DeliveryTrip trip = new DeliveryTrip();
+        trip.addStop(a);
+        trip.addStop(b);
+        trip.addStop(c);
+        trip.planRoute(WAREHOUSE);
+        trip.nextStop();
+
+        assertSame(c, trip.dropCurrentStop().getBuilding());
+        assertFalse(trip.contains(b));
+        assertFalse(trip.contains(a));
+        assertTrue(trip.contains(c));
+
+        trip.restart();
+        assertEquals(Arrays.asList(a, c), route(trip));
+    }
+
+    @Test
+    public void testEstimateSlotsCountsStacksAndTool()
+    {
+        final Item item = mock(Item.class);
+        final List<ItemStack> items = Arrays.asList(new ItemStack(item, 1), null, new ItemStack(item, 64));
+
+        assertEquals(2, DeliveryTrip.estimateSlots(needing("", items)));
+        assertEquals(3, DeliveryTrip.estimateSlots(needing("axe", items)));
+        assertEquals(1, DeliveryTrip.estimateSlots(needing("axe", Collections.emptyList())));
+    }
+
+    @Test
+    public void testEstimateSlotsIsAtLeastOne()
+    {
+        assertEquals(1, DeliveryTrip.estimateSlots(needing("", Collections.emptyList())));
+    }
+}
@@ -0,0 +1,116 @@
+package com.minecolonies.coremod.entity.ai.citizen.lumberjack;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TreeTest extends AbstractTest
+{
+    private static final BlockPos ROOT = new BlockPos(0, 64, 0);
+
+    private final Set<BlockPos> logs = new HashSet<>();
+    private IBlockAccess world;
+
+    @Override
+    public String getTestName()
+    {
+        return "TreeTest";
+    }
+
+    @Before
+    public void setupWorld()
+    {
+        final Block wood = mock(Block.class);
+        when(wood.isWood(any(IBlockAccess.class), any(BlockPos.class))).thenReturn(true);
+        final IBlockState woodState = mock(IBlockState.class);
+        when(woodState.getBlock()).thenReturn(wood);
+
+        final Block air = mock(Block.class);
+        final IBlockState airState = mock(IBlockState.class);
+        when(airState.getBlock()).thenReturn(air);
+
+        logs.clear();
+        world = mock(IBlockAccess.class);
+        when(world.getBlockState(any(BlockPos.class))).thenAnswer(invocation -> logs.contains(invocation.getArguments()[0]) ? woodState : airState);
+    }
+
+    @Test
+    public void testFindsTrunkStartingWithTheGivenLog()
+    {
+        for (int y = 0; y < 5; y++)
+        {
+            logs.add(ROOT.up(y));
+        }
+        logs.add(ROOT.add(5, 0, 0));
+
+        final List<BlockPos> found = Tree.findConnectedLogs(world, ROOT.up(2));
+        assertEquals(5, found.size());
+        assertEquals(ROOT.up(2), found.get(0));
+        assertTrue(found.containsAll(Tree.findConnectedLogs(world, ROOT)));
+        assertFalse(found.contains(ROOT.add(5, 0, 0)));
+    }
+
+    @Test
+    public void testFindsDiagonalBranches()
+    {
+        logs.add(ROOT);
+        logs.add(ROOT.add(1, 1, 0));
+        logs.add(ROOT.add(2, 2, 1));
+        logs.add(ROOT.add(-1, 1, -1));
+
+        final List<BlockPos> found = Tree.findConnectedLogs(world, ROOT);
+        assertEquals(4, found.size());
+        assertEquals(logs, new HashSet<>(found));
+    }
+
+    @Test
+    public void testVisitsEachLogOnce()
+    {
+        for (int x = 0; x < 3; x++)
+        {
+            for (int y = 0; y < 3; y++)
+            {
+                for (int z = 0; z < 3; z++)
+                {
+                    logs.add(ROOT.add(x, y, z));
+                }
+            }
+        }
+
+        final List<BlockPos> found = Tree.findConnectedLogs(world, ROOT);
+        assertEquals(logs.size(), found.size());
+        assertEquals(logs, new HashSet<>(found));
+    }
+
+    @Test
+    public void testStopsAtMaxTreeSize()
+    {
+        for (int x = -10; x <= 10; x++)
+        {
+            for (int y = 0; y <= 10; y++)
+            {
+                for (int z = -10; z <= 10; z++)
+                {
+                    logs.add(ROOT.add(x, y, z));
+                }
+            }
+        }
+
+        final List<BlockPos> found = Tree.findConnectedLogs(world, ROOT);
+        assertEquals(Tree.MAX_TREE_SIZE, found.size());
+        assertEquals(Tree.MAX_TREE_SIZE, new HashSet<>(found).size());
+    }
+}
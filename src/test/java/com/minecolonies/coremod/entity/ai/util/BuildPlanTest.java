@@ -0,0 +1,141 @@
+package com.minecolonies.coremod.entity.ai.util;
+
+import com.minecolonies.coremod.colony.ColonyManager;
+import com.minecolonies.coremod.configuration.Configurations;
+import com.minecolonies.coremod.test.AbstractTest;
+import com.minecolonies.coremod.util.LanguageHandler;
+import com.minecolonies.coremod.util.Log;
+import com.minecolonies.coremod.util.StructureWrapper;
+import com.minecolonies.structures.helpers.StructureProxy;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import org.junit.After;
+import org.junit.Test;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+@PrepareForTest({ColonyManager.class, LanguageHandler.class, Log.class, StructureWrapper.class})
+public class BuildPlanTest extends AbstractTest
+{
+    private static final int WIDTH  = 3;
+    private static final int HEIGHT = 2;
+    private static final int LENGTH = 2;
+
+    private final int maxBlocksChecked = Configurations.maxBlocksCheckedByBuilder;
+
+    @Override
+    public String getTestName()
+    {
+        return "BuildPlanTest";
+    }
+
+    @After
+    public void restoreConfiguration()
+    {
+        Configurations.maxBlocksCheckedByBuilder = maxBlocksChecked;
+    }
+
+    private static BuildPlan plan(final int width, final int height, final int length)
+    {
+        final StructureProxy proxy = mock(StructureProxy.class);
+        when(proxy.getBlockState(any(BlockPos.class))).thenReturn(mock(IBlockState.class));
+
+        final StructureWrapper structure = mock(StructureWrapper.class);
+        when(structure.getWidth()).thenReturn(width);
+        when(structure.getHeight()).thenReturn(height);
+        when(structure.getLength()).thenReturn(length);
+        when(structure.structure()).thenReturn(proxy);
+        return new BuildPlan(structure);
+    }
+
+    @Test
+    public void testBuildVisitsAllPositionsFromTheBottom()
+    {
+        final BuildPlan plan = plan(WIDTH, HEIGHT, LENGTH);
+        plan.startStage(Structure.Stage.BUILD);
+
+        int lastY = 0;
+        for (int i = 0; i < WIDTH * HEIGHT * LENGTH; i++)
+        {
+            assertEquals(Structure.Result.NEW_BLOCK, plan.advance(pos -> true));
+            assertEquals(i, plan.getCursor());
+            final int y = BuildPlan.unpack(plan.getCurrentPosition()).getY();
+            assertTrue(y >= lastY);
+            lastY = y;
+        }
+        assertEquals(Structure.Result.AT_END, plan.advance(pos -> true));
+    }
+
+    @Test
+    public void testClearStartsAtTheTop()
+    {
+        final BuildPlan plan = plan(WIDTH, HEIGHT, LENGTH);
+        plan.startStage(Structure.Stage.CLEAR);
+
+        assertEquals(Structure.Result.NEW_BLOCK, plan.advance(pos -> true));
+        assertEquals(HEIGHT - 1, BuildPlan.unpack(plan.getCurrentPosition()).getY());
+    }
+
+    @Test
+    public void testAdvanceSkipsPositionsWithoutWork()
+    {
+        final BuildPlan plan = plan(WIDTH, HEIGHT, LENGTH);
+        plan.startStage(Structure.Stage.BUILD);
+
+        assertEquals(Structure.Result.NEW_BLOCK, plan.advance(pos -> BuildPlan.unpack(pos).getY() == 1));
+        assertEquals(WIDTH * LENGTH, plan.getCursor());
+        assertEquals(new BlockPos(0, 1, 0), BuildPlan.unpack(plan.getCurrentPosition()));
+    }
+
+    @Test
+    public void testRestoreChecksTheSavedPositionAgain()
+    {
+        final BuildPlan plan = plan(WIDTH, HEIGHT, LENGTH);
+        plan.startStage(Structure.Stage.BUILD);
+        for (int i = 0; i < 5; i++)
+        {
+            plan.advance(pos -> true);
+        }
+        final int saved = plan.getCursor();
+        final int savedPosition = plan.getCurrentPosition();
+
+        final BuildPlan restored = plan(WIDTH, HEIGHT, LENGTH);
+        restored.restore(Structure.Stage.BUILD, saved);
+        assertEquals(-1, restored.getCursor());
+
+        assertEquals(Structure.Result.NEW_BLOCK, restored.advance(pos -> true));
+        assertEquals(saved, restored.getCursor());
+        assertEquals(savedPosition, restored.getCurrentPosition());
+    }
+
+    @Test
+    public void testRestoreBeforeTheFirstPositionStartsTheStage()
+    {
+        final BuildPlan plan = plan(WIDTH, HEIGHT, LENGTH);
+        plan.restore(Structure.Stage.CLEAR, 3);
+        plan.advance(pos -> true);
+
+        plan.restore(Structure.Stage.BUILD, -1);
+        assertEquals(Structure.Result.NEW_BLOCK, plan.advance(pos -> true));
+        assertEquals(0, plan.getCursor());
+    }
+
+    @Test
+    public void testAdvanceStopsAtTheCheckLimit()
+    {
+        Configurations.maxBlocksCheckedByBuilder = 1;
+        final BuildPlan plan = plan(20, 2, 20);
+        plan.startStage(Structure.Stage.BUILD);
+
+        //  One batch of a chunk layer per call, 800 positions are four batches
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals(Structure.Result.CONFIG_LIMIT, plan.advance(pos -> false));
+        }
+        assertEquals(Structure.Result.AT_END, plan.advance(pos -> false));
+    }
+}
@@ -0,0 +1,63 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class NodeHeapTest extends AbstractTest
+{
+    private static final int NODE_COUNT = 2000;
+
+    @Override
+    public String getTestName()
+    {
+        return "NodeHeapTest";
+    }
+
+    @Test
+    public void testPollReturnsNodesInScoreOrder()
+    {
+        final NodeHeap heap = new NodeHeap();
+        for (int i = 0; i < NODE_COUNT; i++)
+        {
+            final double score = getRandom().nextInt(NODE_COUNT);
+            heap.offer(new Node(null, new BlockPos(i, 0, 0), score, 0, score));
+        }
+
+        double lastScore = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty())
+        {
+            final Node node = heap.poll();
+            assertTrue(node.getScore() >= lastScore);
+            assertEquals(-1, node.getHeapIndex());
+            lastScore = node.getScore();
+        }
+    }
+
+    @Test
+    public void testDecreaseKeyMovesNodeToFront()
+    {
+        final NodeHeap heap = new NodeHeap();
+        final List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < NODE_COUNT; i++)
+        {
+            final Node node = new Node(null, new BlockPos(i, 0, 0), i, 0, i);
+            nodes.add(node);
+            heap.offer(node);
+        }
+
+        final Node last = nodes.get(NODE_COUNT - 1);
+        assertTrue(heap.contains(last));
+        last.setScore(-1);
+        heap.decreaseKey(last);
+
+        assertSame(last, heap.poll());
+        assertFalse(heap.contains(last));
+        assertEquals(NODE_COUNT - 1, heap.size());
+    }
+}
@@ -0,0 +1,114 @@
+package com.minecolonies.coremod.entity.pathfinding;
+
+import com.minecolonies.coremod.test.AbstractTest;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NodeMapTest extends AbstractTest
+{
+    private static final int NODE_COUNT = 2000;
+
+    /**
+     * Keys which differ only above the bits used as table index, so they collide without the hash.
+     */
+    private static final int COLLIDING_STEP = 1 << 20;
+
+    @Override
+    public String getTestName()
+    {
+        return "NodeMapTest";
+    }
+
+    @Test
+    public void testKeepsAllKeysAcrossResize()
+    {
+        final NodeMap map = new NodeMap();
+        for (int i = 0; i < NODE_COUNT; i++)
+        {
+            map.put(i * 31, new Node(new BlockPos(i, 0, 0), 0));
+        }
+
+        assertEquals(NODE_COUNT, map.size());
+        for (int i = 0; i < NODE_COUNT; i++)
+        {
+            assertEquals(i, map.get(i * 31).pos.getX());
+        }
+        assertNull(map.get(-1));
+    }
+
+    @Test
+    public void testPutReplacesNodeOfSameKey()
+    {
+        final NodeMap map = new NodeMap();
+        final Node first = new Node(new BlockPos(1, 0, 0), 0);
+        final Node second = new Node(new BlockPos(2, 0, 0), 0);
+
+        map.put(42, first);
+        map.put(42, second);
+
+        assertEquals(1, map.size());
+        assertSame(second, map.get(42));
+    }
+
+    @Test
+    public void testNegativeAndCollidingKeys()
+    {
+        final NodeMap map = new NodeMap();
+        for (int i = 0; i < NODE_COUNT; i++)
+        {
+            map.put(-i * COLLIDING_STEP, new Node(new BlockPos(i, 0, 0), 0));
+        }
+
+        assertEquals(NODE_COUNT, map.size());
+        for (int i = 0; i < NODE_COUNT; i++)
+        {
+            assertEquals(i, map.get(-i * COLLIDING_STEP).pos.getX());
+        }
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void testClearKeepsTableUsable()
+    {
+        final NodeMap map = new NodeMap();
+        for (int i = 0; i < NODE_COUNT; i++)
+        {
+            map.put(i, new Node(new BlockPos(i, 0, 0), 0));
+        }
+
+        map.clear();
+        assertEquals(0, map.size());
+        for (int i = 0; i < NODE_COUNT; i++)
+        {
+            assertNull(map.get(i));
+        }
+
+        final Node node = new Node(new BlockPos(7, 0, 0), 0);
+        map.put(7, node);
+        assertEquals(1, map.size());
+        assertSame(node, map.get(7));
+    }
+
+    @Test
+    public void testClearAfterLargeSearchKeepsTableUsable()
+    {
+        final NodeMap map = new NodeMap();
+        for (int i = 0; i < NODE_COUNT * 10; i++)
+        {
+            map.put(i, new Node(new BlockPos(i, 0, 0), 0));
+        }
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+
+        for (int i = 0; i < NODE_COUNT; i++)
+        {
+            map.put(i, new Node(new BlockPos(i, 0, 0), 0));
+        }
+        assertEquals(NODE_COUNT, map.size());
+        assertEquals(NODE_COUNT - 1, map.get(NODE_COUNT - 1).pos.getX());
+    }
+}